@@ -0,0 +1,59 @@
+// benchmarks/src/main/java/com/fasttracklogistics/controller/IdGenerationBenchmark.java
+
+package com.fasttracklogistics.controller;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the UUID-based ID generation of ShipmentController ("SHP-") and AssignDriversController /
+ * ScheduleDeliveryController ("DEL-"), split into its steps: UUID.randomUUID() draws from the shared
+ * SecureRandom, the rest is string work. The contended variant runs the same code on four threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdGenerationBenchmark {
+
+    @Benchmark
+    public String shipmentId() {
+        return "SHP-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String deliveryId() {
+        return "DEL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String shipmentIdContended() {
+        return "SHP-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public UUID randomUUID() {
+        return UUID.randomUUID();
+    }
+
+    /**
+     * The string work alone, on a fixed UUID.
+     */
+    @Benchmark
+    public String formatOnly(FixedUuid fixed) {
+        return "SHP-" + fixed.uuid.toString().substring(0, 8).toUpperCase();
+    }
+
+    @State(Scope.Thread)
+    public static class FixedUuid {
+        public final UUID uuid = new UUID(0x123456789ABCDEF0L, 0x0FEDCBA987654321L);
+    }
+}
@@ -0,0 +1,139 @@
+// benchmarks/src/main/java/com/fasttracklogistics/dao/ResultSetMappingBenchmark.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.model.NotificationMessage;
+import com.fasttracklogistics.model.NotificationTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the ResultSet-to-model mappers of the JDBC DAOs over a synthetic ResultSet, i.e. the
+ * per-row cost of a query without the database and network. The score is the time to map all rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResultSetMappingBenchmark {
+
+    private static final String[] STATUSES = {"Pending", "In Transit", "Out for Delivery", "Delivered", "Cancelled"};
+    private static final String[] CITIES = {"Colombo", "Kandy", "Galle", "Jaffna", "Negombo", "Matara"};
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private final ShipmentDAOImpl shipmentDAO = new ShipmentDAOImpl();
+    private final DeliveryDAOImpl deliveryDAO = new DeliveryDAOImpl();
+    private final DeliveryPersonnelDAOImpl personnelDAO = new DeliveryPersonnelDAOImpl();
+    private final NotificationDAOImpl notificationDAO = new NotificationDAOImpl();
+
+    private ResultSet shipments;
+    private ResultSet deliveries;
+    private ResultSet personnel;
+    private ResultSet notifications;
+
+    @Setup(Level.Trial)
+    public void createRows() {
+        Random random = new Random(42); // Fixed seed: every run maps the same rows
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+        List<Map<String, Object>> shipmentRows = new ArrayList<>(rows);
+        List<Map<String, Object>> deliveryRows = new ArrayList<>(rows);
+        List<Map<String, Object>> personnelRows = new ArrayList<>(rows);
+        List<Map<String, Object>> notificationRows = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String shipmentId = String.format("SHP-%08X", random.nextInt());
+            String from = CITIES[random.nextInt(CITIES.length)];
+            String to = CITIES[random.nextInt(CITIES.length)];
+            String status = STATUSES[random.nextInt(STATUSES.length)];
+            Timestamp created = Timestamp.valueOf(base.plusMinutes(random.nextInt(60 * 24 * 365)));
+            shipmentRows.add(SyntheticResultSet.row(
+                    "shipment_id", shipmentId, "tracking_number", "TRK" + (100000 + i),
+                    "sender_name", "Sender " + i, "sender_address", i + " Main Street, " + from, "sender_contact", "0771234" + (100 + i % 900),
+                    "receiver_name", "Receiver " + i, "receiver_address", i + " Lake Road, " + to, "receiver_contact", "0719876" + (100 + i % 900),
+                    "package_contents", "Documents", "package_type", "Box", "weight_kg", 0.5 + random.nextInt(500) / 10.0,
+                    "dimensions_cm", "30x20x10", "current_location", from, "route", from + " - " + to, "current_status", status,
+                    "is_urgent", random.nextInt(10) == 0, "created_at", created, "updated_at", random.nextBoolean() ? created : null));
+
+            LocalDateTime eta = created.toLocalDateTime().plusDays(2);
+            deliveryRows.add(SyntheticResultSet.row(
+                    "delivery_id", String.format("DEL-%08X", random.nextInt()), "shipment_id", shipmentId,
+                    "personnel_id", random.nextInt(5) == 0 ? null : "P-" + random.nextInt(50),
+                    "scheduled_date", Date.valueOf(eta.toLocalDate()), "scheduled_time_slot", "09:00-12:00",
+                    "actual_delivery_date", "Delivered".equals(status) ? Timestamp.valueOf(eta.plusMinutes(random.nextInt(120) - 60)) : null,
+                    "delivery_status", status, "estimated_arrival_time", Timestamp.valueOf(eta),
+                    "delay_reason", random.nextInt(8) == 0 ? "Traffic" : null, "updated_at", created));
+
+            personnelRows.add(SyntheticResultSet.row(
+                    "personnel_id", "P-" + i, "employee_id", String.format("%08X", random.nextInt()), "name", "Driver " + i,
+                    "contact_number", "0701234" + (100 + i % 900), "email", "driver" + i + "@fasttrack.lk",
+                    "vehicle_type", random.nextBoolean() ? "Van" : "Motorbike", "license_number", "B" + (1000000 + i),
+                    "availability_status", random.nextBoolean() ? "Available" : "On Delivery", "updated_at", created));
+
+            // Half the notifications are stored in compact mode, so the mapper renders their text
+            boolean compact = random.nextBoolean();
+            NotificationMessage message = NotificationTemplate.SHIPMENT_STATUS_CHANGED.with(shipmentId, status, from);
+            notificationRows.add(SyntheticResultSet.row(
+                    "notification_id", String.format("NOT-%08X", random.nextInt()), "recipient_type", "Customer", "recipient_id", "C-" + i,
+                    "message", compact ? "" : message.getText(),
+                    "template_id", NotificationTemplate.SHIPMENT_STATUS_CHANGED.name(),
+                    "template_params", compact ? message.encodeParameters() : null,
+                    "timestamp", created, "status", "GENERATED", "is_urgent", random.nextInt(10) == 0,
+                    "is_read", random.nextBoolean(), "updated_at", created));
+        }
+        shipments = SyntheticResultSet.of(shipmentRows);
+        deliveries = SyntheticResultSet.of(deliveryRows);
+        personnel = SyntheticResultSet.of(personnelRows);
+        notifications = SyntheticResultSet.of(notificationRows);
+    }
+
+    @Benchmark
+    public void mapShipments(Blackhole blackhole) throws SQLException {
+        shipments.beforeFirst();
+        while (shipments.next()) {
+            blackhole.consume(shipmentDAO.mapResultSetToShipment(shipments));
+        }
+    }
+
+    @Benchmark
+    public void mapDeliveries(Blackhole blackhole) throws SQLException {
+        deliveries.beforeFirst();
+        while (deliveries.next()) {
+            blackhole.consume(deliveryDAO.mapResultSetToDelivery(deliveries));
+        }
+    }
+
+    @Benchmark
+    public void mapPersonnel(Blackhole blackhole) throws SQLException {
+        personnel.beforeFirst();
+        while (personnel.next()) {
+            blackhole.consume(personnelDAO.mapResultSetToPersonnel(personnel));
+        }
+    }
+
+    @Benchmark
+    public void mapNotifications(Blackhole blackhole) throws SQLException {
+        notifications.beforeFirst();
+        while (notifications.next()) {
+            blackhole.consume(notificationDAO.mapResultSetToNotification(notifications));
+        }
+    }
+}
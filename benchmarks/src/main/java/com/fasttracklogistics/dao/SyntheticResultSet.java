@@ -0,0 +1,85 @@
+// benchmarks/src/main/java/com/fasttracklogistics/dao/SyntheticResultSet.java
+
+package com.fasttracklogistics.dao;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A ResultSet over rows held in memory, so the mappers can be measured without a database.
+ * Only the getters the mappers use are supported; columns are looked up by label in a HashMap,
+ * which is about what a driver does for a getXxx(String) call.
+ */
+final class SyntheticResultSet {
+
+    private SyntheticResultSet() {
+        // Static helper
+    }
+
+    /**
+     * @param rows The rows, each a map of column label to the JDBC value (String, Timestamp, Date, Double, Boolean or null).
+     * @return A forward-only ResultSet that can be rewound with beforeFirst().
+     */
+    static ResultSet of(List<Map<String, Object>> rows) {
+        int[] cursor = {-1};
+        boolean[] wasNull = {false};
+        return (ResultSet) Proxy.newProxyInstance(SyntheticResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            return ++cursor[0] < rows.size();
+                        case "beforeFirst":
+                            cursor[0] = -1;
+                            return null;
+                        case "wasNull":
+                            return wasNull[0];
+                        case "close":
+                            return null;
+                        case "getString":
+                        case "getTimestamp":
+                        case "getDate":
+                        case "getObject":
+                            Object value = column(rows, cursor[0], args);
+                            wasNull[0] = value == null;
+                            return value;
+                        case "getDouble":
+                            Object number = column(rows, cursor[0], args);
+                            wasNull[0] = number == null;
+                            return number != null ? ((Number) number).doubleValue() : 0.0;
+                        case "getBoolean":
+                            Object flag = column(rows, cursor[0], args);
+                            wasNull[0] = flag == null;
+                            return flag != null && (Boolean) flag;
+                        default:
+                            throw new SQLException("Not supported by the synthetic ResultSet: " + method.getName());
+                    }
+                });
+    }
+
+    private static Object column(List<Map<String, Object>> rows, int cursor, Object[] args) throws SQLException {
+        if (cursor < 0 || cursor >= rows.size()) {
+            throw new SQLException("No current row.");
+        }
+        Map<String, Object> row = rows.get(cursor);
+        String label = (String) args[0];
+        if (!row.containsKey(label)) {
+            throw new SQLException("Column '" + label + "' not found.");
+        }
+        return row.get(label);
+    }
+
+    /**
+     * Convenience for building a row: alternating labels and values.
+     */
+    static Map<String, Object> row(Object... labelsAndValues) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < labelsAndValues.length; i += 2) {
+            row.put((String) labelsAndValues[i], labelsAndValues[i + 1]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,90 @@
+// benchmarks/src/main/java/com/fasttracklogistics/model/NotificationMessageBenchmark.java
+
+package com.fasttracklogistics.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the notification text of a scheduled delivery, the longest message with
+ * two dates: the NotificationTemplate path used by the controllers against the String.format
+ * code it replaced (which also built its DateTimeFormatters per message). Both produce the same text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationMessageBenchmark {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    public String receiverName = "Nimal Perera";
+    public String trackingNumber = "TRK104217";
+    public LocalDate scheduledDate = LocalDate.of(2025, 3, 14);
+    public String timeSlot = "09:00-12:00";
+    public LocalDateTime estimatedArrival = LocalDateTime.of(2025, 3, 14, 10, 30);
+    public String status = "Scheduled";
+
+    /**
+     * The legacy code, as it was in ScheduleDeliveryController.
+     */
+    @Benchmark
+    public String stringFormat() {
+        return String.format("Dear %s, your shipment '%s' is now scheduled for delivery on %s between %s. Est. Arrival: %s. Status: %s.",
+                receiverName, trackingNumber,
+                scheduledDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+                timeSlot,
+                estimatedArrival.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+                status);
+    }
+
+    /**
+     * String.format with shared formatters, to separate the cost of the pattern parsing.
+     */
+    @Benchmark
+    public String stringFormatSharedFormatters() {
+        return String.format("Dear %s, your shipment '%s' is now scheduled for delivery on %s between %s. Est. Arrival: %s. Status: %s.",
+                receiverName, trackingNumber, scheduledDate.format(DATE), timeSlot, estimatedArrival.format(DATE_TIME), status);
+    }
+
+    /**
+     * The current path: bind the arguments and render the text.
+     */
+    @Benchmark
+    public String template() {
+        return NotificationTemplate.DELIVERY_SCHEDULED_CUSTOMER
+                .with(receiverName, trackingNumber, scheduledDate, timeSlot, estimatedArrival, status)
+                .getText();
+    }
+
+    /**
+     * Binding only, as for a notification stored in compact mode whose text is never shown.
+     */
+    @Benchmark
+    public NotificationMessage templateBindOnly() {
+        return NotificationTemplate.DELIVERY_SCHEDULED_CUSTOMER
+                .with(receiverName, trackingNumber, scheduledDate, timeSlot, estimatedArrival, status);
+    }
+
+    /**
+     * Rendering stored parameters, as the notification mapper does for compact rows.
+     */
+    @Benchmark
+    public String templateRender(StoredParameters stored) {
+        return NotificationTemplate.DELIVERY_SCHEDULED_CUSTOMER.render(stored.parameters);
+    }
+
+    @State(Scope.Thread)
+    public static class StoredParameters {
+        public final String[] parameters = {"Nimal Perera", "TRK104217", "2025-03-14", "09:00-12:00", "2025-03-14 10:30", "Scheduled"};
+    }
+}
@@ -0,0 +1,81 @@
+// benchmarks/src/main/java/com/fasttracklogistics/view/ShipmentTableBenchmark.java
+
+package com.fasttracklogistics.view;
+
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.Shipment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.swing.JTable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ManageShipmentsPanel.displayShipments, i.e. refilling the DefaultTableModel with the
+ * rows of a shipment list, including the table events it fires to the JTable. Runs headless (the
+ * profiles pass -Djava.awt.headless=true) and off the EDT, which is fine since nothing is shown.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ShipmentTableBenchmark {
+
+    private static final String[] STATUSES = {"Pending", "In Transit", "Out for Delivery", "Delivered", "Cancelled"};
+
+    @Param({"100", "1000", "10000"})
+    public int rows;
+
+    private ManageShipmentsPanel panel;
+    private List<Object[]> shipmentDetails;
+
+    @Setup(Level.Trial)
+    public void createPanel() {
+        panel = new ManageShipmentsPanel();
+        Random random = new Random(42); // Fixed seed: every run shows the same rows
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 8, 0);
+        shipmentDetails = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Shipment shipment = new Shipment();
+            shipment.setShipmentId(String.format("SHP-%08X", random.nextInt()));
+            shipment.setTrackingNumber("TRK" + (100000 + i));
+            shipment.setSenderName("Sender " + i);
+            shipment.setReceiverName("Receiver " + i);
+            shipment.setReceiverAddress(i + " Lake Road, Kandy");
+            shipment.setPackageType("Box");
+            shipment.setWeightKg(0.5 + random.nextInt(500) / 10.0);
+            shipment.setCurrentLocation("Colombo");
+            shipment.setRoute("Colombo - Kandy");
+            shipment.setCurrentStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            shipment.setUrgent(random.nextInt(10) == 0);
+            shipment.setCreatedAt(base.plusMinutes(random.nextInt(60 * 24 * 365)));
+
+            Delivery delivery = null;
+            if (random.nextInt(4) != 0) {
+                delivery = new Delivery();
+                delivery.setShipmentId(shipment.getShipmentId());
+                delivery.setScheduledDate(LocalDate.from(shipment.getCreatedAt()).plusDays(2));
+                delivery.setEstimatedArrivalTime(shipment.getCreatedAt().plusDays(2));
+                delivery.setDeliveryStatus("Scheduled");
+            }
+            shipmentDetails.add(new Object[]{shipment, delivery});
+        }
+    }
+
+    @Benchmark
+    public JTable displayShipments() {
+        panel.displayShipments(shipmentDetails);
+        return panel.getShipmentTable();
+    }
+}
@@ -0,0 +1,150 @@
+// src/main/java/com/fasttracklogistics/api/JsonWriter.java
+
+package com.fasttracklogistics.api;
+
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Minimal streaming JSON writer for the tracking API responses.
+ * <p>
+ * Objects and arrays are opened and closed explicitly; commas are inserted automatically.
+ * Dates and times are written as ISO-8601 strings, null values as JSON null.
+ */
+class JsonWriter {
+
+    private final StringBuilder sb = new StringBuilder(512);
+    private boolean needsComma;
+
+    JsonWriter beginObject() {
+        separate();
+        sb.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter endObject() {
+        sb.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter beginArray() {
+        separate();
+        sb.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter endArray() {
+        sb.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a member name; the next value or beginObject/beginArray call writes its value.
+     */
+    JsonWriter name(String name) {
+        separate();
+        appendString(name);
+        sb.append(':');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter value(String value) {
+        separate();
+        if (value == null) {
+            sb.append("null");
+        } else {
+            appendString(value);
+        }
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter value(TemporalAccessor value) {
+        return value(value != null ? value.toString() : null);
+    }
+
+    JsonWriter value(double value) {
+        separate();
+        sb.append(Double.isFinite(value) ? String.valueOf(value) : "null");
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter value(boolean value) {
+        separate();
+        sb.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter nullValue() {
+        return value((String) null);
+    }
+
+    JsonWriter field(String name, String value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, TemporalAccessor value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, double value) {
+        return name(name).value(value);
+    }
+
+    JsonWriter field(String name, boolean value) {
+        return name(name).value(value);
+    }
+
+    byte[] toBytes() {
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
+
+    private void separate() {
+        if (needsComma) {
+            sb.append(',');
+        }
+    }
+
+    private void appendString(String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
@@ -0,0 +1,227 @@
+// src/main/java/com/fasttracklogistics/api/ResponseCache.java
+
+package com.fasttracklogistics.api;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory cache of rendered API responses, keyed by resource (e.g. "track:FT123").
+ * <p>
+ * Entries are invalidated per shipment when the domain event bus reports a change, and expire
+ * after a fixed time as a safety net. The keys of each shipment's responses are indexed, so an
+ * invalidation only touches that shipment's entries. A response loaded while its key or shipment
+ * was invalidated is not cached, so a lookup racing with an update never pins the old state until
+ * expiry; loads for other shipments are not affected. With read replicas, neither is a response
+ * for a shipment invalidated within the replicas' staleness window: its reads may have come from
+ * a replica that does not have the change yet.
+ */
+class ResponseCache {
+
+    /**
+     * A rendered response.
+     */
+    static class CachedResponse {
+        final int status;
+        final byte[] body;
+        final String shipmentId; // Shipment the response describes, null for "not found"
+        final long expiresAtNanos;
+
+        CachedResponse(int status, byte[] body, String shipmentId, long expiresAtNanos) {
+            this.status = status;
+            this.body = body;
+            this.shipmentId = shipmentId;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private static final String ALL = "*"; // Recorded by invalidateAll()
+    // Invalidation versions are kept per stripe of shipment IDs and keys; a collision only skips caching one load
+    private static final int VERSION_STRIPES = 1024;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    // Shipment ID -> keys of its entries; a shipment's entries are only added and removed inside compute() on its ID
+    private final Map<String, Set<String>> keysByShipment = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong(); // Bumped by every invalidation
+    private final AtomicLongArray invalidatedVersions = new AtomicLongArray(VERSION_STRIPES); // Last version per stripe
+    private volatile long allInvalidatedVersion; // Version of the last invalidateAll()
+    // Shipment ID or key -> System.nanoTime() of its last invalidation, kept for the staleness window
+    private final Map<String, Long> recentInvalidations = new ConcurrentHashMap<>();
+    private final long timeToLiveNanos;
+    private final int maximumEntries;
+    private final long stalenessNanos;
+
+    ResponseCache(long timeToLiveMillis, int maximumEntries) {
+        this(timeToLiveMillis, maximumEntries, 0);
+    }
+
+    /**
+     * @param stalenessMillis How long after a change reads may still return the old state (0 without read replicas).
+     */
+    ResponseCache(long timeToLiveMillis, int maximumEntries, long stalenessMillis) {
+        this.timeToLiveNanos = TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis);
+        this.maximumEntries = maximumEntries;
+        this.stalenessNanos = TimeUnit.MILLISECONDS.toNanos(stalenessMillis);
+    }
+
+    /**
+     * @return The cached, unexpired response for the key, or null.
+     */
+    CachedResponse get(String key) {
+        CachedResponse response = entries.get(key);
+        if (response == null) {
+            return null;
+        }
+        if (response.expiresAtNanos - System.nanoTime() <= 0) {
+            remove(key, response);
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * @return A token to pass to {@link #put} after loading a response.
+     */
+    long beginLoad() {
+        return version.get();
+    }
+
+    /**
+     * Caches a response unless its key or shipment was invalidated since {@link #beginLoad()}, or within the
+     * staleness window.
+     * @return The response, for chaining.
+     */
+    CachedResponse put(String key, int status, byte[] body, String shipmentId, long loadToken) {
+        CachedResponse response = new CachedResponse(status, body, shipmentId, System.nanoTime() + timeToLiveNanos);
+        if (timeToLiveNanos <= 0 || invalidatedSince(loadToken, key, shipmentId) || isSettling(key, shipmentId)) {
+            return response;
+        }
+        if (entries.size() >= maximumEntries) {
+            evictExpired();
+            if (entries.size() >= maximumEntries) {
+                clear(); // Rare; cheaper than tracking access order on every hit
+            }
+        }
+        if (shipmentId == null) {
+            entries.put(key, response);
+        } else {
+            keysByShipment.compute(shipmentId, (id, keys) -> {
+                Set<String> shipmentKeys = keys != null ? keys : new HashSet<>();
+                shipmentKeys.add(key);
+                entries.put(key, response);
+                return shipmentKeys;
+            });
+        }
+        if (invalidatedSince(loadToken, key, shipmentId)) {
+            remove(key, response); // An invalidation ran between the check and the put
+        }
+        return response;
+    }
+
+    /**
+     * Drops the responses describing a shipment, plus the given extra keys (e.g. a "not found" for its tracking number).
+     */
+    void invalidateShipment(String shipmentId, String... keys) {
+        recordInvalidation(shipmentId);
+        for (String key : keys) {
+            recordInvalidation(key);
+        }
+        // Versions first, so a load that puts after this removal sees the invalidation and takes its entry back out
+        Set<String> shipmentKeys = shipmentId != null ? keysByShipment.remove(shipmentId) : null;
+        if (shipmentKeys != null) {
+            for (String key : shipmentKeys) {
+                entries.computeIfPresent(key, (k, response) -> shipmentId.equals(response.shipmentId) ? null : response);
+            }
+        }
+        for (String key : keys) {
+            entries.remove(key);
+        }
+    }
+
+    void invalidateKey(String key) {
+        recordInvalidation(key);
+        entries.remove(key);
+    }
+
+    void invalidateAll() {
+        allInvalidatedVersion = version.incrementAndGet();
+        if (stalenessNanos > 0) {
+            recentInvalidations.put(ALL, System.nanoTime());
+        }
+        clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void recordInvalidation(String shipmentIdOrKey) {
+        if (shipmentIdOrKey == null) {
+            return;
+        }
+        long invalidated = version.incrementAndGet();
+        invalidatedVersions.accumulateAndGet(stripe(shipmentIdOrKey), invalidated, Math::max);
+        if (stalenessNanos > 0) {
+            recentInvalidations.put(shipmentIdOrKey, System.nanoTime());
+        }
+    }
+
+    /**
+     * @return true if the key, the shipment or everything was invalidated after the load with this token began.
+     */
+    private boolean invalidatedSince(long loadToken, String key, String shipmentId) {
+        return allInvalidatedVersion > loadToken || invalidatedVersions.get(stripe(key)) > loadToken
+                || (shipmentId != null && invalidatedVersions.get(stripe(shipmentId)) > loadToken);
+    }
+
+    private static int stripe(String shipmentIdOrKey) {
+        return Math.floorMod(shipmentIdOrKey.hashCode(), VERSION_STRIPES);
+    }
+
+    /**
+     * @return true if the key, the shipment or everything was invalidated within the staleness window.
+     */
+    private boolean isSettling(String key, String shipmentId) {
+        if (recentInvalidations.isEmpty()) {
+            return false;
+        }
+        long now = System.nanoTime();
+        recentInvalidations.values().removeIf(invalidatedAt -> now - invalidatedAt >= stalenessNanos);
+        return recentInvalidations.containsKey(key) || recentInvalidations.containsKey(ALL)
+                || (shipmentId != null && recentInvalidations.containsKey(shipmentId));
+    }
+
+    private void remove(String key, CachedResponse response) {
+        if (response.shipmentId == null) {
+            entries.remove(key, response);
+            return;
+        }
+        keysByShipment.computeIfPresent(response.shipmentId, (id, keys) -> {
+            if (entries.remove(key, response)) {
+                keys.remove(key);
+            }
+            return keys.isEmpty() ? null : keys;
+        });
+        entries.remove(key, response); // In case the index was cleared meanwhile
+    }
+
+    // The index first: an entry put in between is then cleared too, rather than left unindexed
+    private void clear() {
+        keysByShipment.clear();
+        entries.clear();
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+            if (entry.getValue().expiresAtNanos - now <= 0) {
+                remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+}
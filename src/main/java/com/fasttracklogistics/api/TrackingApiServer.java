@@ -0,0 +1,339 @@
+// src/main/java/com/fasttracklogistics/api/TrackingApiServer.java
+
+package com.fasttracklogistics.api;
+
+import com.fasttracklogistics.dao.DatabaseConnection;
+import com.fasttracklogistics.dao.DeliveryDAO;
+import com.fasttracklogistics.dao.DeliveryPersonnelDAO;
+import com.fasttracklogistics.dao.NotificationDAO;
+import com.fasttracklogistics.dao.ReplicaRouter;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.dao.StorageBackends;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.NotificationCreated;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.Shipment;
+import com.fasttracklogistics.service.DeltaSyncPoller;
+import com.fasttracklogistics.service.MetricsReporter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless HTTP server answering tracking lookups for customers and partners, without Swing.
+ * <p>
+ * Endpoints (GET only, JSON):
+ * <ul>
+ *     <li>/api/track/{trackingNumber} - shipment, delivery and assigned driver</li>
+ *     <li>/api/shipments/{shipmentId} - the same, by shipment ID</li>
+ *     <li>/api/shipments/{shipmentId}/notifications - the latest customer notifications of the shipment</li>
+ *     <li>/api/health - liveness check, never cached</li>
+ * </ul>
+ * Contact details and addresses are never exposed. Each request runs on its own virtual thread over
+ * the JDK's built-in HTTP server and reads through the existing DAOs on pooled connections. Rendered
+ * responses are cached; the delta sync turns changes made at the dispatch desks into domain events,
+ * which invalidate the affected shipments.
+ * <p>
+ * Configure with -Dfasttrack.api.port (default 8080), -Dfasttrack.db.poolSize (default 32),
+ * -Dfasttrack.api.cacheTtlMillis (default 30000, 0 disables caching) and -Dfasttrack.api.cacheEntries (default 50000).
+ */
+public class TrackingApiServer {
+
+    public static final String PORT_PROPERTY = "fasttrack.api.port";
+    public static final String POOL_SIZE_PROPERTY = "fasttrack.db.poolSize";
+    public static final String CACHE_TTL_PROPERTY = "fasttrack.api.cacheTtlMillis";
+    public static final String CACHE_ENTRIES_PROPERTY = "fasttrack.api.cacheEntries";
+    private static final int NOTIFICATION_LIMIT = 50; // Notifications returned per shipment
+    private static final int BACKLOG = 1024; // Pending TCP connections while all handlers are busy
+
+    private final ShipmentDAO shipmentDAO;
+    private final DeliveryDAO deliveryDAO;
+    private final DeliveryPersonnelDAO personnelDAO;
+    private final NotificationDAO notificationDAO;
+    private final ResponseCache cache;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public TrackingApiServer(StorageBackend storage) {
+        this(storage.getShipmentDAO(), storage.getDeliveryDAO(), storage.getPersonnelDAO(), storage.getNotificationDAO(),
+                new ResponseCache(Long.getLong(CACHE_TTL_PROPERTY, 30_000), Integer.getInteger(CACHE_ENTRIES_PROPERTY, 50_000),
+                        replicaStalenessMillis(storage)));
+    }
+
+    /**
+     * @return How long a changed shipment may still be read in its old state from a read replica; 0 without replicas.
+     */
+    private static long replicaStalenessMillis(StorageBackend storage) {
+        ReplicaRouter router = storage.isShared() ? DatabaseConnection.getReplicaRouter() : null;
+        return router != null ? router.getMaxStalenessMillis() : 0;
+    }
+
+    TrackingApiServer(ShipmentDAO shipmentDAO, DeliveryDAO deliveryDAO, DeliveryPersonnelDAO personnelDAO,
+                      NotificationDAO notificationDAO, ResponseCache cache) {
+        this.shipmentDAO = shipmentDAO;
+        this.deliveryDAO = deliveryDAO;
+        this.personnelDAO = personnelDAO;
+        this.notificationDAO = notificationDAO;
+        this.cache = cache;
+
+        DomainEventBus bus = DomainEventBus.getInstance();
+        bus.subscribe(ShipmentChanged.class, event -> {
+            Shipment shipment = event.getEntity();
+            if (shipment != null) {
+                // A new or renamed tracking number may have been cached as "not found"
+                cache.invalidateShipment(event.getId(), "track:" + shipment.getTrackingNumber());
+            } else {
+                cache.invalidateShipment(event.getId());
+            }
+        });
+        bus.subscribe(DeliveryChanged.class, event -> {
+            Delivery delivery = event.getEntity();
+            if (delivery != null && delivery.getShipmentId() != null) {
+                cache.invalidateShipment(delivery.getShipmentId());
+            } else {
+                cache.invalidateAll();
+            }
+        });
+        bus.subscribe(NotificationCreated.class, event -> {
+            for (Notification notification : event.getNotifications()) {
+                if ("CUSTOMER".equals(notification.getRecipientType())) {
+                    cache.invalidateKey("notifications:" + notification.getRecipientId());
+                }
+            }
+        });
+        // Driver names and vehicles are part of the responses; personnel edits are rare, so PersonnelChanged
+        // is left to the cache expiry rather than tracking which shipments show which driver
+    }
+
+    /**
+     * Starts listening. Requests are handled on virtual threads, one per request.
+     * @param port The TCP port.
+     * @throws IOException If the port cannot be bound.
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            return;
+        }
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            // Small responses on kept-alive connections otherwise wait for delayed ACKs (Nagle's algorithm)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.start();
+        System.out.println("Tracking API listening on port " + server.getAddress().getPort() + ".");
+    }
+
+    /**
+     * Stops accepting requests, giving running ones a second to finish.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                send(exchange, 405, error("Only GET is supported"));
+                return;
+            }
+            String[] path = exchange.getRequestURI().getRawPath().substring("/api/".length()).split("/");
+            if (path.length == 1 && "health".equals(path[0])) {
+                send(exchange, 200, new JsonWriter().beginObject().field("status", "UP").endObject().toBytes());
+            } else if (path.length == 2 && "track".equals(path[0])) {
+                send(exchange, trackingLookup(decode(path[1])));
+            } else if (path.length == 2 && "shipments".equals(path[0])) {
+                send(exchange, shipmentLookup(decode(path[1])));
+            } else if (path.length == 3 && "shipments".equals(path[0]) && "notifications".equals(path[2])) {
+                send(exchange, notificationLookup(decode(path[1])));
+            } else {
+                send(exchange, 404, error("Unknown resource"));
+            }
+        } catch (SQLException ex) {
+            // Includes timing out while waiting for a pooled connection under overload
+            System.err.println("Database error serving " + exchange.getRequestURI() + ": " + ex.getMessage());
+            send(exchange, 503, error("Tracking is temporarily unavailable"));
+        } catch (RuntimeException ex) {
+            System.err.println("Error serving " + exchange.getRequestURI() + ": " + ex.getMessage());
+            ex.printStackTrace();
+            send(exchange, 500, error("Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private ResponseCache.CachedResponse trackingLookup(String trackingNumber) throws SQLException {
+        String key = "track:" + trackingNumber;
+        ResponseCache.CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long token = cache.beginLoad();
+        Shipment shipment = shipmentDAO.findShipmentByTrackingNumber(trackingNumber);
+        if (shipment == null) {
+            return cache.put(key, 404, error("No shipment found with tracking number: " + trackingNumber), null, token);
+        }
+        return cache.put(key, 200, renderShipment(shipment), shipment.getShipmentId(), token);
+    }
+
+    private ResponseCache.CachedResponse shipmentLookup(String shipmentId) throws SQLException {
+        String key = "shipment:" + shipmentId;
+        ResponseCache.CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long token = cache.beginLoad();
+        Shipment shipment = shipmentDAO.findShipmentById(shipmentId);
+        if (shipment == null) {
+            return cache.put(key, 404, error("No shipment found with ID: " + shipmentId), shipmentId, token);
+        }
+        return cache.put(key, 200, renderShipment(shipment), shipmentId, token);
+    }
+
+    private ResponseCache.CachedResponse notificationLookup(String shipmentId) throws SQLException {
+        String key = "notifications:" + shipmentId;
+        ResponseCache.CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long token = cache.beginLoad();
+        // Customer notifications are addressed to the shipment ID; newest first from the inbox index
+        List<Notification> notifications = notificationDAO.findInboxPage("CUSTOMER", shipmentId, false, null, NOTIFICATION_LIMIT);
+        JsonWriter json = new JsonWriter().beginObject().field("shipmentId", shipmentId).name("notifications").beginArray();
+        for (Notification notification : notifications) {
+            json.beginObject()
+                    .field("notificationId", notification.getNotificationId())
+                    .field("message", notification.getMessage())
+                    .field("timestamp", notification.getTimestamp())
+                    .field("urgent", notification.isUrgent())
+                    .endObject();
+        }
+        json.endArray().endObject();
+        // Not tied to the shipment entry: new notifications invalidate this key directly
+        return cache.put(key, 200, json.toBytes(), null, token);
+    }
+
+    /**
+     * Renders a shipment with its delivery and assigned driver.
+     */
+    private byte[] renderShipment(Shipment shipment) throws SQLException {
+        Delivery delivery = deliveryDAO.findDeliveryByShipmentId(shipment.getShipmentId());
+        DeliveryPersonnel personnel = delivery != null && delivery.getPersonnelId() != null
+                ? personnelDAO.findPersonnelById(delivery.getPersonnelId()) : null;
+
+        JsonWriter json = new JsonWriter().beginObject();
+        json.name("shipment").beginObject()
+                .field("shipmentId", shipment.getShipmentId())
+                .field("trackingNumber", shipment.getTrackingNumber())
+                .field("status", shipment.getCurrentStatus())
+                .field("currentLocation", shipment.getCurrentLocation())
+                .field("route", shipment.getRoute())
+                .field("packageType", shipment.getPackageType())
+                .field("weightKg", shipment.getWeightKg())
+                .field("urgent", shipment.isUrgent())
+                .field("createdAt", shipment.getCreatedAt())
+                .field("updatedAt", shipment.getUpdatedAt())
+                .endObject();
+        json.name("delivery");
+        if (delivery == null) {
+            json.nullValue();
+        } else {
+            json.beginObject()
+                    .field("deliveryId", delivery.getDeliveryId())
+                    .field("status", delivery.getDeliveryStatus())
+                    .field("scheduledDate", delivery.getScheduledDate())
+                    .field("scheduledTimeSlot", delivery.getScheduledTimeSlot())
+                    .field("estimatedArrivalTime", delivery.getEstimatedArrivalTime())
+                    .field("actualDeliveryDate", delivery.getActualDeliveryDate())
+                    .field("delayReason", delivery.getDelayReason())
+                    .endObject();
+        }
+        json.name("driver");
+        if (personnel == null) {
+            json.nullValue();
+        } else {
+            json.beginObject()
+                    .field("name", personnel.getName())
+                    .field("vehicleType", personnel.getVehicleType())
+                    .endObject();
+        }
+        return json.endObject().toBytes();
+    }
+
+    private static byte[] error(String message) {
+        return new JsonWriter().beginObject().field("error", message).endObject().toBytes();
+    }
+
+    private static String decode(String pathSegment) {
+        return URLDecoder.decode(pathSegment, StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, ResponseCache.CachedResponse response) throws IOException {
+        send(exchange, response.status, response.body);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Runs the API server without any Swing UI until the process is stopped.
+     * Started with {@code --headless} (see FastTrackLogisticsApp.main) or directly as a main class.
+     */
+    public static void main(String[] args) throws IOException {
+        StorageBackend storage = StorageBackends.create();
+        if (storage.isShared()) {
+            try {
+                DatabaseConnection.enablePooling(Integer.getInteger(POOL_SIZE_PROPERTY, 32));
+            } catch (SQLException ex) {
+                System.err.println("Error enabling connection pooling: " + ex.getMessage());
+                ex.printStackTrace();
+                return;
+            }
+        }
+        storage.initialize();
+
+        TrackingApiServer apiServer = new TrackingApiServer(storage);
+        DeltaSyncPoller deltaSyncPoller = new DeltaSyncPoller(storage); // Turns desk changes into cache invalidations
+        if (storage.isShared()) {
+            deltaSyncPoller.start();
+        }
+        MetricsReporter metricsReporter = new MetricsReporter(); // Periodic dump if -Dfasttrack.metrics.dumpIntervalSeconds is set
+        metricsReporter.start();
+        apiServer.start(Integer.getInteger(PORT_PROPERTY, 8080)); // The server's dispatcher thread keeps the JVM alive
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            apiServer.stop();
+            deltaSyncPoller.stop();
+            metricsReporter.stop();
+            storage.close();
+            System.out.println("Tracking API stopped. Goodbye!");
+        }, "tracking-api-shutdown"));
+    }
+}
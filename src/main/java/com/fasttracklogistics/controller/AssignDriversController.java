@@ -2,21 +2,32 @@
 package com.fasttracklogistics.controller;
 
 import com.fasttracklogistics.dao.DeliveryDAO;
-import com.fasttracklogistics.dao.DeliveryDAOImpl;
 import com.fasttracklogistics.dao.DeliveryPersonnelDAO;
-import com.fasttracklogistics.dao.DeliveryPersonnelDAOImpl;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.PersonnelChanged;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.metrics.ActionTrace;
 import com.fasttracklogistics.model.Delivery;
 import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.NotificationMessage;
+import com.fasttracklogistics.model.NotificationTemplate;
+import com.fasttracklogistics.model.Shipment;
+import com.fasttracklogistics.service.EtaPredictionService;
 import com.fasttracklogistics.view.AssignDriversPanel;
 
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter; // Added for notification messages
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Controller for managing the assignment of drivers to shipments.
@@ -30,32 +41,143 @@ public class AssignDriversController {
     private DeliveryDAO deliveryDAO;
     private DeliveryPersonnelDAO personnelDAO;
     private NotificationController notificationController; // Inject NotificationController
+    private EtaPredictionService etaPredictionService;
+    // Personnel labels shown in the assigned deliveries table, so that availability changes do not re-read delivery rows
+    private final Map<String, String> personnelLabels = new ConcurrentHashMap<>();
 
-    public AssignDriversController(AssignDriversPanel view, NotificationController notificationController) {
+    public AssignDriversController(AssignDriversPanel view, NotificationController notificationController,
+                                   EtaPredictionService etaPredictionService, StorageBackend storage) {
         this.view = view;
-        this.shipmentDAO = new ShipmentDAOImpl();
-        this.deliveryDAO = new DeliveryDAOImpl();
-        this.personnelDAO = new DeliveryPersonnelDAOImpl();
+        this.shipmentDAO = storage.getShipmentDAO();
+        this.deliveryDAO = storage.getDeliveryDAO();
+        this.personnelDAO = storage.getPersonnelDAO();
         this.notificationController = notificationController; // Initialize NotificationController
+        this.etaPredictionService = etaPredictionService;
 
         // Attach action listeners to buttons
-        this.view.getAssignButton().addActionListener(e -> assignDriver());
-        this.view.getRefreshUnassignedButton().addActionListener(e -> loadUnassignedShipments());
-        this.view.getRefreshPersonnelButton().addActionListener(e -> loadAvailablePersonnel());
-        this.view.getRefreshAssignedButton().addActionListener(e -> loadAssignedDeliveries());
+        this.view.getAssignButton().addActionListener(e -> ActionTrace.run("AssignDriversController.assignDriver", this::assignDriver));
+        this.view.getRefreshUnassignedButton().addActionListener(e -> ActionTrace.run("AssignDriversController.loadUnassignedShipments", this::loadUnassignedShipments));
+        this.view.getRefreshPersonnelButton().addActionListener(e -> ActionTrace.run("AssignDriversController.loadAvailablePersonnel", this::loadAvailablePersonnel));
+        this.view.getRefreshAssignedButton().addActionListener(e -> ActionTrace.run("AssignDriversController.loadAssignedDeliveries", this::loadAssignedDeliveries));
+
+        // All three tables follow committed changes from every tab and background job
+        DomainEventBus bus = DomainEventBus.getInstance();
+        bus.subscribe(ShipmentChanged.class, this::shipmentChanged);
+        bus.subscribe(DeliveryChanged.class, this::deliveryChanged);
+        bus.subscribe(PersonnelChanged.class, this::personnelChanged);
 
         // Load initial data for all tables
         loadAllData();
     }
 
+    /**
+     * Moves a changed shipment into or out of the unassigned table. Called on the event bus thread.
+     */
+    private void shipmentChanged(ShipmentChanged event) {
+        if (event.isDeleted()) {
+            SwingUtilities.invokeLater(() -> view.removeUnassignedShipment(event.getId()));
+            return; // Its delivery, if any, is removed through the cascaded DeliveryChanged
+        }
+        try {
+            Shipment shipment = event.getEntity();
+            Delivery delivery = deliveryDAO.findDeliveryByShipmentId(shipment.getShipmentId());
+            DeliveryPersonnel personnel = delivery != null ? findPersonnel(delivery.getPersonnelId()) : null;
+            SwingUtilities.invokeLater(() -> {
+                if (personnel == null) {
+                    view.upsertUnassignedShipment(shipment);
+                } else {
+                    view.removeUnassignedShipment(shipment.getShipmentId());
+                    view.upsertAssignedDelivery(delivery, shipment, personnel); // The tracking number may have changed
+                }
+            });
+        } catch (SQLException ex) {
+            System.err.println("Error applying " + event + ": " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Moves the delivery's shipment between the unassigned and assigned tables. Called on the event bus thread.
+     */
+    private void deliveryChanged(DeliveryChanged event) {
+        try {
+            Delivery delivery = event.getEntity();
+            if (delivery == null) {
+                SwingUtilities.invokeLater(() -> view.removeAssignedDelivery(event.getId()));
+                return;
+            }
+            Shipment shipment = shipmentDAO.findShipmentById(delivery.getShipmentId());
+            DeliveryPersonnel personnel = event.isDeleted() ? null : findPersonnel(delivery.getPersonnelId());
+            SwingUtilities.invokeLater(() -> {
+                if (personnel != null && shipment != null) {
+                    view.removeUnassignedShipment(shipment.getShipmentId());
+                    view.upsertAssignedDelivery(delivery, shipment, personnel);
+                } else {
+                    view.removeAssignedDelivery(event.getId());
+                    if (shipment != null) {
+                        view.upsertUnassignedShipment(shipment);
+                    }
+                }
+            });
+        } catch (SQLException ex) {
+            System.err.println("Error applying " + event + ": " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Adds or removes personnel in the available table as their availability changes, and renames them in
+     * the assigned deliveries table if needed. Called on the event bus thread.
+     */
+    private void personnelChanged(PersonnelChanged event) {
+        if (event.isDeleted()) {
+            // Their deliveries are unassigned through DeliveryChanged
+            SwingUtilities.invokeLater(() -> view.removeAvailablePersonnel(event.getId()));
+            return;
+        }
+        try {
+            DeliveryPersonnel personnel = event.getEntity();
+            List<Object[]> renamed = new ArrayList<>();
+            String label = personnel.getName() + " (" + personnel.getEmployeeId() + ")";
+            String previousLabel = personnelLabels.put(personnel.getPersonnelId(), label);
+            if (previousLabel != null && !previousLabel.equals(label)) {
+                for (Delivery delivery : deliveryDAO.findDeliveriesByPersonnelId(personnel.getPersonnelId())) {
+                    renamed.add(new Object[]{delivery, shipmentDAO.findShipmentById(delivery.getShipmentId())});
+                }
+            }
+            SwingUtilities.invokeLater(() -> {
+                if ("Available".equals(personnel.getAvailabilityStatus())) {
+                    view.upsertAvailablePersonnel(personnel);
+                } else {
+                    view.removeAvailablePersonnel(personnel.getPersonnelId());
+                }
+                for (Object[] row : renamed) {
+                    view.upsertAssignedDelivery((Delivery) row[0], (Shipment) row[1], personnel);
+                }
+            });
+        } catch (SQLException ex) {
+            System.err.println("Error applying " + event + ": " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    private DeliveryPersonnel findPersonnel(String personnelId) throws SQLException {
+        if (personnelId == null || personnelId.isEmpty()) {
+            return null;
+        }
+        return personnelDAO.findPersonnelById(personnelId);
+    }
+
     /**
      * Loads all necessary data (unassigned shipments, available personnel, assigned deliveries)
      * and updates all tables in the view.
      */
     private void loadAllData() {
-        loadUnassignedShipments();
-        loadAvailablePersonnel();
-        loadAssignedDeliveries();
+        ActionTrace.run("AssignDriversController.loadAllData", () -> {
+            loadUnassignedShipments();
+            loadAvailablePersonnel();
+            loadAssignedDeliveries();
+        });
     }
 
     /**
@@ -112,6 +234,9 @@ public class AssignDriversController {
                 if (delivery.getPersonnelId() != null && !delivery.getPersonnelId().isEmpty()) {
                     Shipment shipment = shipmentDAO.findShipmentById(delivery.getShipmentId());
                     DeliveryPersonnel personnel = personnelDAO.findPersonnelById(delivery.getPersonnelId());
+                    if (personnel != null) {
+                        personnelLabels.put(personnel.getPersonnelId(), personnel.getName() + " (" + personnel.getEmployeeId() + ")");
+                    }
                     if (shipment != null && personnel != null) { // Ensure both are found
                         assignedDeliveryDetails.add(new Object[]{delivery, shipment, personnel});
                     }
@@ -154,54 +279,41 @@ public class AssignDriversController {
                     return;
                 }
 
-                // Check if a delivery record already exists for this shipment
-                Delivery existingDelivery = deliveryDAO.findDeliveryByShipmentId(shipmentToAssign.getShipmentId());
-                boolean success = false;
-
-                if (existingDelivery == null) {
-                    // Create a new delivery record if none exists
-                    Delivery newDelivery = new Delivery();
-                    newDelivery.setDeliveryId("DEL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase()); // Generate Delivery ID
-                    newDelivery.setShipmentId(shipmentToAssign.getShipmentId());
-                    newDelivery.setPersonnelId(personnelToAssign.getPersonnelId());
-                    newDelivery.setScheduledDate(LocalDate.now()); // Default to today
-                    newDelivery.setScheduledTimeSlot("Any Time"); // Default
-                    newDelivery.setDeliveryStatus("Assigned"); // Initial status after assignment
-                    newDelivery.setEstimatedArrivalTime(LocalDateTime.now().plusHours(24)); // Default 24 hrs
-                    // Delay reason defaults to null
-                    success = deliveryDAO.insertDelivery(newDelivery);
-                } else {
-                    // Update existing delivery record if it exists but was unassigned or needed status change
-                    existingDelivery.setPersonnelId(personnelToAssign.getPersonnelId());
-                    existingDelivery.setDeliveryStatus("Assigned"); // Update status
-                    success = deliveryDAO.updateDelivery(existingDelivery);
-                }
+                // Claim the driver, create or take over the shipment's delivery and set the shipment's status in
+                // one transaction, so a concurrent assignment by another dispatcher cannot double-book either of them
+                Delivery newDelivery = new Delivery();
+                newDelivery.setDeliveryId("DEL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase()); // Generate Delivery ID
+                newDelivery.setShipmentId(shipmentToAssign.getShipmentId());
+                newDelivery.setPersonnelId(personnelToAssign.getPersonnelId());
+                newDelivery.setScheduledDate(LocalDate.now()); // Default to today
+                newDelivery.setScheduledTimeSlot("Any Time"); // Default
+                newDelivery.setDeliveryStatus("Assigned"); // Initial status after assignment
+                newDelivery.setEstimatedArrivalTime(etaPredictionService.predictEta(shipmentToAssign,
+                        personnelToAssign.getPersonnelId(), newDelivery.getScheduledDate(),
+                        newDelivery.getScheduledTimeSlot(), LocalDateTime.now())); // Predicted from delivery history
+                // Delay reason defaults to null; an existing delivery keeps its schedule and estimate
+                Delivery assignedDelivery = deliveryDAO.assignDelivery(newDelivery, "On Route", "Assigned");
 
-                if (success) {
-                    // Update Shipment status
-                    shipmentToAssign.setCurrentStatus("Assigned");
-                    shipmentDAO.updateShipment(shipmentToAssign);
+                if (assignedDelivery != null) {
+                    LocalDateTime estimatedArrival = assignedDelivery.getEstimatedArrivalTime(); // Quoted to the customer
 
-                    // Update Personnel status (e.g., to 'On Route' or 'Assigned')
-                    personnelToAssign.setAvailabilityStatus("On Route"); // Or 'Assigned'
-                    personnelDAO.updatePersonnel(personnelToAssign);
+                    shipmentToAssign.setCurrentStatus("Assigned"); // As stored by assignDelivery, for the notifications
 
                     view.showMessage("Driver assigned successfully!");
 
                     // --- Send Notifications on Assignment ---
                     // Notify Customer
-                    String customerMsg = String.format("Dear %s, your shipment '%s' is now assigned to our personnel %s for delivery. Status: %s. Est. Delivery: %s.",
+                    NotificationMessage customerMsg = NotificationTemplate.DRIVER_ASSIGNED_CUSTOMER.with(
                             shipmentToAssign.getReceiverName(), // Using Receiver Name as a placeholder for customer ID/name
                             shipmentToAssign.getTrackingNumber(),
                             personnelToAssign.getName(),
                             shipmentToAssign.getCurrentStatus(),
-                            (existingDelivery != null && existingDelivery.getEstimatedArrivalTime() != null) ?
-                                    existingDelivery.getEstimatedArrivalTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) : "N/A");
+                            estimatedArrival); // Rendered as "N/A" when there is no estimate
                     // Pass shipment ID as the recipient ID for customer notifications
                     notificationController.sendCustomerNotification(shipmentToAssign.getShipmentId(), customerMsg, false);
 
                     // Notify Personnel
-                    String personnelMsg = String.format("You have been assigned Shipment ID: %s (Tracking No: %s). Receiver: %s at %s. Status: %s. Please check your schedule.",
+                    NotificationMessage personnelMsg = NotificationTemplate.DRIVER_ASSIGNED_PERSONNEL.with(
                             shipmentToAssign.getShipmentId(),
                             shipmentToAssign.getTrackingNumber(),
                             shipmentToAssign.getReceiverName(),
@@ -210,9 +322,9 @@ public class AssignDriversController {
                     // Pass personnel ID as the recipient ID for personnel notifications
                     notificationController.sendPersonnelNotification(personnelToAssign.getPersonnelId(), shipmentToAssign.getShipmentId(), personnelMsg, shipmentToAssign.isUrgent());
 
-                    loadAllData(); // Refresh all tables
+                    // The tables are updated through DeliveryChanged and PersonnelChanged
                 } else {
-                    view.showErrorMessage("Failed to assign driver. Database error or invalid data.");
+                    view.showErrorMessage("The driver is no longer available or the shipment was already assigned. Please refresh and try again.");
                 }
 
             } catch (SQLException ex) {
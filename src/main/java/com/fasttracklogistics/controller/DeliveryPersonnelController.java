@@ -4,11 +4,15 @@
 package com.fasttracklogistics.controller;
 
 import com.fasttracklogistics.dao.DeliveryPersonnelDAO;
-import com.fasttracklogistics.dao.DeliveryPersonnelDAOImpl;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.PersonnelChanged;
+import com.fasttracklogistics.metrics.ActionTrace;
 import com.fasttracklogistics.model.DeliveryPersonnel;
 import com.fasttracklogistics.view.ManageDeliveryPersonnelPanel;
 
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import java.sql.SQLException;
@@ -24,31 +28,47 @@ public class DeliveryPersonnelController {
     private ManageDeliveryPersonnelPanel view;
     private DeliveryPersonnelDAO personnelDAO;
 
-    public DeliveryPersonnelController(ManageDeliveryPersonnelPanel view) {
+    public DeliveryPersonnelController(ManageDeliveryPersonnelPanel view, StorageBackend storage) {
         this.view = view;
-        this.personnelDAO = new DeliveryPersonnelDAOImpl();
+        this.personnelDAO = storage.getPersonnelDAO();
 
         // Attach action listeners to buttons
-        this.view.getAddButton().addActionListener(e -> addPersonnel());
-        this.view.getUpdateButton().addActionListener(e -> updatePersonnel());
-        this.view.getDeleteButton().addActionListener(e -> deletePersonnel());
+        this.view.getAddButton().addActionListener(e -> ActionTrace.run("DeliveryPersonnelController.addPersonnel", this::addPersonnel));
+        this.view.getUpdateButton().addActionListener(e -> ActionTrace.run("DeliveryPersonnelController.updatePersonnel", this::updatePersonnel));
+        this.view.getDeleteButton().addActionListener(e -> ActionTrace.run("DeliveryPersonnelController.deletePersonnel", this::deletePersonnel));
         this.view.getClearButton().addActionListener(e -> clearForm());
-        this.view.getRefreshButton().addActionListener(e -> loadPersonnel());
+        this.view.getRefreshButton().addActionListener(e -> ActionTrace.run("DeliveryPersonnelController.loadPersonnel", this::loadPersonnel));
 
         // Attach a listener to the table for row selection
         this.view.getPersonnelTable().getSelectionModel().addListSelectionListener(new ListSelectionListener() {
             @Override
             public void valueChanged(ListSelectionEvent e) {
                 if (!e.getValueIsAdjusting() && view.getPersonnelTable().getSelectedRow() != -1) {
-                    loadSelectedPersonnelToForm();
+                    ActionTrace.run("DeliveryPersonnelController.loadSelectedPersonnelToForm", DeliveryPersonnelController.this::loadSelectedPersonnelToForm);
                 }
             }
         });
 
+        // Rows follow committed changes from this tab and from assignments made in other tabs
+        DomainEventBus.getInstance().subscribe(PersonnelChanged.class, this::personnelChanged);
+
         // Load initial data into the table when the controller is initialized
         loadPersonnel();
     }
 
+    /**
+     * Applies a personnel change to its table row. Called on the event bus thread.
+     */
+    private void personnelChanged(PersonnelChanged event) {
+        SwingUtilities.invokeLater(() -> {
+            if (event.isDeleted()) {
+                view.removePersonnel(event.getId());
+            } else {
+                view.upsertPersonnel(event.getEntity());
+            }
+        });
+    }
+
     /**
      * Loads all delivery personnel records from the database
      * and displays them in the view's table.
@@ -102,8 +122,7 @@ public class DeliveryPersonnelController {
             boolean success = personnelDAO.insertPersonnel(newPersonnel);
             if (success) {
                 view.showMessage("Delivery personnel added successfully!");
-                clearForm();
-                loadPersonnel(); // Refresh table
+                clearForm(); // The new row arrives through PersonnelChanged
             } else {
                 view.showErrorMessage("Failed to add delivery personnel.");
             }
@@ -160,8 +179,7 @@ public class DeliveryPersonnelController {
             boolean success = personnelDAO.updatePersonnel(updatedPersonnel);
             if (success) {
                 view.showMessage("Delivery personnel updated successfully!");
-                clearForm();
-                loadPersonnel(); // Refresh table
+                clearForm(); // The row is updated through PersonnelChanged
             } else {
                 view.showErrorMessage("Failed to update delivery personnel. Personnel ID might not exist.");
             }
@@ -190,8 +208,7 @@ public class DeliveryPersonnelController {
                 boolean success = personnelDAO.deletePersonnel(personnelId);
                 if (success) {
                     view.showMessage("Delivery personnel deleted successfully!");
-                    clearForm();
-                    loadPersonnel(); // Refresh table
+                    clearForm(); // The row is removed through PersonnelChanged
                 } else {
                     view.showErrorMessage("Failed to delete personnel. Personnel ID might not exist.");
                 }
@@ -0,0 +1,104 @@
+// src/main/java/com/fasttracklogistics/controller/DiagnosticsController.java
+
+package com.fasttracklogistics.controller;
+
+import com.fasttracklogistics.metrics.LatencyHistogram;
+import com.fasttracklogistics.metrics.MetricsRegistry;
+import com.fasttracklogistics.view.DiagnosticsPanel;
+
+import javax.swing.Timer;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Controller for the Diagnostics tab.
+ * Reads the MetricsRegistry on the EDT (a snapshot of a few hundred lock-free values, no I/O)
+ * and refreshes the tables every few seconds while the tab is visible.
+ */
+public class DiagnosticsController {
+
+    private static final int REFRESH_INTERVAL_MS = 2000;
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private DiagnosticsPanel view;
+    private MetricsRegistry registry;
+    private Timer refreshTimer;
+
+    public DiagnosticsController(DiagnosticsPanel view) {
+        this.view = view;
+        this.registry = MetricsRegistry.getInstance();
+
+        // Attach action listeners to buttons
+        this.view.getRefreshButton().addActionListener(e -> refresh());
+        this.view.getResetButton().addActionListener(e -> {
+            registry.reset();
+            refresh();
+        });
+
+        refreshTimer = new Timer(REFRESH_INTERVAL_MS, e -> {
+            if (view.isAutoRefresh() && view.isShowing()) {
+                refresh();
+            }
+        });
+        refreshTimer.start();
+        refresh();
+    }
+
+    /**
+     * Shows the current metrics. Timers that have not been called are left out.
+     */
+    private void refresh() {
+        Map<String, Long> counters = registry.getCounters();
+        Set<String> timerCounters = new HashSet<>();
+        List<Object[]> timerRows = new ArrayList<>();
+        for (Map.Entry<String, LatencyHistogram> entry : registry.getTimers().entrySet()) {
+            String name = entry.getKey();
+            timerCounters.add(name + ".errors");
+            timerCounters.add(name + ".rows");
+            LatencyHistogram timer = entry.getValue();
+            if (timer.getCount() == 0) {
+                continue;
+            }
+            timerRows.add(new Object[]{
+                    name,
+                    timer.getCount(),
+                    counters.getOrDefault(name + ".errors", 0L),
+                    counters.getOrDefault(name + ".rows", 0L),
+                    toMillis(timer.getMeanNanos()),
+                    toMillis(timer.getPercentileNanos(50)),
+                    toMillis(timer.getPercentileNanos(90)),
+                    toMillis(timer.getPercentileNanos(99)),
+                    toMillis(timer.getMaxNanos())
+            });
+        }
+
+        List<Object[]> valueRows = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            if (!timerCounters.contains(entry.getKey())) { // Errors and rows are already columns of the timer table
+                valueRows.add(new Object[]{entry.getKey(), entry.getValue()});
+            }
+        }
+        for (Map.Entry<String, Long> entry : registry.getGauges().entrySet()) {
+            valueRows.add(new Object[]{entry.getKey(), entry.getValue()});
+        }
+
+        view.displayMetrics(timerRows, valueRows, "Updated at " + LocalTime.now().format(TIME_FORMATTER));
+    }
+
+    // Milliseconds rounded to 2 decimals
+    private static Double toMillis(double nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * Stops the automatic refresh.
+     */
+    public void stop() {
+        refreshTimer.stop();
+    }
+}
@@ -1,17 +1,25 @@
 // src/main/java/com/fasttracklogistics/controller/NotificationController.java (UPDATED)
 package com.fasttracklogistics.controller;
 
+import com.fasttracklogistics.dao.CoalescingNotificationDAO;
 import com.fasttracklogistics.dao.NotificationDAO;
-import com.fasttracklogistics.dao.NotificationDAOImpl;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.NotificationCreated;
 import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.NotificationMessage;
 import com.fasttracklogistics.view.CustomerNotificationPanel;
+import com.fasttracklogistics.view.NotificationInboxView;
 import com.fasttracklogistics.view.PersonnelNotificationPanel;
 
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Controller for managing notifications sent to customers and delivery personnel.
@@ -22,20 +30,32 @@ public class NotificationController {
     private CustomerNotificationPanel customerView;
     private PersonnelNotificationPanel personnelView;
     private NotificationDAO notificationDAO;
+    private CoalescingNotificationDAO coalescingDAO; // Collapses bursts of notifications before they are stored
+
+    private InboxPager customerInbox;
+    private InboxPager personnelInbox;
 
     // Formatter for display timestamps - already exists in views, removed here to avoid duplication.
 
-    public NotificationController(CustomerNotificationPanel customerView, PersonnelNotificationPanel personnelView) {
+    private static final int PAGE_SIZE = 100; // Notifications fetched per inbox page
+
+    public NotificationController(CustomerNotificationPanel customerView, PersonnelNotificationPanel personnelView,
+                                  StorageBackend storage) {
         this.customerView = customerView;
         this.personnelView = personnelView;
-        this.notificationDAO = new NotificationDAOImpl();
+        this.coalescingDAO = new CoalescingNotificationDAO(storage.getNotificationDAO());
+        this.notificationDAO = coalescingDAO;
 
-        // Attach action listeners to refresh buttons
-        this.customerView.getRefreshButton().addActionListener(e -> loadCustomerNotifications());
-        // For personnel notifications, listen to both refresh button and urgent filter checkbox
-        this.personnelView.getRefreshButton().addActionListener(e -> loadPersonnelNotifications());
+        // The pagers attach the refresh, filter, mark-read and scroll listeners of each panel
+        this.customerInbox = new InboxPager(customerView, "CUSTOMER", "customer notifications");
+        this.personnelInbox = new InboxPager(personnelView, "PERSONNEL", "personnel notifications");
+        // For personnel notifications, also listen to the urgent filter checkbox
         this.personnelView.getUrgentFilterCheckBox().addActionListener(e -> loadPersonnelNotifications());
-
+        // Panels are refreshed when notifications are actually stored, not when they are queued
+        DomainEventBus.getInstance().subscribe(NotificationCreated.class, this::notificationsCreated);
+        // Queued notifications are written later, so write failures are reported from here
+        this.coalescingDAO.setFailureListener(this::notificationsFailed);
+        this.coalescingDAO.start();
 
         // Load initial data for both panels
         loadCustomerNotifications();
@@ -46,29 +66,60 @@ public class NotificationController {
      * Sends (logs and stores) a notification intended for a customer.
      * The `recipientId` for CUSTOMER type notifications will be the `shipmentId`.
      * @param shipmentId The ID of the shipment related to the notification (used as recipientId).
-     * @param message The message content for the notification.
+     * @param message The message, built from a NotificationTemplate.
      * @param isUrgent Indicates if the notification is urgent (this flag is stored but might not affect customer display directly).
      */
-    public void sendCustomerNotification(String shipmentId, String message, boolean isUrgent) {
+    public void sendCustomerNotification(String shipmentId, NotificationMessage message, boolean isUrgent) {
+        Notification notification = createCustomerNotification(shipmentId, message, isUrgent);
+
+        try {
+            boolean success = notificationDAO.insertNotification(notification);
+            if (success) {
+                System.out.println("Customer notification generated and queued: " + message);
+            } else {
+                System.err.println("Failed to insert customer notification into DB.");
+            }
+        } catch (SQLException ex) {
+            System.err.println("Database error sending customer notification: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Builds (but does not store) a notification intended for a customer.
+     * Used together with {@link #sendCustomerNotifications(List)} for batched fan-outs.
+     * @param shipmentId The ID of the shipment related to the notification (used as recipientId).
+     * @param message The message, built from a NotificationTemplate.
+     * @param isUrgent Indicates if the notification is urgent.
+     * @return The new, unsaved Notification.
+     */
+    public Notification createCustomerNotification(String shipmentId, NotificationMessage message, boolean isUrgent) {
         Notification notification = new Notification();
         notification.setRecipientType("CUSTOMER");
         notification.setRecipientId(shipmentId); // Recipient ID for customer is the shipment ID
+        notification.setShipmentId(shipmentId);
         notification.setMessage(message);
         notification.setTimestamp(LocalDateTime.now());
         notification.setStatus("SENT"); // Simulate immediate sending for now
         notification.setUrgent(isUrgent); // Set urgency
+        return notification;
+    }
 
+    /**
+     * Queues several customer notifications for coalescing; they are stored with batched inserts and
+     * the panel is refreshed once they are written. Notifications that cannot be stored are reported
+     * when the write fails. Safe to call from background threads.
+     * @param notifications Notifications built with {@link #createCustomerNotification}.
+     */
+    public void sendCustomerNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
         try {
-            boolean success = notificationDAO.insertNotification(notification);
-            if (success) {
-                System.out.println("Customer notification generated and logged: " + message);
-                // After successful insert, reload the customer notifications to update the table
-                loadCustomerNotifications();
-            } else {
-                System.err.println("Failed to insert customer notification into DB.");
-            }
+            int queued = notificationDAO.insertNotifications(notifications);
+            System.out.println(queued + " customer notifications generated and queued in batch.");
         } catch (SQLException ex) {
-            System.err.println("Database error sending customer notification: " + ex.getMessage());
+            System.err.println("Database error sending customer notifications in batch: " + ex.getMessage());
             ex.printStackTrace();
         }
     }
@@ -79,25 +130,16 @@ public class NotificationController {
      * or the `relatedEntityId` if it's a general broadcast (e.g., for urgent shipment).
      * @param personnelId The ID of the personnel (can be null if it's a general urgent broadcast).
      * @param relatedEntityId The ID of the related entity (e.g., shipmentId for urgent shipment).
-     * @param message The message content for the notification.
+     * @param message The message, built from a NotificationTemplate.
      * @param isUrgent Indicates if the notification is urgent.
      */
-    public void sendPersonnelNotification(String personnelId, String relatedEntityId, String message, boolean isUrgent) {
-        Notification notification = new Notification();
-        notification.setRecipientType("PERSONNEL");
-        // For personnel notifications, recipientId can be the personnel's ID or the related entity's ID if it's a general broadcast
-        notification.setRecipientId(personnelId != null ? personnelId : relatedEntityId);
-        notification.setMessage(message);
-        notification.setTimestamp(LocalDateTime.now());
-        notification.setStatus("SENT"); // Simulate immediate sending for now
-        notification.setUrgent(isUrgent); // Set urgency
+    public void sendPersonnelNotification(String personnelId, String relatedEntityId, NotificationMessage message, boolean isUrgent) {
+        Notification notification = createPersonnelNotification(personnelId, relatedEntityId, message, isUrgent);
 
         try {
             boolean success = notificationDAO.insertNotification(notification);
             if (success) {
-                System.out.println("Personnel notification generated and logged: " + message);
-                // After successful insert, reload the personnel notifications to update the table
-                loadPersonnelNotifications();
+                System.out.println("Personnel notification generated and queued: " + message);
             } else {
                 System.err.println("Failed to insert personnel notification into DB.");
             }
@@ -108,36 +150,109 @@ public class NotificationController {
     }
 
     /**
-     * Loads and displays all customer notifications from the database.
+     * Builds (but does not store) a notification intended for delivery personnel.
+     * Used together with {@link #sendPersonnelNotifications(List)} for batched fan-outs.
+     * @param personnelId The ID of the personnel (can be null if it's a general urgent broadcast).
+     * @param relatedEntityId The ID of the related entity (e.g., shipmentId for urgent shipment).
+     * @param message The message, built from a NotificationTemplate.
+     * @param isUrgent Indicates if the notification is urgent.
+     * @return The new, unsaved Notification.
      */
-    public void loadCustomerNotifications() {
+    public Notification createPersonnelNotification(String personnelId, String relatedEntityId, NotificationMessage message, boolean isUrgent) {
+        Notification notification = new Notification();
+        notification.setRecipientType("PERSONNEL");
+        // For personnel notifications, recipientId can be the personnel's ID or the related entity's ID if it's a general broadcast
+        notification.setRecipientId(personnelId != null ? personnelId : relatedEntityId);
+        notification.setShipmentId(relatedEntityId);
+        notification.setMessage(message);
+        notification.setTimestamp(LocalDateTime.now());
+        notification.setStatus("SENT"); // Simulate immediate sending for now
+        notification.setUrgent(isUrgent); // Set urgency
+        return notification;
+    }
+
+    /**
+     * Queues several personnel notifications for coalescing; they are stored with batched inserts and
+     * the panel is refreshed once they are written. Notifications that cannot be stored are reported
+     * when the write fails. Safe to call from background threads.
+     * @param notifications Notifications built with {@link #createPersonnelNotification}.
+     */
+    public void sendPersonnelNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
         try {
-            List<Notification> notifications = notificationDAO.findNotificationsByRecipientType("CUSTOMER");
-            customerView.displayNotifications(notifications);
+            int queued = notificationDAO.insertNotifications(notifications);
+            System.out.println(queued + " personnel notifications generated and queued in batch.");
         } catch (SQLException ex) {
-            customerView.showErrorMessage("Error loading customer notifications: " + ex.getMessage());
+            System.err.println("Database error sending personnel notifications in batch: " + ex.getMessage());
             ex.printStackTrace();
         }
     }
 
     /**
-     * Loads all personnel notifications from the database and displays them in the personnel notifications panel.
+     * Reloads the customer notifications panel: unread counters and the first page of the inbox.
+     * Further pages are fetched as the user scrolls.
+     */
+    public void loadCustomerNotifications() {
+        customerInbox.reload();
+    }
+
+    /**
+     * Reloads the personnel notifications panel: unread counters and the first page of the inbox.
      * This method now also supports filtering by urgent status.
      */
     public void loadPersonnelNotifications() {
-        try {
-            List<Notification> notifications;
-            // Apply filter based on checkbox state
-            if (personnelView.getUrgentFilterCheckBox().isSelected()) {
-                notifications = notificationDAO.findNotificationsByUrgency(true); // Fetch only urgent
+        personnelInbox.reload();
+    }
+
+    /**
+     * Reloads the first page and counters of the panels that show any of the notifications that were just stored.
+     * Called on the event bus thread; the pagers move the reload to the Event Dispatch Thread.
+     * @param event The stored notifications.
+     */
+    private void notificationsCreated(NotificationCreated event) {
+        if (event.hasRecipientType("CUSTOMER")) {
+            loadCustomerNotifications();
+        }
+        if (event.hasRecipientType("PERSONNEL")) {
+            loadPersonnelNotifications();
+        }
+    }
+
+    /**
+     * Tells the user about queued notifications that could not be stored.
+     * Called on the coalescing thread; the message is shown on the Event Dispatch Thread.
+     * @param notifications The notifications that were dropped.
+     */
+    private void notificationsFailed(List<Notification> notifications) {
+        int customer = 0;
+        int personnel = 0;
+        for (Notification notification : notifications) {
+            if ("CUSTOMER".equals(notification.getRecipientType())) {
+                customer++;
             } else {
-                notifications = notificationDAO.findNotificationsByRecipientType("PERSONNEL"); // Fetch all personnel notifications
+                personnel++;
             }
-            personnelView.displayNotifications(notifications);
-        } catch (SQLException ex) {
-            personnelView.showErrorMessage("Error loading personnel notifications: " + ex.getMessage());
-            ex.printStackTrace();
         }
+        int failedCustomer = customer;
+        int failedPersonnel = personnel;
+        SwingUtilities.invokeLater(() -> {
+            if (failedCustomer > 0) {
+                customerView.showErrorMessage(failedCustomer + " customer notification(s) could not be stored.");
+            }
+            if (failedPersonnel > 0) {
+                personnelView.showErrorMessage(failedPersonnel + " personnel notification(s) could not be stored.");
+            }
+        });
+    }
+
+    /**
+     * Writes the notifications that are still being coalesced and stops the background flushing.
+     * Called when the application closes.
+     */
+    public void stop() {
+        coalescingDAO.stop();
     }
 
     /**
@@ -147,4 +262,153 @@ public class NotificationController {
         loadCustomerNotifications();
         loadPersonnelNotifications();
     }
+
+    /**
+     * Keyset pagination of one notification panel. Its state is only touched on the Event Dispatch Thread;
+     * the queries run on SwingWorkers.
+     */
+    private class InboxPager {
+        private final NotificationInboxView view;
+        private final String recipientType;
+        private final String description; // For error messages
+        private Notification lastLoaded; // Keyset cursor: the last notification shown
+        private boolean hasMore;
+        private boolean loading;
+        private int generation; // Bumped by reload() so that results of superseded fetches are dropped
+
+        InboxPager(NotificationInboxView view, String recipientType, String description) {
+            this.view = view;
+            this.recipientType = recipientType;
+            this.description = description;
+
+            view.getRefreshButton().addActionListener(e -> reload());
+            view.getRecipientFilterField().addActionListener(e -> reload());
+            view.getMarkReadButton().addActionListener(e -> markSelectedRead());
+            view.getMarkAllReadButton().addActionListener(e -> markAllRead());
+            view.addLoadMoreListener(this::loadMore);
+        }
+
+        /**
+         * Shows the counters and the first page again; may be called from any thread.
+         */
+        void reload() {
+            if (!SwingUtilities.isEventDispatchThread()) {
+                SwingUtilities.invokeLater(this::reload);
+                return;
+            }
+            generation++;
+            lastLoaded = null;
+            hasMore = true;
+            fetchPage(true);
+        }
+
+        private void loadMore() {
+            if (!loading && hasMore) {
+                fetchPage(false);
+            }
+        }
+
+        private void fetchPage(boolean firstPage) {
+            int fetchGeneration = generation;
+            String recipientId = view.getRecipientFilter();
+            boolean urgentOnly = view.isUrgentOnly();
+            Notification after = lastLoaded;
+            loading = true;
+
+            new SwingWorker<List<Notification>, Void>() {
+                private int[] counts;
+
+                @Override
+                protected List<Notification> doInBackground() throws Exception {
+                    if (firstPage) {
+                        counts = notificationDAO.findUnreadCounts(recipientType, recipientId);
+                    }
+                    return notificationDAO.findInboxPage(recipientType, recipientId, urgentOnly, after, PAGE_SIZE);
+                }
+
+                @Override
+                protected void done() {
+                    if (fetchGeneration != generation) {
+                        return; // A reload started meanwhile and owns the panel now
+                    }
+                    try {
+                        List<Notification> page = get();
+                        hasMore = page.size() == PAGE_SIZE;
+                        if (!page.isEmpty()) {
+                            lastLoaded = page.get(page.size() - 1);
+                        }
+                        if (firstPage) {
+                            view.displayNotifications(page);
+                            view.displayUnreadCounts(counts[0], counts[1]);
+                        } else {
+                            view.appendNotifications(page);
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException ex) {
+                        hasMore = false; // Do not retry on every scroll event
+                        view.showErrorMessage("Error loading " + description + ": " + ex.getCause().getMessage());
+                        ex.getCause().printStackTrace();
+                    } finally {
+                        loading = false;
+                    }
+                }
+            }.execute();
+        }
+
+        private void markSelectedRead() {
+            String notificationId = view.getSelectedNotificationId();
+            if (notificationId == null) {
+                view.showErrorMessage("Please select a notification to mark as read.");
+                return;
+            }
+            String recipientId = view.getRecipientFilter();
+
+            new SwingWorker<int[], Void>() {
+                @Override
+                protected int[] doInBackground() throws Exception {
+                    notificationDAO.markRead(notificationId);
+                    return notificationDAO.findUnreadCounts(recipientType, recipientId);
+                }
+
+                @Override
+                protected void done() {
+                    try {
+                        int[] counts = get();
+                        view.markAsRead(notificationId);
+                        view.displayUnreadCounts(counts[0], counts[1]);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException ex) {
+                        view.showErrorMessage("Error marking notification as read: " + ex.getCause().getMessage());
+                        ex.getCause().printStackTrace();
+                    }
+                }
+            }.execute();
+        }
+
+        private void markAllRead() {
+            String recipientId = view.getRecipientFilter();
+
+            new SwingWorker<Integer, Void>() {
+                @Override
+                protected Integer doInBackground() throws Exception {
+                    return notificationDAO.markAllRead(recipientType, recipientId);
+                }
+
+                @Override
+                protected void done() {
+                    try {
+                        get();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException ex) {
+                        view.showErrorMessage("Error marking " + description + " as read: " + ex.getCause().getMessage());
+                        ex.getCause().printStackTrace();
+                    }
+                    reload();
+                }
+            }.execute();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+// src/main/java/com/fasttracklogistics/controller/ReportController.java
+
+package com.fasttracklogistics.controller;
+
+import com.fasttracklogistics.service.AnalyticsSnapshotService;
+import com.fasttracklogistics.service.ExportFormat;
+import com.fasttracklogistics.service.ExportService;
+import com.fasttracklogistics.service.ExportTable;
+import com.fasttracklogistics.service.PivotDimension;
+import com.fasttracklogistics.service.ReportService;
+import com.fasttracklogistics.service.ReportType;
+import com.fasttracklogistics.view.ReportsPanel;
+
+import javax.swing.SwingWorker;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Controller for the Reports tab.
+ * Reports are generated on a background SwingWorker; rows are published to the view
+ * as they are read, so the UI stays responsive even for multi-year ranges.
+ * Pivots are computed from the in-memory analytics snapshot and never query the database.
+ * Exports stream a table to a file on a background SwingWorker, reporting progress as they go.
+ */
+public class ReportController {
+
+    private ReportsPanel view;
+    private ReportService reportService;
+    private AnalyticsSnapshotService analyticsSnapshotService;
+    private ExportService exportService;
+
+    public ReportController(ReportsPanel view, ReportService reportService, AnalyticsSnapshotService analyticsSnapshotService,
+                            ExportService exportService) {
+        this.view = view;
+        this.reportService = reportService;
+        this.analyticsSnapshotService = analyticsSnapshotService;
+        this.exportService = exportService;
+
+        // Attach action listeners to buttons
+        this.view.getGenerateButton().addActionListener(e -> generateReport());
+        this.view.getPivotButton().addActionListener(e -> runPivot());
+        this.view.getExportButton().addActionListener(e -> exportTable());
+    }
+
+    /**
+     * Generates the selected report for the selected month range.
+     */
+    private void generateReport() {
+        ReportType type = view.getSelectedReportType();
+        YearMonth from = view.getFromMonth();
+        YearMonth to = view.getToMonth();
+        if (type == null || from == null || to == null) {
+            return;
+        }
+        if (to.isBefore(from)) {
+            view.showErrorMessage("The 'To' month must not be before the 'From' month.");
+            return;
+        }
+
+        view.startReport(type.getColumns());
+        long startNanos = System.nanoTime();
+
+        new SwingWorker<Void, Object[]>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                reportService.generateReport(type, from, to, this::publish);
+                return null;
+            }
+
+            @Override
+            protected void process(List<Object[]> rows) {
+                view.appendRows(rows);
+            }
+
+            @Override
+            protected void done() {
+                long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                try {
+                    get();
+                    view.finishReport(String.format("%s: %d rows in %d ms", type, view.getReportTable().getRowCount(), elapsedMillis));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    view.finishReport("Report cancelled.");
+                } catch (ExecutionException ex) {
+                    view.finishReport("Report failed.");
+                    view.showErrorMessage("Error generating report: " + ex.getCause().getMessage());
+                    ex.getCause().printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Groups the analytics snapshot by the selected dimensions for the selected month range.
+     */
+    private void runPivot() {
+        List<PivotDimension> dimensions = view.getSelectedPivotDimensions();
+        boolean urgentOnly = view.isUrgentOnly();
+        YearMonth from = view.getFromMonth();
+        YearMonth to = view.getToMonth();
+        if (from == null || to == null) {
+            return;
+        }
+        if (to.isBefore(from)) {
+            view.showErrorMessage("The 'To' month must not be before the 'From' month.");
+            return;
+        }
+        if (!analyticsSnapshotService.isLoaded()) {
+            view.showMessage("The analytics snapshot is still loading. Please try again in a moment.");
+            return;
+        }
+
+        view.startReport(analyticsSnapshotService.getPivotColumns(dimensions));
+        long startNanos = System.nanoTime();
+
+        new SwingWorker<List<Object[]>, Void>() {
+            @Override
+            protected List<Object[]> doInBackground() {
+                return analyticsSnapshotService.pivot(dimensions, from, to, urgentOnly);
+            }
+
+            @Override
+            protected void done() {
+                long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                try {
+                    view.appendRows(get());
+                    view.finishReport(String.format("Pivot: %d groups over %d shipments in %d ms (snapshot refreshed %s)",
+                            view.getReportTable().getRowCount(), analyticsSnapshotService.getRowCount(), elapsedMillis,
+                            analyticsSnapshotService.getLastRefresh().toLocalTime().withNano(0)));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    view.finishReport("Pivot cancelled.");
+                } catch (ExecutionException ex) {
+                    view.finishReport("Pivot failed.");
+                    view.showErrorMessage("Error running pivot: " + ex.getCause().getMessage());
+                    ex.getCause().printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Exports the selected table for the selected month range to a file chosen by the user.
+     */
+    private void exportTable() {
+        ExportTable table = view.getSelectedExportTable();
+        ExportFormat format = view.getSelectedExportFormat();
+        boolean gzip = view.isGzipSelected();
+        String status = view.getExportStatus();
+        YearMonth from = view.getFromMonth();
+        YearMonth to = view.getToMonth();
+        if (table == null || format == null || from == null || to == null) {
+            return;
+        }
+        if (to.isBefore(from)) {
+            view.showErrorMessage("The 'To' month must not be before the 'From' month.");
+            return;
+        }
+        String defaultFileName = table.getFileNamePrefix() + "_" + LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE)
+                + "." + format.getFileExtension() + (gzip ? ".gz" : "");
+        Path target = view.chooseExportFile(defaultFileName);
+        if (target == null) {
+            return;
+        }
+
+        view.startExport();
+        long startNanos = System.nanoTime();
+
+        new SwingWorker<Long, Long>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                return exportService.export(table, format, gzip, from.atDay(1), to.plusMonths(1).atDay(1),
+                        status.isEmpty() ? null : status, target, this::publish);
+            }
+
+            @Override
+            protected void process(List<Long> progress) {
+                view.showExportProgress(progress.get(progress.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                try {
+                    long rows = get();
+                    view.finishExport(String.format("Exported %d %s rows to %s in %d ms", rows, table, target.getFileName(), elapsedMillis));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    view.finishExport("Export cancelled.");
+                } catch (ExecutionException ex) {
+                    view.finishExport("Export failed.");
+                    view.showErrorMessage("Error exporting " + table + ": " + ex.getCause().getMessage());
+                    ex.getCause().printStackTrace();
+                }
+            }
+        }.execute();
+    }
+}
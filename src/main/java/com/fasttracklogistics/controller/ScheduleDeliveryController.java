@@ -2,23 +2,35 @@
 package com.fasttracklogistics.controller;
 
 import com.fasttracklogistics.dao.DeliveryDAO;
-import com.fasttracklogistics.dao.DeliveryDAOImpl;
 import com.fasttracklogistics.dao.DeliveryPersonnelDAO;
-import com.fasttracklogistics.dao.DeliveryPersonnelDAOImpl;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.PersonnelChanged;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.metrics.ActionTrace;
 import com.fasttracklogistics.model.Delivery;
 import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.NotificationMessage;
+import com.fasttracklogistics.model.NotificationTemplate;
+import com.fasttracklogistics.model.Shipment;
+import com.fasttracklogistics.service.EtaPredictionService;
+import com.fasttracklogistics.service.OverdueDeliveryWatcher;
 import com.fasttracklogistics.view.ScheduleDeliveriesPanel;
 
 import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Controller for managing delivery scheduling operations.
@@ -33,21 +45,39 @@ public class ScheduleDeliveryController {
     private DeliveryDAO deliveryDAO;
     private DeliveryPersonnelDAO personnelDAO;
     private NotificationController notificationController; // Injected NotificationController
-
-    public ScheduleDeliveryController(ScheduleDeliveriesPanel view, NotificationController notificationController) {
+    private EtaPredictionService etaPredictionService;
+    private OverdueDeliveryWatcher overdueWatcher;
+    // Personnel names shown in the deliveries table, so that availability changes do not re-read delivery rows
+    private final Map<String, String> personnelNames = new ConcurrentHashMap<>();
+
+    public ScheduleDeliveryController(ScheduleDeliveriesPanel view, NotificationController notificationController,
+                                      EtaPredictionService etaPredictionService, OverdueDeliveryWatcher overdueWatcher,
+                                      StorageBackend storage) {
         this.view = view;
-        this.shipmentDAO = new ShipmentDAOImpl();
-        this.deliveryDAO = new DeliveryDAOImpl();
-        this.personnelDAO = new DeliveryPersonnelDAOImpl();
+        this.shipmentDAO = storage.getShipmentDAO();
+        this.deliveryDAO = storage.getDeliveryDAO();
+        this.personnelDAO = storage.getPersonnelDAO();
         this.notificationController = notificationController; // Initialize NotificationController
+        this.etaPredictionService = etaPredictionService;
+        this.overdueWatcher = overdueWatcher;
+
+        // Overdue deliveries are pushed by the watcher; only the affected rows are touched
+        this.overdueWatcher.addOverdueListener((newlyOverdue, overdueCount) -> {
+            List<String> deliveryIds = new ArrayList<>();
+            for (Object[] row : newlyOverdue) {
+                deliveryIds.add(((Delivery) row[0]).getDeliveryId());
+            }
+            view.markDeliveriesOverdue(deliveryIds);
+            view.showOverdueCount(overdueCount);
+        });
 
         // Attach action listeners to buttons
-        this.view.getScheduleButton().addActionListener(e -> scheduleDelivery());
-        this.view.getUpdateButton().addActionListener(e -> updateDelivery());
-        this.view.getDeleteButton().addActionListener(e -> deleteDelivery());
+        this.view.getScheduleButton().addActionListener(e -> ActionTrace.run("ScheduleDeliveryController.scheduleDelivery", this::scheduleDelivery));
+        this.view.getUpdateButton().addActionListener(e -> ActionTrace.run("ScheduleDeliveryController.updateDelivery", this::updateDelivery));
+        this.view.getDeleteButton().addActionListener(e -> ActionTrace.run("ScheduleDeliveryController.deleteDelivery", this::deleteDelivery));
         this.view.getClearButton().addActionListener(e -> clearForm());
-        this.view.getRefreshShipmentsButton().addActionListener(e -> loadUnscheduledShipments());
-        this.view.getRefreshDeliveriesButton().addActionListener(e -> loadDeliveries());
+        this.view.getRefreshShipmentsButton().addActionListener(e -> ActionTrace.run("ScheduleDeliveryController.loadUnscheduledShipments", this::loadUnscheduledShipments));
+        this.view.getRefreshDeliveriesButton().addActionListener(e -> ActionTrace.run("ScheduleDeliveryController.loadDeliveries", this::loadDeliveries));
 
         // Attach listeners to tables for row selection
         this.view.getUnscheduledShipmentsTable().getSelectionModel().addListSelectionListener(new ListSelectionListener() {
@@ -63,23 +93,125 @@ public class ScheduleDeliveryController {
             @Override
             public void valueChanged(ListSelectionEvent e) {
                 if (!e.getValueIsAdjusting() && view.getDeliveriesTable().getSelectedRow() != -1) {
-                    loadSelectedDeliveryToForm(); // Populate form from selected scheduled delivery
+                    ActionTrace.run("ScheduleDeliveryController.loadSelectedDeliveryToForm", ScheduleDeliveryController.this::loadSelectedDeliveryToForm); // Populate form from selected scheduled delivery
                 }
             }
         });
 
+        // Tables and the personnel combo box follow committed changes from every tab and background job
+        DomainEventBus bus = DomainEventBus.getInstance();
+        bus.subscribe(ShipmentChanged.class, this::shipmentChanged);
+        bus.subscribe(DeliveryChanged.class, this::deliveryChanged);
+        bus.subscribe(PersonnelChanged.class, this::personnelChanged);
+
         // Load initial data
         loadAllData();
     }
 
+    /**
+     * Moves a changed shipment into or out of the unscheduled table and refreshes its delivery row.
+     * Called on the event bus thread, so the lookups do not block the UI.
+     */
+    private void shipmentChanged(ShipmentChanged event) {
+        if (event.isDeleted()) {
+            SwingUtilities.invokeLater(() -> view.removeUnscheduledShipment(event.getId()));
+            return; // Its delivery, if any, is removed through the cascaded DeliveryChanged
+        }
+        try {
+            Shipment shipment = event.getEntity();
+            Delivery delivery = deliveryDAO.findDeliveryByShipmentId(shipment.getShipmentId());
+            DeliveryPersonnel personnel = delivery != null ? findPersonnel(delivery.getPersonnelId()) : null;
+            SwingUtilities.invokeLater(() -> {
+                if (delivery == null) {
+                    view.upsertUnscheduledShipment(shipment);
+                } else {
+                    view.removeUnscheduledShipment(shipment.getShipmentId());
+                    view.upsertDelivery(delivery, shipment, personnel); // The tracking number may have changed
+                }
+            });
+        } catch (SQLException ex) {
+            System.err.println("Error applying " + event + ": " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Updates the row of a changed delivery; a deleted delivery puts its shipment back into the unscheduled table.
+     * Called on the event bus thread.
+     */
+    private void deliveryChanged(DeliveryChanged event) {
+        try {
+            Delivery delivery = event.getEntity();
+            if (event.isDeleted()) {
+                Shipment shipment = delivery != null ? shipmentDAO.findShipmentById(delivery.getShipmentId()) : null;
+                SwingUtilities.invokeLater(() -> {
+                    view.removeDelivery(event.getId());
+                    if (shipment != null) {
+                        view.upsertUnscheduledShipment(shipment);
+                    }
+                });
+                return;
+            }
+            Shipment shipment = shipmentDAO.findShipmentById(delivery.getShipmentId());
+            DeliveryPersonnel personnel = findPersonnel(delivery.getPersonnelId());
+            SwingUtilities.invokeLater(() -> {
+                view.removeUnscheduledShipment(delivery.getShipmentId());
+                view.upsertDelivery(delivery, shipment, personnel);
+            });
+        } catch (SQLException ex) {
+            System.err.println("Error applying " + event + ": " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Updates the personnel combo box, and the delivery rows of that personnel if their name changed.
+     * Called on the event bus thread.
+     */
+    private void personnelChanged(PersonnelChanged event) {
+        if (event.isDeleted()) {
+            // Their deliveries are unassigned through DeliveryChanged
+            SwingUtilities.invokeLater(() -> view.removePersonnelOption(event.getId()));
+            return;
+        }
+        try {
+            DeliveryPersonnel personnel = event.getEntity();
+            List<Object[]> rows = new ArrayList<>();
+            String previousName = personnelNames.put(personnel.getPersonnelId(), personnel.getName());
+            if (previousName != null && !previousName.equals(personnel.getName())) {
+                for (Delivery delivery : deliveryDAO.findDeliveriesByPersonnelId(personnel.getPersonnelId())) {
+                    rows.add(new Object[]{delivery, shipmentDAO.findShipmentById(delivery.getShipmentId())});
+                }
+            }
+            SwingUtilities.invokeLater(() -> {
+                view.upsertPersonnelOption(personnel);
+                for (Object[] row : rows) {
+                    view.upsertDelivery((Delivery) row[0], (Shipment) row[1], personnel);
+                }
+            });
+        } catch (SQLException ex) {
+            System.err.println("Error applying " + event + ": " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    private DeliveryPersonnel findPersonnel(String personnelId) throws SQLException {
+        if (personnelId == null || personnelId.isEmpty()) {
+            return null;
+        }
+        return personnelDAO.findPersonnelById(personnelId);
+    }
+
     /**
      * Loads all necessary data (unscheduled shipments, all deliveries, available personnel)
      * and updates all tables/combobox in the view.
      */
     private void loadAllData() {
-        loadUnscheduledShipments();
-        loadDeliveries();
-        loadAvailablePersonnel();
+        ActionTrace.run("ScheduleDeliveryController.loadAllData", () -> {
+            loadUnscheduledShipments();
+            loadDeliveries();
+            loadAvailablePersonnel();
+        });
     }
 
     /**
@@ -130,6 +262,9 @@ public class ScheduleDeliveryController {
     public void loadAvailablePersonnel() {
         try {
             List<DeliveryPersonnel> personnelList = personnelDAO.findAllPersonnel(); // Get all personnel for selection
+            for (DeliveryPersonnel personnel : personnelList) {
+                personnelNames.put(personnel.getPersonnelId(), personnel.getName());
+            }
             view.populatePersonnelComboBox(personnelList);
         } catch (SQLException ex) {
             view.showErrorMessage("Error loading delivery personnel: " + ex.getMessage());
@@ -155,12 +290,31 @@ public class ScheduleDeliveryController {
         String deliveryStatus = view.getDeliveryStatus();
         String delayReason = view.getDelayReason();
 
-        // Basic validation
-        if (scheduledDate == null || scheduledTimeSlot.isEmpty() || estimatedArrivalTime == null || deliveryStatus.isEmpty()) {
-            view.showErrorMessage("Please fill in all required delivery details (Date, Time Slot, ETA, Status).");
+        // Basic validation (a blank ETA is predicted from delivery history below)
+        if (scheduledDate == null || scheduledTimeSlot.isEmpty() || deliveryStatus.isEmpty() ||
+                (estimatedArrivalTime == null && view.hasEstimatedArrivalTimeInput())) {
+            view.showErrorMessage("Please fill in all required delivery details (Date, Time Slot, Status) and a valid ETA or leave it blank.");
             return;
         }
 
+        if (estimatedArrivalTime == null) {
+            try {
+                Shipment shipment = shipmentDAO.findShipmentById(shipmentId);
+                if (shipment == null) {
+                    view.showErrorMessage("Selected shipment not found. Please refresh and try again.");
+                    return;
+                }
+                estimatedArrivalTime = etaPredictionService.predictEta(shipment,
+                        selectedPersonnel != null ? selectedPersonnel.getPersonnelId() : null,
+                        scheduledDate, scheduledTimeSlot, LocalDateTime.now());
+                view.setEstimatedArrivalTime(estimatedArrivalTime);
+            } catch (SQLException ex) {
+                view.showErrorMessage("Error retrieving shipment for ETA prediction: " + ex.getMessage());
+                ex.printStackTrace();
+                return;
+            }
+        }
+
         // Create new Delivery object
         Delivery newDelivery = new Delivery();
         newDelivery.setDeliveryId("DEL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
@@ -195,29 +349,28 @@ public class ScheduleDeliveryController {
                     shipmentDAO.updateShipment(shipment);
 
                     // --- Send Customer Notification ---
-                    String customerMsg = String.format("Dear %s, your shipment '%s' is now scheduled for delivery on %s between %s. Est. Arrival: %s. Status: %s.",
+                    NotificationMessage customerMsg = NotificationTemplate.DELIVERY_SCHEDULED_CUSTOMER.with(
                             shipment.getReceiverName(), // Using receiver name as a placeholder for customer name
                             shipment.getTrackingNumber(),
-                            newDelivery.getScheduledDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+                            newDelivery.getScheduledDate(),
                             newDelivery.getScheduledTimeSlot(),
-                            newDelivery.getEstimatedArrivalTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")),
+                            newDelivery.getEstimatedArrivalTime(),
                             newDelivery.getDeliveryStatus());
                     notificationController.sendCustomerNotification(shipment.getShipmentId(), customerMsg, false);
 
                     // --- Send Personnel Notification if assigned ---
                     if (selectedPersonnel != null) {
-                        String personnelMsg = String.format("New Delivery Scheduled for you: Shipment '%s' to %s. Date: %s, Time: %s. Est. Arrival: %s.",
+                        NotificationMessage personnelMsg = NotificationTemplate.DELIVERY_SCHEDULED_PERSONNEL.with(
                                 shipment.getTrackingNumber(),
                                 shipment.getReceiverAddress(),
-                                newDelivery.getScheduledDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")),
+                                newDelivery.getScheduledDate(),
                                 newDelivery.getScheduledTimeSlot(),
-                                newDelivery.getEstimatedArrivalTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
+                                newDelivery.getEstimatedArrivalTime());
                         notificationController.sendPersonnelNotification(selectedPersonnel.getPersonnelId(), shipment.getShipmentId(), personnelMsg, shipment.isUrgent());
                     }
 
                 }
-                clearForm();
-                loadAllData(); // Refresh all tables
+                clearForm(); // The tables are updated through DeliveryChanged
             } else {
                 view.showErrorMessage("Failed to schedule delivery.");
             }
@@ -288,13 +441,22 @@ public class ScheduleDeliveryController {
             if (success) {
                 view.showMessage("Delivery updated successfully!");
 
+                // A completed delivery is new training data for the ETA model
+                if ("Delivered".equals(newDeliveryStatus) && !"Delivered".equals(oldStatus)) {
+                    etaPredictionService.requestRefresh();
+                }
+                if ("Delivered".equals(newDeliveryStatus) || "Cancelled".equals(newDeliveryStatus)) {
+                    overdueWatcher.resolve(deliveryId);
+                    view.showOverdueCount(overdueWatcher.getOverdueCount());
+                }
+
                 // Update Shipment status if it changes
                 if (associatedShipment != null && !oldStatus.equals(newDeliveryStatus)) {
                     associatedShipment.setCurrentStatus(newDeliveryStatus);
                     shipmentDAO.updateShipment(associatedShipment);
 
                     // --- Send Customer Notification on Status Change ---
-                    String customerMsg = String.format("Dear %s, your shipment '%s' delivery status has changed to: %s. Current Location: %s.",
+                    NotificationMessage customerMsg = NotificationTemplate.DELIVERY_STATUS_CHANGED.with(
                             associatedShipment.getReceiverName(),
                             associatedShipment.getTrackingNumber(),
                             newDeliveryStatus,
@@ -307,7 +469,7 @@ public class ScheduleDeliveryController {
                 if (originalPersonnel != null && newSelectedPersonnel == null) {
                     originalPersonnel.setAvailabilityStatus("Available"); // Make original personnel available
                     personnelDAO.updatePersonnel(originalPersonnel);
-                    String personnelMsg = String.format("Your assignment for Shipment ID: %s (Tracking No: %s) has been cancelled. You are now Available.",
+                    NotificationMessage personnelMsg = NotificationTemplate.ASSIGNMENT_CANCELLED.with(
                             associatedShipment.getShipmentId(), associatedShipment.getTrackingNumber());
                     notificationController.sendPersonnelNotification(originalPersonnel.getPersonnelId(), associatedShipment.getShipmentId(), personnelMsg, false);
                 }
@@ -316,13 +478,13 @@ public class ScheduleDeliveryController {
                     if (originalPersonnel != null) { // If there was an old personnel, make them available
                         originalPersonnel.setAvailabilityStatus("Available");
                         personnelDAO.updatePersonnel(originalPersonnel);
-                        String oldPersonnelMsg = String.format("Your assignment for Shipment ID: %s (Tracking No: %s) has been reassigned. You are now Available.",
+                        NotificationMessage oldPersonnelMsg = NotificationTemplate.ASSIGNMENT_REASSIGNED.with(
                                 associatedShipment.getShipmentId(), associatedShipment.getTrackingNumber());
                         notificationController.sendPersonnelNotification(originalPersonnel.getPersonnelId(), associatedShipment.getShipmentId(), oldPersonnelMsg, false);
                     }
                     newSelectedPersonnel.setAvailabilityStatus("On Route"); // Mark new personnel as on route
                     personnelDAO.updatePersonnel(newSelectedPersonnel);
-                    String newPersonnelMsg = String.format("You have been assigned Shipment ID: %s (Tracking No: %s). Receiver: %s at %s. Status: %s. Please check your schedule.",
+                    NotificationMessage newPersonnelMsg = NotificationTemplate.DRIVER_ASSIGNED_PERSONNEL.with(
                             associatedShipment.getShipmentId(),
                             associatedShipment.getTrackingNumber(),
                             associatedShipment.getReceiverName(),
@@ -331,8 +493,7 @@ public class ScheduleDeliveryController {
                     notificationController.sendPersonnelNotification(newSelectedPersonnel.getPersonnelId(), associatedShipment.getShipmentId(), newPersonnelMsg, associatedShipment.isUrgent());
                 }
 
-                clearForm();
-                loadAllData(); // Refresh all tables
+                clearForm(); // The tables are updated through DeliveryChanged
             } else {
                 view.showErrorMessage("Failed to update delivery. Delivery ID might not exist.");
             }
@@ -367,6 +528,8 @@ public class ScheduleDeliveryController {
                 boolean success = deliveryDAO.deleteDelivery(deliveryId);
                 if (success) {
                     view.showMessage("Delivery deleted successfully!");
+                    overdueWatcher.resolve(deliveryId);
+                    view.showOverdueCount(overdueWatcher.getOverdueCount());
 
                     // Update associated shipment status to 'Pending' (unassigned)
                     Shipment associatedShipment = shipmentDAO.findShipmentById(deliveryToDelete.getShipmentId());
@@ -375,7 +538,7 @@ public class ScheduleDeliveryController {
                         shipmentDAO.updateShipment(associatedShipment);
 
                         // --- Send Customer Notification on Cancellation ---
-                        String customerMsg = String.format("Dear %s, the scheduled delivery for your shipment '%s' (Tracking No: %s) has been cancelled. It is now Pending for new scheduling.",
+                        NotificationMessage customerMsg = NotificationTemplate.DELIVERY_CANCELLED_CUSTOMER.with(
                                 associatedShipment.getReceiverName(),
                                 associatedShipment.getShipmentId(),
                                 associatedShipment.getTrackingNumber());
@@ -383,18 +546,15 @@ public class ScheduleDeliveryController {
 
                         // --- Send Personnel Notification if it was assigned ---
                         if (deliveryToDelete.getPersonnelId() != null && !deliveryToDelete.getPersonnelId().isEmpty()) {
-                            DeliveryPersonnel personnel = personnelDAO.findPersonnelById(deliveryToDelete.getPersonnelId());
-                            if (personnel != null) {
-                                personnel.setAvailabilityStatus("Available"); // Make personnel available
-                                personnelDAO.updatePersonnel(personnel);
-                                String personnelMsg = String.format("Your assigned delivery for Shipment ID: %s (Tracking No: %s) has been cancelled. You are now Available.",
+                            String personnelId = deliveryToDelete.getPersonnelId();
+                            if (personnelDAO.updatePersonnelStatus(personnelId, "Available")) { // Make personnel available
+                                NotificationMessage personnelMsg = NotificationTemplate.DELIVERY_CANCELLED_PERSONNEL.with(
                                         associatedShipment.getShipmentId(), associatedShipment.getTrackingNumber());
-                                notificationController.sendPersonnelNotification(personnel.getPersonnelId(), associatedShipment.getShipmentId(), personnelMsg, false);
+                                notificationController.sendPersonnelNotification(personnelId, associatedShipment.getShipmentId(), personnelMsg, false);
                             }
                         }
                     }
-                    clearForm();
-                    loadAllData(); // Refresh all tables
+                    clearForm(); // The tables are updated through DeliveryChanged
                 } else {
                     view.showErrorMessage("Failed to delete delivery.");
                 }
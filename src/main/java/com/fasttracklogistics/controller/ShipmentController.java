@@ -3,15 +3,31 @@
 package com.fasttracklogistics.controller;
 
 import com.fasttracklogistics.dao.DeliveryDAO;
-import com.fasttracklogistics.dao.DeliveryDAOImpl;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.metrics.ActionTrace;
 import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.NotificationMessage;
+import com.fasttracklogistics.model.NotificationTemplate;
+import com.fasttracklogistics.model.Shipment;
+import com.fasttracklogistics.service.ShipmentImportService;
+import com.fasttracklogistics.service.ShipmentValidator;
+import com.fasttracklogistics.view.ManageShipmentsPanel;
 
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import java.nio.file.Path;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID; // For generating unique IDs
+import java.util.concurrent.ExecutionException;
 import javax.swing.JOptionPane;
 
 /**
@@ -25,34 +41,66 @@ public class ShipmentController {
     private ShipmentDAO shipmentDAO;
     private DeliveryDAO deliveryDAO;
     private NotificationController notificationController;
+    private ShipmentImportService importService;
 
-    public ShipmentController(ManageShipmentsPanel view, NotificationController notificationController) {
+    public ShipmentController(ManageShipmentsPanel view, NotificationController notificationController, StorageBackend storage) {
         this.view = view;
-        this.shipmentDAO = new ShipmentDAOImpl();
-        this.deliveryDAO = new DeliveryDAOImpl();
+        this.shipmentDAO = storage.getShipmentDAO();
+        this.deliveryDAO = storage.getDeliveryDAO();
         this.notificationController = notificationController;
+        this.importService = new ShipmentImportService(shipmentDAO, notificationController);
 
         // Attach action listeners to buttons
-        this.view.getAddButton().addActionListener(e -> addShipment());
-        this.view.getUpdateButton().addActionListener(e -> updateShipment());
-        this.view.getDeleteButton().addActionListener(e -> deleteShipment());
+        this.view.getAddButton().addActionListener(e -> ActionTrace.run("ShipmentController.addShipment", this::addShipment));
+        this.view.getUpdateButton().addActionListener(e -> ActionTrace.run("ShipmentController.updateShipment", this::updateShipment));
+        this.view.getDeleteButton().addActionListener(e -> ActionTrace.run("ShipmentController.deleteShipment", this::deleteShipment));
         this.view.getClearButton().addActionListener(e -> clearForm());
-        this.view.getRefreshButton().addActionListener(e -> loadShipments());
+        this.view.getRefreshButton().addActionListener(e -> ActionTrace.run("ShipmentController.loadShipments", this::loadShipments));
+        this.view.getImportButton().addActionListener(e -> ActionTrace.run("ShipmentController.importShipments", this::importShipments));
 
         // Attach a listener to the table for row selection
         this.view.getShipmentTable().getSelectionModel().addListSelectionListener(new ListSelectionListener() {
             @Override
             public void valueChanged(ListSelectionEvent e) {
                 if (!e.getValueIsAdjusting() && view.getShipmentTable().getSelectedRow() != -1) {
-                    loadSelectedShipmentToForm();
+                    ActionTrace.run("ShipmentController.loadSelectedShipmentToForm", ShipmentController.this::loadSelectedShipmentToForm);
                 }
             }
         });
 
+        // Rows follow committed changes from this tab, the other tabs and background jobs
+        DomainEventBus.getInstance().subscribe(ShipmentChanged.class, this::shipmentChanged);
+        DomainEventBus.getInstance().subscribe(DeliveryChanged.class, this::deliveryChanged);
+
         // Load initial data into the table when the controller is initialized
         loadShipments();
     }
 
+    /**
+     * Applies a shipment change to its table row. Called on the event bus thread.
+     */
+    private void shipmentChanged(ShipmentChanged event) {
+        SwingUtilities.invokeLater(() -> {
+            if (event.isDeleted()) {
+                view.removeShipment(event.getId());
+            } else {
+                view.upsertShipment(event.getEntity());
+            }
+        });
+    }
+
+    /**
+     * Shows the new ETA of a delivery in its shipment's row. Called on the event bus thread.
+     */
+    private void deliveryChanged(DeliveryChanged event) {
+        Delivery delivery = event.getEntity();
+        if (delivery == null) {
+            return;
+        }
+        LocalDateTime estimatedArrivalTime = event.isDeleted() ? null : delivery.getEstimatedArrivalTime();
+        SwingUtilities.invokeLater(() -> view.updateEstimatedDelivery(delivery.getShipmentId(), estimatedArrivalTime));
+    }
+
     /**
      * Loads all shipment records (and their associated delivery details) from the database
      * and displays them in the view's table.
@@ -94,45 +142,17 @@ public class ShipmentController {
         String currentStatus = view.getCurrentStatus();
         boolean isUrgent = view.getIsUrgent(); // Get isUrgent status from view
 
-        // Basic validation
-        if (trackingNumber.isEmpty() || senderName.isEmpty() || senderAddress.isEmpty() ||
-                receiverName.isEmpty() || receiverAddress.isEmpty() || weightKgStr.isEmpty() ||
-                packageType.isEmpty() || route.isEmpty() || senderContact.isEmpty() || receiverContact.isEmpty() ||
-                packageContents.isEmpty() || dimensionsCm.isEmpty() || currentLocation.isEmpty()) {
-            view.showErrorMessage("Please fill in all required fields.");
-            return;
-        }
-
-        double weightKg;
+        // Validation rules are shared with the CSV import
+        Shipment newShipment;
         try {
-            weightKg = Double.parseDouble(weightKgStr);
-            if (weightKg <= 0) {
-                view.showErrorMessage("Weight must be a positive number.");
-                return;
-            }
-        } catch (NumberFormatException e) {
-            view.showErrorMessage("Invalid weight format. Please enter a number.");
+            newShipment = ShipmentValidator.validateNewShipment(trackingNumber, senderName, senderAddress, senderContact,
+                    receiverName, receiverAddress, receiverContact, packageContents, packageType, weightKgStr, dimensionsCm,
+                    currentLocation, route, currentStatus, isUrgent);
+        } catch (IllegalArgumentException e) {
+            view.showErrorMessage(e.getMessage());
             return;
         }
 
-        // Create a new Shipment object (ID and dates will be set by DAO/DB)
-        Shipment newShipment = new Shipment();
-        newShipment.setTrackingNumber(trackingNumber);
-        newShipment.setSenderName(senderName);
-        newShipment.setSenderAddress(senderAddress);
-        newShipment.setSenderContact(senderContact);
-        newShipment.setReceiverName(receiverName);
-        newShipment.setReceiverAddress(receiverAddress);
-        newShipment.setReceiverContact(receiverContact);
-        newShipment.setPackageContents(packageContents);
-        newShipment.setPackageType(packageType);
-        newShipment.setWeightKg(weightKg);
-        newShipment.setDimensionsCm(dimensionsCm);
-        newShipment.setCurrentLocation(currentLocation);
-        newShipment.setRoute(route);
-        newShipment.setCurrentStatus(currentStatus);
-        newShipment.setUrgent(isUrgent); // Set the urgent status
-
         try {
             // Check if tracking number already exists
             if (shipmentDAO.findShipmentByTrackingNumber(trackingNumber) != null) {
@@ -143,27 +163,21 @@ public class ShipmentController {
             // Generate a unique Shipment ID
             newShipment.setShipmentId("SHP-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
 
-            // Set initial status if not already set (e.g., from ComboBox)
-            if (newShipment.getCurrentStatus() == null || newShipment.getCurrentStatus().isEmpty()) {
-                newShipment.setCurrentStatus("Pending");
-            }
-
             boolean success = shipmentDAO.insertShipment(newShipment);
             if (success) {
                 view.showMessage("Shipment added successfully!");
                 // If urgent, send a notification to personnel
                 if (newShipment.isUrgent()) {
-                    String notificationMsg = String.format("URGENT: New shipment '%s' (%s) added on route '%s'.",
+                    NotificationMessage notificationMsg = NotificationTemplate.URGENT_SHIPMENT_ADDED.with(
                             newShipment.getTrackingNumber(), newShipment.getPackageType(), newShipment.getRoute());
                     notificationController.sendPersonnelNotification(null, newShipment.getShipmentId(), notificationMsg, true); // Pass true for urgent
                 }
-                String customerNotificationMsg = String.format("Your shipment '%s' has been successfully created and is now Pending. Current Location: %s",
-                        newShipment.getTrackingNumber(), newShipment.getCurrentLocation());
+                NotificationMessage customerNotificationMsg = NotificationTemplate.SHIPMENT_CREATED.with(
+                        newShipment.getTrackingNumber(), newShipment.getCurrentStatus(), newShipment.getCurrentLocation());
                 notificationController.sendCustomerNotification(newShipment.getShipmentId(), customerNotificationMsg, false); // Pass false for non-urgent
 
 
-                clearForm();
-                loadShipments(); // Refresh table
+                clearForm(); // The new row arrives through ShipmentChanged
             } else {
                 view.showErrorMessage("Failed to add shipment.");
             }
@@ -173,6 +187,45 @@ public class ShipmentController {
         }
     }
 
+    /**
+     * Imports new shipments from a CSV manifest chosen by the user, on a background SwingWorker.
+     */
+    private void importShipments() {
+        Path file = view.chooseImportFile();
+        if (file == null) {
+            return;
+        }
+        view.setImportRunning(true, "Importing...");
+
+        new SwingWorker<ShipmentImportService.ImportResult, String>() {
+            @Override
+            protected ShipmentImportService.ImportResult doInBackground() throws Exception {
+                return importService.importCsv(file, (lines, imported) ->
+                        publish(String.format("Importing... %d lines, %d imported", lines, imported)));
+            }
+
+            @Override
+            protected void process(List<String> progress) {
+                view.setImportRunning(true, progress.get(progress.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                view.setImportRunning(false, null);
+                try {
+                    ShipmentImportService.ImportResult result = get();
+                    view.showImportResult(String.format("Imported %d of %d shipments from %s.",
+                            result.getShipmentsImported(), result.getLinesProcessed(), file.getFileName()), result.getErrors());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    view.showErrorMessage("Error importing shipments: " + ex.getCause().getMessage());
+                    ex.getCause().printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
     /**
      * Handles updating an existing shipment based on user input from the form.
      */
@@ -268,21 +321,20 @@ public class ShipmentController {
 
                 // Check for status change and send customer notification
                 if (!originalShipment.getCurrentStatus().equals(updatedShipment.getCurrentStatus())) {
-                    String customerNotificationMsg = String.format("Your shipment '%s' status has changed to: %s. Current Location: %s",
+                    NotificationMessage customerNotificationMsg = NotificationTemplate.SHIPMENT_STATUS_CHANGED.with(
                             updatedShipment.getTrackingNumber(), updatedShipment.getCurrentStatus(), updatedShipment.getCurrentLocation());
                     notificationController.sendCustomerNotification(updatedShipment.getShipmentId(), customerNotificationMsg, false); // Pass false for non-urgent
                 }
 
                 // Check for urgent status change and send personnel notification
                 if (updatedShipment.isUrgent() && !originalShipment.isUrgent()) {
-                    String personnelNotificationMsg = String.format("URGENT: Shipment '%s' (%s) is now marked urgent. Route: '%s'.",
+                    NotificationMessage personnelNotificationMsg = NotificationTemplate.SHIPMENT_MARKED_URGENT.with(
                             updatedShipment.getTrackingNumber(), updatedShipment.getPackageType(), updatedShipment.getRoute());
                     notificationController.sendPersonnelNotification(null, updatedShipment.getShipmentId(), personnelNotificationMsg, true); // Pass true for urgent
                 }
 
 
-                clearForm();
-                loadShipments(); // Refresh table
+                clearForm(); // The row is updated through ShipmentChanged
             } else {
                 view.showErrorMessage("Failed to update shipment. Shipment ID might not exist.");
             }
@@ -313,8 +365,7 @@ public class ShipmentController {
                     view.showMessage("Shipment deleted successfully!");
                     // Optionally, send a cancellation notification to the customer
                     // For now, we'll keep it simple and not send a notification on deletion
-                    clearForm();
-                    loadShipments(); // Refresh table
+                    clearForm(); // The row is removed through ShipmentChanged
                 } else {
                     view.showErrorMessage("Failed to delete shipment. Shipment ID not found.");
                 }
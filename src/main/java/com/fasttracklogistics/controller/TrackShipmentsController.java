@@ -5,14 +5,20 @@
 package com.fasttracklogistics.controller;
 
 import com.fasttracklogistics.dao.DeliveryDAO;
-import com.fasttracklogistics.dao.DeliveryDAOImpl;
 import com.fasttracklogistics.dao.DeliveryPersonnelDAO; // NEW import for personnel
-import com.fasttracklogistics.dao.DeliveryPersonnelDAOImpl; // NEW import for personnel
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.dao.StorageBackend;
 
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.metrics.ActionTrace;
 import com.fasttracklogistics.model.Delivery;
 import com.fasttracklogistics.model.DeliveryPersonnel; // NEW import for personnel
+import com.fasttracklogistics.model.Shipment;
 import com.fasttracklogistics.view.TrackShipmentsPanel;
 
+import javax.swing.SwingUtilities;
 import java.sql.SQLException;
 
 /**
@@ -26,16 +32,58 @@ public class TrackShipmentsController {
     private ShipmentDAO shipmentDAO;
     private DeliveryDAO deliveryDAO;
     private DeliveryPersonnelDAO personnelDAO; // NEW DAO instance
+    private volatile String displayedShipmentId; // The shipment whose details are shown, or null
 
-    public TrackShipmentsController(TrackShipmentsPanel view) {
+    public TrackShipmentsController(TrackShipmentsPanel view, StorageBackend storage) {
         this.view = view;
-        this.shipmentDAO = new ShipmentDAOImpl();
-        this.deliveryDAO = new DeliveryDAOImpl();
-        this.personnelDAO = new DeliveryPersonnelDAOImpl(); // Initialize personnel DAO
+        this.shipmentDAO = storage.getShipmentDAO();
+        this.deliveryDAO = storage.getDeliveryDAO();
+        this.personnelDAO = storage.getPersonnelDAO(); // Initialize personnel DAO
 
         // Attach action listeners
-        this.view.getTrackButton().addActionListener(e -> trackShipment());
+        this.view.getTrackButton().addActionListener(e -> ActionTrace.run("TrackShipmentsController.trackShipment", this::trackShipment));
         this.view.getClearButton().addActionListener(e -> clearForm());
+
+        // The details shown stay current while the shipment is changed in other tabs
+        DomainEventBus bus = DomainEventBus.getInstance();
+        bus.subscribe(ShipmentChanged.class, event -> {
+            if (event.getId().equals(displayedShipmentId)) {
+                refreshDisplayedShipment(event.getId(), event.isDeleted());
+            }
+        });
+        bus.subscribe(DeliveryChanged.class, event -> {
+            if (event.getEntity() != null && event.getEntity().getShipmentId().equals(displayedShipmentId)) {
+                refreshDisplayedShipment(event.getEntity().getShipmentId(), false);
+            }
+        });
+    }
+
+    /**
+     * Re-reads the displayed shipment with its delivery and personnel. Called on the event bus thread.
+     * @param shipmentId The ID of the displayed shipment.
+     * @param deleted true if the shipment was deleted.
+     */
+    private void refreshDisplayedShipment(String shipmentId, boolean deleted) {
+        try {
+            Shipment shipment = deleted ? null : shipmentDAO.findShipmentById(shipmentId);
+            Delivery delivery = shipment != null ? deliveryDAO.findDeliveryByShipmentId(shipmentId) : null;
+            DeliveryPersonnel personnel = delivery != null && delivery.getPersonnelId() != null
+                    ? personnelDAO.findPersonnelById(delivery.getPersonnelId()) : null;
+            SwingUtilities.invokeLater(() -> {
+                if (!shipmentId.equals(displayedShipmentId)) {
+                    return; // Another shipment was tracked meanwhile
+                }
+                if (shipment != null) {
+                    view.displayShipmentDetails(shipment, delivery, personnel);
+                } else {
+                    displayedShipmentId = null;
+                    view.clearDetails();
+                }
+            });
+        } catch (SQLException ex) {
+            System.err.println("Error refreshing tracked shipment " + shipmentId + ": " + ex.getMessage());
+            ex.printStackTrace();
+        }
     }
 
     /**
@@ -47,6 +95,7 @@ public class TrackShipmentsController {
 
         if (trackingNumber.isEmpty()) {
             view.showErrorMessage("Please enter a tracking number.");
+            displayedShipmentId = null;
             view.clearDetails(); // Clear any previous details if input is empty
             return;
         }
@@ -62,13 +111,16 @@ public class TrackShipmentsController {
                     assignedPersonnel = personnelDAO.findPersonnelById(delivery.getPersonnelId());
                 }
                 view.displayShipmentDetails(shipment, delivery, assignedPersonnel);
+                displayedShipmentId = shipment.getShipmentId();
             } else {
+                displayedShipmentId = null;
                 view.showErrorMessage("No shipment found with tracking number: " + trackingNumber);
                 view.clearDetails(); // Clear display if not found
             }
         } catch (SQLException ex) {
             view.showErrorMessage("Database error while tracking shipment: " + ex.getMessage());
             ex.printStackTrace();
+            displayedShipmentId = null;
             view.clearDetails(); // Clear display on error
         }
     }
@@ -77,6 +129,7 @@ public class TrackShipmentsController {
      * Clears all display fields in the tracking panel.
      */
     private void clearForm() {
+        displayedShipmentId = null;
         view.clearDetails();
     }
 }
\ No newline at end of file
@@ -0,0 +1,377 @@
+// src/main/java/com/fasttracklogistics/dao/CoalescingNotificationDAO.java
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.metrics.MetricsRegistry;
+import com.fasttracklogistics.model.Notification;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * NotificationDAO decorator that coalesces bursts of notifications before they are written.
+ * <p>
+ * New notifications are held for a short window per (recipient type, recipient, shipment).
+ * A notification arriving for a key that is already pending supersedes the pending one:
+ * only the latest message is kept, and it stays urgent if any superseded message was urgent.
+ * When the window of a key closes, all due notifications are written with one batched insert.
+ * The window is fixed from the first message of a key, so a steady stream of edits is still
+ * written at least once per window. Notifications without a related shipment, and all reads
+ * and updates, go straight to the wrapped DAO.
+ * <p>
+ * If a batched insert fails, its notifications are retried one by one right away, so that one bad
+ * row does not hold back the others. Those that still fail are retried with exponential backoff and
+ * dropped (and logged and counted) after {@link #MAX_ATTEMPTS} attempts.
+ * Because queued notifications are written later, callers learn about such failures through
+ * {@link #setFailureListener} rather than from the insert methods.
+ * <p>
+ * Configure the window with -Dfasttrack.notifications.coalesceWindowMillis (0 disables coalescing).
+ */
+public class CoalescingNotificationDAO implements NotificationDAO {
+
+    public static final String WINDOW_PROPERTY = "fasttrack.notifications.coalesceWindowMillis";
+    private static final long DEFAULT_WINDOW_MILLIS = 2000;
+    private static final long MIN_TICK_MILLIS = 50;
+    static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_BACKOFF_MILLIS = 1000; // Doubled after every failed attempt
+
+    private final NotificationDAO delegate;
+    private final long windowMillis;
+    private final Map<String, PendingNotification> pending = new LinkedHashMap<>(); // Guarded by this; oldest first
+    private final Map<String, PendingNotification> retrying = new LinkedHashMap<>(); // Guarded by this; due first
+    private ScheduledExecutorService scheduler;
+    private long supersededCount; // Guarded by this
+    private final LongAdder droppedCount = MetricsRegistry.getInstance().counter("notifications.coalesce.dropped");
+    private volatile Consumer<List<Notification>> failureListener;
+
+    public CoalescingNotificationDAO(NotificationDAO delegate) {
+        this(delegate, Long.getLong(WINDOW_PROPERTY, DEFAULT_WINDOW_MILLIS));
+    }
+
+    public CoalescingNotificationDAO(NotificationDAO delegate, long windowMillis) {
+        this.delegate = delegate;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * A notification waiting for the window of its key to close.
+     */
+    private static class PendingNotification {
+        private Notification notification;
+        private final long dueNanos;
+        private final int attempts; // Failed writes so far
+
+        PendingNotification(Notification notification, long dueNanos, int attempts) {
+            this.notification = notification;
+            this.dueNanos = dueNanos;
+            this.attempts = attempts;
+        }
+    }
+
+    /**
+     * Starts the background flushing. Until then (and when the window is 0) notifications are written immediately.
+     */
+    public synchronized void start() {
+        if (scheduler != null || windowMillis <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = Math.max(MIN_TICK_MILLIS, windowMillis / 4);
+        scheduler.scheduleWithFixedDelay(() -> flush(false), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background flushing and writes everything that is still pending.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                scheduler = null;
+            }
+        }
+        flush(true);
+    }
+
+    /**
+     * Sets the listener told about queued notifications that could not be written and were dropped.
+     * It is called on the flushing thread.
+     * @param failureListener The listener, or null for none.
+     */
+    public void setFailureListener(Consumer<List<Notification>> failureListener) {
+        this.failureListener = failureListener;
+    }
+
+    /**
+     * @return The number of notifications that were dropped because a later one for the same key superseded them.
+     */
+    public synchronized long getSupersededCount() {
+        return supersededCount;
+    }
+
+    /**
+     * @return The number of notifications that were given up on after {@link #MAX_ATTEMPTS} failed writes.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * @return The number of notifications waiting to be written.
+     */
+    public synchronized int getPendingCount() {
+        return pending.size() + retrying.size();
+    }
+
+    /**
+     * Queues a notification. It is written when the window of its key closes, unless a later
+     * notification for the same key supersedes it first. A queued notification that cannot be
+     * written is reported to the failure listener, not here.
+     * @param notification The Notification object to insert.
+     * @return true once the notification is queued (or written, if it has no related shipment or coalescing is not running).
+     * @throws SQLException If the notification was written immediately and a database access error occurred.
+     */
+    @Override
+    public boolean insertNotification(Notification notification) throws SQLException {
+        List<Notification> single = new ArrayList<>(1);
+        single.add(notification);
+        return insertNotifications(single) > 0;
+    }
+
+    /**
+     * Queues several notifications; notifications for the same key supersede each other in list order.
+     * Notifications without a related shipment are written right away. Queued notifications are written
+     * later, and the ones that cannot be written are reported to the failure listener.
+     * @param notifications The Notification objects to insert.
+     * @return The number of notifications accepted: queued, or written right away.
+     * @throws SQLException If notifications were written immediately and a database access error occurred.
+     */
+    @Override
+    public int insertNotifications(List<Notification> notifications) throws SQLException {
+        List<Notification> immediate = new ArrayList<>();
+        synchronized (this) {
+            for (Notification notification : notifications) {
+                String key = coalescingKey(notification);
+                if (scheduler == null || key == null) {
+                    immediate.add(notification);
+                } else {
+                    enqueue(key, notification);
+                }
+            }
+        }
+        if (!immediate.isEmpty()) {
+            delegate.insertNotifications(immediate);
+        }
+        return notifications.size();
+    }
+
+    /**
+     * Adds a notification to the window of its key, superseding the pending one. Caller holds the lock.
+     */
+    private void enqueue(String key, Notification notification) {
+        PendingNotification existing = pending.get(key);
+        if (existing == null) {
+            PendingNotification failed = retrying.remove(key);
+            if (failed != null) {
+                // Supersedes a notification waiting to be retried, which then needs no retry
+                if (failed.notification.isUrgent()) {
+                    notification.setUrgent(true);
+                }
+                supersededCount++;
+            }
+            pending.put(key, new PendingNotification(notification, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis), 0));
+            return;
+        }
+        // The latest message describes the current state; urgency is never downgraded within a window
+        if (existing.notification.isUrgent()) {
+            notification.setUrgent(true);
+        }
+        existing.notification = notification;
+        supersededCount++;
+    }
+
+    /**
+     * Writes the notifications whose window has closed, or all pending ones.
+     * @param all true to write everything that is pending (on shutdown).
+     */
+    private void flush(boolean all) {
+        List<PendingNotification> due = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            takeDue(retrying, now, all, due);
+            takeDue(pending, now, all, due);
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        List<Notification> batch = new ArrayList<>(due.size());
+        for (PendingNotification entry : due) {
+            batch.add(entry.notification);
+        }
+        try {
+            delegate.insertNotifications(batch); // Publishes NotificationCreated once the rows are stored
+        } catch (SQLException e) {
+            System.err.println("Error writing " + batch.size() + " coalesced notifications, retrying one by one: " + e.getMessage());
+            writeOneByOne(due, all);
+        }
+    }
+
+    /**
+     * Moves the due entries of a queue that is kept in due order to the given list. Caller holds the lock.
+     */
+    private static void takeDue(Map<String, PendingNotification> queue, long now, boolean all, List<PendingNotification> due) {
+        Iterator<PendingNotification> it = queue.values().iterator();
+        while (it.hasNext()) {
+            PendingNotification entry = it.next();
+            if (!all && entry.dueNanos - now > 0) {
+                break; // Entries are in due order, so the rest are not due either
+            }
+            due.add(entry);
+            it.remove();
+        }
+    }
+
+    /**
+     * Retries the notifications of a failed batch individually, so only the ones that fail on their own are held back.
+     */
+    private void writeOneByOne(List<PendingNotification> entries, boolean finalAttempt) {
+        List<PendingNotification> failed = new ArrayList<>();
+        List<Notification> dropped = new ArrayList<>();
+        for (PendingNotification entry : entries) {
+            try {
+                delegate.insertNotification(entry.notification);
+            } catch (SQLException e) {
+                int attempts = entry.attempts + 1;
+                if (finalAttempt || attempts >= MAX_ATTEMPTS) {
+                    droppedCount.increment();
+                    dropped.add(entry.notification);
+                    System.err.println("Dropping notification for " + entry.notification.getRecipientType() + " "
+                            + entry.notification.getRecipientId() + " after " + attempts + " failed writes: " + e.getMessage());
+                    e.printStackTrace();
+                } else {
+                    long backoffNanos = TimeUnit.MILLISECONDS.toNanos(RETRY_BACKOFF_MILLIS << (attempts - 1));
+                    failed.add(new PendingNotification(entry.notification, System.nanoTime() + backoffNanos, attempts));
+                }
+            }
+        }
+        if (!failed.isEmpty()) {
+            requeue(failed);
+        }
+        Consumer<List<Notification>> listener = failureListener;
+        if (!dropped.isEmpty() && listener != null) {
+            listener.accept(dropped);
+        }
+    }
+
+    /**
+     * Queues notifications that could not be written for a retry once their backoff has passed.
+     * Retries are kept apart from the window queue, whose order new notifications must not break,
+     * and in due order. Notifications queued for the same key in the meantime are newer and win.
+     */
+    private synchronized void requeue(List<PendingNotification> failed) {
+        List<Map.Entry<String, PendingNotification>> merged = new ArrayList<>(retrying.entrySet());
+        for (PendingNotification entry : failed) {
+            String key = coalescingKey(entry.notification);
+            PendingNotification newer = pending.get(key);
+            if (newer == null) {
+                merged.add(Map.entry(key, entry));
+            } else if (entry.notification.isUrgent()) {
+                newer.notification.setUrgent(true);
+            }
+        }
+        // Failures are rare, so rebuilding the retry queue is cheap enough
+        long now = System.nanoTime();
+        merged.sort(Comparator.comparingLong(e -> e.getValue().dueNanos - now));
+        retrying.clear();
+        for (Map.Entry<String, PendingNotification> entry : merged) {
+            retrying.put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * The coalescing key of a notification, or null if it has no related shipment and must not be coalesced.
+     */
+    private static String coalescingKey(Notification notification) {
+        if (notification.getShipmentId() == null) {
+            return null;
+        }
+        return notification.getRecipientType() + '|' + notification.getRecipientId() + '|' + notification.getShipmentId();
+    }
+
+    // --- Everything else goes straight to the wrapped DAO ---
+
+    @Override
+    public Notification findNotificationById(String notificationId) throws SQLException {
+        return delegate.findNotificationById(notificationId);
+    }
+
+    @Override
+    public boolean updateNotification(Notification notification) throws SQLException {
+        return delegate.updateNotification(notification);
+    }
+
+    @Override
+    public boolean deleteNotification(String notificationId) throws SQLException {
+        return delegate.deleteNotification(notificationId);
+    }
+
+    @Override
+    public List<Notification> findAllNotifications(LocalDateTime since) throws SQLException {
+        return delegate.findAllNotifications(since);
+    }
+
+    @Override
+    public List<Notification> findNotificationsByRecipientType(String recipientType, LocalDateTime since) throws SQLException {
+        return delegate.findNotificationsByRecipientType(recipientType, since);
+    }
+
+    @Override
+    public List<Notification> findInboxPage(String recipientType, String recipientId, boolean urgentOnly, Notification after,
+                                            int limit) throws SQLException {
+        return delegate.findInboxPage(recipientType, recipientId, urgentOnly, after, limit);
+    }
+
+    @Override
+    public int[] findUnreadCounts(String recipientType, String recipientId) throws SQLException {
+        return delegate.findUnreadCounts(recipientType, recipientId);
+    }
+
+    @Override
+    public boolean markRead(String notificationId) throws SQLException {
+        return delegate.markRead(notificationId);
+    }
+
+    @Override
+    public int markAllRead(String recipientType, String recipientId) throws SQLException {
+        return delegate.markAllRead(recipientType, recipientId);
+    }
+
+    @Override
+    public List<Notification> findNotificationsByRecipientId(String recipientId) throws SQLException {
+        return delegate.findNotificationsByRecipientId(recipientId);
+    }
+
+    @Override
+    public List<Notification> findNotificationsByUrgency(boolean isUrgent, LocalDateTime since) throws SQLException {
+        return delegate.findNotificationsByUrgency(isUrgent, since);
+    }
+
+    @Override
+    public List<Notification> findNotificationsUpdatedSince(LocalDateTime since) throws SQLException {
+        return delegate.findNotificationsUpdatedSince(since);
+    }
+}
@@ -0,0 +1,392 @@
+// src/main/java/com/fasttracklogistics/dao/ConnectionPool.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.metrics.LatencyHistogram;
+import com.fasttracklogistics.metrics.MetricsRegistry;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A small, bounded JDBC connection pool.
+ * <p>
+ * The DAOs open a connection per operation and close it when done; with the pool enabled
+ * (see {@link DatabaseConnection#enablePooling}) close() hands the physical connection back
+ * instead of tearing down the TCP session and MySQL login. Idle connections are reused most
+ * recently returned first, so a quiet pool keeps a few hot connections, and are validated
+ * before reuse once they have been idle for a while. Callers wait (without holding a monitor,
+ * so virtual threads are not pinned) when all connections are lent out.
+ * <p>
+ * Each physical connection also keeps the statements prepared on it: prepareStatement(sql) returns the
+ * cached statement for the same SQL if there is one, and closing it puts it back with its parameters cleared.
+ * With server-side prepared statements (see DatabaseConnection#enablePooling) MySQL then parses each DAO
+ * statement once per connection instead of once per call. Statements whose settings were changed
+ * (e.g. setFetchSize) are closed instead of cached.
+ */
+public class ConnectionPool {
+
+    private static final long VALIDATE_AFTER_IDLE_MILLIS = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maximumSize;
+    private final long acquireTimeoutMillis;
+    private final int statementCacheSize; // Per physical connection; 0 disables the cache
+    private final Semaphore permits; // One per connection that may be lent out
+    private final ConcurrentLinkedDeque<PhysicalConnection> idle = new ConcurrentLinkedDeque<>();
+    private volatile boolean shutdown;
+
+    // Time borrowers spend waiting for a permit, timeouts, and physical connections opened
+    private final LatencyHistogram waitTimer;
+    private final LongAdder timeouts;
+    private final LongAdder opened;
+    // prepareStatement calls answered from the statement cache, prepared anew, and cached statements closed to make room
+    private final LongAdder statementHits;
+    private final LongAdder statementMisses;
+    private final LongAdder statementEvictions;
+
+    public ConnectionPool(String url, String user, String password, int maximumSize, long acquireTimeoutMillis) {
+        this(url, user, password, maximumSize, acquireTimeoutMillis, 0);
+    }
+
+    public ConnectionPool(String url, String user, String password, int maximumSize, long acquireTimeoutMillis,
+                          int statementCacheSize) {
+        this(url, user, password, maximumSize, acquireTimeoutMillis, statementCacheSize, "pool");
+    }
+
+    /**
+     * @param metricsPrefix Prefix of the pool's metrics in the MetricsRegistry, e.g. "pool" for "pool.wait";
+     *                      pools with different prefixes are reported separately.
+     */
+    public ConnectionPool(String url, String user, String password, int maximumSize, long acquireTimeoutMillis,
+                          int statementCacheSize, String metricsPrefix) {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maximumSize = maximumSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maximumSize, true);
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        this.waitTimer = registry.timer(metricsPrefix + ".wait");
+        this.timeouts = registry.counter(metricsPrefix + ".timeouts");
+        this.opened = registry.counter(metricsPrefix + ".opened");
+        this.statementHits = registry.counter(metricsPrefix + ".statements.hits");
+        this.statementMisses = registry.counter(metricsPrefix + ".statements.misses");
+        this.statementEvictions = registry.counter(metricsPrefix + ".statements.evicted");
+        registry.gauge(metricsPrefix + ".active", this::getActiveCount);
+        registry.gauge(metricsPrefix + ".idle", this::getIdleCount);
+    }
+
+    /**
+     * A physical connection and the statements prepared on it.
+     */
+    private static class PhysicalConnection {
+        private final Connection connection;
+        // Cached statements not in use, by SQL, least recently used first; only touched by the current borrower
+        private final Map<String, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+        private long returnedAtMillis; // When it was last put into the idle deque
+
+        PhysicalConnection(Connection connection) {
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * Lends out a connection. Closing it returns it to the pool.
+     * @return A connection in auto-commit mode.
+     * @throws SQLException If no connection became free within the acquire timeout, or a new one could not be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool is shut down");
+        }
+        long waitStart = System.nanoTime();
+        try {
+            boolean acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+            waitTimer.record(System.nanoTime() - waitStart);
+            if (!acquired) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for one of " + maximumSize + " pooled connections");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a pooled connection", e);
+        }
+        try {
+            return lend(takeIdleOrOpen());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PhysicalConnection takeIdleOrOpen() throws SQLException {
+        PhysicalConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            boolean fresh = System.currentTimeMillis() - entry.returnedAtMillis < VALIDATE_AFTER_IDLE_MILLIS;
+            if (fresh || isValid(entry.connection)) {
+                return entry;
+            }
+            closeQuietly(entry.connection); // Dropped by the server (e.g. wait_timeout); try the next one
+        }
+        opened.increment();
+        return new PhysicalConnection(DriverManager.getConnection(url, user, password));
+    }
+
+    private Connection lend(PhysicalConnection physical) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new LentConnection(physical));
+    }
+
+    /**
+     * Takes a connection back after its borrower closed it. Open transactions are rolled back.
+     */
+    private void giveBack(PhysicalConnection physical) {
+        try {
+            if (!physical.connection.getAutoCommit()) {
+                physical.connection.rollback();
+                physical.connection.setAutoCommit(true);
+            }
+            if (shutdown) {
+                closeQuietly(physical.connection);
+            } else {
+                physical.returnedAtMillis = System.currentTimeMillis();
+                idle.offerFirst(physical);
+            }
+        } catch (SQLException e) {
+            // A broken connection is not worth keeping; the next borrower opens a new one
+            closeQuietly(physical.connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return The number of connections currently lent out.
+     */
+    public int getActiveCount() {
+        return maximumSize - permits.availablePermits();
+    }
+
+    /**
+     * @return The number of open connections waiting to be lent out.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Closes the idle connections; connections still lent out are closed when they are returned.
+     */
+    public void shutdown() {
+        shutdown = true;
+        PhysicalConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            closeQuietly(entry.connection); // Closes its cached statements too
+        }
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception e) {
+            System.err.println("Error closing pooled " + resource + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The borrower's view of a pooled connection: close() returns it to the pool once,
+     * and the connection cannot be used any more afterwards.
+     */
+    private class LentConnection implements InvocationHandler {
+        private final PhysicalConnection physical;
+        private final List<CachedStatement> openStatements = new ArrayList<>(4);
+        private boolean closed;
+
+        LentConnection(PhysicalConnection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        // Statements the borrower did not close go back to the cache before the connection is lent again
+                        for (int i = openStatements.size() - 1; i >= 0; i--) {
+                            openStatements.get(i).release();
+                        }
+                        giveBack(physical);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || physical.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + physical.connection;
+                default:
+                    if (closed) {
+                        throw new SQLException("Connection is closed");
+                    }
+                    if (statementCacheSize > 0 && method.getName().equals("prepareStatement") && args.length == 1) {
+                        return prepareCached((Connection) proxy, (String) args[0]);
+                    }
+                    try {
+                        return method.invoke(physical.connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+
+        private PreparedStatement prepareCached(Connection owner, String sql) throws SQLException {
+            PreparedStatement statement = physical.statements.remove(sql); // Not shared while in use
+            if (statement != null && !statement.isClosed()) {
+                statementHits.increment();
+            } else {
+                statementMisses.increment();
+                statement = physical.connection.prepareStatement(sql);
+            }
+            CachedStatement cached = new CachedStatement(this, owner, sql, statement);
+            openStatements.add(cached);
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, cached);
+        }
+
+        /**
+         * Puts a statement the borrower is done with back into the cache, evicting the least recently used
+         * one if the cache is full.
+         */
+        void cache(String sql, PreparedStatement statement) {
+            PreparedStatement previous = physical.statements.put(sql, statement);
+            if (previous != null && previous != statement) {
+                closeQuietly(previous); // The same SQL was prepared twice at once; keep one
+            }
+            if (physical.statements.size() > statementCacheSize) {
+                Iterator<PreparedStatement> eldest = physical.statements.values().iterator();
+                closeQuietly(eldest.next());
+                eldest.remove();
+                statementEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * The borrower's view of a cached prepared statement: close() clears it and returns it to the cache.
+     */
+    private static class CachedStatement implements InvocationHandler {
+        private final LentConnection connection;
+        private final Connection owner;
+        private final String sql;
+        private final PreparedStatement statement;
+        private ResultSet resultSet; // The last one returned, closed on release
+        private boolean batched;
+        private boolean reusable = true;
+        private boolean closed;
+
+        CachedStatement(LentConnection connection, Connection owner, String sql, PreparedStatement statement) {
+            this.connection = connection;
+            this.owner = owner;
+            this.sql = sql;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    release();
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "getConnection":
+                    return owner;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + statement;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+            if (name.startsWith("set") && (args == null || args.length < 2 || !(args[0] instanceof Integer))) {
+                reusable = false; // setFetchSize, setMaxRows and the like would carry over to the next borrower
+            } else if (name.equals("addBatch")) {
+                batched = true;
+            }
+            Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                resultSet = (ResultSet) result;
+            }
+            return result;
+        }
+
+        void release() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            connection.openStatements.remove(this);
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+                if (!reusable) {
+                    statement.close();
+                    return;
+                }
+                statement.clearParameters();
+                if (batched) {
+                    statement.clearBatch();
+                }
+                connection.cache(sql, statement);
+            } catch (SQLException e) {
+                closeQuietly(statement); // Not worth caching a statement in an unknown state
+            }
+        }
+    }
+}
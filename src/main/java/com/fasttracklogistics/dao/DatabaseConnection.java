@@ -7,6 +7,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDateTime;
 
 /**
  * Utility class for managing database connections.
@@ -15,23 +16,68 @@ import java.sql.Statement;
  */
 public class DatabaseConnection {
 
-    // Database connection parameters for MySQL
-    // IMPORTANT: Replace with your actual MySQL database URL, username, and password
+    // Database connection parameters for MySQL, overridable with -Dfasttrack.db.url, -Dfasttrack.db.user
+    // and -Dfasttrack.db.password (e.g. for a depot's own server)
     // ADDED allowPublicKeyRetrieval=true TO ADDRESS "Public Key Retrieval is not allowed" ERROR
-    private static final String JDBC_URL = "jdbc:mysql://localhost:3306/fasttrack_db?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true";
-    private static final String USER = "root"; // Replace with your MySQL username
-    private static final String PASSWORD = ""; // Replace with your MySQL password
+    private static final String JDBC_URL = System.getProperty("fasttrack.db.url",
+            "jdbc:mysql://localhost:3306/fasttrack_db?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true");
+    private static final String USER = System.getProperty("fasttrack.db.user", "root");
+    private static final String PASSWORD = System.getProperty("fasttrack.db.password", "");
 
     // JDBC Driver name for MySQL
     private static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
 
+    // Future months that get a Notifications partition up front (the archiver keeps extending them)
+    public static final int NOTIFICATION_PARTITIONS_AHEAD = 2;
+
+    // Wait for a free pooled connection at most this long before failing the operation
+    private static final long POOL_ACQUIRE_TIMEOUT_MILLIS = 5_000;
+
+    // Prepared statements kept per pooled connection (see ConnectionPool), overridable with -Dfasttrack.db.statementCacheSize;
+    // 0 disables the cache
+    public static final String STATEMENT_CACHE_SIZE_PROPERTY = "fasttrack.db.statementCacheSize";
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+    // Set by enablePooling(); null means every getConnection() opens a new physical connection
+    private static volatile ConnectionPool pool;
+
+    // Read replicas for the DAOs' find methods (see ReplicaRouter); null unless -Dfasttrack.db.replicaUrls is set
+    private static volatile ReplicaRouter replicaRouter = ReplicaRouter.fromProperties(USER, PASSWORD);
+
     /**
      * Establishes and returns a connection to the database.
      *
+     * While a flight recording is running, or the slow query log is enabled, the connection's statements are
+     * traced (see JdbcTracing).
+     *
      * @return A valid database Connection object.
      * @throws SQLException If a database access error occurs or the driver cannot be found.
      */
     public static Connection getConnection() throws SQLException {
+        if (!JdbcTracing.isEnabled()) {
+            return openConnection();
+        }
+        long start = System.nanoTime();
+        Connection conn = openConnection();
+        return JdbcTracing.wrap(conn, System.nanoTime() - start);
+    }
+
+    /**
+     * Opens (or borrows, with pooling) a connection that is never traced, e.g. for the slow query log's EXPLAINs.
+     * Inside a DAO read routed by ReplicaRouter this is a replica connection, if a replica is usable.
+     */
+    static Connection openConnection() throws SQLException {
+        ReplicaRouter router = replicaRouter;
+        if (router != null) {
+            Connection replica = router.readConnection();
+            if (replica != null) {
+                return replica;
+            }
+        }
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current.getConnection();
+        }
         try {
             // Load the JDBC driver
             Class.forName(JDBC_DRIVER);
@@ -43,6 +89,77 @@ public class DatabaseConnection {
         return DriverManager.getConnection(JDBC_URL, USER, PASSWORD);
     }
 
+    /**
+     * Makes getConnection() lend out pooled connections; closing them returns them to the pool.
+     * Each pooled connection caches its prepared statements, and uses server-side prepared statements
+     * so that MySQL parses a statement once per connection rather than on every execution.
+     *
+     * @param maximumSize The maximum number of open connections.
+     * @throws SQLException If the JDBC driver cannot be found.
+     */
+    public static synchronized void enablePooling(int maximumSize) throws SQLException {
+        if (pool != null) {
+            return;
+        }
+        try {
+            Class.forName(JDBC_DRIVER);
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("JDBC Driver not found", e);
+        }
+        int statementCacheSize = Integer.getInteger(STATEMENT_CACHE_SIZE_PROPERTY, DEFAULT_STATEMENT_CACHE_SIZE);
+        // Without the cache a server-side prepare would cost a round trip per call, so only use them together
+        String url = statementCacheSize > 0 ? withUrlParameter(JDBC_URL, "useServerPrepStmts", "true") : JDBC_URL;
+        pool = new ConnectionPool(url, USER, PASSWORD, maximumSize, POOL_ACQUIRE_TIMEOUT_MILLIS, statementCacheSize);
+        ReplicaRouter router = replicaRouter;
+        if (router != null) {
+            router.enablePooling(maximumSize, POOL_ACQUIRE_TIMEOUT_MILLIS, statementCacheSize, replicaUrl -> statementCacheSize > 0
+                    ? withUrlParameter(replicaUrl, "useServerPrepStmts", "true") : replicaUrl);
+        }
+        System.out.println("Database connection pooling enabled (up to " + maximumSize + " connections, "
+                + statementCacheSize + " cached statements each).");
+    }
+
+    /**
+     * @return The JDBC URL with the parameter added, unless the URL already sets it.
+     */
+    private static String withUrlParameter(String url, String name, String value) {
+        if (url.contains(name + "=")) {
+            return url;
+        }
+        return url + (url.indexOf('?') >= 0 ? "&" : "?") + name + "=" + value;
+    }
+
+    /**
+     * Wraps a DAO so that its find methods read from a replica when replicas are configured (see ReplicaRouter).
+     *
+     * @return The wrapped DAO, or the given one if there are no replicas.
+     */
+    static <T> T routeReads(Class<T> type, T dao) {
+        ReplicaRouter router = replicaRouter;
+        return router != null ? router.routeReads(type, dao) : dao;
+    }
+
+    /**
+     * @return The replica router, or null if no read replicas are configured.
+     */
+    public static ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
+    /**
+     * Closes the pooled connections, if pooling was enabled, and stops using the read replicas. Called on shutdown.
+     */
+    public static synchronized void shutdownPool() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+        if (replicaRouter != null) {
+            replicaRouter.shutdown();
+            replicaRouter = null;
+        }
+    }
+
     /**
      * Closes the given Statement, ResultSet, and Connection objects safely.
      *
@@ -77,6 +194,28 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Reads the database clock. Watermarks compared with DEFAULT / ON UPDATE CURRENT_TIMESTAMP columns
+     * must come from here rather than from the local clock, which may differ between desks.
+     *
+     * @return The current time of the database server.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static LocalDateTime currentTimestamp() throws SQLException {
+        Connection conn = null;
+        Statement stmt = null;
+        ResultSet rs = null;
+        try {
+            conn = getConnection();
+            stmt = conn.createStatement();
+            rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP");
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime();
+        } finally {
+            closeResources(conn, stmt, rs);
+        }
+    }
+
     /**
      * Initializes the database by creating tables if they don't exist,
      * and adding missing columns to existing tables.
@@ -133,10 +272,12 @@ public class DatabaseConnection {
                     "    email VARCHAR(255)," +
                     "    vehicle_type VARCHAR(50)," +
                     "    license_number VARCHAR(50)," + // Added license_number
-                    "    availability_status VARCHAR(50) NOT NULL DEFAULT 'Available'" +
+                    "    availability_status VARCHAR(50) NOT NULL DEFAULT 'Available'," +
+                    "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP" +
                     ");");
             // Add license_number column if it doesn't exist
             addMissingColumn(stmt, "DeliveryPersonnel", "license_number", "VARCHAR(50)");
+            addMissingColumn(stmt, "DeliveryPersonnel", "updated_at", "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP");
 
 
             // Deliveries Table
@@ -150,23 +291,102 @@ public class DatabaseConnection {
                     "    delivery_status VARCHAR(50) NOT NULL DEFAULT 'Scheduled'," +
                     "    estimated_arrival_time DATETIME," +
                     "    delay_reason TEXT," +
+                    "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
                     "    FOREIGN KEY (shipment_id) REFERENCES Shipments(shipment_id) ON DELETE CASCADE," +
                     "    FOREIGN KEY (personnel_id) REFERENCES DeliveryPersonnel(personnel_id) ON DELETE SET NULL" +
                     ");");
 
+            addMissingColumn(stmt, "Deliveries", "updated_at", "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP");
+
+            // Completed-delivery change scans for ETA model training (status + updated_at range scans)
+            addMissingIndex(stmt, "Deliveries", "idx_deliveries_status_updated", "delivery_status, updated_at");
+            // Overdue scans by the SLA watcher (status + ETA range scans)
+            addMissingIndex(stmt, "Deliveries", "idx_deliveries_status_eta", "delivery_status, estimated_arrival_time");
+            // Scheduled-date range scans for the nightly rollup reconciliation
+            addMissingIndex(stmt, "Deliveries", "idx_deliveries_report",
+                    "scheduled_date, delivery_status, actual_delivery_date, estimated_arrival_time, personnel_id");
+            // Covering index for the urgent ratio report (range on created_at, aggregate from the index)
+            addMissingIndex(stmt, "Shipments", "idx_shipments_created_urgent", "created_at, is_urgent");
+            // Change scans for the incremental refresh of the in-memory analytics snapshot
+            addMissingIndex(stmt, "Shipments", "idx_shipments_updated", "updated_at");
+            addMissingIndex(stmt, "Deliveries", "idx_deliveries_updated", "updated_at");
+            // Change scans for the delta sync between dispatch desks (see DeltaSyncPoller)
+            addMissingIndex(stmt, "DeliveryPersonnel", "idx_personnel_updated", "updated_at");
+
+            // Daily delivery rollups, kept up to date by the DAO write methods (see DeliveryRollupMaintainer)
+            // and reconciled nightly. Reports read these instead of scanning Deliveries.
+            stmt.execute("CREATE TABLE IF NOT EXISTS DailyDeliveryRollup (" +
+                    "    rollup_date DATE NOT NULL," +
+                    "    route VARCHAR(255) NOT NULL DEFAULT ''," +
+                    "    delivery_status VARCHAR(50) NOT NULL," +
+                    "    personnel_id VARCHAR(50) NOT NULL DEFAULT ''," +
+                    "    delivery_count INT NOT NULL DEFAULT 0," +
+                    "    urgent_count INT NOT NULL DEFAULT 0," +
+                    "    weight_kg_sum DECIMAL(14, 2) NOT NULL DEFAULT 0," +
+                    "    on_time_count INT NOT NULL DEFAULT 0," +
+                    "    late_count INT NOT NULL DEFAULT 0," +
+                    "    delay_minutes_sum BIGINT NOT NULL DEFAULT 0," +
+                    "    PRIMARY KEY (rollup_date, route, delivery_status, personnel_id)" +
+                    ");");
+
             // Notifications Table
             stmt.execute("CREATE TABLE IF NOT EXISTS Notifications (" +
-                    "    notification_id VARCHAR(50) PRIMARY KEY," +
+                    "    notification_id VARCHAR(50) NOT NULL," +
                     "    recipient_type VARCHAR(20) NOT NULL," +
                     "    recipient_id VARCHAR(50) NOT NULL," +
                     "    message TEXT NOT NULL," +
-                    "    timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
                     "    status VARCHAR(50) DEFAULT 'Generated'," +
-                    "    is_urgent BOOLEAN DEFAULT FALSE" + // is_urgent column
+                    "    is_urgent BOOLEAN DEFAULT FALSE," + // is_urgent column
+                    "    is_read BOOLEAN NOT NULL DEFAULT FALSE," +
+                    "    template_id VARCHAR(50)," +
+                    "    template_params TEXT," +
+                    "    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+                    "    PRIMARY KEY (notification_id, timestamp)" + // Must include the partitioning column
                     ");");
             // Add is_urgent column if it doesn't exist
             addMissingColumn(stmt, "Notifications", "is_urgent", "BOOLEAN DEFAULT FALSE");
+            // Date range scans for exports
+            addMissingIndex(stmt, "Notifications", "idx_notifications_timestamp", "timestamp");
+            addMissingColumn(stmt, "Notifications", "is_read", "BOOLEAN NOT NULL DEFAULT FALSE");
+            // Template ID (and, in compact storage mode, its parameters instead of the full message text)
+            addMissingColumn(stmt, "Notifications", "template_id", "VARCHAR(50)");
+            addMissingColumn(stmt, "Notifications", "template_params", "TEXT");
+            // Newest-first keyset-paginated inboxes per recipient type, per recipient, and urgent-only
+            addMissingIndex(stmt, "Notifications", "idx_notifications_type_time", "recipient_type, timestamp");
+            addMissingIndex(stmt, "Notifications", "idx_notifications_recipient_time", "recipient_type, recipient_id, timestamp");
+            addMissingIndex(stmt, "Notifications", "idx_notifications_type_urgent_time", "recipient_type, is_urgent, timestamp");
+            // Change scans for the delta sync between dispatch desks (new notifications and read-state changes)
+            addMissingColumn(stmt, "Notifications", "updated_at", "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP");
+            addMissingIndex(stmt, "Notifications", "idx_notifications_updated", "updated_at");
+            // Monthly partitions, so the views only read recent months and old months can be archived and dropped
+            try {
+                NotificationPartitionManager.partitionIfNeeded(stmt, NOTIFICATION_PARTITIONS_AHEAD);
+            } catch (SQLException e) {
+                System.err.println("Error partitioning table Notifications: " + e.getMessage());
+                e.printStackTrace();
+            }
+
+            // Unread / urgent unread notifications per recipient, kept up to date by NotificationDAOImpl
+            // (see NotificationCounterMaintainer) so inbox badges never count the Notifications table.
+            stmt.execute("CREATE TABLE IF NOT EXISTS NotificationCounters (" +
+                    "    recipient_type VARCHAR(20) NOT NULL," +
+                    "    recipient_id VARCHAR(50) NOT NULL," +
+                    "    unread_count INT NOT NULL DEFAULT 0," +
+                    "    urgent_unread_count INT NOT NULL DEFAULT 0," +
+                    "    PRIMARY KEY (recipient_type, recipient_id)" +
+                    ");");
 
+            // Tombstones for deleted rows, so other dispatch desks can apply deletes in their delta sync
+            // (see DeletedRecordLog). related_id carries the shipment of a deleted delivery.
+            stmt.execute("CREATE TABLE IF NOT EXISTS DeletedRecords (" +
+                    "    table_name VARCHAR(50) NOT NULL," +
+                    "    record_id VARCHAR(50) NOT NULL," +
+                    "    related_id VARCHAR(50)," +
+                    "    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP," +
+                    "    PRIMARY KEY (table_name, record_id)," +
+                    "    INDEX idx_deleted_records_deleted (deleted_at)" +
+                    ");");
 
             System.out.println("Database tables checked/created successfully.");
 
@@ -204,4 +424,27 @@ public class DatabaseConnection {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Helper method to add an index to a table if it doesn't already exist.
+     * Works the same way as addMissingColumn by relying on MySQL's duplicate key name error.
+     * @param stmt The Statement object.
+     * @param tableName The name of the table.
+     * @param indexName The name of the index to create.
+     * @param columns The comma-separated list of indexed columns.
+     */
+    private static void addMissingIndex(Statement stmt, String tableName, String indexName, String columns) {
+        try {
+            stmt.execute("CREATE INDEX " + indexName + " ON " + tableName + " (" + columns + ")");
+            System.out.println("Index " + indexName + " created on table " + tableName + ".");
+        } catch (SQLException e) {
+            // Error code 1061 is "Duplicate key name" in MySQL
+            if (e.getErrorCode() == 1061) {
+                System.out.println("Index " + indexName + " already exists on table " + tableName + ". Skipping.");
+            } else {
+                System.err.println("Error creating index " + indexName + " on table " + tableName + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
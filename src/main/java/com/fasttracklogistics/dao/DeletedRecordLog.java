@@ -0,0 +1,129 @@
+// src/main/java/com/fasttracklogistics/dao/DeletedRecordLog.java
+
+package com.fasttracklogistics.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the DeletedRecords table (tombstones of deleted rows).
+ * <p>
+ * A deleted row has no updated_at left to scan, so the DAO delete methods write a tombstone in the
+ * same transaction as the delete, and the delta sync of other dispatch desks reads them with
+ * {@link #findDeletedSince}. Tombstones are only needed until every desk has synced past them;
+ * {@link #purgeOlderThan} removes older ones.
+ */
+public class DeletedRecordLog {
+
+    public static final String SHIPMENTS = "Shipments";
+    public static final String DELIVERIES = "Deliveries";
+    public static final String PERSONNEL = "DeliveryPersonnel";
+    public static final String NOTIFICATIONS = "Notifications";
+
+    // An ID deleted again (e.g. after an import re-created it) just moves its tombstone forward
+    private static final String ON_DUPLICATE = " ON DUPLICATE KEY UPDATE related_id = VALUES(related_id), deleted_at = CURRENT_TIMESTAMP";
+    private static final String RECORD_SQL = "INSERT INTO DeletedRecords (table_name, record_id, related_id) VALUES (?, ?, ?)" + ON_DUPLICATE;
+    private static final String RECORD_DELIVERIES_SQL = "INSERT INTO DeletedRecords (table_name, record_id, related_id) " +
+            "SELECT '" + DELIVERIES + "', delivery_id, shipment_id FROM Deliveries WHERE ";
+
+    private DeletedRecordLog() {
+        // Static helper
+    }
+
+    /**
+     * Records a deleted row.
+     * @param conn The connection of the surrounding delete transaction.
+     * @param tableName One of the table name constants.
+     * @param recordId The primary key of the deleted row.
+     * @param relatedId An ID subscribers need to apply the delete (may be null).
+     */
+    public static void record(Connection conn, String tableName, String recordId, String relatedId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RECORD_SQL)) {
+            stmt.setString(1, tableName);
+            stmt.setString(2, recordId);
+            stmt.setString(3, relatedId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Records the delivery that is about to be deleted, with its shipment as related ID.
+     * Must run before the DELETE, while the row can still be read.
+     */
+    public static void recordDelivery(Connection conn, String deliveryId) throws SQLException {
+        recordDeliveries(conn, "delivery_id = ?", deliveryId);
+    }
+
+    /**
+     * Records the delivery of a shipment that is about to be deleted (removed by ON DELETE CASCADE).
+     * Must run before the DELETE, while the row can still be read.
+     */
+    public static void recordDeliveryOfShipment(Connection conn, String shipmentId) throws SQLException {
+        recordDeliveries(conn, "shipment_id = ?", shipmentId);
+    }
+
+    private static void recordDeliveries(Connection conn, String condition, String value) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(RECORD_DELIVERIES_SQL + condition + ON_DUPLICATE)) {
+            stmt.setString(1, value);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Retrieves the tombstones written at or after a point in time, oldest first.
+     * @param since The watermark.
+     * @return One {table name, record ID, related ID, deleted at (LocalDateTime)} array per deleted row.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static List<Object[]> findDeletedSince(LocalDateTime since) throws SQLException {
+        List<Object[]> deleted = new ArrayList<>();
+        String sql = "SELECT table_name, record_id, related_id, deleted_at FROM DeletedRecords " +
+                "WHERE deleted_at >= ? ORDER BY deleted_at, table_name"; // A cascaded delivery before its shipment
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setTimestamp(1, Timestamp.valueOf(since));
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                deleted.add(new Object[]{
+                        rs.getString("table_name"),
+                        rs.getString("record_id"),
+                        rs.getString("related_id"),
+                        rs.getTimestamp("deleted_at").toLocalDateTime()
+                });
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return deleted;
+    }
+
+    /**
+     * Removes tombstones that every running desk has long synced past.
+     * @param cutoff Tombstones written before this are removed.
+     * @return The number of removed tombstones.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static int purgeOlderThan(LocalDateTime cutoff) throws SQLException {
+        String sql = "DELETE FROM DeletedRecords WHERE deleted_at < ?";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setTimestamp(1, Timestamp.valueOf(cutoff));
+            return pstmt.executeUpdate();
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, null);
+        }
+    }
+}
@@ -6,6 +6,7 @@ package com.fasttracklogistics.dao;
 
 import com.fasttracklogistics.model.Delivery;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -29,6 +30,20 @@ public interface DeliveryDAO {
      */
     boolean updateDelivery(Delivery delivery) throws SQLException;
 
+    /**
+     * Assigns a driver to a shipment in one transaction, safe against other dispatchers doing the same:
+     * claims the driver (see DeliveryPersonnelDAO#claimPersonnel) and inserts the delivery, or, if the shipment
+     * already has an unassigned delivery, sets its personnel and status (and its estimated arrival if it had none),
+     * and sets the shipment's status.
+     * @param delivery The delivery to create for the shipment, with the personnel to assign.
+     * @param personnelStatus The availability status the claimed driver gets, e.g. "On Route".
+     * @param shipmentStatus The status the shipment gets, e.g. "Assigned".
+     * @return The shipment's delivery as stored, or null if the driver was not available or the shipment
+     *         was already assigned (nothing is changed in that case).
+     * @throws SQLException If a database access error occurs.
+     */
+    Delivery assignDelivery(Delivery delivery, String personnelStatus, String shipmentStatus) throws SQLException;
+
     /**
      * Deletes a delivery record from the database by its ID.
      * @param deliveryId The ID of the delivery to delete.
@@ -67,4 +82,51 @@ public interface DeliveryDAO {
      * @throws SQLException If a database access error occurs.
      */
     List<Delivery> findDeliveriesByPersonnelId(String personnelId) throws SQLException;
+
+    /**
+     * Retrieves 'Delivered' deliveries whose row changed at or after the given time, joined with the
+     * route and package type of their shipment. Used to train the ETA model incrementally.
+     * @param since Lower bound (inclusive) on updated_at.
+     * @return A List of Object arrays, each containing {Delivery, Shipment}, ordered by updated_at.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Object[]> findDeliveredSince(LocalDateTime since) throws SQLException;
+
+    /**
+     * Retrieves open (not Delivered, Delayed or Cancelled) deliveries whose estimated arrival time
+     * is at or before the given time, joined with basic shipment details. Overdue deliveries leave
+     * the open statuses once they are marked 'Delayed', so this only returns those not flagged yet.
+     * @param upTo Inclusive upper bound on estimated_arrival_time (usually now).
+     * @return A List of Object arrays, each containing {Delivery, Shipment}, ordered by ETA.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Object[]> findOverdueDeliveries(LocalDateTime upTo) throws SQLException;
+
+    /**
+     * Retrieves the deliveries currently marked 'Delayed', joined with the same shipment details
+     * as {@link #findOverdueDeliveries}. Used to restore the overdue set after a restart.
+     * @return A List of Object arrays, each containing {Delivery, Shipment}, ordered by ETA.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Object[]> findDelayedDeliveries() throws SQLException;
+
+    /**
+     * Marks the given deliveries and their shipments as 'Delayed' in one transaction.
+     * An existing delay reason is kept; otherwise the given reason is stored.
+     * Deliveries that were completed or cancelled in the meantime are left untouched.
+     * @param deliveryIds The IDs of the deliveries to flag.
+     * @param delayReason The delay reason to store when none is set.
+     * @return The IDs of the deliveries that were flagged, in the order given.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<String> markDeliveriesDelayed(List<String> deliveryIds, String delayReason) throws SQLException;
+
+    /**
+     * Retrieves deliveries whose row changed (inserted or updated) at or after the given time, oldest change first.
+     * Used by the delta sync to pick up changes made by other dispatch desks.
+     * @param since The lower bound (inclusive) for updated_at.
+     * @return A List of changed Delivery objects.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Delivery> findDeliveriesUpdatedSince(LocalDateTime since) throws SQLException;
 }
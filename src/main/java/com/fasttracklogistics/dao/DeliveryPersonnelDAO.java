@@ -5,6 +5,7 @@ package com.fasttracklogistics.dao;
 
 import com.fasttracklogistics.model.DeliveryPersonnel;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -22,12 +23,33 @@ public interface DeliveryPersonnelDAO {
 
     /**
      * Updates an existing delivery personnel record in the database.
+     * Personnel read through this DAO only have the columns written that were changed since they were read
+     * (see DeliveryPersonnel#getChangedColumns); if none were, nothing is written.
      * @param personnel The DeliveryPersonnel object with updated details.
-     * @return true if the update was successful, false otherwise.
+     * @return true if the update was successful or there was nothing to update, false otherwise.
      * @throws SQLException If a database access error occurs.
      */
     boolean updatePersonnel(DeliveryPersonnel personnel) throws SQLException;
 
+    /**
+     * Sets the availability status of a delivery personnel member, leaving their other columns alone.
+     * @param personnelId The ID of the personnel to update.
+     * @param availabilityStatus The new availability status.
+     * @return true if the personnel member exists, false otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    boolean updatePersonnelStatus(String personnelId, String availabilityStatus) throws SQLException;
+
+    /**
+     * Sets the availability status of a delivery personnel member only if they are currently 'Available',
+     * so two dispatchers cannot both claim the same driver.
+     * @param personnelId The ID of the personnel to claim.
+     * @param availabilityStatus The new availability status, e.g. "On Route".
+     * @return true if the personnel member was available and is now claimed, false otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    boolean claimPersonnel(String personnelId, String availabilityStatus) throws SQLException;
+
     /**
      * Deletes a delivery personnel record from the database by its ID.
      * @param personnelId The ID of the personnel to delete.
@@ -65,5 +87,13 @@ public interface DeliveryPersonnelDAO {
      * @throws SQLException If a database access error occurs.
      */
     List<DeliveryPersonnel> findAvailablePersonnel() throws SQLException;
-}
 
+    /**
+     * Retrieves delivery personnel whose row changed (inserted or updated) at or after the given time, oldest change first.
+     * Used by the delta sync to pick up changes made by other dispatch desks.
+     * @param since The lower bound (inclusive) for updated_at.
+     * @return A List of changed DeliveryPersonnel objects.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<DeliveryPersonnel> findPersonnelUpdatedSince(LocalDateTime since) throws SQLException;
+}
@@ -0,0 +1,297 @@
+// src/main/java/com/fasttracklogistics/dao/DeliveryRollupMaintainer.java
+
+package com.fasttracklogistics.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maintains the DailyDeliveryRollup table (one row per scheduled day x route x delivery status x personnel).
+ * <p>
+ * DAO write methods call {@link #readByDeliveryId}/{@link #readByShipmentId} before and after their
+ * change, inside the same transaction, and apply the difference with {@link #applyChange}. The rollups
+ * therefore follow every write incrementally; {@link #reconcile} rebuilds a date range from the raw
+ * tables to fix any drift (e.g. from writes made outside the application), and {@link #findChangedMonths}
+ * tells which months may need it.
+ */
+public class DeliveryRollupMaintainer {
+
+    /**
+     * What one delivery contributes to its rollup row.
+     */
+    public static class Contribution {
+        private final LocalDate day;
+        private final String route;
+        private final String status;
+        private final String personnelId;
+        private final boolean urgent;
+        private final double weightKg;
+        private final boolean onTime;
+        private final boolean late;
+        private final long delayMinutes;
+
+        Contribution(LocalDate day, String route, String status, String personnelId, boolean urgent, double weightKg,
+                     LocalDateTime actualDeliveryDate, LocalDateTime estimatedArrivalTime) {
+            this.day = day;
+            this.route = route != null ? route : "";
+            this.status = status;
+            this.personnelId = personnelId != null ? personnelId : "";
+            this.urgent = urgent;
+            this.weightKg = weightKg;
+            boolean delivered = "Delivered".equals(status) && actualDeliveryDate != null && estimatedArrivalTime != null;
+            this.onTime = delivered && !actualDeliveryDate.isAfter(estimatedArrivalTime);
+            this.late = delivered && actualDeliveryDate.isAfter(estimatedArrivalTime);
+            this.delayMinutes = late ? Duration.between(estimatedArrivalTime, actualDeliveryDate).toMinutes() : 0;
+        }
+
+        boolean sameAs(Contribution other) {
+            return other != null && day.equals(other.day) && route.equals(other.route) && status.equals(other.status) &&
+                    personnelId.equals(other.personnelId) && urgent == other.urgent && weightKg == other.weightKg &&
+                    onTime == other.onTime && late == other.late && delayMinutes == other.delayMinutes;
+        }
+    }
+
+    private static final String CONTRIBUTION_SQL = "SELECT d.scheduled_date, d.delivery_status, d.personnel_id, " +
+            "d.actual_delivery_date, d.estimated_arrival_time, s.route, s.weight_kg, s.is_urgent " +
+            "FROM Deliveries d JOIN Shipments s ON s.shipment_id = d.shipment_id ";
+
+    private static final String APPLY_SQL = "INSERT INTO DailyDeliveryRollup (rollup_date, route, delivery_status, personnel_id, " +
+            "delivery_count, urgent_count, weight_kg_sum, on_time_count, late_count, delay_minutes_sum) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "delivery_count = delivery_count + VALUES(delivery_count), urgent_count = urgent_count + VALUES(urgent_count), " +
+            "weight_kg_sum = weight_kg_sum + VALUES(weight_kg_sum), on_time_count = on_time_count + VALUES(on_time_count), " +
+            "late_count = late_count + VALUES(late_count), delay_minutes_sum = delay_minutes_sum + VALUES(delay_minutes_sum)";
+
+    private static final int RECONCILE_ATTEMPTS = 3; // A rebuild that loses a deadlock is retried this often
+    private static final long DEADLOCK_BACKOFF_MILLIS = 200;
+
+    private DeliveryRollupMaintainer() {
+        // Static helper
+    }
+
+    /**
+     * Reads the current contribution of a delivery, locking its row until the transaction ends.
+     * @return The contribution, or null if the delivery does not exist.
+     */
+    public static Contribution readByDeliveryId(Connection conn, String deliveryId) throws SQLException {
+        return read(conn, CONTRIBUTION_SQL + "WHERE d.delivery_id = ? FOR UPDATE", deliveryId);
+    }
+
+    /**
+     * Reads the current contribution of the delivery belonging to a shipment, locking its row.
+     * @return The contribution, or null if the shipment has no delivery.
+     */
+    public static Contribution readByShipmentId(Connection conn, String shipmentId) throws SQLException {
+        return read(conn, CONTRIBUTION_SQL + "WHERE d.shipment_id = ? FOR UPDATE", shipmentId);
+    }
+
+    private static Contribution read(Connection conn, String sql, String id) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                Timestamp actual = rs.getTimestamp("actual_delivery_date");
+                Timestamp eta = rs.getTimestamp("estimated_arrival_time");
+                return new Contribution(rs.getDate("scheduled_date").toLocalDate(), rs.getString("route"),
+                        rs.getString("delivery_status"), rs.getString("personnel_id"), rs.getBoolean("is_urgent"),
+                        rs.getDouble("weight_kg"), actual != null ? actual.toLocalDateTime() : null,
+                        eta != null ? eta.toLocalDateTime() : null);
+            }
+        }
+    }
+
+    /**
+     * Moves a delivery's contribution from its old to its new rollup row.
+     * @param conn The connection of the surrounding write transaction.
+     * @param before The contribution before the write (null for inserts).
+     * @param after The contribution after the write (null for deletes).
+     */
+    public static void applyChange(Connection conn, Contribution before, Contribution after) throws SQLException {
+        if (before != null && before.sameAs(after)) {
+            return; // Nothing the rollups track has changed
+        }
+        if (before != null) {
+            apply(conn, before, -1);
+        }
+        if (after != null) {
+            apply(conn, after, 1);
+        }
+    }
+
+    private static void apply(Connection conn, Contribution c, int sign) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(APPLY_SQL)) {
+            stmt.setDate(1, Date.valueOf(c.day));
+            stmt.setString(2, c.route);
+            stmt.setString(3, c.status);
+            stmt.setString(4, c.personnelId);
+            stmt.setInt(5, sign);
+            stmt.setInt(6, c.urgent ? sign : 0);
+            stmt.setDouble(7, sign * c.weightKg);
+            stmt.setInt(8, c.onTime ? sign : 0);
+            stmt.setInt(9, c.late ? sign : 0);
+            stmt.setLong(10, sign * c.delayMinutes);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Moves all rollup rows of a personnel member to the unassigned bucket ('').
+     * Must run in the transaction that deletes the personnel, since the foreign key
+     * sets Deliveries.personnel_id to NULL without going through the DAO.
+     * @param conn The connection of the surrounding write transaction.
+     * @param personnelId The ID of the personnel being deleted.
+     */
+    public static void unassignPersonnel(Connection conn, String personnelId) throws SQLException {
+        String mergeSql = "INSERT INTO DailyDeliveryRollup (rollup_date, route, delivery_status, personnel_id, " +
+                "delivery_count, urgent_count, weight_kg_sum, on_time_count, late_count, delay_minutes_sum) " +
+                "SELECT rollup_date, route, delivery_status, '', delivery_count, urgent_count, weight_kg_sum, " +
+                "on_time_count, late_count, delay_minutes_sum FROM DailyDeliveryRollup WHERE personnel_id = ? " +
+                "ON DUPLICATE KEY UPDATE " +
+                "delivery_count = delivery_count + VALUES(delivery_count), urgent_count = urgent_count + VALUES(urgent_count), " +
+                "weight_kg_sum = weight_kg_sum + VALUES(weight_kg_sum), on_time_count = on_time_count + VALUES(on_time_count), " +
+                "late_count = late_count + VALUES(late_count), delay_minutes_sum = delay_minutes_sum + VALUES(delay_minutes_sum)";
+        try (PreparedStatement merge = conn.prepareStatement(mergeSql);
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM DailyDeliveryRollup WHERE personnel_id = ?")) {
+            merge.setString(1, personnelId);
+            merge.executeUpdate();
+            delete.setString(1, personnelId);
+            delete.executeUpdate();
+        }
+    }
+
+    /**
+     * Rebuilds the rollup rows for scheduled dates in [from, to) from the raw tables in one transaction.
+     * The rebuild locks the same rows as concurrent DAO writes, so if it is picked as a deadlock victim
+     * it is retried a few times before giving up.
+     * @param from First day included.
+     * @param to First day excluded.
+     * @return The number of rollup rows written.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static int reconcile(LocalDate from, LocalDate to) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return rebuild(from, to);
+            } catch (SQLException e) {
+                if (!isDeadlock(e) || attempt >= RECONCILE_ATTEMPTS) {
+                    throw e;
+                }
+                System.err.println("Deadlock reconciling delivery rollups from " + from + " to " + to + ", retrying: "
+                        + e.getMessage());
+                try {
+                    Thread.sleep(DEADLOCK_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static int rebuild(LocalDate from, LocalDate to) throws SQLException {
+        String deleteSql = "DELETE FROM DailyDeliveryRollup WHERE rollup_date >= ? AND rollup_date < ?";
+        String rebuildSql = "INSERT INTO DailyDeliveryRollup (rollup_date, route, delivery_status, personnel_id, " +
+                "delivery_count, urgent_count, weight_kg_sum, on_time_count, late_count, delay_minutes_sum) " +
+                "SELECT d.scheduled_date, COALESCE(s.route, ''), d.delivery_status, COALESCE(d.personnel_id, ''), " +
+                "COUNT(*), SUM(s.is_urgent), COALESCE(SUM(s.weight_kg), 0), " +
+                "SUM(d.delivery_status = 'Delivered' AND d.actual_delivery_date <= d.estimated_arrival_time), " +
+                "SUM(d.delivery_status = 'Delivered' AND d.actual_delivery_date > d.estimated_arrival_time), " +
+                "COALESCE(SUM(CASE WHEN d.delivery_status = 'Delivered' AND d.actual_delivery_date > d.estimated_arrival_time " +
+                "THEN TIMESTAMPDIFF(MINUTE, d.estimated_arrival_time, d.actual_delivery_date) END), 0) " +
+                "FROM Deliveries d JOIN Shipments s ON s.shipment_id = d.shipment_id " +
+                "WHERE d.scheduled_date >= ? AND d.scheduled_date < ? " +
+                "GROUP BY d.scheduled_date, COALESCE(s.route, ''), d.delivery_status, COALESCE(d.personnel_id, '')";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql);
+                 PreparedStatement rebuild = conn.prepareStatement(rebuildSql)) {
+                delete.setDate(1, Date.valueOf(from));
+                delete.setDate(2, Date.valueOf(to));
+                delete.executeUpdate();
+                rebuild.setDate(1, Date.valueOf(from));
+                rebuild.setDate(2, Date.valueOf(to));
+                int rows = rebuild.executeUpdate();
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // MySQL reports deadlocks as error 1213 (SQLState 40001)
+    private static boolean isDeadlock(SQLException e) {
+        return e.getErrorCode() == 1213 || "40001".equals(e.getSQLState());
+    }
+
+    /**
+     * Returns the months that have deliveries changed since the given time, either in Deliveries
+     * or in the Shipments columns the rollups use. Deletions leave no trace here.
+     * @param since The lower bound (inclusive) for Deliveries.updated_at / Shipments.updated_at, from the database clock.
+     * @return The first day of each such month, oldest first.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static List<LocalDate> findChangedMonths(LocalDateTime since) throws SQLException {
+        // One branch per updated_at index; UNION removes months found on both sides
+        String sql = "SELECT YEAR(d.scheduled_date) AS y, MONTH(d.scheduled_date) AS m FROM Deliveries d WHERE d.updated_at >= ? " +
+                "UNION SELECT YEAR(d.scheduled_date), MONTH(d.scheduled_date) FROM Shipments s " +
+                "JOIN Deliveries d ON d.shipment_id = s.shipment_id WHERE s.updated_at >= ? ORDER BY y, m";
+        List<LocalDate> months = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            stmt.setTimestamp(2, Timestamp.valueOf(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    months.add(LocalDate.of(rs.getInt(1), rs.getInt(2), 1));
+                }
+            }
+        }
+        return months;
+    }
+
+    /**
+     * Returns the earliest and latest scheduled dates in the Deliveries table, used for a full rebuild.
+     * @return {earliest, latest}, or null if there are no deliveries.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static LocalDate[] findScheduledDateRange() throws SQLException {
+        String sql = "SELECT MIN(scheduled_date), MAX(scheduled_date) FROM Deliveries";
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (rs.next() && rs.getDate(1) != null) {
+                return new LocalDate[]{rs.getDate(1).toLocalDate(), rs.getDate(2).toLocalDate()};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the rollup table holds any rows (it is empty right after it was created).
+     * @return true if at least one rollup row exists.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static boolean hasRollups() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT 1 FROM DailyDeliveryRollup LIMIT 1")) {
+            return rs.next();
+        }
+    }
+}
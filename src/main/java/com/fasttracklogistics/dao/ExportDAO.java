@@ -0,0 +1,48 @@
+// src/main/java/com/fasttracklogistics/dao/ExportDAO.java
+
+package com.fasttracklogistics.dao;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Data Access Object (DAO) interface for exporting whole tables.
+ * Rows are streamed to the handler straight from the ResultSet, so memory use does not
+ * depend on the size of the table. Every method takes a date range [from, to) and an
+ * optional status filter (null or empty for all statuses).
+ */
+public interface ExportDAO {
+    /**
+     * Streams all shipments created in the range, oldest first.
+     * @param from First creation date included.
+     * @param to First creation date excluded.
+     * @param status Only export shipments with this current status (null for all).
+     * @param handler Receives the column names and then each row.
+     * @throws SQLException If a database access error occurs.
+     * @throws IOException If the handler fails to write a row.
+     */
+    void streamShipments(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException;
+
+    /**
+     * Streams all deliveries scheduled in the range, oldest first.
+     * @param from First scheduled date included.
+     * @param to First scheduled date excluded.
+     * @param status Only export deliveries with this delivery status (null for all).
+     * @param handler Receives the column names and then each row.
+     * @throws SQLException If a database access error occurs.
+     * @throws IOException If the handler fails to write a row.
+     */
+    void streamDeliveries(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException;
+
+    /**
+     * Streams all notifications sent in the range, oldest first.
+     * @param from First notification date included.
+     * @param to First notification date excluded.
+     * @param status Only export notifications with this status (null for all).
+     * @param handler Receives the column names and then each row.
+     * @throws SQLException If a database access error occurs.
+     * @throws IOException If the handler fails to write a row.
+     */
+    void streamNotifications(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException;
+}
@@ -0,0 +1,25 @@
+// src/main/java/com/fasttracklogistics/dao/ExportRowHandler.java
+
+package com.fasttracklogistics.dao;
+
+import java.io.IOException;
+
+/**
+ * Callback that receives exported rows one at a time while a streaming ResultSet is read.
+ * Unlike ReportRowHandler it may fail with an IOException, since it usually writes to a file.
+ */
+public interface ExportRowHandler {
+    /**
+     * Called once before the first row.
+     * @param columns The column names of the exported table.
+     * @throws IOException If the output cannot be written.
+     */
+    void handleColumns(String[] columns) throws IOException;
+
+    /**
+     * Handles one exported row.
+     * @param row The column values of the row, in the order of the columns.
+     * @throws IOException If the output cannot be written.
+     */
+    void handleRow(Object[] row) throws IOException;
+}
@@ -0,0 +1,83 @@
+// src/main/java/com/fasttracklogistics/dao/InstrumentedStorageBackend.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.metrics.InstrumentedProxy;
+
+/**
+ * Decorates a storage backend so that every DAO call is timed in the MetricsRegistry
+ * ("dao.ShipmentDAO.findShipmentById" and so on, see InstrumentedProxy). The DAOs are wrapped once,
+ * so the per-call overhead is a proxy dispatch and a few atomic increments.
+ */
+public class InstrumentedStorageBackend implements StorageBackend {
+
+    private static final String PREFIX = "dao";
+
+    private final StorageBackend backend;
+    private final ShipmentDAO shipmentDAO;
+    private final DeliveryDAO deliveryDAO;
+    private final DeliveryPersonnelDAO personnelDAO;
+    private final NotificationDAO notificationDAO;
+    private final ReportDAO reportDAO;
+    private final ExportDAO exportDAO;
+
+    public InstrumentedStorageBackend(StorageBackend backend) {
+        this.backend = backend;
+        this.shipmentDAO = InstrumentedProxy.wrap(ShipmentDAO.class, backend.getShipmentDAO(), PREFIX);
+        this.deliveryDAO = InstrumentedProxy.wrap(DeliveryDAO.class, backend.getDeliveryDAO(), PREFIX);
+        this.personnelDAO = InstrumentedProxy.wrap(DeliveryPersonnelDAO.class, backend.getPersonnelDAO(), PREFIX);
+        this.notificationDAO = InstrumentedProxy.wrap(NotificationDAO.class, backend.getNotificationDAO(), PREFIX);
+        this.reportDAO = InstrumentedProxy.wrap(ReportDAO.class, backend.getReportDAO(), PREFIX);
+        this.exportDAO = InstrumentedProxy.wrap(ExportDAO.class, backend.getExportDAO(), PREFIX);
+    }
+
+    @Override
+    public String getName() {
+        return backend.getName();
+    }
+
+    @Override
+    public void initialize() {
+        backend.initialize();
+    }
+
+    @Override
+    public boolean isShared() {
+        return backend.isShared();
+    }
+
+    @Override
+    public ShipmentDAO getShipmentDAO() {
+        return shipmentDAO;
+    }
+
+    @Override
+    public DeliveryDAO getDeliveryDAO() {
+        return deliveryDAO;
+    }
+
+    @Override
+    public DeliveryPersonnelDAO getPersonnelDAO() {
+        return personnelDAO;
+    }
+
+    @Override
+    public NotificationDAO getNotificationDAO() {
+        return notificationDAO;
+    }
+
+    @Override
+    public ReportDAO getReportDAO() {
+        return reportDAO;
+    }
+
+    @Override
+    public ExportDAO getExportDAO() {
+        return exportDAO;
+    }
+
+    @Override
+    public void close() {
+        backend.close();
+    }
+}
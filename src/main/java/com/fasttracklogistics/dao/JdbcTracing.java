@@ -0,0 +1,269 @@
+// src/main/java/com/fasttracklogistics/dao/JdbcTracing.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.metrics.ActionTrace;
+import jdk.jfr.EventType;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Times every statement executed on a connection, for the SqlExecutionEvent of a running flight recording
+ * and for the SlowQueryLog.
+ * <p>
+ * DatabaseConnection only wraps connections while one of the two wants them, so otherwise the DAOs talk to
+ * the driver directly. Statements are wrapped to time their execute calls and to remember the bound parameters;
+ * result sets are wrapped to count the rows read and to end the timing when they are closed.
+ */
+final class JdbcTracing {
+
+    private static final EventType SQL_EVENT_TYPE = EventType.getEventType(SqlExecutionEvent.class);
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
+    private JdbcTracing() {
+        // Static helper
+    }
+
+    /**
+     * @return true if a running flight recording has SQL execution events enabled, or the slow query log is on.
+     */
+    static boolean isEnabled() {
+        return SQL_EVENT_TYPE.isEnabled() || SlowQueryLog.getInstance().isEnabled();
+    }
+
+    /**
+     * @param connection The connection to trace.
+     * @param acquireNanos The time it took to obtain the connection, recorded with each of its statements.
+     * @return The traced connection; closing it closes the given one.
+     */
+    static Connection wrap(Connection connection, long acquireNanos) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TracedConnection(connection, acquireNanos));
+    }
+
+    /**
+     * @return A short ID for the SQL text; the same statement always gets the same ID.
+     */
+    static String sqlId(String sql) {
+        return String.format("%08x", sql.hashCode());
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class TracedConnection implements InvocationHandler {
+        private final Connection target;
+        private final long acquireNanos;
+
+        TracedConnection(Connection target, long acquireNanos) {
+            this.target = target;
+            this.acquireNanos = acquireNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            if (!(result instanceof Statement)) {
+                return result;
+            }
+            // prepareStatement and prepareCall take the SQL up front, createStatement at execution
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                    : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{type},
+                    new TracedStatement(result, sql, acquireNanos));
+        }
+    }
+
+    /**
+     * One execution of a statement; for queries it lasts until the result set is closed.
+     */
+    private static class Execution {
+        final String sql;
+        final long startNanos = System.nanoTime();
+        final SqlExecutionEvent event; // null if no recording wants it
+        long rows;
+
+        Execution(String sql) {
+            this.sql = sql != null ? sql : "";
+            if (SQL_EVENT_TYPE.isEnabled()) {
+                event = new SqlExecutionEvent();
+                event.begin();
+            } else {
+                event = null;
+            }
+        }
+    }
+
+    private static class TracedStatement implements InvocationHandler {
+        private final Object target;
+        private final String preparedSql;
+        private final long acquireNanos;
+        private Object[] parameters = NO_PARAMETERS; // Bound values by index - 1
+        private int parameterCount; // Highest index bound
+        private int batchSize;
+        private Execution openQuery; // Ends when its result set (or this statement) is closed
+
+        TracedStatement(Object target, String preparedSql, long acquireNanos) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+            this.acquireNanos = acquireNanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                switch (name) {
+                    case "close":
+                        endQuery(openQuery);
+                        break;
+                    case "clearParameters":
+                        parameters = NO_PARAMETERS;
+                        parameterCount = 0;
+                        break;
+                    case "addBatch":
+                        batchSize++;
+                        break;
+                    case "clearBatch":
+                        batchSize = 0;
+                        break;
+                    default:
+                        // setString(1, ...), setNull(2, Types.DATE) and so on; setFetchSize(int) etc. have one argument
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                            bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                        }
+                        break;
+                }
+                return invokeTarget(target, method, args);
+            }
+            endQuery(openQuery); // Executing again closes the previous result set
+            Execution execution = new Execution(args != null && args.length > 0 && args[0] instanceof String
+                    ? (String) args[0] : preparedSql);
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (Throwable t) {
+                execution.rows = -1;
+                finish(execution, true);
+                throw t;
+            }
+            if (result instanceof ResultSet) {
+                openQuery = execution;
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                        new TracedResultSet((ResultSet) result, this, execution));
+            }
+            execution.rows = affectedRows(result);
+            finish(execution, false);
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                batchSize = 0;
+            }
+            return result;
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+
+        void endQuery(Execution execution) {
+            if (execution != null && execution == openQuery) {
+                openQuery = null;
+                finish(execution, false);
+            }
+        }
+
+        private void finish(Execution execution, boolean failed) {
+            long elapsedNanos = System.nanoTime() - execution.startNanos;
+            SqlExecutionEvent event = execution.event;
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.sql = execution.sql;
+                    event.sqlId = sqlId(execution.sql);
+                    event.rows = execution.rows;
+                    event.connectionAcquireTime = acquireNanos;
+                    event.actionId = ActionTrace.currentActionId();
+                    event.failed = failed;
+                    event.commit();
+                }
+            }
+            SlowQueryLog slowQueryLog = SlowQueryLog.getInstance();
+            if (slowQueryLog.isSlow(elapsedNanos)) {
+                slowQueryLog.record(execution.sql, Arrays.copyOf(parameters, parameterCount), batchSize, elapsedNanos, execution.rows,
+                        acquireNanos, ActionTrace.currentActionId(), failed);
+            }
+        }
+
+        // Update counts of executeUpdate / executeBatch; -1 for execute(), whose result is not known here
+        private static long affectedRows(Object result) {
+            if (result instanceof Number) {
+                return ((Number) result).longValue();
+            }
+            long rows = 0;
+            if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    rows += Math.max(count, 0); // SUCCESS_NO_INFO is negative
+                }
+                return rows;
+            }
+            if (result instanceof long[]) {
+                for (long count : (long[]) result) {
+                    rows += Math.max(count, 0);
+                }
+                return rows;
+            }
+            return -1;
+        }
+    }
+
+    private static class TracedResultSet implements InvocationHandler {
+        private final ResultSet target;
+        private final TracedStatement statement;
+        private final Execution execution;
+
+        TracedResultSet(ResultSet target, TracedStatement statement, Execution execution) {
+            this.target = target;
+            this.statement = statement;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            switch (method.getName()) {
+                case "next":
+                    if (Boolean.TRUE.equals(result)) {
+                        execution.rows++;
+                    }
+                    break;
+                case "close":
+                    statement.endQuery(execution);
+                    break;
+                default:
+                    break;
+            }
+            return result;
+        }
+    }
+}
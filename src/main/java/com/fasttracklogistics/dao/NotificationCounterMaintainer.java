@@ -0,0 +1,136 @@
+// src/main/java/com/fasttracklogistics/dao/NotificationCounterMaintainer.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.model.Notification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the NotificationCounters table (unread and urgent unread notifications per recipient).
+ * <p>
+ * NotificationDAOImpl adjusts the counters in the same transaction as every insert and every
+ * mark-as-read, so inbox badges are a primary-key lookup instead of a COUNT over Notifications.
+ * {@link #rebuild} recomputes them from scratch, e.g. after archived partitions were dropped.
+ */
+public class NotificationCounterMaintainer {
+
+    private static final String ADJUST_SQL = "INSERT INTO NotificationCounters (recipient_type, recipient_id, " +
+            "unread_count, urgent_unread_count) VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "unread_count = unread_count + VALUES(unread_count), " +
+            "urgent_unread_count = urgent_unread_count + VALUES(urgent_unread_count)";
+
+    private NotificationCounterMaintainer() {
+        // Static helper
+    }
+
+    /**
+     * Counts newly inserted (unread) notifications, one counter update per recipient.
+     * @param conn The connection of the surrounding insert transaction.
+     * @param notifications The inserted notifications.
+     */
+    public static void addUnread(Connection conn, List<Notification> notifications) throws SQLException {
+        // "type\0id" -> {unread, urgent unread}; sorted so concurrent batches lock counter rows in the same order
+        Map<String, int[]> deltas = new TreeMap<>();
+        for (Notification notification : notifications) {
+            if (notification.isRead()) {
+                continue;
+            }
+            int[] delta = deltas.computeIfAbsent(notification.getRecipientType() + '\0' + notification.getRecipientId(),
+                    key -> new int[2]);
+            delta[0]++;
+            if (notification.isUrgent()) {
+                delta[1]++;
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(ADJUST_SQL)) {
+            for (Map.Entry<String, int[]> entry : deltas.entrySet()) {
+                int separator = entry.getKey().indexOf('\0');
+                stmt.setString(1, entry.getKey().substring(0, separator));
+                stmt.setString(2, entry.getKey().substring(separator + 1));
+                stmt.setInt(3, entry.getValue()[0]);
+                stmt.setInt(4, entry.getValue()[1]);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Subtracts notifications that were just marked as read from one recipient's counters.
+     * @param conn The connection of the surrounding mark-as-read transaction.
+     */
+    public static void removeUnread(Connection conn, String recipientType, String recipientId, int unread,
+                                    int urgentUnread) throws SQLException {
+        if (unread == 0) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(ADJUST_SQL)) {
+            stmt.setString(1, recipientType);
+            stmt.setString(2, recipientId);
+            stmt.setInt(3, -unread);
+            stmt.setInt(4, -urgentUnread);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Resets all counters of a recipient type, after all of its notifications were marked as read.
+     * @param conn The connection of the surrounding mark-as-read transaction.
+     */
+    public static void clearRecipientType(Connection conn, String recipientType) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE NotificationCounters SET unread_count = 0, urgent_unread_count = 0 WHERE recipient_type = ?")) {
+            stmt.setString(1, recipientType);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Recomputes all counters from the Notifications table in one transaction.
+     * @return The number of recipients with unread notifications.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static int rebuild() throws SQLException {
+        String rebuildSql = "INSERT INTO NotificationCounters (recipient_type, recipient_id, unread_count, urgent_unread_count) " +
+                "SELECT recipient_type, recipient_id, COUNT(*), SUM(is_urgent) FROM Notifications " +
+                "WHERE is_read = FALSE GROUP BY recipient_type, recipient_id";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM NotificationCounters");
+                int rows = stmt.executeUpdate(rebuildSql);
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the counter table holds any rows (it is empty right after it was created).
+     * @return true if at least one counter row exists.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static boolean hasCounters() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT 1 FROM NotificationCounters LIMIT 1")) {
+            return rs.next();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.fasttracklogistics.dao;
 
 import com.fasttracklogistics.model.Notification;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -19,6 +20,15 @@ public interface NotificationDAO {
      */
     boolean insertNotification(Notification notification) throws SQLException;
 
+    /**
+     * Inserts several notification records in one batched transaction.
+     * IDs, timestamps and statuses are defaulted the same way as in insertNotification.
+     * @param notifications The Notification objects to insert.
+     * @return The number of notifications inserted.
+     * @throws SQLException If a database access error occurs.
+     */
+    int insertNotifications(List<Notification> notifications) throws SQLException;
+
     /**
      * Retrieves a notification record by its ID.
      * @param notificationId The ID of the notification to retrieve.
@@ -44,19 +54,62 @@ public interface NotificationDAO {
     boolean deleteNotification(String notificationId) throws SQLException;
 
     /**
-     * Retrieves all notification records from the database.
-     * @return A list of all Notification objects.
+     * Retrieves all notification records created at or after the given time, newest first.
+     * The time bound lets MySQL prune the monthly partitions of older notifications.
+     * @param since The earliest timestamp to include.
+     * @return A list of Notification objects.
      * @throws SQLException If a database access error occurs.
      */
-    List<Notification> findAllNotifications() throws SQLException;
+    List<Notification> findAllNotifications(LocalDateTime since) throws SQLException;
 
     /**
-     * Retrieves notifications for a specific recipient type.
+     * Retrieves notifications for a specific recipient type created at or after the given time, newest first.
      * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @param since The earliest timestamp to include.
      * @return A list of Notification objects for the specified recipient type.
      * @throws SQLException If a database access error occurs.
      */
-    List<Notification> findNotificationsByRecipientType(String recipientType) throws SQLException;
+    List<Notification> findNotificationsByRecipientType(String recipientType, LocalDateTime since) throws SQLException;
+
+    /**
+     * Retrieves one page of an inbox, newest first, using keyset pagination on (timestamp, notification_id).
+     * Each page is an index range scan that starts where the previous page ended, however deep the inbox is.
+     * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @param recipientId The recipient whose inbox is read, or null for all recipients of the type.
+     * @param urgentOnly true to return urgent notifications only.
+     * @param after The last notification of the previous page, or null for the first page.
+     * @param limit The maximum number of notifications to return.
+     * @return Up to limit Notification objects; fewer means the inbox has no more pages.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Notification> findInboxPage(String recipientType, String recipientId, boolean urgentOnly, Notification after,
+                                     int limit) throws SQLException;
+
+    /**
+     * Returns the unread counters of an inbox from the incrementally maintained NotificationCounters table.
+     * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @param recipientId The recipient, or null for the totals of all recipients of the type.
+     * @return {unread count, urgent unread count}.
+     * @throws SQLException If a database access error occurs.
+     */
+    int[] findUnreadCounts(String recipientType, String recipientId) throws SQLException;
+
+    /**
+     * Marks one notification as read and updates its recipient's unread counters.
+     * @param notificationId The ID of the notification.
+     * @return true if the notification was unread, false if it was already read or does not exist.
+     * @throws SQLException If a database access error occurs.
+     */
+    boolean markRead(String notificationId) throws SQLException;
+
+    /**
+     * Marks all unread notifications of an inbox as read and updates the unread counters.
+     * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @param recipientId The recipient, or null for all recipients of the type.
+     * @return The number of notifications marked as read.
+     * @throws SQLException If a database access error occurs.
+     */
+    int markAllRead(String recipientType, String recipientId) throws SQLException;
 
     /**
      * Retrieves notifications for a specific recipient ID.
@@ -67,10 +120,20 @@ public interface NotificationDAO {
     List<Notification> findNotificationsByRecipientId(String recipientId) throws SQLException;
 
     /**
-     * Retrieves notifications based on whether they are urgent or not.
+     * Retrieves notifications based on whether they are urgent or not, created at or after the given time, newest first.
      * @param isUrgent true to get urgent notifications, false for non-urgent.
+     * @param since The earliest timestamp to include.
      * @return A list of Notification objects matching the urgency status.
      * @throws SQLException If a database access error occurs.
      */
-    List<Notification> findNotificationsByUrgency(boolean isUrgent) throws SQLException;
-}
\ No newline at end of file
+    List<Notification> findNotificationsByUrgency(boolean isUrgent, LocalDateTime since) throws SQLException;
+
+    /**
+     * Retrieves notifications whose row changed (inserted or updated) at or after the given time, oldest change first.
+     * Used by the delta sync to pick up changes made by other dispatch desks.
+     * @param since The lower bound (inclusive) for updated_at.
+     * @return A List of changed Notification objects (new ones and, e.g., ones marked as read).
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Notification> findNotificationsUpdatedSince(LocalDateTime since) throws SQLException;
+}
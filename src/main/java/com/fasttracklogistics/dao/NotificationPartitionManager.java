@@ -0,0 +1,160 @@
+// src/main/java/com/fasttracklogistics/dao/NotificationPartitionManager.java
+
+package com.fasttracklogistics.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manages the monthly RANGE partitions of the Notifications table.
+ * <p>
+ * Partition pYYYYMM holds the notifications whose timestamp is before the first day of the following
+ * month (the oldest partition also holds anything older); pmax catches rows beyond the newest month.
+ * Queries with a timestamp range are pruned by MySQL to the partitions they touch, and old months are
+ * removed with a metadata-only DROP PARTITION instead of a table-wide DELETE.
+ */
+public class NotificationPartitionManager {
+
+    private static final String TABLE = "Notifications";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String LIST_PARTITIONS_SQL = "SELECT PARTITION_NAME FROM INFORMATION_SCHEMA.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    /**
+     * Converts an unpartitioned Notifications table (created by an earlier version) to monthly partitions.
+     * Partitions are created from the month of the oldest notification up to monthsAhead months from now.
+     * Does nothing if the table is already partitioned.
+     * @param stmt A statement on the connection used for schema initialization.
+     * @param monthsAhead How many future months get a partition right away.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static void partitionIfNeeded(Statement stmt, int monthsAhead) throws SQLException {
+        if (!listPartitions(stmt.getConnection()).isEmpty()) {
+            return;
+        }
+        YearMonth first = YearMonth.now();
+        try (ResultSet rs = stmt.executeQuery("SELECT MIN(timestamp) FROM " + TABLE)) {
+            if (rs.next() && rs.getTimestamp(1) != null) {
+                first = YearMonth.from(rs.getTimestamp(1).toLocalDateTime());
+            }
+        }
+        // Every unique key of a partitioned table must contain the partitioning column
+        stmt.execute("ALTER TABLE " + TABLE + " MODIFY timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+                "DROP PRIMARY KEY, ADD PRIMARY KEY (notification_id, timestamp)");
+
+        StringBuilder ddl = new StringBuilder("ALTER TABLE " + TABLE + " PARTITION BY RANGE (UNIX_TIMESTAMP(timestamp)) (");
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            ddl.append(partitionDefinition(month)).append(", ");
+        }
+        ddl.append("PARTITION ").append(MAX_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+        stmt.execute(ddl.toString());
+        System.out.println("Table " + TABLE + " partitioned by month from " + first + " to " + last + ".");
+    }
+
+    /**
+     * Makes sure there is a partition for every month up to the given one by splitting pmax.
+     * Rows already in pmax (e.g. after the application was not run for a while) are moved accordingly.
+     * @param upTo The last month that must have its own partition.
+     * @return The number of partitions added.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static int addPartitionsUpTo(YearMonth upTo) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            List<YearMonth> months = listPartitionMonths(conn);
+            if (months.isEmpty()) {
+                return 0;
+            }
+            YearMonth next = months.get(months.size() - 1).plusMonths(1);
+            if (next.isAfter(upTo)) {
+                return 0;
+            }
+            StringBuilder ddl = new StringBuilder("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO (");
+            int added = 0;
+            for (YearMonth month = next; !month.isAfter(upTo); month = month.plusMonths(1)) {
+                ddl.append(partitionDefinition(month)).append(", ");
+                added++;
+            }
+            ddl.append("PARTITION ").append(MAX_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(ddl.toString());
+            }
+            return added;
+        }
+    }
+
+    /**
+     * Returns the months that have a partition, oldest first (pmax excluded).
+     * @return The partitioned months, or an empty list if the table is not partitioned.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static List<YearMonth> findPartitionMonths() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return listPartitionMonths(conn);
+        }
+    }
+
+    /**
+     * Counts the notifications stored in the partition of one month.
+     * @param month The month of the partition.
+     * @return The number of rows in the partition.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static long countRows(YearMonth month) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + TABLE + " PARTITION (" + month.format(PARTITION_NAME) + ")")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Drops the partition of one month, deleting all of its notifications.
+     * @param month The month whose partition is dropped.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static void dropPartition(YearMonth month) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + month.format(PARTITION_NAME));
+        }
+    }
+
+    private static String partitionDefinition(YearMonth month) {
+        return "PARTITION " + month.format(PARTITION_NAME) + " VALUES LESS THAN (UNIX_TIMESTAMP('" +
+                month.plusMonths(1).atDay(1) + " 00:00:00'))";
+    }
+
+    private static List<YearMonth> listPartitionMonths(Connection conn) throws SQLException {
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : listPartitions(conn)) {
+            if (!MAX_PARTITION.equals(name)) {
+                months.add(YearMonth.parse(name, PARTITION_NAME));
+            }
+        }
+        return months;
+    }
+
+    private static List<String> listPartitions(Connection conn) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(LIST_PARTITIONS_SQL)) {
+            stmt.setString(1, TABLE);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+}
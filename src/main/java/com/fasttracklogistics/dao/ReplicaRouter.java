@@ -0,0 +1,333 @@
+// src/main/java/com/fasttracklogistics/dao/ReplicaRouter.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.metrics.MetricsRegistry;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+/**
+ * Sends the DAOs' reads to MySQL read replicas and everything else to the primary.
+ * <p>
+ * Replicas are listed in -Dfasttrack.db.replicaUrls (comma-separated JDBC URLs, same user and password as the
+ * primary). A daemon thread checks every replica's lag with SHOW REPLICA STATUS every few seconds; a replica
+ * that is unreachable, not replicating, or more than -Dfasttrack.db.replicaMaxLagSeconds (default 5) behind
+ * gets no reads until it has caught up. With no usable replica, reads go to the primary.
+ * <p>
+ * Only DAO methods wrapped with {@link #routeReads} and named find*, count* or stream* read from replicas;
+ * methods ending in "Since" stay on the primary because their watermarks come from the primary's clock.
+ * Read-your-writes: the unit of work is the process. After any write through a routed DAO (every method that is
+ * not a read), all threads read from the primary for the next replicaMaxLagSeconds, longer than a usable replica
+ * can lag behind, since a write made on a worker thread is typically read back on the Event Dispatch Thread.
+ * Subscribers of the {@link DomainEventBus} get the same for the write behind the event they are handling,
+ * counted from when it was published. Writes made outside the DAOs (the rollup and counter jobs) are not
+ * tracked. Monotonic reads: each thread sticks to the replica it first read from while that replica stays
+ * usable, so reads on one thread never go back in time by switching to a replica that is further behind.
+ */
+public class ReplicaRouter {
+
+    public static final String REPLICA_URLS_PROPERTY = "fasttrack.db.replicaUrls";
+    public static final String MAX_LAG_PROPERTY = "fasttrack.db.replicaMaxLagSeconds";
+
+    private static final long CHECK_INTERVAL_SECONDS = 2;
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    // Reads that went to a replica, to the primary after a recent write, and to the primary for lack of a usable replica
+    private final LongAdder replicaReads = MetricsRegistry.getInstance().counter("db.reads.replica");
+    private final LongAdder stickyReads = MetricsRegistry.getInstance().counter("db.reads.primaryAfterWrite");
+    private final LongAdder fallbackReads = MetricsRegistry.getInstance().counter("db.reads.primaryFallback");
+
+    // Nesting depth of routed read methods on this thread, and the index + 1 of the replica it reads from (0 while it has none)
+    private static final ThreadLocal<long[]> THREAD_STATE = ThreadLocal.withInitial(() -> new long[2]);
+    private static final int READ_DEPTH = 0;
+    private static final int PINNED_REPLICA = 1;
+
+    /**
+     * One replica and what the lag check last found.
+     */
+    private static class Replica {
+        private final String url;
+        private volatile ConnectionPool pool; // null while pooling is off
+        private volatile boolean usable; // Not usable until the first check has passed
+        private volatile long lagSeconds = -1; // -1 while unknown or not replicating
+        private volatile String problem; // Why it is not usable, logged when it changes
+
+        Replica(String url) {
+            this.url = url;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String user;
+    private final String password;
+    private final long maxLagSeconds;
+    private final long stickyNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong lastWriteNanos = new AtomicLong(); // When a routed DAO last wrote, on any thread; 0 if never
+    private final Map<Method, Boolean> readMethods = new ConcurrentHashMap<>(); // true for replica reads
+    private ScheduledExecutorService monitor;
+
+    ReplicaRouter(List<String> replicaUrls, String user, String password, long maxLagSeconds) {
+        for (String url : replicaUrls) {
+            replicas.add(new Replica(url));
+        }
+        this.user = user;
+        this.password = password;
+        this.maxLagSeconds = maxLagSeconds;
+        this.stickyNanos = TimeUnit.SECONDS.toNanos(maxLagSeconds + CHECK_INTERVAL_SECONDS);
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            MetricsRegistry.getInstance().gauge("db.replica." + i + ".lagSeconds", () -> replica.usable ? replica.lagSeconds : -1);
+        }
+    }
+
+    /**
+     * @return A router for the replicas configured in -Dfasttrack.db.replicaUrls, with its lag checks started,
+     * or null if there are none.
+     */
+    static ReplicaRouter fromProperties(String user, String password) {
+        String urls = System.getProperty(REPLICA_URLS_PROPERTY, "").trim();
+        if (urls.isEmpty()) {
+            return null;
+        }
+        List<String> replicaUrls = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (!url.trim().isEmpty()) {
+                replicaUrls.add(url.trim());
+            }
+        }
+        ReplicaRouter router = new ReplicaRouter(replicaUrls, user, password, Long.getLong(MAX_LAG_PROPERTY, 5));
+        router.start();
+        System.out.println("Routing DAO reads to " + replicaUrls.size() + " read replica(s).");
+        return router;
+    }
+
+    /**
+     * Wraps a DAO so that its read methods may use a replica connection (see the class comment).
+     */
+    <T> T routeReads(Class<T> type, T dao) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            boolean read = readMethods.computeIfAbsent(method, ReplicaRouter::isReplicaRead);
+            boolean write = !read && isWrite(method);
+            long[] state = THREAD_STATE.get();
+            if (read) {
+                state[READ_DEPTH]++;
+            } else if (write) {
+                lastWriteNanos.set(System.nanoTime()); // Reads racing with the write already go to the primary
+            }
+            try {
+                return method.invoke(dao, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (read) {
+                    state[READ_DEPTH]--;
+                } else if (write) {
+                    lastWriteNanos.set(System.nanoTime()); // The replicas' lag counts from the commit
+                }
+            }
+        }));
+    }
+
+    private static boolean isReplicaRead(Method method) {
+        String name = method.getName();
+        return method.getDeclaringClass() != Object.class && !name.endsWith("Since")
+                && (name.startsWith("find") || name.startsWith("count") || name.startsWith("stream"));
+    }
+
+    private static boolean isWrite(Method method) {
+        String name = method.getName();
+        return method.getDeclaringClass() != Object.class
+                && !name.startsWith("find") && !name.startsWith("count") && !name.startsWith("stream");
+    }
+
+    /**
+     * Called for every connection DatabaseConnection hands out.
+     *
+     * @return A replica connection if the calling thread is in a routed read, neither the last DAO write nor the
+     * write behind the event it is handling is recent, and a replica is usable; null if the caller should use the primary.
+     */
+    Connection readConnection() {
+        long[] state = THREAD_STATE.get();
+        if (state[READ_DEPTH] == 0) {
+            return null;
+        }
+        long writeNanos = lastWriteNanos.get();
+        Long eventNanos = DomainEventBus.getPublishedNanosOfCurrentEvent();
+        if ((writeNanos != 0 && isRecent(writeNanos)) || (eventNanos != null && isRecent(eventNanos))) {
+            stickyReads.increment();
+            return null;
+        }
+        int count = replicas.size();
+        int pinned = (int) state[PINNED_REPLICA] - 1;
+        int start = pinned >= 0 ? pinned : Math.floorMod(next.getAndIncrement(), count);
+        for (int i = 0; i < count; i++) {
+            int index = (start + i) % count;
+            Replica replica = replicas.get(index);
+            if (!replica.usable) {
+                continue;
+            }
+            try {
+                ConnectionPool pool = replica.pool;
+                Connection conn = pool != null ? pool.getConnection() : DriverManager.getConnection(replica.url, user, password);
+                state[PINNED_REPLICA] = index + 1; // Only moves on when this replica becomes unusable
+                replicaReads.increment();
+                return conn;
+            } catch (SQLException e) {
+                markUnusable(replica, "cannot connect: " + e.getMessage()); // Try the next one
+            }
+        }
+        state[PINNED_REPLICA] = 0;
+        fallbackReads.increment();
+        return null;
+    }
+
+    private boolean isRecent(long nanos) {
+        return System.nanoTime() - nanos < stickyNanos;
+    }
+
+    /**
+     * @return How long after a write a read on another thread may still miss it: the longest a usable replica
+     * can lag behind, plus one lag check.
+     */
+    public long getMaxStalenessMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(stickyNanos);
+    }
+
+    /**
+     * Gives every replica a connection pool like the primary's (see DatabaseConnection#enablePooling).
+     */
+    synchronized void enablePooling(int maximumSize, long acquireTimeoutMillis, int statementCacheSize,
+                                    UnaryOperator<String> urlAdjuster) {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            if (replica.pool == null) {
+                replica.pool = new ConnectionPool(urlAdjuster.apply(replica.url), user, password, maximumSize,
+                        acquireTimeoutMillis, statementCacheSize, "db.replica." + i + ".pool");
+            }
+        }
+    }
+
+    /**
+     * Stops the lag checks and closes the replicas' pooled connections.
+     */
+    synchronized void shutdown() {
+        if (monitor != null) {
+            monitor.shutdownNow();
+            monitor = null;
+        }
+        for (Replica replica : replicas) {
+            if (replica.pool != null) {
+                replica.pool.shutdown();
+                replica.pool = null;
+            }
+        }
+    }
+
+    /**
+     * @return The number of replicas currently receiving reads.
+     */
+    public int getUsableCount() {
+        int usable = 0;
+        for (Replica replica : replicas) {
+            if (replica.usable) {
+                usable++;
+            }
+        }
+        return usable;
+    }
+
+    private synchronized void start() {
+        if (monitor != null) {
+            return;
+        }
+        monitor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        monitor.scheduleWithFixedDelay(this::checkReplicas, 0, CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            try {
+                long lag = readLagSeconds(replica);
+                replica.lagSeconds = lag;
+                if (lag < 0) {
+                    markUnusable(replica, "replication is not running");
+                } else if (lag > maxLagSeconds) {
+                    markUnusable(replica, lag + " s behind the primary");
+                } else if (!replica.usable) {
+                    replica.usable = true;
+                    replica.problem = null;
+                    System.out.println("Read replica " + replica.url + " is in use (" + lag + " s behind the primary).");
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = -1;
+                markUnusable(replica, "lag check failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return Seconds_Behind_Source of the replica, or -1 if it is not replicating.
+     */
+    private long readLagSeconds(Replica replica) throws SQLException {
+        // Connector/J's own connect timeout; DriverManager.setLoginTimeout would change it for the whole JVM
+        Properties info = new Properties();
+        info.setProperty("user", user);
+        info.setProperty("password", password);
+        info.setProperty("connectTimeout", String.valueOf(TimeUnit.SECONDS.toMillis(CHECK_TIMEOUT_SECONDS)));
+        try (Connection conn = DriverManager.getConnection(replica.url, info);
+             Statement stmt = conn.createStatement()) {
+            stmt.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            ResultSet rs;
+            String lagColumn;
+            try {
+                rs = stmt.executeQuery("SHOW REPLICA STATUS");
+                lagColumn = "Seconds_Behind_Source";
+            } catch (SQLException e) {
+                rs = stmt.executeQuery("SHOW SLAVE STATUS"); // MySQL before 8.0.22
+                lagColumn = "Seconds_Behind_Master";
+            }
+            try {
+                if (!rs.next()) {
+                    return -1; // Not configured as a replica
+                }
+                long lag = rs.getLong(lagColumn);
+                return rs.wasNull() ? -1 : lag; // NULL while the replication threads are stopped
+            } finally {
+                rs.close();
+            }
+        }
+    }
+
+    private void markUnusable(Replica replica, String problem) {
+        replica.usable = false;
+        if (!problem.equals(replica.problem)) {
+            replica.problem = problem; // Logged once per change, not every check
+            System.err.println("Read replica " + replica.url + " is not used: " + problem);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// src/main/java/com/fasttracklogistics/dao/ReportDAO.java
+
+package com.fasttracklogistics.dao;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Data Access Object (DAO) interface for reporting queries.
+ * All aggregation is done by the database with grouped queries; only the aggregated
+ * rows are passed to the handler. Every method takes a date range [from, to).
+ * The delivery reports read the DailyDeliveryRollup table, so their cost depends on the
+ * number of days in the range rather than the number of deliveries.
+ */
+public interface ReportDAO {
+    /**
+     * Streams monthly delivery volume: {Month, Deliveries, Delivered, Cancelled}.
+     * @param from First scheduled date included.
+     * @param to First scheduled date excluded.
+     * @param handler Receives each aggregated row.
+     * @throws SQLException If a database access error occurs.
+     */
+    void streamMonthlyVolume(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException;
+
+    /**
+     * Streams the monthly on-time rate of completed deliveries: {Month, Delivered, On Time, On-Time %}.
+     * A delivery is on time when it arrived no later than its estimated arrival time.
+     * @param from First scheduled date included.
+     * @param to First scheduled date excluded.
+     * @param handler Receives each aggregated row.
+     * @throws SQLException If a database access error occurs.
+     */
+    void streamOnTimeRate(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException;
+
+    /**
+     * Streams monthly delay statistics: {Month, Delivered, Late, Avg Delay (min), Total Delay (min)}.
+     * @param from First scheduled date included.
+     * @param to First scheduled date excluded.
+     * @param handler Receives each aggregated row.
+     * @throws SQLException If a database access error occurs.
+     */
+    void streamAverageDelay(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException;
+
+    /**
+     * Streams per-route throughput: {Route, Deliveries, Delivered, On Time, Total Weight (kg)}.
+     * @param from First scheduled date included.
+     * @param to First scheduled date excluded.
+     * @param handler Receives each aggregated row.
+     * @throws SQLException If a database access error occurs.
+     */
+    void streamRouteThroughput(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException;
+
+    /**
+     * Streams per-driver throughput: {Personnel ID, Name, Deliveries, Delivered, On Time}.
+     * @param from First scheduled date included.
+     * @param to First scheduled date excluded.
+     * @param handler Receives each aggregated row.
+     * @throws SQLException If a database access error occurs.
+     */
+    void streamDriverThroughput(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException;
+
+    /**
+     * Streams the monthly share of urgent shipments: {Month, Shipments, Urgent, Urgent %}.
+     * @param from First creation date included.
+     * @param to First creation date excluded.
+     * @param handler Receives each aggregated row.
+     * @throws SQLException If a database access error occurs.
+     */
+    void streamUrgentRatio(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException;
+}
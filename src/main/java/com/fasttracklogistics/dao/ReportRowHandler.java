@@ -0,0 +1,16 @@
+// src/main/java/com/fasttracklogistics/dao/ReportRowHandler.java
+
+package com.fasttracklogistics.dao;
+
+/**
+ * Callback that receives report rows one at a time while the underlying ResultSet is read,
+ * so results can be streamed to the UI without collecting them first.
+ */
+@FunctionalInterface
+public interface ReportRowHandler {
+    /**
+     * Handles one report row.
+     * @param row The column values of the row, in the order of the report's columns.
+     */
+    void handleRow(Object[] row);
+}
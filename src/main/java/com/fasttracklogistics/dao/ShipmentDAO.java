@@ -1,237 +1,124 @@
-
-
-// src/main/java/com/fasttracklogistics/dao/impl/ShipmentDAOImpl.java
-// Note: You would typically put DAO implementations in a subpackage like 'impl'
-// However, for simplicity and adherence to the exact diagram, I'll place it directly in 'dao'.
+// src/main/java/com/fasttracklogistics/dao/ShipmentDAO.java
 
 package com.fasttracklogistics.dao;
 
 import com.fasttracklogistics.model.Shipment;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.UUID; // For generating unique IDs
+import java.util.Set;
 
 /**
- * JDBC implementation of the ShipmentDAO interface for MySQL.
+ * Interface for Data Access Operations related to Shipments.
+ * Defines the contract for CRUD operations on Shipment objects.
  */
-public class ShipmentDAOImpl implements ShipmentDAO {
-
-    @Override
-    public boolean insertShipment(Shipment shipment) throws SQLException {
-        String sql = "INSERT INTO Shipments (shipment_id, tracking_number, sender_name, sender_address, sender_contact, " +
-                "receiver_name, receiver_address, receiver_contact, package_contents, package_type, weight_kg, dimensions_cm, " +
-                "current_location, route, current_status, is_urgent) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
+public interface ShipmentDAO {
+    /**
+     * Inserts a new shipment record into the database.
+     * @param shipment The Shipment object to insert.
+     * @return true if the insertion was successful, false otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    boolean insertShipment(Shipment shipment) throws SQLException;
 
-            // Generate a unique ID if not already set (e.g., for new shipments)
-            if (shipment.getShipmentId() == null || shipment.getShipmentId().isEmpty()) {
-                shipment.setShipmentId(UUID.randomUUID().toString());
-            }
-            if (shipment.getTrackingNumber() == null || shipment.getTrackingNumber().isEmpty()) {
-                shipment.setTrackingNumber(UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-            }
-            if (shipment.getCurrentStatus() == null || shipment.getCurrentStatus().isEmpty()) {
-                shipment.setCurrentStatus("Pending");
-            }
+    /**
+     * Inserts many shipments with multi-row INSERT statements, all in one transaction.
+     * IDs, tracking numbers and statuses are defaulted the same way as in insertShipment.
+     * @param shipments The Shipment objects to insert.
+     * @return The number of shipments inserted.
+     * @throws SQLException If a database access error occurs (nothing is inserted in that case).
+     */
+    int insertShipments(List<Shipment> shipments) throws SQLException;
 
-            // Set parameters for the prepared statement
-            pstmt.setString(1, shipment.getShipmentId());
-            pstmt.setString(2, shipment.getTrackingNumber());
-            pstmt.setString(3, shipment.getSenderName());
-            pstmt.setString(4, shipment.getSenderAddress());
-            pstmt.setString(5, shipment.getSenderContact());
-            pstmt.setString(6, shipment.getReceiverName());
-            pstmt.setString(7, shipment.getReceiverAddress());
-            pstmt.setString(8, shipment.getReceiverContact());
-            pstmt.setString(9, shipment.getPackageContents());
-            pstmt.setString(10, shipment.getPackageType());
-            pstmt.setDouble(11, shipment.getWeightKg());
-            pstmt.setString(12, shipment.getDimensionsCm());
-            pstmt.setString(13, shipment.getCurrentLocation());
-            pstmt.setString(14, shipment.getRoute());
-            pstmt.setString(15, shipment.getCurrentStatus());
-            pstmt.setBoolean(16, shipment.isUrgent());
+    /**
+     * Returns which of the given tracking numbers are already used by a shipment.
+     * @param trackingNumbers The tracking numbers to check.
+     * @return The subset of the tracking numbers that exist in the database.
+     * @throws SQLException If a database access error occurs.
+     */
+    Set<String> findExistingTrackingNumbers(Collection<String> trackingNumbers) throws SQLException;
 
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, null);
-        }
-    }
+    /**
+     * Updates an existing shipment record in the database.
+     * A shipment read through this DAO only has the columns written that were changed since it was read
+     * (see Shipment#getChangedColumns); if none were, nothing is written.
+     * @param shipment The Shipment object with updated details.
+     * @return true if the update was successful or there was nothing to update, false otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    boolean updateShipment(Shipment shipment) throws SQLException;
 
-    @Override
-    public boolean updateShipment(Shipment shipment) throws SQLException {
-        String sql = "UPDATE Shipments SET tracking_number = ?, sender_name = ?, sender_address = ?, sender_contact = ?, " +
-                "receiver_name = ?, receiver_address = ?, receiver_contact = ?, package_contents = ?, package_type = ?, weight_kg = ?, " +
-                "dimensions_cm = ?, current_location = ?, route = ?, current_status = ?, is_urgent = ?, updated_at = CURRENT_TIMESTAMP WHERE shipment_id = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, shipment.getTrackingNumber());
-            pstmt.setString(2, shipment.getSenderName());
-            pstmt.setString(3, shipment.getSenderAddress());
-            pstmt.setString(4, shipment.getSenderContact());
-            pstmt.setString(5, shipment.getReceiverName());
-            pstmt.setString(6, shipment.getReceiverAddress());
-            pstmt.setString(7, shipment.getReceiverContact());
-            pstmt.setString(8, shipment.getPackageContents());
-            pstmt.setString(9, shipment.getPackageType());
-            pstmt.setDouble(10, shipment.getWeightKg());
-            pstmt.setString(11, shipment.getDimensionsCm());
-            pstmt.setString(12, shipment.getCurrentLocation());
-            pstmt.setString(13, shipment.getRoute());
-            pstmt.setString(14, shipment.getCurrentStatus());
-            pstmt.setBoolean(15, shipment.isUrgent());
-            pstmt.setString(16, shipment.getShipmentId());
+    /**
+     * Sets the current status of a shipment, leaving its other columns alone.
+     * @param shipmentId The ID of the shipment to update.
+     * @param status The new current status.
+     * @return true if the shipment exists, false otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    boolean updateShipmentStatus(String shipmentId, String status) throws SQLException;
 
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, null);
-        }
-    }
+    /**
+     * Deletes a shipment record (and, by cascade, its delivery) from the database by its ID.
+     * @param shipmentId The ID of the shipment to delete.
+     * @return true if the deletion was successful, false otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    boolean deleteShipment(String shipmentId) throws SQLException;
 
-    @Override
-    public boolean deleteShipment(String shipmentId) throws SQLException {
-        String sql = "DELETE FROM Shipments WHERE shipment_id = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, shipmentId);
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, null);
-        }
-    }
+    /**
+     * Finds a shipment by its ID.
+     * @param shipmentId The ID of the shipment to find.
+     * @return The Shipment object if found, null otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    Shipment findShipmentById(String shipmentId) throws SQLException;
 
-    @Override
-    public Shipment findShipmentById(String shipmentId) throws SQLException {
-        String sql = "SELECT * FROM Shipments WHERE shipment_id = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, shipmentId);
-            rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return mapResultSetToShipment(rs);
-            }
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, rs);
-        }
-        return null;
-    }
+    /**
+     * Finds a shipment by its tracking number.
+     * @param trackingNumber The tracking number of the shipment to find.
+     * @return The Shipment object if found, null otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    Shipment findShipmentByTrackingNumber(String trackingNumber) throws SQLException;
 
-    @Override
-    public Shipment findShipmentByTrackingNumber(String trackingNumber) throws SQLException {
-        String sql = "SELECT * FROM Shipments WHERE tracking_number = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, trackingNumber);
-            rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return mapResultSetToShipment(rs);
-            }
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, rs);
-        }
-        return null;
-    }
+    /**
+     * Retrieves all shipments from the database.
+     * @return A list of all Shipment objects.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Shipment> findAllShipments() throws SQLException;
 
-    @Override
-    public List<Shipment> findAllShipments() throws SQLException {
-        List<Shipment> shipments = new ArrayList<>();
-        String sql = "SELECT * FROM Shipments ORDER BY created_at DESC";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            rs = pstmt.executeQuery();
-            while (rs.next()) {
-                shipments.add(mapResultSetToShipment(rs));
-            }
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, rs);
-        }
-        return shipments;
-    }
+    /**
+     * Retrieves all shipments that do not have a delivery scheduled yet.
+     * @return A list of unscheduled Shipment objects.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Shipment> findUnscheduledShipments() throws SQLException;
 
-    @Override
-    public List<Shipment> findUnscheduledShipments() throws SQLException {
-        List<Shipment> shipments = new ArrayList<>();
-        // Select shipments that do NOT have a corresponding entry in the Deliveries table
-        String sql = "SELECT s.* FROM Shipments s LEFT JOIN Deliveries d ON s.shipment_id = d.shipment_id WHERE d.shipment_id IS NULL ORDER BY s.created_at DESC";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            rs = pstmt.executeQuery();
-            while (rs.next()) {
-                shipments.add(mapResultSetToShipment(rs));
-            }
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, rs);
-        }
-        return shipments;
-    }
+    /**
+     * Finds shipments that changed at or after the given time, together with their delivery.
+     * A shipment is returned when either the shipment row or its delivery row was updated.
+     * Used to load and incrementally refresh the in-memory analytics snapshot.
+     * @param since The lower bound (inclusive) for Shipments.updated_at / Deliveries.updated_at.
+     * @return Object arrays containing {Shipment, Delivery (null if not scheduled)}.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Object[]> findShipmentsWithDeliveryUpdatedSince(LocalDateTime since) throws SQLException;
 
     /**
-     * Helper method to map a ResultSet row to a Shipment object.
+     * Counts all shipments. Used to detect deletions, which leave no updated_at trace.
+     * @return The number of shipments in the database.
+     * @throws SQLException If a database access error occurs.
      */
-    private Shipment mapResultSetToShipment(ResultSet rs) throws SQLException {
-        Shipment shipment = new Shipment();
-        shipment.setShipmentId(rs.getString("shipment_id"));
-        shipment.setTrackingNumber(rs.getString("tracking_number"));
-        shipment.setSenderName(rs.getString("sender_name"));
-        shipment.setSenderAddress(rs.getString("sender_address"));
-        shipment.setSenderContact(rs.getString("sender_contact"));
-        shipment.setReceiverName(rs.getString("receiver_name"));
-        shipment.setReceiverAddress(rs.getString("receiver_address"));
-        shipment.setReceiverContact(rs.getString("receiver_contact"));
-        shipment.setPackageContents(rs.getString("package_contents"));
-        shipment.setPackageType(rs.getString("package_type"));
-        shipment.setWeightKg(rs.getDouble("weight_kg"));
-        shipment.setDimensionsCm(rs.getString("dimensions_cm"));
-        shipment.setCurrentLocation(rs.getString("current_location"));
-        shipment.setRoute(rs.getString("route"));
-        shipment.setCurrentStatus(rs.getString("current_status"));
-        shipment.setUrgent(rs.getBoolean("is_urgent"));
+    int countShipments() throws SQLException;
 
-        Timestamp createdAtTs = rs.getTimestamp("created_at");
-        if (createdAtTs != null) {
-            shipment.setCreatedAt(createdAtTs.toLocalDateTime());
-        }
-        Timestamp updatedAtTs = rs.getTimestamp("updated_at");
-        if (updatedAtTs != null) {
-            shipment.setUpdatedAt(updatedAtTs.toLocalDateTime());
-        }
-        return shipment;
-    }
+    /**
+     * Retrieves shipments whose row changed (inserted or updated) at or after the given time, oldest change first.
+     * Used by the delta sync to pick up changes made by other dispatch desks.
+     * @param since The lower bound (inclusive) for updated_at.
+     * @return A List of changed Shipment objects.
+     * @throws SQLException If a database access error occurs.
+     */
+    List<Shipment> findShipmentsUpdatedSince(LocalDateTime since) throws SQLException;
 }
-
@@ -0,0 +1,335 @@
+// src/main/java/com/fasttracklogistics/dao/SlowQueryLog.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs JDBC statements that take longer than a threshold, measured by JdbcTracing from execution until the
+ * result set is closed (so reading the rows counts too).
+ * <p>
+ * Each entry has the elapsed time, rows read or affected, connection acquire time, the shapes of the bound
+ * parameters (type and length, never the values) and, for SELECT, INSERT, UPDATE and DELETE, the EXPLAIN plan
+ * with the same parameters. The caller only enqueues the entry; one daemon thread formats it into a reused
+ * buffer, runs EXPLAIN (at most once per statement every few minutes) and appends to a file that is rotated
+ * when it grows too large. Entries are dropped rather than blocking the caller when the queue is full.
+ * <p>
+ * Off by default: while it is on, every connection, statement and result set is traced through a proxy.
+ * Turned on with -Dfasttrack.sql.slowQueryMillis (the threshold, e.g. 500; 0 disables) and configured with
+ * -Dfasttrack.sql.slowQueryLog (default logs/slow-queries.log), -Dfasttrack.sql.slowQueryLogMaxBytes (default
+ * 10 MB, 5 files kept) and -Dfasttrack.sql.explainSlowQueries (default true).
+ */
+public class SlowQueryLog {
+
+    public static final String THRESHOLD_PROPERTY = "fasttrack.sql.slowQueryMillis";
+    public static final String FILE_PROPERTY = "fasttrack.sql.slowQueryLog";
+    public static final String MAX_BYTES_PROPERTY = "fasttrack.sql.slowQueryLogMaxBytes";
+    public static final String EXPLAIN_PROPERTY = "fasttrack.sql.explainSlowQueries";
+
+    private static final SlowQueryLog INSTANCE = new SlowQueryLog(Long.getLong(THRESHOLD_PROPERTY, 0),
+            Paths.get(System.getProperty(FILE_PROPERTY, "logs/slow-queries.log")),
+            Long.getLong(MAX_BYTES_PROPERTY, 10L * 1024 * 1024),
+            Boolean.parseBoolean(System.getProperty(EXPLAIN_PROPERTY, "true")));
+
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final int ROTATED_FILES = 5; // file.1 (newest) to file.5
+    private static final long EXPLAIN_INTERVAL_MILLIS = 10 * 60 * 1000;
+    private static final int MAX_EXPLAINED_STATEMENTS = 1000;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    /**
+     * One slow execution, handed from the executing thread to the writer thread.
+     */
+    private static class Entry {
+        final LocalDateTime at = LocalDateTime.now();
+        final String sql;
+        final Object[] parameters; // Values by index - 1, only used for the shapes and EXPLAIN
+        final int batchSize;
+        final long elapsedNanos;
+        final long rows;
+        final long acquireNanos;
+        final long actionId;
+        final boolean failed;
+
+        Entry(String sql, Object[] parameters, int batchSize, long elapsedNanos, long rows, long acquireNanos,
+              long actionId, boolean failed) {
+            this.sql = sql;
+            this.parameters = parameters;
+            this.batchSize = batchSize;
+            this.elapsedNanos = elapsedNanos;
+            this.rows = rows;
+            this.acquireNanos = acquireNanos;
+            this.actionId = actionId;
+            this.failed = failed;
+        }
+    }
+
+    private final long thresholdNanos;
+    private final Path file;
+    private final long maxBytes;
+    private final boolean explain;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder slowCount = MetricsRegistry.getInstance().counter("sql.slow");
+    private final LongAdder droppedCount = MetricsRegistry.getInstance().counter("sql.slow.dropped");
+    private Thread writerThread;
+
+    // Only touched by the writer thread
+    private final StringBuilder line = new StringBuilder(1024);
+    private final Map<String, Long> explainedAt = new HashMap<>(); // SQL -> when its plan was last logged
+    private Writer writer;
+    private long fileBytes;
+
+    public static SlowQueryLog getInstance() {
+        return INSTANCE;
+    }
+
+    SlowQueryLog(long thresholdMillis, Path file, long maxBytes, boolean explain) {
+        this.thresholdNanos = thresholdMillis > 0 ? TimeUnit.MILLISECONDS.toNanos(thresholdMillis) : Long.MAX_VALUE;
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.explain = explain;
+    }
+
+    public boolean isEnabled() {
+        return thresholdNanos != Long.MAX_VALUE;
+    }
+
+    /**
+     * @return true if an execution that took this long should be logged.
+     */
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * Queues a slow execution for logging. Never blocks.
+     *
+     * @param parameters The bound parameter values by index - 1 (a copy the caller no longer changes).
+     * @param rows Rows read or affected, -1 if unknown.
+     */
+    void record(String sql, Object[] parameters, int batchSize, long elapsedNanos, long rows, long acquireNanos,
+                long actionId, boolean failed) {
+        slowCount.increment();
+        startWriterIfNeeded();
+        if (!queue.offer(new Entry(sql, parameters, batchSize, elapsedNanos, rows, acquireNanos, actionId, failed))) {
+            droppedCount.increment();
+        }
+    }
+
+    private synchronized void startWriterIfNeeded() {
+        if (writerThread == null) {
+            writerThread = new Thread(this::writeEntries, "slow-query-log");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    private void writeEntries() {
+        while (true) {
+            try {
+                Entry entry = queue.take();
+                do {
+                    write(entry);
+                } while ((entry = queue.poll()) != null);
+                writer.flush(); // Once per burst
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Error writing slow query log " + file + ": " + e.getMessage());
+                e.printStackTrace();
+                closeWriter(); // Reopened for the next entry
+            }
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        StringBuilder sb = line;
+        sb.setLength(0);
+        TIMESTAMP.formatTo(entry.at, sb);
+        sb.append(' ');
+        appendMillis(sb, entry.elapsedNanos);
+        sb.append(" ms rows=").append(entry.rows).append(" acquire=");
+        appendMillis(sb, entry.acquireNanos);
+        sb.append(" ms");
+        if (entry.actionId != 0) {
+            sb.append(" action=").append(entry.actionId);
+        }
+        if (entry.batchSize > 0) {
+            sb.append(" batch=").append(entry.batchSize);
+        }
+        if (entry.failed) {
+            sb.append(" FAILED");
+        }
+        sb.append(" sqlId=").append(JdbcTracing.sqlId(entry.sql)).append(" params=(");
+        appendParameterShapes(sb, entry.parameters);
+        sb.append(") sql=");
+        appendCollapsed(sb, entry.sql);
+        sb.append(System.lineSeparator());
+        if (explain && !entry.failed && isExplainable(entry.sql) && shouldExplain(entry.sql)) {
+            appendPlan(sb, entry);
+        }
+        append(sb);
+    }
+
+    // Milliseconds with one decimal, without String.format
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        long tenths = nanos / 100_000;
+        sb.append(tenths / 10).append('.').append(tenths % 10);
+    }
+
+    private static void appendParameterShapes(StringBuilder sb, Object[] parameters) {
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object value = parameters[i];
+            if (value == null) {
+                sb.append("NULL");
+            } else {
+                sb.append(value.getClass().getSimpleName());
+                if (value instanceof CharSequence) {
+                    sb.append('(').append(((CharSequence) value).length()).append(')');
+                } else if (value instanceof byte[]) {
+                    sb.append('(').append(((byte[]) value).length).append(')');
+                }
+            }
+        }
+    }
+
+    // The SQL on one line: runs of whitespace (including line breaks) become one space
+    private static void appendCollapsed(StringBuilder sb, String sql) {
+        boolean started = false;
+        boolean space = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = started;
+            } else {
+                if (space) {
+                    sb.append(' ');
+                }
+                started = true;
+                space = false;
+                sb.append(c);
+            }
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        String start = sql.stripLeading();
+        return start.regionMatches(true, 0, "SELECT", 0, 6) || start.regionMatches(true, 0, "INSERT", 0, 6)
+                || start.regionMatches(true, 0, "UPDATE", 0, 6) || start.regionMatches(true, 0, "DELETE", 0, 6);
+    }
+
+    private boolean shouldExplain(String sql) {
+        long now = System.currentTimeMillis();
+        Long last = explainedAt.get(sql);
+        if (last != null && now - last < EXPLAIN_INTERVAL_MILLIS) {
+            return false;
+        }
+        if (explainedAt.size() >= MAX_EXPLAINED_STATEMENTS) {
+            explainedAt.clear();
+        }
+        explainedAt.put(sql, now);
+        return true;
+    }
+
+    /**
+     * Runs EXPLAIN with the entry's parameters on a connection of its own (not traced, so the EXPLAIN is never logged)
+     * and appends one indented line per plan row.
+     */
+    private void appendPlan(StringBuilder sb, Entry entry) {
+        try (Connection conn = DatabaseConnection.openConnection();
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + entry.sql)) {
+            for (int i = 0; i < entry.parameters.length; i++) {
+                pstmt.setObject(i + 1, entry.parameters[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    sb.append("    plan:");
+                    for (int column = 1; column <= meta.getColumnCount(); column++) {
+                        String value = rs.getString(column);
+                        if (value != null) {
+                            sb.append(' ').append(meta.getColumnLabel(column)).append('=').append(value);
+                        }
+                    }
+                    sb.append(System.lineSeparator());
+                }
+            }
+        } catch (SQLException e) {
+            sb.append("    plan: not available (").append(e.getMessage()).append(')').append(System.lineSeparator());
+        }
+    }
+
+    private void append(CharSequence text) throws IOException {
+        if (writer == null) {
+            openWriter();
+        } else if (fileBytes >= maxBytes) {
+            rotate();
+        }
+        writer.append(text);
+        fileBytes += text.length(); // Characters, close enough to bytes for rotation
+    }
+
+    private void openWriter() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        fileBytes = Files.size(file);
+    }
+
+    /**
+     * Renames file.4 to file.5 and so on, then file to file.1, and starts a new file.
+     */
+    private void rotate() throws IOException {
+        closeWriter();
+        for (int i = ROTATED_FILES - 1; i >= 1; i--) {
+            Path older = rotatedFile(i);
+            if (Files.exists(older)) {
+                Files.move(older, rotatedFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotatedFile(1), StandardCopyOption.REPLACE_EXISTING);
+        openWriter();
+    }
+
+    private Path rotatedFile(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("Error closing slow query log " + file + ": " + e.getMessage());
+            }
+            writer = null;
+        }
+    }
+}
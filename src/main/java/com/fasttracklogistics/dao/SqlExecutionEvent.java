@@ -0,0 +1,45 @@
+// src/main/java/com/fasttracklogistics/dao/SqlExecutionEvent.java
+
+package com.fasttracklogistics.dao;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for one JDBC statement execution (see JdbcTracing).
+ * For queries the event lasts until the result set is closed, so it includes reading and mapping the rows.
+ */
+@Name("com.fasttracklogistics.SqlExecution")
+@Label("SQL Execution")
+@Category({"CargoPilot", "Database"})
+@Description("A JDBC statement executed by a DAO")
+@StackTrace(true)
+public final class SqlExecutionEvent extends jdk.jfr.Event {
+
+    @Label("SQL ID")
+    @Description("Hash of the SQL text; the same statement always has the same ID")
+    String sqlId;
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows read for a query, rows affected for an update, -1 if unknown")
+    long rows;
+
+    @Label("Connection Acquire Time")
+    @Description("Time spent obtaining the connection the statement ran on")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionAcquireTime;
+
+    @Label("Action ID")
+    @Description("ID of the controller action the statement ran for, 0 if none")
+    long actionId;
+
+    @Label("Failed")
+    boolean failed;
+}
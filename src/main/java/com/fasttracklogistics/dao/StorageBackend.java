@@ -0,0 +1,48 @@
+// src/main/java/com/fasttracklogistics/dao/StorageBackend.java
+
+package com.fasttracklogistics.dao;
+
+/**
+ * A storage engine behind the DAO interfaces.
+ * <p>
+ * Controllers and services get their DAOs from the backend they are given instead of creating
+ * JDBC implementations themselves, so the same application can run against the shared MySQL
+ * database or standalone (e.g. a branch depot without a database server, or a hermetic test).
+ * Backends are chosen with -Dfasttrack.storage, see {@link StorageBackends}.
+ */
+public interface StorageBackend {
+
+    /**
+     * @return The name the backend is selected by, e.g. "mysql".
+     */
+    String getName();
+
+    /**
+     * Prepares the storage (e.g. creates missing tables). Called once before any DAO is used.
+     */
+    void initialize();
+
+    /**
+     * Whether several desks share this storage. Only then do the delta sync and the MySQL
+     * maintenance jobs (rollup reconciliation, notification partitions) have anything to do.
+     * @return true for a shared database, false for storage private to this process.
+     */
+    boolean isShared();
+
+    ShipmentDAO getShipmentDAO();
+
+    DeliveryDAO getDeliveryDAO();
+
+    DeliveryPersonnelDAO getPersonnelDAO();
+
+    NotificationDAO getNotificationDAO();
+
+    ReportDAO getReportDAO();
+
+    ExportDAO getExportDAO();
+
+    /**
+     * Releases the resources of the backend. Called on shutdown.
+     */
+    void close();
+}
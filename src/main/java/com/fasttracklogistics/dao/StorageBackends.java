@@ -0,0 +1,61 @@
+// src/main/java/com/fasttracklogistics/dao/StorageBackends.java
+
+package com.fasttracklogistics.dao;
+
+import java.util.ServiceLoader;
+
+/**
+ * Creates the storage backend selected with -Dfasttrack.storage.
+ * <p>
+ * "mysql" (the default) is the shared MySQL database, "memory" an in-memory store private to
+ * this process. Other backends can be added without touching this class by implementing
+ * {@link StorageBackend} and listing the class in META-INF/services/com.fasttracklogistics.dao.StorageBackend.
+ * Every backend's DAO calls are timed in the MetricsRegistry unless -Dfasttrack.metrics.dao=false.
+ */
+public class StorageBackends {
+
+    public static final String STORAGE_PROPERTY = "fasttrack.storage";
+    public static final String MYSQL = "mysql";
+    public static final String MEMORY = "memory";
+    public static final String DAO_METRICS_PROPERTY = "fasttrack.metrics.dao";
+
+    private StorageBackends() {
+        // Static helper
+    }
+
+    /**
+     * @return A new, not yet initialized instance of the configured backend.
+     * @throws IllegalArgumentException If no backend has the configured name.
+     */
+    public static StorageBackend create() {
+        return create(System.getProperty(STORAGE_PROPERTY, MYSQL));
+    }
+
+    /**
+     * @param name The name of the backend, case-insensitive.
+     * @return A new, not yet initialized instance of the backend.
+     * @throws IllegalArgumentException If no backend has this name.
+     */
+    public static StorageBackend create(String name) {
+        StorageBackend backend = createUninstrumented(name);
+        boolean timed = Boolean.parseBoolean(System.getProperty(DAO_METRICS_PROPERTY, "true"));
+        return timed ? new InstrumentedStorageBackend(backend) : backend;
+    }
+
+    private static StorageBackend createUninstrumented(String name) {
+        String normalized = name.trim().toLowerCase();
+        switch (normalized) {
+            case MYSQL:
+                return new JdbcStorageBackend();
+            case MEMORY:
+                return new InMemoryStorageBackend();
+            default:
+                for (StorageBackend backend : ServiceLoader.load(StorageBackend.class)) {
+                    if (backend.getName().equalsIgnoreCase(normalized)) {
+                        return backend;
+                    }
+                }
+                throw new IllegalArgumentException("Unknown storage backend: " + name);
+        }
+    }
+}
@@ -4,17 +4,27 @@
 
 package com.fasttracklogistics.dao;
 
+import com.fasttracklogistics.event.ChangeType;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.PersonnelChanged;
+import com.fasttracklogistics.event.ShipmentChanged;
 import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Shipment;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.sql.Date;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID; // For generating unique IDs
 
 /**
@@ -22,6 +32,9 @@ import java.util.UUID; // For generating unique IDs
  */
 public class DeliveryDAOImpl implements DeliveryDAO {
 
+    // Delivery statuses that can still become overdue
+    private static final String OPEN_STATUSES = "'Scheduled', 'Assigned', 'Picked Up', 'En Route'";
+
     @Override
     public boolean insertDelivery(Delivery delivery) throws SQLException {
         String sql = "INSERT INTO Deliveries (delivery_id, shipment_id, personnel_id, scheduled_date, scheduled_time_slot, " +
@@ -31,6 +44,7 @@ public class DeliveryDAOImpl implements DeliveryDAO {
         PreparedStatement pstmt = null;
         try {
             conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
             pstmt = conn.prepareStatement(sql);
 
             if (delivery.getDeliveryId() == null || delivery.getDeliveryId().isEmpty()) {
@@ -51,8 +65,18 @@ public class DeliveryDAOImpl implements DeliveryDAO {
             pstmt.setString(9, delivery.getDelayReason());
 
             int rowsAffected = pstmt.executeUpdate();
+            DeliveryRollupMaintainer.applyChange(conn, null,
+                    DeliveryRollupMaintainer.readByDeliveryId(conn, delivery.getDeliveryId()));
+            conn.commit();
+            if (rowsAffected > 0) {
+                DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.CREATED, delivery));
+            }
             return rowsAffected > 0;
+        } catch (SQLException e) {
+            rollback(conn);
+            throw e;
         } finally {
+            endTransaction(conn);
             DatabaseConnection.closeResources(conn, pstmt, null);
         }
     }
@@ -66,6 +90,8 @@ public class DeliveryDAOImpl implements DeliveryDAO {
         PreparedStatement pstmt = null;
         try {
             conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            DeliveryRollupMaintainer.Contribution before = DeliveryRollupMaintainer.readByDeliveryId(conn, delivery.getDeliveryId());
             pstmt = conn.prepareStatement(sql);
             pstmt.setString(1, delivery.getShipmentId());
             pstmt.setString(2, delivery.getPersonnelId());
@@ -78,24 +104,134 @@ public class DeliveryDAOImpl implements DeliveryDAO {
             pstmt.setString(9, delivery.getDeliveryId());
 
             int rowsAffected = pstmt.executeUpdate();
+            DeliveryRollupMaintainer.applyChange(conn, before,
+                    DeliveryRollupMaintainer.readByDeliveryId(conn, delivery.getDeliveryId()));
+            conn.commit();
+            if (rowsAffected > 0) {
+                DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.UPDATED, delivery));
+            }
             return rowsAffected > 0;
+        } catch (SQLException e) {
+            rollback(conn);
+            throw e;
+        } finally {
+            endTransaction(conn);
+            DatabaseConnection.closeResources(conn, pstmt, null);
+        }
+    }
+
+    @Override
+    public Delivery assignDelivery(Delivery delivery, String personnelStatus, String shipmentStatus) throws SQLException {
+        // An existing delivery is only taken over while it has no driver; personnel_id is assigned last
+        // because the assignments before it test its old value
+        String sql = "INSERT INTO Deliveries (delivery_id, shipment_id, personnel_id, scheduled_date, scheduled_time_slot, " +
+                "actual_delivery_date, delivery_status, estimated_arrival_time, delay_reason) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+                "delivery_status = IF(personnel_id IS NULL, VALUES(delivery_status), delivery_status), " +
+                "estimated_arrival_time = IF(personnel_id IS NULL, IFNULL(estimated_arrival_time, VALUES(estimated_arrival_time)), estimated_arrival_time), " +
+                "personnel_id = IFNULL(personnel_id, VALUES(personnel_id))";
+        if (delivery.getDeliveryId() == null || delivery.getDeliveryId().isEmpty()) {
+            delivery.setDeliveryId(UUID.randomUUID().toString());
+        }
+        if (delivery.getDeliveryStatus() == null || delivery.getDeliveryStatus().isEmpty()) {
+            delivery.setDeliveryStatus("Scheduled");
+        }
+        DomainEventBus bus = DomainEventBus.getInstance();
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        Delivery stored;
+        DeliveryPersonnel claimedPersonnel = null;
+        Shipment assignedShipment = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            if (!DeliveryPersonnelDAOImpl.claim(conn, delivery.getPersonnelId(), personnelStatus)) {
+                conn.rollback();
+                return null; // Not available (any more)
+            }
+            DeliveryRollupMaintainer.Contribution before = DeliveryRollupMaintainer.readByShipmentId(conn, delivery.getShipmentId());
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setString(1, delivery.getDeliveryId());
+            pstmt.setString(2, delivery.getShipmentId());
+            pstmt.setString(3, delivery.getPersonnelId());
+            pstmt.setDate(4, Date.valueOf(delivery.getScheduledDate()));
+            pstmt.setString(5, delivery.getScheduledTimeSlot());
+            pstmt.setTimestamp(6, delivery.getActualDeliveryDate() != null ? Timestamp.valueOf(delivery.getActualDeliveryDate()) : null);
+            pstmt.setString(7, delivery.getDeliveryStatus());
+            pstmt.setTimestamp(8, delivery.getEstimatedArrivalTime() != null ? Timestamp.valueOf(delivery.getEstimatedArrivalTime()) : null);
+            pstmt.setString(9, delivery.getDelayReason());
+            pstmt.executeUpdate();
+
+            // The affected row count cannot tell an unchanged duplicate from an update, so read the row back
+            stored = findByShipmentId(conn, delivery.getShipmentId());
+            if (stored == null || !delivery.getPersonnelId().equals(stored.getPersonnelId())) {
+                conn.rollback();
+                return null; // Assigned by someone else in the meantime
+            }
+            ShipmentDAOImpl.writeStatus(conn, delivery.getShipmentId(), shipmentStatus);
+            DeliveryRollupMaintainer.applyChange(conn, before,
+                    DeliveryRollupMaintainer.readByShipmentId(conn, delivery.getShipmentId()));
+            // Read the changed rows for the events while their locks are held, rather than again after the commit
+            if (bus.hasSubscribers(PersonnelChanged.class)) {
+                claimedPersonnel = DeliveryPersonnelDAOImpl.readPersonnel(conn, delivery.getPersonnelId());
+            }
+            if (bus.hasSubscribers(ShipmentChanged.class)) {
+                assignedShipment = ShipmentDAOImpl.readShipment(conn, delivery.getShipmentId());
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            rollback(conn);
+            throw e;
         } finally {
+            endTransaction(conn);
             DatabaseConnection.closeResources(conn, pstmt, null);
         }
+        boolean created = stored.getDeliveryId().equals(delivery.getDeliveryId());
+        bus.publish(new DeliveryChanged(created ? ChangeType.CREATED : ChangeType.UPDATED, stored));
+        if (claimedPersonnel != null) {
+            bus.publish(new PersonnelChanged(ChangeType.UPDATED, claimedPersonnel));
+        }
+        if (assignedShipment != null) {
+            bus.publish(new ShipmentChanged(ChangeType.UPDATED, assignedShipment));
+        }
+        return stored;
+    }
+
+    private Delivery findByShipmentId(Connection conn, String shipmentId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM Deliveries WHERE shipment_id = ?")) {
+            pstmt.setString(1, shipmentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapResultSetToDelivery(rs) : null;
+            }
+        }
     }
 
     @Override
     public boolean deleteDelivery(String deliveryId) throws SQLException {
         String sql = "DELETE FROM Deliveries WHERE delivery_id = ?";
+        // Subscribers need the shipment and personnel of the removed delivery
+        Delivery deleted = DomainEventBus.getInstance().hasSubscribers(DeliveryChanged.class) ? findDeliveryById(deliveryId) : null;
         Connection conn = null;
         PreparedStatement pstmt = null;
         try {
             conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            DeliveryRollupMaintainer.Contribution before = DeliveryRollupMaintainer.readByDeliveryId(conn, deliveryId);
+            DeletedRecordLog.recordDelivery(conn, deliveryId);
             pstmt = conn.prepareStatement(sql);
             pstmt.setString(1, deliveryId);
             int rowsAffected = pstmt.executeUpdate();
+            DeliveryRollupMaintainer.applyChange(conn, before, null);
+            conn.commit();
+            if (rowsAffected > 0) {
+                DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.DELETED, deliveryId, deleted));
+            }
             return rowsAffected > 0;
+        } catch (SQLException e) {
+            rollback(conn);
+            throw e;
         } finally {
+            endTransaction(conn);
             DatabaseConnection.closeResources(conn, pstmt, null);
         }
     }
@@ -181,10 +317,204 @@ public class DeliveryDAOImpl implements DeliveryDAO {
         return deliveries;
     }
 
+    @Override
+    public List<Object[]> findDeliveredSince(LocalDateTime since) throws SQLException {
+        List<Object[]> results = new ArrayList<>();
+        // Served by idx_deliveries_status_updated, so only the recently changed delivered rows are read
+        String sql = "SELECT d.*, s.route, s.package_type FROM Deliveries d " +
+                "JOIN Shipments s ON s.shipment_id = d.shipment_id " +
+                "WHERE d.delivery_status = 'Delivered' AND d.updated_at >= ? " +
+                "ORDER BY d.updated_at";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setTimestamp(1, Timestamp.valueOf(since));
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                Delivery delivery = mapResultSetToDelivery(rs);
+                Shipment shipment = new Shipment();
+                shipment.setShipmentId(delivery.getShipmentId());
+                shipment.setRoute(rs.getString("route"));
+                shipment.setPackageType(rs.getString("package_type"));
+                results.add(new Object[]{delivery, shipment});
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return results;
+    }
+
+    @Override
+    public List<Object[]> findOverdueDeliveries(LocalDateTime upTo) throws SQLException {
+        List<Object[]> results = new ArrayList<>();
+        // The status list and ETA bound let MySQL range-scan idx_deliveries_status_eta; flagged rows
+        // are no longer in an open status, so only deliveries that are newly overdue are read
+        String sql = "SELECT d.*, s.tracking_number, s.receiver_name, s.is_urgent FROM Deliveries d " +
+                "JOIN Shipments s ON s.shipment_id = d.shipment_id " +
+                "WHERE d.delivery_status IN (" + OPEN_STATUSES + ") " +
+                "AND d.estimated_arrival_time <= ? " +
+                "ORDER BY d.estimated_arrival_time";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setTimestamp(1, Timestamp.valueOf(upTo));
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                results.add(mapOverdueRow(rs));
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return results;
+    }
+
+    @Override
+    public List<Object[]> findDelayedDeliveries() throws SQLException {
+        List<Object[]> results = new ArrayList<>();
+        // Range scan of idx_deliveries_status_eta, already in ETA order
+        String sql = "SELECT d.*, s.tracking_number, s.receiver_name, s.is_urgent FROM Deliveries d " +
+                "JOIN Shipments s ON s.shipment_id = d.shipment_id " +
+                "WHERE d.delivery_status = 'Delayed' " +
+                "ORDER BY d.estimated_arrival_time";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                results.add(mapOverdueRow(rs));
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return results;
+    }
+
+    // {Delivery, Shipment} with the shipment details the overdue queries select
+    private Object[] mapOverdueRow(ResultSet rs) throws SQLException {
+        Delivery delivery = mapResultSetToDelivery(rs);
+        Shipment shipment = new Shipment();
+        shipment.setShipmentId(delivery.getShipmentId());
+        shipment.setTrackingNumber(rs.getString("tracking_number"));
+        shipment.setReceiverName(rs.getString("receiver_name"));
+        shipment.setUrgent(rs.getBoolean("is_urgent"));
+        return new Object[]{delivery, shipment};
+    }
+
+    @Override
+    public List<String> markDeliveriesDelayed(List<String> deliveryIds, String delayReason) throws SQLException {
+        List<String> flagged = new ArrayList<>();
+        if (deliveryIds.isEmpty()) {
+            return flagged;
+        }
+        // Multi-table update keeps the shipment status in step with its delivery, like the controllers do
+        String sql = "UPDATE Deliveries d JOIN Shipments s ON s.shipment_id = d.shipment_id " +
+                "SET d.delivery_status = 'Delayed', d.delay_reason = COALESCE(NULLIF(d.delay_reason, ''), ?), " +
+                "s.current_status = 'Delayed', s.updated_at = CURRENT_TIMESTAMP " +
+                "WHERE d.delivery_id = ? AND d.delivery_status IN (" + OPEN_STATUSES + ")";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            Map<String, DeliveryRollupMaintainer.Contribution> before = new HashMap<>();
+            for (String deliveryId : deliveryIds) {
+                before.put(deliveryId, DeliveryRollupMaintainer.readByDeliveryId(conn, deliveryId));
+            }
+            // The rows are locked by the reads above, so each update count says whether that delivery was flagged
+            pstmt = conn.prepareStatement(sql);
+            for (String deliveryId : deliveryIds) {
+                pstmt.setString(1, delayReason);
+                pstmt.setString(2, deliveryId);
+                if (pstmt.executeUpdate() > 0) {
+                    flagged.add(deliveryId);
+                }
+            }
+            for (String deliveryId : flagged) {
+                DeliveryRollupMaintainer.applyChange(conn, before.get(deliveryId),
+                        DeliveryRollupMaintainer.readByDeliveryId(conn, deliveryId));
+            }
+            conn.commit();
+            publishDelayed(flagged);
+            return flagged;
+        } catch (SQLException e) {
+            rollback(conn);
+            throw e;
+        } finally {
+            endTransaction(conn);
+            DatabaseConnection.closeResources(conn, pstmt, null);
+        }
+    }
+
+    /**
+     * Publishes the deliveries (and their shipments) changed by markDeliveriesDelayed, read back after the commit.
+     */
+    private void publishDelayed(List<String> deliveryIds) throws SQLException {
+        DomainEventBus bus = DomainEventBus.getInstance();
+        boolean publishShipments = bus.hasSubscribers(ShipmentChanged.class);
+        if (!bus.hasSubscribers(DeliveryChanged.class) && !publishShipments) {
+            return;
+        }
+        ShipmentDAO shipmentDAO = new ShipmentDAOImpl();
+        for (String deliveryId : deliveryIds) {
+            Delivery delivery = findDeliveryById(deliveryId);
+            if (delivery == null) {
+                continue; // Deleted since the commit
+            }
+            bus.publish(new DeliveryChanged(ChangeType.UPDATED, delivery));
+            Shipment shipment = publishShipments ? shipmentDAO.findShipmentById(delivery.getShipmentId()) : null;
+            if (shipment != null) {
+                bus.publish(new ShipmentChanged(ChangeType.UPDATED, shipment));
+            }
+        }
+    }
+
+    private void rollback(Connection conn) throws SQLException {
+        if (conn != null) {
+            conn.rollback();
+        }
+    }
+
+    private void endTransaction(Connection conn) throws SQLException {
+        if (conn != null) {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    @Override
+    public List<Delivery> findDeliveriesUpdatedSince(LocalDateTime since) throws SQLException {
+        List<Delivery> deliveries = new ArrayList<>();
+        String sql = "SELECT * FROM Deliveries WHERE updated_at >= ? ORDER BY updated_at";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setTimestamp(1, Timestamp.valueOf(since));
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                deliveries.add(mapResultSetToDelivery(rs));
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return deliveries;
+    }
+
     /**
      * Helper method to map a ResultSet row to a Delivery object.
+     * Package-private so the mapping benchmarks can call it.
      */
-    private Delivery mapResultSetToDelivery(ResultSet rs) throws SQLException {
+    Delivery mapResultSetToDelivery(ResultSet rs) throws SQLException {
         Delivery delivery = new Delivery();
         delivery.setDeliveryId(rs.getString("delivery_id"));
         delivery.setShipmentId(rs.getString("shipment_id"));
@@ -195,6 +525,10 @@ public class DeliveryDAOImpl implements DeliveryDAO {
         delivery.setDeliveryStatus(rs.getString("delivery_status"));
         delivery.setEstimatedArrivalTime(rs.getTimestamp("estimated_arrival_time") != null ? rs.getTimestamp("estimated_arrival_time").toLocalDateTime() : null);
         delivery.setDelayReason(rs.getString("delay_reason"));
+        Timestamp updatedAtTs = rs.getTimestamp("updated_at");
+        if (updatedAtTs != null) {
+            delivery.setUpdatedAt(updatedAtTs.toLocalDateTime());
+        }
         return delivery;
     }
 }
@@ -3,13 +3,21 @@
 
 package com.fasttracklogistics.dao;
 
+import com.fasttracklogistics.event.ChangeType;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.PersonnelChanged;
+import com.fasttracklogistics.model.Delivery;
 import com.fasttracklogistics.model.DeliveryPersonnel;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID; // For generating unique IDs
 
 /**
@@ -47,6 +55,9 @@ public class DeliveryPersonnelDAOImpl implements DeliveryPersonnelDAO {
             pstmt.setString(8, personnel.getAvailabilityStatus());
 
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.CREATED, personnel));
+            }
             return rowsAffected > 0;
         } finally {
             DatabaseConnection.closeResources(conn, pstmt, null);
@@ -55,41 +66,178 @@ public class DeliveryPersonnelDAOImpl implements DeliveryPersonnelDAO {
 
     @Override
     public boolean updatePersonnel(DeliveryPersonnel personnel) throws SQLException {
-        String sql = "UPDATE DeliveryPersonnel SET employee_id = ?, name = ?, contact_number = ?, " +
-                "email = ?, vehicle_type = ?, license_number = ?, availability_status = ? WHERE personnel_id = ?";
+        Set<DeliveryPersonnel.Column> columns = personnel.getChangedColumns();
+        if (columns.isEmpty()) {
+            return true; // Unchanged since it was read
+        }
+        StringBuilder sql = new StringBuilder("UPDATE DeliveryPersonnel SET ");
+        for (DeliveryPersonnel.Column column : columns) {
+            sql.append(column.getColumnName()).append(" = ?, ");
+        }
+        sql.setLength(sql.length() - 2);
+        sql.append(" WHERE personnel_id = ?");
         Connection conn = null;
         PreparedStatement pstmt = null;
         try {
             conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, personnel.getEmployeeId());
-            pstmt.setString(2, personnel.getName());
-            pstmt.setString(3, personnel.getContactNumber());
-            pstmt.setString(4, personnel.getEmail());
-            pstmt.setString(5, personnel.getVehicleType());
-            pstmt.setString(6, personnel.getLicenseNumber());
-            pstmt.setString(7, personnel.getAvailabilityStatus());
-            pstmt.setString(8, personnel.getPersonnelId());
+            pstmt = conn.prepareStatement(sql.toString());
+            int index = 1;
+            for (DeliveryPersonnel.Column column : columns) {
+                pstmt.setString(index++, columnValue(personnel, column));
+            }
+            pstmt.setString(index, personnel.getPersonnelId());
 
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                personnel.markLoaded();
+                DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.UPDATED, personnel));
+            }
             return rowsAffected > 0;
         } finally {
             DatabaseConnection.closeResources(conn, pstmt, null);
         }
     }
 
+    private static String columnValue(DeliveryPersonnel personnel, DeliveryPersonnel.Column column) {
+        switch (column) {
+            case EMPLOYEE_ID:
+                return personnel.getEmployeeId();
+            case NAME:
+                return personnel.getName();
+            case CONTACT_NUMBER:
+                return personnel.getContactNumber();
+            case EMAIL:
+                return personnel.getEmail();
+            case VEHICLE_TYPE:
+                return personnel.getVehicleType();
+            case LICENSE_NUMBER:
+                return personnel.getLicenseNumber();
+            case AVAILABILITY_STATUS:
+                return personnel.getAvailabilityStatus();
+            default:
+                throw new IllegalArgumentException("Unknown column: " + column);
+        }
+    }
+
+    @Override
+    public boolean updatePersonnelStatus(String personnelId, String availabilityStatus) throws SQLException {
+        String sql = "UPDATE DeliveryPersonnel SET availability_status = ? WHERE personnel_id = ?";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        int rowsAffected;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setString(1, availabilityStatus);
+            pstmt.setString(2, personnelId);
+            rowsAffected = pstmt.executeUpdate();
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, null);
+        }
+        if (rowsAffected > 0) {
+            publishStatusChange(personnelId);
+        }
+        return rowsAffected > 0;
+    }
+
+    @Override
+    public boolean claimPersonnel(String personnelId, String availabilityStatus) throws SQLException {
+        Connection conn = null;
+        boolean claimed;
+        try {
+            conn = DatabaseConnection.getConnection();
+            claimed = claim(conn, personnelId, availabilityStatus);
+        } finally {
+            DatabaseConnection.closeResources(conn, null, null);
+        }
+        if (claimed) {
+            publishStatusChange(personnelId);
+        }
+        return claimed;
+    }
+
+    /**
+     * The conditional UPDATE behind claimPersonnel, on the caller's connection (and transaction).
+     */
+    static boolean claim(Connection conn, String personnelId, String availabilityStatus) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "UPDATE DeliveryPersonnel SET availability_status = ? WHERE personnel_id = ? AND availability_status = 'Available'")) {
+            pstmt.setString(1, availabilityStatus);
+            pstmt.setString(2, personnelId);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Reads a personnel row on the caller's connection, e.g. to publish it after the caller's transaction.
+     * @return The personnel, or null if it does not exist.
+     */
+    static DeliveryPersonnel readPersonnel(Connection conn, String personnelId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM DeliveryPersonnel WHERE personnel_id = ?")) {
+            pstmt.setString(1, personnelId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapResultSetToPersonnel(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Publishes PersonnelChanged after a status-only update; subscribers get the whole row, which only they need to read back.
+     */
+    void publishStatusChange(String personnelId) throws SQLException {
+        if (DomainEventBus.getInstance().hasSubscribers(PersonnelChanged.class)) {
+            DeliveryPersonnel personnel = findPersonnelById(personnelId);
+            if (personnel != null) {
+                DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.UPDATED, personnel));
+            }
+        }
+    }
+
     @Override
     public boolean deletePersonnel(String personnelId) throws SQLException {
         String sql = "DELETE FROM DeliveryPersonnel WHERE personnel_id = ?";
+        // Unassign explicitly rather than through ON DELETE SET NULL, which does not touch updated_at
+        // and would hide the change from the delta sync of other desks
+        String unassignSql = "UPDATE Deliveries SET personnel_id = NULL, updated_at = CURRENT_TIMESTAMP WHERE personnel_id = ?";
+        DeliveryDAO deliveryDAO = new DeliveryDAOImpl();
+        // ON DELETE SET NULL unassigns these deliveries; subscribers are told about each of them
+        List<Delivery> unassigned = DomainEventBus.getInstance().hasSubscribers(DeliveryChanged.class)
+                ? deliveryDAO.findDeliveriesByPersonnelId(personnelId) : new ArrayList<>();
         Connection conn = null;
         PreparedStatement pstmt = null;
         try {
             conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            // Move the rollups of the personnel's deliveries along before unassigning them
+            DeliveryRollupMaintainer.unassignPersonnel(conn, personnelId);
+            try (PreparedStatement unassign = conn.prepareStatement(unassignSql)) {
+                unassign.setString(1, personnelId);
+                unassign.executeUpdate();
+            }
             pstmt = conn.prepareStatement(sql);
             pstmt.setString(1, personnelId);
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                DeletedRecordLog.record(conn, DeletedRecordLog.PERSONNEL, personnelId, null);
+            }
+            conn.commit();
+            if (rowsAffected > 0) {
+                DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.DELETED, personnelId, null));
+                for (Delivery delivery : unassigned) {
+                    delivery.setPersonnelId(null);
+                    DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.UPDATED, delivery));
+                }
+            }
             return rowsAffected > 0;
+        } catch (SQLException e) {
+            if (conn != null) {
+                conn.rollback();
+            }
+            throw e;
         } finally {
+            if (conn != null) {
+                conn.setAutoCommit(true);
+            }
             DatabaseConnection.closeResources(conn, pstmt, null);
         }
     }
@@ -174,10 +322,32 @@ public class DeliveryPersonnelDAOImpl implements DeliveryPersonnelDAO {
         return personnelList;
     }
 
+    @Override
+    public List<DeliveryPersonnel> findPersonnelUpdatedSince(LocalDateTime since) throws SQLException {
+        List<DeliveryPersonnel> personnelList = new ArrayList<>();
+        String sql = "SELECT * FROM DeliveryPersonnel WHERE updated_at >= ? ORDER BY updated_at";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setTimestamp(1, Timestamp.valueOf(since));
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                personnelList.add(mapResultSetToPersonnel(rs));
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return personnelList;
+    }
+
     /**
      * Helper method to map a ResultSet row to a DeliveryPersonnel object.
+     * Package-private so the mapping benchmarks can call it.
      */
-    private DeliveryPersonnel mapResultSetToPersonnel(ResultSet rs) throws SQLException {
+    static DeliveryPersonnel mapResultSetToPersonnel(ResultSet rs) throws SQLException {
         DeliveryPersonnel personnel = new DeliveryPersonnel();
         personnel.setPersonnelId(rs.getString("personnel_id"));
         personnel.setEmployeeId(rs.getString("employee_id"));
@@ -187,6 +357,11 @@ public class DeliveryPersonnelDAOImpl implements DeliveryPersonnelDAO {
         personnel.setVehicleType(rs.getString("vehicle_type"));
         personnel.setLicenseNumber(rs.getString("license_number"));
         personnel.setAvailabilityStatus(rs.getString("availability_status"));
+        Timestamp updatedAtTs = rs.getTimestamp("updated_at");
+        if (updatedAtTs != null) {
+            personnel.setUpdatedAt(updatedAtTs.toLocalDateTime());
+        }
+        personnel.markLoaded();
         return personnel;
     }
 }
@@ -0,0 +1,127 @@
+// src/main/java/com/fasttracklogistics/dao/impl/ExportDAOImpl.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.model.NotificationMessage;
+import com.fasttracklogistics.model.NotificationTemplate;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * JDBC implementation of the ExportDAO interface for MySQL.
+ * Queries run forward-only and read-only with Connector/J's streaming fetch size, so the
+ * driver hands over one row at a time instead of buffering the whole result in the heap.
+ */
+public class ExportDAOImpl implements ExportDAO {
+
+    // Connector/J only streams a result set when the fetch size is exactly Integer.MIN_VALUE
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @Override
+    public void streamShipments(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException {
+        String sql = "SELECT shipment_id, tracking_number, sender_name, sender_address, sender_contact, receiver_name, " +
+                "receiver_address, receiver_contact, package_contents, package_type, weight_kg, dimensions_cm, current_location, " +
+                "route, current_status, is_urgent, created_at, updated_at FROM Shipments " +
+                "WHERE created_at >= ? AND created_at < ?" + statusFilter("current_status", status) + " ORDER BY created_at";
+        streamQuery(sql, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()), status, handler);
+    }
+
+    @Override
+    public void streamDeliveries(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException {
+        String sql = "SELECT delivery_id, shipment_id, personnel_id, scheduled_date, scheduled_time_slot, actual_delivery_date, " +
+                "delivery_status, estimated_arrival_time, delay_reason, updated_at FROM Deliveries " +
+                "WHERE scheduled_date >= ? AND scheduled_date < ?" + statusFilter("delivery_status", status) + " ORDER BY scheduled_date";
+        streamQuery(sql, Date.valueOf(from), Date.valueOf(to), status, handler);
+    }
+
+    @Override
+    public void streamNotifications(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException {
+        String sql = "SELECT notification_id, recipient_type, recipient_id, message, timestamp, status, is_urgent, is_read, " +
+                "template_id, template_params FROM Notifications " +
+                "WHERE timestamp >= ? AND timestamp < ?" + statusFilter("status", status) + " ORDER BY timestamp";
+        streamQuery(sql, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()), status,
+                new TemplateRenderingHandler(handler));
+    }
+
+    /**
+     * Fills in the message of notifications stored as template_id + template_params and drops the
+     * template_params column, so exported and archived files always carry the full message text.
+     */
+    private static class TemplateRenderingHandler implements ExportRowHandler {
+        private static final int MESSAGE = 3;
+        private static final int TEMPLATE_ID = 8;
+        private static final int TEMPLATE_PARAMS = 9; // Last column
+
+        private final ExportRowHandler target;
+        private Object[] output;
+
+        TemplateRenderingHandler(ExportRowHandler target) {
+            this.target = target;
+        }
+
+        @Override
+        public void handleColumns(String[] columns) throws IOException {
+            output = new Object[TEMPLATE_PARAMS];
+            target.handleColumns(Arrays.copyOf(columns, TEMPLATE_PARAMS));
+        }
+
+        @Override
+        public void handleRow(Object[] row) throws IOException {
+            System.arraycopy(row, 0, output, 0, TEMPLATE_PARAMS);
+            NotificationTemplate template = NotificationTemplate.fromId((String) row[TEMPLATE_ID]);
+            if (template != null && row[TEMPLATE_PARAMS] != null && "".equals(row[MESSAGE])) {
+                output[MESSAGE] = template.render(NotificationMessage.decodeParameters((String) row[TEMPLATE_PARAMS]));
+            }
+            target.handleRow(output);
+        }
+    }
+
+    private String statusFilter(String column, String status) {
+        return hasStatus(status) ? " AND " + column + " = ?" : "";
+    }
+
+    private boolean hasStatus(String status) {
+        return status != null && !status.trim().isEmpty();
+    }
+
+    /**
+     * Runs an export query with a [from, to) range (and optional status) and streams its rows to the handler.
+     */
+    private void streamQuery(String sql, Object from, Object to, String status, ExportRowHandler handler) throws SQLException, IOException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(STREAMING_FETCH_SIZE);
+            stmt.setObject(1, from);
+            stmt.setObject(2, to);
+            if (hasStatus(status)) {
+                stmt.setString(3, status.trim());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                String[] columns = new String[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    columns[i] = metaData.getColumnLabel(i + 1);
+                }
+                handler.handleColumns(columns);
+
+                Object[] row = new Object[columnCount]; // Reused; the handler writes it out before the next row
+                while (rs.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    handler.handleRow(row);
+                }
+            }
+        }
+    }
+}
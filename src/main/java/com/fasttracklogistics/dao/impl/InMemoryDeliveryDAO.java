@@ -0,0 +1,335 @@
+// src/main/java/com/fasttracklogistics/dao/impl/InMemoryDeliveryDAO.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.event.ChangeType;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.PersonnelChanged;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Shipment;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * DeliveryDAO implementation on the in-memory store, with the same defaults, constraints and
+ * domain events as the JDBC implementation.
+ */
+public class InMemoryDeliveryDAO implements DeliveryDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryDeliveryDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insertDelivery(Delivery delivery) throws SQLException {
+        if (delivery.getDeliveryId() == null || delivery.getDeliveryId().isEmpty()) {
+            delivery.setDeliveryId(UUID.randomUUID().toString());
+        }
+        if (delivery.getDeliveryStatus() == null || delivery.getDeliveryStatus().isEmpty()) {
+            delivery.setDeliveryStatus("Scheduled");
+        }
+        Delivery inserted;
+        store.lock.writeLock().lock();
+        try {
+            if (store.deliveries.containsKey(delivery.getDeliveryId())) {
+                throw InMemoryShipmentDAO.duplicate(delivery.getDeliveryId(), "PRIMARY");
+            }
+            checkConstraints(delivery);
+            inserted = InMemoryStore.copy(delivery);
+            inserted.setUpdatedAt(LocalDateTime.now());
+            store.putDelivery(inserted);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.CREATED, inserted));
+        return true;
+    }
+
+    @Override
+    public boolean updateDelivery(Delivery delivery) throws SQLException {
+        Delivery updated;
+        store.lock.writeLock().lock();
+        try {
+            if (!store.deliveries.containsKey(delivery.getDeliveryId())) {
+                return false;
+            }
+            checkConstraints(delivery);
+            updated = InMemoryStore.copy(delivery);
+            updated.setUpdatedAt(LocalDateTime.now());
+            store.putDelivery(updated);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.UPDATED, updated));
+        return true;
+    }
+
+    @Override
+    public Delivery assignDelivery(Delivery delivery, String personnelStatus, String shipmentStatus) throws SQLException {
+        if (delivery.getDeliveryId() == null || delivery.getDeliveryId().isEmpty()) {
+            delivery.setDeliveryId(UUID.randomUUID().toString());
+        }
+        if (delivery.getDeliveryStatus() == null || delivery.getDeliveryStatus().isEmpty()) {
+            delivery.setDeliveryStatus("Scheduled");
+        }
+        Delivery stored;
+        DeliveryPersonnel claimed;
+        Shipment shipment;
+        boolean created;
+        store.lock.writeLock().lock();
+        try {
+            DeliveryPersonnel member = store.personnel.get(delivery.getPersonnelId());
+            if (member == null || !"Available".equals(member.getAvailabilityStatus())) {
+                return null;
+            }
+            String existingId = store.deliveryIdByShipmentId.get(delivery.getShipmentId());
+            created = existingId == null;
+            if (created) {
+                checkConstraints(delivery);
+                stored = InMemoryStore.copy(delivery);
+            } else {
+                stored = InMemoryStore.copy(store.deliveries.get(existingId));
+                if (stored.getPersonnelId() != null) {
+                    return null;
+                }
+                stored.setPersonnelId(delivery.getPersonnelId());
+                stored.setDeliveryStatus(delivery.getDeliveryStatus());
+                if (stored.getEstimatedArrivalTime() == null) {
+                    stored.setEstimatedArrivalTime(delivery.getEstimatedArrivalTime());
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            claimed = InMemoryStore.copy(member);
+            claimed.setAvailabilityStatus(personnelStatus);
+            claimed.setUpdatedAt(now);
+            store.putPersonnel(claimed);
+            stored.setUpdatedAt(now);
+            store.putDelivery(stored);
+            shipment = InMemoryStore.copy(store.shipments.get(stored.getShipmentId()));
+            shipment.setCurrentStatus(shipmentStatus);
+            shipment.setUpdatedAt(now);
+            store.putShipment(shipment);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus.getInstance().publish(new DeliveryChanged(created ? ChangeType.CREATED : ChangeType.UPDATED, stored));
+        DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.UPDATED, claimed));
+        DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.UPDATED, shipment));
+        return stored;
+    }
+
+    /**
+     * The foreign keys and the unique shipment_id of the Deliveries table.
+     */
+    private void checkConstraints(Delivery delivery) throws SQLException {
+        if (delivery.getScheduledDate() == null) {
+            throw new SQLIntegrityConstraintViolationException("Column 'scheduled_date' cannot be null");
+        }
+        if (!store.shipments.containsKey(delivery.getShipmentId())) {
+            throw new SQLIntegrityConstraintViolationException("Shipment " + delivery.getShipmentId() + " does not exist");
+        }
+        if (delivery.getPersonnelId() != null && !store.personnel.containsKey(delivery.getPersonnelId())) {
+            throw new SQLIntegrityConstraintViolationException("Personnel " + delivery.getPersonnelId() + " does not exist");
+        }
+        String owner = store.deliveryIdByShipmentId.get(delivery.getShipmentId());
+        if (owner != null && !owner.equals(delivery.getDeliveryId())) {
+            throw InMemoryShipmentDAO.duplicate(delivery.getShipmentId(), "shipment_id");
+        }
+    }
+
+    @Override
+    public boolean deleteDelivery(String deliveryId) throws SQLException {
+        Delivery deleted;
+        store.lock.writeLock().lock();
+        try {
+            deleted = store.removeDelivery(deliveryId);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        if (deleted == null) {
+            return false;
+        }
+        DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.DELETED, deliveryId, deleted));
+        return true;
+    }
+
+    @Override
+    public Delivery findDeliveryById(String deliveryId) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return InMemoryStore.copy(store.deliveries.get(deliveryId));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Delivery findDeliveryByShipmentId(String shipmentId) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            String deliveryId = store.deliveryIdByShipmentId.get(shipmentId);
+            return deliveryId != null ? InMemoryStore.copy(store.deliveries.get(deliveryId)) : null;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Delivery> findAllDeliveries() throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return copies(store.deliveriesByScheduledDate.descending());
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Delivery> findDeliveriesByPersonnelId(String personnelId) throws SQLException {
+        List<Delivery> deliveries;
+        store.lock.readLock().lock();
+        try {
+            Set<String> deliveryIds = store.deliveryIdsByPersonnelId.get(personnelId);
+            deliveries = deliveryIds != null ? copies(deliveryIds) : new ArrayList<>();
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        deliveries.sort(Comparator.comparing(Delivery::getScheduledDate).reversed());
+        return deliveries;
+    }
+
+    @Override
+    public List<Object[]> findDeliveredSince(LocalDateTime since) throws SQLException {
+        List<Object[]> results = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            for (String deliveryId : store.deliveredByUpdatedAt.from(since)) {
+                Delivery delivery = store.deliveries.get(deliveryId);
+                Shipment row = store.shipments.get(delivery.getShipmentId());
+                Shipment shipment = new Shipment();
+                shipment.setShipmentId(delivery.getShipmentId());
+                shipment.setRoute(row.getRoute());
+                shipment.setPackageType(row.getPackageType());
+                results.add(new Object[]{InMemoryStore.copy(delivery), shipment});
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    @Override
+    public List<Object[]> findOverdueDeliveries(LocalDateTime upTo) throws SQLException {
+        List<Object[]> results = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            for (String deliveryId : store.openDeliveriesByEta.range(null, false, upTo, true)) {
+                results.add(overdueRow(store.deliveries.get(deliveryId)));
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    @Override
+    public List<Object[]> findDelayedDeliveries() throws SQLException {
+        List<Object[]> results = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            // Only read once at start-up, so a scan is fine here
+            for (Delivery delivery : store.deliveries.values()) {
+                if ("Delayed".equals(delivery.getDeliveryStatus())) {
+                    results.add(overdueRow(delivery));
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        results.sort(Comparator.comparing(row -> ((Delivery) row[0]).getEstimatedArrivalTime(),
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return results;
+    }
+
+    // {Delivery copy, Shipment} with the shipment details the JDBC overdue queries select; caller holds the lock
+    private Object[] overdueRow(Delivery delivery) {
+        Shipment row = store.shipments.get(delivery.getShipmentId());
+        Shipment shipment = new Shipment();
+        shipment.setShipmentId(delivery.getShipmentId());
+        shipment.setTrackingNumber(row.getTrackingNumber());
+        shipment.setReceiverName(row.getReceiverName());
+        shipment.setUrgent(row.isUrgent());
+        return new Object[]{InMemoryStore.copy(delivery), shipment};
+    }
+
+    @Override
+    public List<String> markDeliveriesDelayed(List<String> deliveryIds, String delayReason) throws SQLException {
+        List<Delivery> delayedDeliveries = new ArrayList<>();
+        List<Shipment> delayedShipments = new ArrayList<>();
+        store.lock.writeLock().lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (String deliveryId : deliveryIds) {
+                Delivery row = store.deliveries.get(deliveryId);
+                if (row == null || !InMemoryStore.OPEN_STATUSES.contains(row.getDeliveryStatus())) {
+                    continue;
+                }
+                Delivery delivery = InMemoryStore.copy(row);
+                delivery.setDeliveryStatus("Delayed");
+                if (delivery.getDelayReason() == null || delivery.getDelayReason().isEmpty()) {
+                    delivery.setDelayReason(delayReason);
+                }
+                delivery.setUpdatedAt(now);
+                store.putDelivery(delivery);
+                delayedDeliveries.add(delivery);
+
+                // The shipment status is kept in step with its delivery, like the controllers do
+                Shipment shipment = InMemoryStore.copy(store.shipments.get(delivery.getShipmentId()));
+                shipment.setCurrentStatus("Delayed");
+                shipment.setUpdatedAt(now);
+                store.putShipment(shipment);
+                delayedShipments.add(shipment);
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus bus = DomainEventBus.getInstance();
+        List<String> flagged = new ArrayList<>(delayedDeliveries.size());
+        for (int i = 0; i < delayedDeliveries.size(); i++) {
+            bus.publish(new DeliveryChanged(ChangeType.UPDATED, delayedDeliveries.get(i)));
+            bus.publish(new ShipmentChanged(ChangeType.UPDATED, delayedShipments.get(i)));
+            flagged.add(delayedDeliveries.get(i).getDeliveryId());
+        }
+        return flagged;
+    }
+
+    @Override
+    public List<Delivery> findDeliveriesUpdatedSince(LocalDateTime since) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return copies(store.deliveriesByUpdatedAt.from(since));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    private List<Delivery> copies(Iterable<String> deliveryIds) {
+        List<Delivery> deliveries = new ArrayList<>();
+        for (String deliveryId : deliveryIds) {
+            deliveries.add(InMemoryStore.copy(store.deliveries.get(deliveryId)));
+        }
+        return deliveries;
+    }
+}
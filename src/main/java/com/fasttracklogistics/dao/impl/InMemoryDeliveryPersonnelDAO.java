@@ -0,0 +1,224 @@
+// src/main/java/com/fasttracklogistics/dao/impl/InMemoryDeliveryPersonnelDAO.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.event.ChangeType;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.PersonnelChanged;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * DeliveryPersonnelDAO implementation on the in-memory store, with the same defaults, constraints
+ * and domain events as the JDBC implementation.
+ */
+public class InMemoryDeliveryPersonnelDAO implements DeliveryPersonnelDAO {
+
+    // ORDER BY name
+    private static final Comparator<DeliveryPersonnel> BY_NAME =
+            Comparator.comparing(DeliveryPersonnel::getName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final InMemoryStore store;
+
+    InMemoryDeliveryPersonnelDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insertPersonnel(DeliveryPersonnel personnel) throws SQLException {
+        if (personnel.getPersonnelId() == null || personnel.getPersonnelId().isEmpty()) {
+            personnel.setPersonnelId(UUID.randomUUID().toString());
+        }
+        if (personnel.getEmployeeId() == null || personnel.getEmployeeId().isEmpty()) {
+            personnel.setEmployeeId(UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        }
+        if (personnel.getAvailabilityStatus() == null || personnel.getAvailabilityStatus().isEmpty()) {
+            personnel.setAvailabilityStatus("Available");
+        }
+        DeliveryPersonnel inserted;
+        store.lock.writeLock().lock();
+        try {
+            if (store.personnel.containsKey(personnel.getPersonnelId())) {
+                throw InMemoryShipmentDAO.duplicate(personnel.getPersonnelId(), "PRIMARY");
+            }
+            if (store.personnelIdByEmployeeId.containsKey(personnel.getEmployeeId())) {
+                throw InMemoryShipmentDAO.duplicate(personnel.getEmployeeId(), "employee_id");
+            }
+            inserted = InMemoryStore.copy(personnel);
+            inserted.setUpdatedAt(LocalDateTime.now());
+            store.putPersonnel(inserted);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.CREATED, inserted));
+        return true;
+    }
+
+    @Override
+    public boolean updatePersonnel(DeliveryPersonnel personnel) throws SQLException {
+        if (personnel.getChangedColumns().isEmpty()) {
+            return true; // Unchanged since it was read
+        }
+        DeliveryPersonnel updated;
+        store.lock.writeLock().lock();
+        try {
+            if (!store.personnel.containsKey(personnel.getPersonnelId())) {
+                return false;
+            }
+            String owner = store.personnelIdByEmployeeId.get(personnel.getEmployeeId());
+            if (owner != null && !owner.equals(personnel.getPersonnelId())) {
+                throw InMemoryShipmentDAO.duplicate(personnel.getEmployeeId(), "employee_id");
+            }
+            updated = InMemoryStore.copy(personnel);
+            updated.setUpdatedAt(LocalDateTime.now());
+            store.putPersonnel(updated);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        personnel.markLoaded();
+        DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.UPDATED, updated));
+        return true;
+    }
+
+    @Override
+    public boolean updatePersonnelStatus(String personnelId, String availabilityStatus) throws SQLException {
+        DeliveryPersonnel updated;
+        store.lock.writeLock().lock();
+        try {
+            updated = InMemoryStore.copy(store.personnel.get(personnelId));
+            if (updated == null) {
+                return false;
+            }
+            updated.setAvailabilityStatus(availabilityStatus);
+            updated.setUpdatedAt(LocalDateTime.now());
+            store.putPersonnel(updated);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.UPDATED, updated));
+        return true;
+    }
+
+    @Override
+    public boolean claimPersonnel(String personnelId, String availabilityStatus) throws SQLException {
+        DeliveryPersonnel updated;
+        store.lock.writeLock().lock();
+        try {
+            DeliveryPersonnel row = store.personnel.get(personnelId);
+            if (row == null || !"Available".equals(row.getAvailabilityStatus())) {
+                return false;
+            }
+            updated = InMemoryStore.copy(row);
+            updated.setAvailabilityStatus(availabilityStatus);
+            updated.setUpdatedAt(LocalDateTime.now());
+            store.putPersonnel(updated);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.UPDATED, updated));
+        return true;
+    }
+
+    @Override
+    public boolean deletePersonnel(String personnelId) throws SQLException {
+        List<Delivery> unassigned = new ArrayList<>();
+        store.lock.writeLock().lock();
+        try {
+            if (store.removePersonnel(personnelId) == null) {
+                return false;
+            }
+            // ON DELETE SET NULL
+            Set<String> deliveryIds = store.deliveryIdsByPersonnelId.get(personnelId);
+            if (deliveryIds != null) {
+                LocalDateTime now = LocalDateTime.now();
+                for (String deliveryId : new ArrayList<>(deliveryIds)) {
+                    Delivery delivery = InMemoryStore.copy(store.deliveries.get(deliveryId));
+                    delivery.setPersonnelId(null);
+                    delivery.setUpdatedAt(now);
+                    store.putDelivery(delivery);
+                    unassigned.add(delivery);
+                }
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus.getInstance().publish(new PersonnelChanged(ChangeType.DELETED, personnelId, null));
+        for (Delivery delivery : unassigned) {
+            DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.UPDATED, delivery));
+        }
+        return true;
+    }
+
+    @Override
+    public DeliveryPersonnel findPersonnelById(String personnelId) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return InMemoryStore.copy(store.personnel.get(personnelId));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public DeliveryPersonnel findPersonnelByEmployeeId(String employeeId) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            String personnelId = store.personnelIdByEmployeeId.get(employeeId);
+            return personnelId != null ? InMemoryStore.copy(store.personnel.get(personnelId)) : null;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<DeliveryPersonnel> findAllPersonnel() throws SQLException {
+        return findByStatus(null);
+    }
+
+    @Override
+    public List<DeliveryPersonnel> findAvailablePersonnel() throws SQLException {
+        return findByStatus("Available");
+    }
+
+    /**
+     * @param availabilityStatus Only return personnel with this status (null for all).
+     */
+    private List<DeliveryPersonnel> findByStatus(String availabilityStatus) {
+        List<DeliveryPersonnel> result = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            for (DeliveryPersonnel row : store.personnel.values()) {
+                if (availabilityStatus == null || availabilityStatus.equals(row.getAvailabilityStatus())) {
+                    result.add(InMemoryStore.copy(row));
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        result.sort(BY_NAME);
+        return result;
+    }
+
+    @Override
+    public List<DeliveryPersonnel> findPersonnelUpdatedSince(LocalDateTime since) throws SQLException {
+        List<DeliveryPersonnel> result = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            for (String personnelId : store.personnelByUpdatedAt.from(since)) {
+                result.add(InMemoryStore.copy(store.personnel.get(personnelId)));
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return result;
+    }
+}
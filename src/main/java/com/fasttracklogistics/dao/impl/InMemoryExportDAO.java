@@ -0,0 +1,115 @@
+// src/main/java/com/fasttracklogistics/dao/impl/InMemoryExportDAO.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.Shipment;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ExportDAO implementation on the in-memory store. Rows have the columns and JDBC value types
+ * (Timestamp, Date, BigDecimal) of the JDBC implementation, so exported files look the same.
+ * The rows are collected under the read lock and written afterwards, so a slow output does not
+ * hold up writers.
+ */
+public class InMemoryExportDAO implements ExportDAO {
+
+    private static final String[] SHIPMENT_COLUMNS = {"shipment_id", "tracking_number", "sender_name", "sender_address",
+            "sender_contact", "receiver_name", "receiver_address", "receiver_contact", "package_contents", "package_type",
+            "weight_kg", "dimensions_cm", "current_location", "route", "current_status", "is_urgent", "created_at", "updated_at"};
+    private static final String[] DELIVERY_COLUMNS = {"delivery_id", "shipment_id", "personnel_id", "scheduled_date",
+            "scheduled_time_slot", "actual_delivery_date", "delivery_status", "estimated_arrival_time", "delay_reason", "updated_at"};
+    private static final String[] NOTIFICATION_COLUMNS = {"notification_id", "recipient_type", "recipient_id", "message",
+            "timestamp", "status", "is_urgent", "is_read", "template_id"};
+
+    private final InMemoryStore store;
+
+    InMemoryExportDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void streamShipments(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException {
+        List<Object[]> rows = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            for (String shipmentId : store.shipmentsByCreatedAt.range(from.atStartOfDay(), true, to.atStartOfDay(), false)) {
+                Shipment s = store.shipments.get(shipmentId);
+                if (matches(status, s.getCurrentStatus())) {
+                    rows.add(new Object[]{s.getShipmentId(), s.getTrackingNumber(), s.getSenderName(), s.getSenderAddress(),
+                            s.getSenderContact(), s.getReceiverName(), s.getReceiverAddress(), s.getReceiverContact(),
+                            s.getPackageContents(), s.getPackageType(), BigDecimal.valueOf(s.getWeightKg()).setScale(2, RoundingMode.HALF_UP),
+                            s.getDimensionsCm(), s.getCurrentLocation(), s.getRoute(), s.getCurrentStatus(), s.isUrgent(),
+                            timestamp(s.getCreatedAt()), timestamp(s.getUpdatedAt())});
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        write(SHIPMENT_COLUMNS, rows, handler);
+    }
+
+    @Override
+    public void streamDeliveries(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException {
+        List<Object[]> rows = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            for (String deliveryId : store.deliveriesByScheduledDate.range(from, true, to, false)) {
+                Delivery d = store.deliveries.get(deliveryId);
+                if (matches(status, d.getDeliveryStatus())) {
+                    rows.add(new Object[]{d.getDeliveryId(), d.getShipmentId(), d.getPersonnelId(), Date.valueOf(d.getScheduledDate()),
+                            d.getScheduledTimeSlot(), timestamp(d.getActualDeliveryDate()), d.getDeliveryStatus(),
+                            timestamp(d.getEstimatedArrivalTime()), d.getDelayReason(), timestamp(d.getUpdatedAt())});
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        write(DELIVERY_COLUMNS, rows, handler);
+    }
+
+    @Override
+    public void streamNotifications(LocalDate from, LocalDate to, String status, ExportRowHandler handler) throws SQLException, IOException {
+        List<Object[]> rows = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            for (String notificationId : store.notificationsByTimestamp.range(from.atStartOfDay(), true, to.atStartOfDay(), false)) {
+                Notification n = store.notifications.get(notificationId);
+                if (matches(status, n.getStatus())) {
+                    // Messages are always stored in full here, so there is no template_params column to render from
+                    rows.add(new Object[]{n.getNotificationId(), n.getRecipientType(), n.getRecipientId(), n.getMessage(),
+                            timestamp(n.getTimestamp()), n.getStatus(), n.isUrgent(), n.isRead(), n.getTemplateId()});
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        write(NOTIFICATION_COLUMNS, rows, handler);
+    }
+
+    private static boolean matches(String status, String value) {
+        return status == null || status.trim().isEmpty() || status.trim().equals(value);
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static void write(String[] columns, List<Object[]> rows, ExportRowHandler handler) throws IOException {
+        handler.handleColumns(columns.clone());
+        for (Object[] row : rows) {
+            handler.handleRow(row);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+// src/main/java/com/fasttracklogistics/dao/impl/InMemoryNotificationDAO.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.NotificationCreated;
+import com.fasttracklogistics.model.Notification;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * NotificationDAO implementation on the in-memory store. Inbox pages are read from per-recipient
+ * sorted sets and unread counts from counters kept up to date on every write, as the JDBC
+ * implementation does with its indexes and the NotificationCounters table.
+ */
+public class InMemoryNotificationDAO implements NotificationDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryNotificationDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insertNotification(Notification notification) throws SQLException {
+        return insertNotifications(List.of(notification)) > 0;
+    }
+
+    @Override
+    public int insertNotifications(List<Notification> notifications) throws SQLException {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        store.lock.writeLock().lock();
+        try {
+            Set<String> ids = new HashSet<>();
+            for (Notification notification : notifications) {
+                applyInsertDefaults(notification);
+                if (store.notifications.containsKey(notification.getNotificationId()) || !ids.add(notification.getNotificationId())) {
+                    throw InMemoryShipmentDAO.duplicate(notification.getNotificationId(), "PRIMARY");
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (Notification notification : notifications) {
+                notification.setUpdatedAt(now);
+                store.putNotification(notification);
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        // The caller's objects are published, as by the JDBC implementation (they carry the unstored shipmentId)
+        DomainEventBus.getInstance().publish(new NotificationCreated(new ArrayList<>(notifications)));
+        return notifications.size();
+    }
+
+    /**
+     * Fills in the ID, timestamp and status of a notification that is about to be inserted.
+     */
+    private void applyInsertDefaults(Notification notification) {
+        if (notification.getNotificationId() == null || notification.getNotificationId().isEmpty()) {
+            notification.setNotificationId("NOT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        }
+        if (notification.getTimestamp() == null) {
+            notification.setTimestamp(LocalDateTime.now());
+        }
+        if (notification.getStatus() == null || notification.getStatus().isEmpty()) {
+            notification.setStatus("GENERATED");
+        }
+    }
+
+    @Override
+    public Notification findNotificationById(String notificationId) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return InMemoryStore.copy(store.notifications.get(notificationId));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateNotification(Notification notification) throws SQLException {
+        store.lock.writeLock().lock();
+        try {
+            if (!store.notifications.containsKey(notification.getNotificationId())) {
+                return false;
+            }
+            Notification updated = InMemoryStore.copy(notification);
+            updated.setUpdatedAt(LocalDateTime.now());
+            store.putNotification(updated);
+            return true;
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteNotification(String notificationId) throws SQLException {
+        store.lock.writeLock().lock();
+        try {
+            return store.removeNotification(notificationId) != null;
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Notification> findAllNotifications(LocalDateTime since) throws SQLException {
+        List<Notification> result = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            List<String> ids = store.notificationsByTimestamp.from(since);
+            for (int i = ids.size() - 1; i >= 0; i--) { // Most recent first
+                result.add(InMemoryStore.copy(store.notifications.get(ids.get(i))));
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public List<Notification> findNotificationsByRecipientType(String recipientType, LocalDateTime since) throws SQLException {
+        List<Notification> result = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            NavigableSet<Notification> inbox = store.inboxes.get(InMemoryStore.inboxKey(recipientType, null));
+            if (inbox != null) {
+                for (Notification row : inbox) {
+                    if (row.getTimestamp().isBefore(since)) {
+                        break; // The rest is older still
+                    }
+                    result.add(InMemoryStore.copy(row));
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public List<Notification> findInboxPage(String recipientType, String recipientId, boolean urgentOnly,
+                                            Notification after, int limit) throws SQLException {
+        List<Notification> page = new ArrayList<>(limit);
+        store.lock.readLock().lock();
+        try {
+            NavigableSet<Notification> inbox = store.inboxes.get(InMemoryStore.inboxKey(recipientType, recipientId));
+            if (inbox == null) {
+                return page;
+            }
+            // Keyset pagination: continue right after the last notification of the previous page
+            for (Notification row : after != null ? inbox.tailSet(after, false) : inbox) {
+                if (page.size() >= limit) {
+                    break;
+                }
+                if (!urgentOnly || row.isUrgent()) {
+                    page.add(InMemoryStore.copy(row));
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return page;
+    }
+
+    @Override
+    public int[] findUnreadCounts(String recipientType, String recipientId) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            int[] counts = store.unreadCounts.get(InMemoryStore.inboxKey(recipientType, recipientId));
+            return counts != null ? counts.clone() : new int[2];
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean markRead(String notificationId) throws SQLException {
+        store.lock.writeLock().lock();
+        try {
+            Notification row = store.notifications.get(notificationId);
+            if (row == null || row.isRead()) {
+                return false;
+            }
+            Notification read = InMemoryStore.copy(row);
+            read.setRead(true);
+            read.setUpdatedAt(LocalDateTime.now());
+            store.putNotification(read);
+            return true;
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int markAllRead(String recipientType, String recipientId) throws SQLException {
+        store.lock.writeLock().lock();
+        try {
+            NavigableSet<Notification> inbox = store.inboxes.get(InMemoryStore.inboxKey(recipientType, recipientId));
+            if (inbox == null) {
+                return 0;
+            }
+            List<Notification> unread = new ArrayList<>();
+            for (Notification row : inbox) {
+                if (!row.isRead()) {
+                    unread.add(row);
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (Notification row : unread) {
+                Notification read = InMemoryStore.copy(row);
+                read.setRead(true);
+                read.setUpdatedAt(now);
+                store.putNotification(read);
+            }
+            return unread.size();
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Notification> findNotificationsByRecipientId(String recipientId) throws SQLException {
+        List<Notification> result = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            Set<String> ids = store.notificationIdsByRecipientId.get(recipientId);
+            if (ids != null) {
+                for (String id : ids) {
+                    result.add(InMemoryStore.copy(store.notifications.get(id)));
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        result.sort(InMemoryStore.INBOX_ORDER);
+        return result;
+    }
+
+    @Override
+    public List<Notification> findNotificationsByUrgency(boolean isUrgent, LocalDateTime since) throws SQLException {
+        List<Notification> result = new ArrayList<>();
+        for (Notification notification : findAllNotifications(since)) {
+            if (notification.isUrgent() == isUrgent) {
+                result.add(notification);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Notification> findNotificationsUpdatedSince(LocalDateTime since) throws SQLException {
+        List<Notification> result = new ArrayList<>();
+        store.lock.readLock().lock();
+        try {
+            for (String id : store.notificationsByUpdatedAt.from(since)) {
+                result.add(InMemoryStore.copy(store.notifications.get(id)));
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,199 @@
+// src/main/java/com/fasttracklogistics/dao/impl/InMemoryReportDAO.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Shipment;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ReportDAO implementation on the in-memory store. The deliveries in the range are found through
+ * the scheduled-date index and aggregated in one pass; the rows have the same columns and value
+ * semantics as the rollup queries of the JDBC implementation.
+ */
+public class InMemoryReportDAO implements ReportDAO {
+
+    /**
+     * Sums over a group of deliveries, like a group of DailyDeliveryRollup rows.
+     */
+    private static class Totals {
+        long deliveries;
+        long delivered;
+        long cancelled;
+        long onTime;
+        long late;
+        long delayMinutes;
+        double weightKg;
+    }
+
+    private final InMemoryStore store;
+
+    InMemoryReportDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void streamMonthlyVolume(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        for (Map.Entry<String, Totals> entry : aggregate(from, to, (d, s) -> month(d)).entrySet()) {
+            Totals t = entry.getValue();
+            handler.handleRow(new Object[]{entry.getKey(), t.deliveries, t.delivered, t.cancelled});
+        }
+    }
+
+    @Override
+    public void streamOnTimeRate(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        for (Map.Entry<String, Totals> entry : aggregate(from, to, (d, s) -> isDelivered(d) ? month(d) : null).entrySet()) {
+            Totals t = entry.getValue();
+            handler.handleRow(new Object[]{entry.getKey(), t.delivered, t.onTime, percentage(t.onTime, t.delivered)});
+        }
+    }
+
+    @Override
+    public void streamAverageDelay(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        for (Map.Entry<String, Totals> entry : aggregate(from, to, (d, s) -> isDelivered(d) ? month(d) : null).entrySet()) {
+            Totals t = entry.getValue();
+            BigDecimal averageDelay = t.late > 0
+                    ? BigDecimal.valueOf(t.delayMinutes).divide(BigDecimal.valueOf(t.late), 1, RoundingMode.HALF_UP) : null;
+            handler.handleRow(new Object[]{entry.getKey(), t.delivered, t.late, averageDelay, t.delayMinutes});
+        }
+    }
+
+    @Override
+    public void streamRouteThroughput(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        Map<String, Totals> routes = aggregate(from, to, (d, s) -> s.getRoute() != null ? s.getRoute() : "");
+        for (Map.Entry<String, Totals> entry : byDeliveriesDescending(routes)) {
+            Totals t = entry.getValue();
+            handler.handleRow(new Object[]{entry.getKey(), t.deliveries, t.delivered, t.onTime,
+                    BigDecimal.valueOf(t.weightKg).setScale(2, RoundingMode.HALF_UP)});
+        }
+    }
+
+    @Override
+    public void streamDriverThroughput(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        Map<String, Totals> drivers = aggregate(from, to, (d, s) -> d.getPersonnelId());
+        List<Object[]> rows = new ArrayList<>(drivers.size());
+        store.lock.readLock().lock();
+        try {
+            for (Map.Entry<String, Totals> entry : byDeliveriesDescending(drivers)) {
+                Totals t = entry.getValue();
+                DeliveryPersonnel member = store.personnel.get(entry.getKey());
+                rows.add(new Object[]{entry.getKey(), member != null ? member.getName() : null, t.deliveries, t.delivered, t.onTime});
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        for (Object[] row : rows) {
+            handler.handleRow(row);
+        }
+    }
+
+    @Override
+    public void streamUrgentRatio(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        Map<String, long[]> months = new TreeMap<>(); // month -> {shipments, urgent}
+        store.lock.readLock().lock();
+        try {
+            for (String shipmentId : store.shipmentsByCreatedAt.range(from.atStartOfDay(), true, to.atStartOfDay(), false)) {
+                Shipment shipment = store.shipments.get(shipmentId);
+                long[] counts = months.computeIfAbsent(YearMonth.from(shipment.getCreatedAt()).toString(), k -> new long[2]);
+                counts[0]++;
+                if (shipment.isUrgent()) {
+                    counts[1]++;
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        for (Map.Entry<String, long[]> entry : months.entrySet()) {
+            long[] counts = entry.getValue();
+            handler.handleRow(new Object[]{entry.getKey(), counts[0], counts[1], percentage(counts[1], counts[0])});
+        }
+    }
+
+    /**
+     * Groups the deliveries scheduled in [from, to) by a key.
+     * @param groupBy The group of a delivery and its shipment; deliveries mapped to null are skipped.
+     * @return The totals of each group, in key order.
+     */
+    private Map<String, Totals> aggregate(LocalDate from, LocalDate to, GroupBy groupBy) {
+        Map<String, Totals> groups = new TreeMap<>();
+        store.lock.readLock().lock();
+        try {
+            for (String deliveryId : store.deliveriesByScheduledDate.range(from, true, to, false)) {
+                Delivery delivery = store.deliveries.get(deliveryId);
+                Shipment shipment = store.shipments.get(delivery.getShipmentId());
+                String key = groupBy.keyOf(delivery, shipment);
+                if (key == null) {
+                    continue;
+                }
+                add(groups.computeIfAbsent(key, k -> new Totals()), delivery, shipment);
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return groups;
+    }
+
+    /**
+     * Adds a delivery to a group, counting on-time and late arrivals as DeliveryRollupMaintainer does.
+     */
+    private static void add(Totals totals, Delivery delivery, Shipment shipment) {
+        totals.deliveries++;
+        totals.weightKg += shipment.getWeightKg();
+        if ("Cancelled".equals(delivery.getDeliveryStatus())) {
+            totals.cancelled++;
+        }
+        if (!isDelivered(delivery)) {
+            return;
+        }
+        totals.delivered++;
+        if (delivery.getActualDeliveryDate() != null && delivery.getEstimatedArrivalTime() != null) {
+            if (delivery.getActualDeliveryDate().isAfter(delivery.getEstimatedArrivalTime())) {
+                totals.late++;
+                totals.delayMinutes += Duration.between(delivery.getEstimatedArrivalTime(), delivery.getActualDeliveryDate()).toMinutes();
+            } else {
+                totals.onTime++;
+            }
+        }
+    }
+
+    private static List<Map.Entry<String, Totals>> byDeliveriesDescending(Map<String, Totals> groups) {
+        List<Map.Entry<String, Totals>> entries = new ArrayList<>(groups.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Totals> e) -> e.getValue().deliveries).reversed());
+        return entries;
+    }
+
+    private static boolean isDelivered(Delivery delivery) {
+        return "Delivered".equals(delivery.getDeliveryStatus());
+    }
+
+    private static String month(Delivery delivery) {
+        return YearMonth.from(delivery.getScheduledDate()).toString();
+    }
+
+    /**
+     * @return 100 * part / whole, rounded to one decimal like ROUND(..., 1), or null if whole is 0.
+     */
+    private static BigDecimal percentage(long part, long whole) {
+        return whole > 0 ? BigDecimal.valueOf(100 * part).divide(BigDecimal.valueOf(whole), 1, RoundingMode.HALF_UP) : null;
+    }
+
+    /**
+     * Maps a delivery and its shipment to the group they are counted in.
+     */
+    @FunctionalInterface
+    private interface GroupBy {
+        String keyOf(Delivery delivery, Shipment shipment);
+    }
+}
@@ -0,0 +1,280 @@
+// src/main/java/com/fasttracklogistics/dao/impl/InMemoryShipmentDAO.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.event.ChangeType;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.Shipment;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * ShipmentDAO implementation on the in-memory store, with the same defaults, constraints and
+ * domain events as the JDBC implementation.
+ */
+public class InMemoryShipmentDAO implements ShipmentDAO {
+
+    private final InMemoryStore store;
+
+    InMemoryShipmentDAO(InMemoryStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean insertShipment(Shipment shipment) throws SQLException {
+        return insertShipments(List.of(shipment)) > 0;
+    }
+
+    @Override
+    public int insertShipments(List<Shipment> shipments) throws SQLException {
+        if (shipments.isEmpty()) {
+            return 0;
+        }
+        List<Shipment> inserted = new ArrayList<>(shipments.size());
+        store.lock.writeLock().lock();
+        try {
+            // Checked up front so a failing batch leaves nothing behind, like the JDBC transaction
+            Set<String> ids = new HashSet<>();
+            Set<String> trackingNumbers = new HashSet<>();
+            for (Shipment shipment : shipments) {
+                applyInsertDefaults(shipment);
+                if (store.shipments.containsKey(shipment.getShipmentId()) || !ids.add(shipment.getShipmentId())) {
+                    throw duplicate(shipment.getShipmentId(), "PRIMARY");
+                }
+                if (store.shipmentIdByTrackingNumber.containsKey(shipment.getTrackingNumber())
+                        || !trackingNumbers.add(shipment.getTrackingNumber())) {
+                    throw duplicate(shipment.getTrackingNumber(), "tracking_number");
+                }
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (Shipment shipment : shipments) {
+                shipment.setUpdatedAt(now);
+                store.putShipment(shipment);
+                inserted.add(InMemoryStore.copy(shipment));
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        for (Shipment shipment : inserted) {
+            DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.CREATED, shipment));
+        }
+        return inserted.size();
+    }
+
+    /**
+     * Generates the ID, tracking number, status and creation time of a new shipment if they are not set.
+     */
+    private void applyInsertDefaults(Shipment shipment) {
+        if (shipment.getShipmentId() == null || shipment.getShipmentId().isEmpty()) {
+            shipment.setShipmentId(UUID.randomUUID().toString());
+        }
+        if (shipment.getTrackingNumber() == null || shipment.getTrackingNumber().isEmpty()) {
+            shipment.setTrackingNumber(UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        }
+        if (shipment.getCurrentStatus() == null || shipment.getCurrentStatus().isEmpty()) {
+            shipment.setCurrentStatus("Pending");
+        }
+        if (shipment.getCreatedAt() == null) {
+            shipment.setCreatedAt(LocalDateTime.now().withNano(0));
+        }
+    }
+
+    @Override
+    public Set<String> findExistingTrackingNumbers(Collection<String> trackingNumbers) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        store.lock.readLock().lock();
+        try {
+            for (String trackingNumber : trackingNumbers) {
+                if (store.shipmentIdByTrackingNumber.containsKey(trackingNumber)) {
+                    existing.add(trackingNumber);
+                }
+            }
+        } finally {
+            store.lock.readLock().unlock();
+        }
+        return existing;
+    }
+
+    @Override
+    public boolean updateShipment(Shipment shipment) throws SQLException {
+        if (shipment.getChangedColumns().isEmpty()) {
+            return true; // Unchanged since it was read
+        }
+        Shipment updated;
+        store.lock.writeLock().lock();
+        try {
+            Shipment row = store.shipments.get(shipment.getShipmentId());
+            if (row == null) {
+                return false;
+            }
+            String owner = store.shipmentIdByTrackingNumber.get(shipment.getTrackingNumber());
+            if (owner != null && !owner.equals(shipment.getShipmentId())) {
+                throw duplicate(shipment.getTrackingNumber(), "tracking_number");
+            }
+            updated = InMemoryStore.copy(shipment);
+            updated.setCreatedAt(row.getCreatedAt()); // Not part of the UPDATE statement either
+            updated.setUpdatedAt(LocalDateTime.now());
+            store.putShipment(updated);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        shipment.markLoaded();
+        DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.UPDATED, updated));
+        return true;
+    }
+
+    @Override
+    public boolean updateShipmentStatus(String shipmentId, String status) throws SQLException {
+        Shipment updated;
+        store.lock.writeLock().lock();
+        try {
+            updated = InMemoryStore.copy(store.shipments.get(shipmentId));
+            if (updated == null) {
+                return false;
+            }
+            updated.setCurrentStatus(status);
+            updated.setUpdatedAt(LocalDateTime.now());
+            store.putShipment(updated);
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.UPDATED, updated));
+        return true;
+    }
+
+    @Override
+    public boolean deleteShipment(String shipmentId) throws SQLException {
+        Delivery cascadedDelivery = null;
+        store.lock.writeLock().lock();
+        try {
+            if (store.removeShipment(shipmentId) == null) {
+                return false;
+            }
+            // ON DELETE CASCADE
+            String deliveryId = store.deliveryIdByShipmentId.get(shipmentId);
+            if (deliveryId != null) {
+                cascadedDelivery = store.removeDelivery(deliveryId);
+            }
+        } finally {
+            store.lock.writeLock().unlock();
+        }
+        if (cascadedDelivery != null) {
+            DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.DELETED, cascadedDelivery));
+        }
+        DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.DELETED, shipmentId, null));
+        return true;
+    }
+
+    @Override
+    public Shipment findShipmentById(String shipmentId) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return InMemoryStore.copy(store.shipments.get(shipmentId));
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Shipment findShipmentByTrackingNumber(String trackingNumber) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            String shipmentId = store.shipmentIdByTrackingNumber.get(trackingNumber);
+            return shipmentId != null ? InMemoryStore.copy(store.shipments.get(shipmentId)) : null;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Shipment> findAllShipments() throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return copies(store.shipmentsByCreatedAt.descending(), false);
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Shipment> findUnscheduledShipments() throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return copies(store.shipmentsByCreatedAt.descending(), true);
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Object[]> findShipmentsWithDeliveryUpdatedSince(LocalDateTime since) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            // Shipments that changed on either side, each once
+            Map<String, Shipment> changed = new LinkedHashMap<>();
+            for (String shipmentId : store.shipmentsByUpdatedAt.from(since)) {
+                changed.put(shipmentId, store.shipments.get(shipmentId));
+            }
+            for (String deliveryId : store.deliveriesByUpdatedAt.from(since)) {
+                String shipmentId = store.deliveries.get(deliveryId).getShipmentId();
+                changed.putIfAbsent(shipmentId, store.shipments.get(shipmentId));
+            }
+            List<Object[]> results = new ArrayList<>(changed.size());
+            for (Shipment shipment : changed.values()) {
+                String deliveryId = store.deliveryIdByShipmentId.get(shipment.getShipmentId());
+                Delivery delivery = deliveryId != null ? InMemoryStore.copy(store.deliveries.get(deliveryId)) : null;
+                results.add(new Object[]{InMemoryStore.copy(shipment), delivery});
+            }
+            return results;
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countShipments() throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return store.shipments.size();
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Shipment> findShipmentsUpdatedSince(LocalDateTime since) throws SQLException {
+        store.lock.readLock().lock();
+        try {
+            return copies(store.shipmentsByUpdatedAt.from(since), false);
+        } finally {
+            store.lock.readLock().unlock();
+        }
+    }
+
+    private List<Shipment> copies(List<String> shipmentIds, boolean unscheduledOnly) {
+        List<Shipment> shipments = new ArrayList<>(shipmentIds.size());
+        for (String shipmentId : shipmentIds) {
+            if (!unscheduledOnly || !store.deliveryIdByShipmentId.containsKey(shipmentId)) {
+                shipments.add(InMemoryStore.copy(store.shipments.get(shipmentId)));
+            }
+        }
+        return shipments;
+    }
+
+    static SQLIntegrityConstraintViolationException duplicate(String value, String key) {
+        return new SQLIntegrityConstraintViolationException("Duplicate entry '" + value + "' for key '" + key + "'");
+    }
+}
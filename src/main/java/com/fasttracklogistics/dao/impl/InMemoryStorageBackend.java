@@ -0,0 +1,72 @@
+// src/main/java/com/fasttracklogistics/dao/impl/InMemoryStorageBackend.java
+
+package com.fasttracklogistics.dao;
+
+/**
+ * Storage held in the memory of this process, for a branch depot running standalone or for
+ * hermetic (performance) tests that should not depend on a MySQL server.
+ * <p>
+ * The DAOs behave like the JDBC ones (generated IDs and defaults, unique keys, cascades and
+ * domain events) and answer their queries from secondary indexes rather than by scanning.
+ * Nothing is persisted: the data is gone when the process exits.
+ */
+public class InMemoryStorageBackend implements StorageBackend {
+
+    private final InMemoryStore store = new InMemoryStore();
+    private final ShipmentDAO shipmentDAO = new InMemoryShipmentDAO(store);
+    private final DeliveryDAO deliveryDAO = new InMemoryDeliveryDAO(store);
+    private final DeliveryPersonnelDAO personnelDAO = new InMemoryDeliveryPersonnelDAO(store);
+    private final NotificationDAO notificationDAO = new InMemoryNotificationDAO(store);
+    private final ReportDAO reportDAO = new InMemoryReportDAO(store);
+    private final ExportDAO exportDAO = new InMemoryExportDAO(store);
+
+    @Override
+    public String getName() {
+        return StorageBackends.MEMORY;
+    }
+
+    @Override
+    public void initialize() {
+        System.out.println("Using in-memory storage; data is not persisted.");
+    }
+
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    @Override
+    public ShipmentDAO getShipmentDAO() {
+        return shipmentDAO;
+    }
+
+    @Override
+    public DeliveryDAO getDeliveryDAO() {
+        return deliveryDAO;
+    }
+
+    @Override
+    public DeliveryPersonnelDAO getPersonnelDAO() {
+        return personnelDAO;
+    }
+
+    @Override
+    public NotificationDAO getNotificationDAO() {
+        return notificationDAO;
+    }
+
+    @Override
+    public ReportDAO getReportDAO() {
+        return reportDAO;
+    }
+
+    @Override
+    public ExportDAO getExportDAO() {
+        return exportDAO;
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,310 @@
+// src/main/java/com/fasttracklogistics/dao/impl/InMemoryStore.java
+
+package com.fasttracklogistics.dao;
+
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.Shipment;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The tables of the in-memory storage backend, with the secondary indexes the DAO queries need.
+ * <p>
+ * Rows are private copies of the model objects: they are copied on the way in and out, so callers
+ * cannot change stored rows behind the store's back. Every row is written through the put/remove
+ * methods, which keep the indexes in step. Callers hold {@link #lock} around every access (the
+ * read lock for queries, the write lock for changes), so multi-row changes such as a cascading
+ * delete are atomic.
+ */
+class InMemoryStore {
+
+    // Delivery statuses that can still become overdue (see DeliveryDAOImpl.OPEN_STATUSES)
+    static final Set<String> OPEN_STATUSES = new LinkedHashSet<>(Arrays.asList("Scheduled", "Assigned", "Picked Up", "En Route"));
+
+    // Inbox order: newest first, ties broken by ID (as ORDER BY timestamp DESC, notification_id DESC)
+    static final Comparator<Notification> INBOX_ORDER = Comparator.comparing(Notification::getTimestamp)
+            .thenComparing(Notification::getNotificationId).reversed();
+
+    /**
+     * A sorted, non-unique index from a column value to row IDs. Null values are not indexed.
+     */
+    static class SortedIndex<K extends Comparable<? super K>> {
+        private final NavigableMap<K, Set<String>> entries = new TreeMap<>();
+
+        void add(K key, String id) {
+            if (key != null) {
+                entries.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+            }
+        }
+
+        void remove(K key, String id) {
+            if (key == null) {
+                return;
+            }
+            Set<String> ids = entries.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                entries.remove(key);
+            }
+        }
+
+        /**
+         * @return The IDs with a key in the range, in ascending key order. A null bound is open.
+         */
+        List<String> range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+            NavigableMap<K, Set<String>> range = entries;
+            if (from != null) {
+                range = range.tailMap(from, fromInclusive);
+            }
+            if (to != null) {
+                range = range.headMap(to, toInclusive);
+            }
+            return flatten(range.values());
+        }
+
+        /**
+         * @return The IDs with a key at or after the given one, in ascending key order.
+         */
+        List<String> from(K from) {
+            return range(from, true, null, false);
+        }
+
+        /**
+         * @return All IDs, in descending key order.
+         */
+        List<String> descending() {
+            return flatten(entries.descendingMap().values());
+        }
+
+        private static List<String> flatten(Collection<Set<String>> groups) {
+            List<String> ids = new ArrayList<>();
+            for (Set<String> group : groups) {
+                ids.addAll(group);
+            }
+            return ids;
+        }
+    }
+
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Shipments
+    final Map<String, Shipment> shipments = new HashMap<>();
+    final Map<String, String> shipmentIdByTrackingNumber = new HashMap<>();
+    final SortedIndex<LocalDateTime> shipmentsByCreatedAt = new SortedIndex<>();
+    final SortedIndex<LocalDateTime> shipmentsByUpdatedAt = new SortedIndex<>();
+
+    // Deliveries
+    final Map<String, Delivery> deliveries = new HashMap<>();
+    final Map<String, String> deliveryIdByShipmentId = new HashMap<>();
+    final Map<String, Set<String>> deliveryIdsByPersonnelId = new HashMap<>();
+    final SortedIndex<LocalDate> deliveriesByScheduledDate = new SortedIndex<>();
+    final SortedIndex<LocalDateTime> openDeliveriesByEta = new SortedIndex<>(); // Open statuses only
+    final SortedIndex<LocalDateTime> deliveredByUpdatedAt = new SortedIndex<>(); // 'Delivered' only
+    final SortedIndex<LocalDateTime> deliveriesByUpdatedAt = new SortedIndex<>();
+
+    // Delivery personnel
+    final Map<String, DeliveryPersonnel> personnel = new HashMap<>();
+    final Map<String, String> personnelIdByEmployeeId = new HashMap<>();
+    final SortedIndex<LocalDateTime> personnelByUpdatedAt = new SortedIndex<>();
+
+    // Notifications
+    final Map<String, Notification> notifications = new HashMap<>();
+    // Inbox of a recipient ("type|id") and of a whole recipient type ("type"), in INBOX_ORDER
+    final Map<String, NavigableSet<Notification>> inboxes = new HashMap<>();
+    final Map<String, Set<String>> notificationIdsByRecipientId = new HashMap<>();
+    final SortedIndex<LocalDateTime> notificationsByTimestamp = new SortedIndex<>();
+    final SortedIndex<LocalDateTime> notificationsByUpdatedAt = new SortedIndex<>();
+    // {unread, urgent unread} per recipient ("type|id") and per recipient type ("type")
+    final Map<String, int[]> unreadCounts = new HashMap<>();
+
+    // --- Shipments ---
+
+    void putShipment(Shipment shipment) {
+        removeShipment(shipment.getShipmentId());
+        Shipment row = copy(shipment);
+        shipments.put(row.getShipmentId(), row);
+        shipmentIdByTrackingNumber.put(row.getTrackingNumber(), row.getShipmentId());
+        shipmentsByCreatedAt.add(row.getCreatedAt(), row.getShipmentId());
+        shipmentsByUpdatedAt.add(row.getUpdatedAt(), row.getShipmentId());
+    }
+
+    Shipment removeShipment(String shipmentId) {
+        Shipment row = shipments.remove(shipmentId);
+        if (row != null) {
+            shipmentIdByTrackingNumber.remove(row.getTrackingNumber());
+            shipmentsByCreatedAt.remove(row.getCreatedAt(), shipmentId);
+            shipmentsByUpdatedAt.remove(row.getUpdatedAt(), shipmentId);
+        }
+        return row;
+    }
+
+    // --- Deliveries ---
+
+    void putDelivery(Delivery delivery) {
+        removeDelivery(delivery.getDeliveryId());
+        Delivery row = copy(delivery);
+        String id = row.getDeliveryId();
+        deliveries.put(id, row);
+        deliveryIdByShipmentId.put(row.getShipmentId(), id);
+        if (row.getPersonnelId() != null) {
+            deliveryIdsByPersonnelId.computeIfAbsent(row.getPersonnelId(), k -> new LinkedHashSet<>()).add(id);
+        }
+        deliveriesByScheduledDate.add(row.getScheduledDate(), id);
+        if (OPEN_STATUSES.contains(row.getDeliveryStatus())) {
+            openDeliveriesByEta.add(row.getEstimatedArrivalTime(), id);
+        }
+        if ("Delivered".equals(row.getDeliveryStatus())) {
+            deliveredByUpdatedAt.add(row.getUpdatedAt(), id);
+        }
+        deliveriesByUpdatedAt.add(row.getUpdatedAt(), id);
+    }
+
+    Delivery removeDelivery(String deliveryId) {
+        Delivery row = deliveries.remove(deliveryId);
+        if (row == null) {
+            return null;
+        }
+        deliveryIdByShipmentId.remove(row.getShipmentId());
+        if (row.getPersonnelId() != null) {
+            Set<String> ids = deliveryIdsByPersonnelId.get(row.getPersonnelId());
+            if (ids != null && ids.remove(deliveryId) && ids.isEmpty()) {
+                deliveryIdsByPersonnelId.remove(row.getPersonnelId());
+            }
+        }
+        deliveriesByScheduledDate.remove(row.getScheduledDate(), deliveryId);
+        openDeliveriesByEta.remove(row.getEstimatedArrivalTime(), deliveryId);
+        deliveredByUpdatedAt.remove(row.getUpdatedAt(), deliveryId);
+        deliveriesByUpdatedAt.remove(row.getUpdatedAt(), deliveryId);
+        return row;
+    }
+
+    // --- Delivery personnel ---
+
+    void putPersonnel(DeliveryPersonnel member) {
+        removePersonnel(member.getPersonnelId());
+        DeliveryPersonnel row = copy(member);
+        personnel.put(row.getPersonnelId(), row);
+        personnelIdByEmployeeId.put(row.getEmployeeId(), row.getPersonnelId());
+        personnelByUpdatedAt.add(row.getUpdatedAt(), row.getPersonnelId());
+    }
+
+    DeliveryPersonnel removePersonnel(String personnelId) {
+        DeliveryPersonnel row = personnel.remove(personnelId);
+        if (row != null) {
+            personnelIdByEmployeeId.remove(row.getEmployeeId());
+            personnelByUpdatedAt.remove(row.getUpdatedAt(), personnelId);
+        }
+        return row;
+    }
+
+    // --- Notifications ---
+
+    void putNotification(Notification notification) {
+        removeNotification(notification.getNotificationId());
+        Notification row = copy(notification);
+        String id = row.getNotificationId();
+        notifications.put(id, row);
+        inboxes.computeIfAbsent(inboxKey(row.getRecipientType(), row.getRecipientId()), k -> new TreeSet<>(INBOX_ORDER)).add(row);
+        inboxes.computeIfAbsent(inboxKey(row.getRecipientType(), null), k -> new TreeSet<>(INBOX_ORDER)).add(row);
+        notificationIdsByRecipientId.computeIfAbsent(row.getRecipientId(), k -> new LinkedHashSet<>()).add(id);
+        notificationsByTimestamp.add(row.getTimestamp(), id);
+        notificationsByUpdatedAt.add(row.getUpdatedAt(), id);
+        if (!row.isRead()) {
+            addUnread(row, 1);
+        }
+    }
+
+    Notification removeNotification(String notificationId) {
+        Notification row = notifications.remove(notificationId);
+        if (row == null) {
+            return null;
+        }
+        removeFromInbox(inboxKey(row.getRecipientType(), row.getRecipientId()), row);
+        removeFromInbox(inboxKey(row.getRecipientType(), null), row);
+        Set<String> ids = notificationIdsByRecipientId.get(row.getRecipientId());
+        if (ids != null && ids.remove(notificationId) && ids.isEmpty()) {
+            notificationIdsByRecipientId.remove(row.getRecipientId());
+        }
+        notificationsByTimestamp.remove(row.getTimestamp(), notificationId);
+        notificationsByUpdatedAt.remove(row.getUpdatedAt(), notificationId);
+        if (!row.isRead()) {
+            addUnread(row, -1);
+        }
+        return row;
+    }
+
+    private void removeFromInbox(String key, Notification row) {
+        NavigableSet<Notification> inbox = inboxes.get(key);
+        if (inbox != null && inbox.remove(row) && inbox.isEmpty()) {
+            inboxes.remove(key);
+        }
+    }
+
+    private void addUnread(Notification row, int sign) {
+        int urgent = row.isUrgent() ? sign : 0;
+        for (String key : new String[]{inboxKey(row.getRecipientType(), row.getRecipientId()), inboxKey(row.getRecipientType(), null)}) {
+            int[] counts = unreadCounts.computeIfAbsent(key, k -> new int[2]);
+            counts[0] += sign;
+            counts[1] += urgent;
+            if (counts[0] == 0) {
+                unreadCounts.remove(key);
+            }
+        }
+    }
+
+    /**
+     * @return The key of a recipient's inbox, or of all inboxes of the type if recipientId is null.
+     */
+    static String inboxKey(String recipientType, String recipientId) {
+        return recipientId != null ? recipientType + '|' + recipientId : recipientType;
+    }
+
+    // --- Copies ---
+
+    static Shipment copy(Shipment source) {
+        if (source == null) {
+            return null;
+        }
+        Shipment shipment = new Shipment(source);
+        shipment.markLoaded();
+        return shipment;
+    }
+
+    static Delivery copy(Delivery source) {
+        return source != null ? new Delivery(source) : null;
+    }
+
+    static DeliveryPersonnel copy(DeliveryPersonnel source) {
+        if (source == null) {
+            return null;
+        }
+        DeliveryPersonnel member = new DeliveryPersonnel(source);
+        member.markLoaded();
+        return member;
+    }
+
+    static Notification copy(Notification source) {
+        if (source == null) {
+            return null;
+        }
+        Notification notification = new Notification(source);
+        notification.setShipmentId(null);
+        return notification; // shipmentId is not stored, as in the Notifications table
+    }
+}
@@ -0,0 +1,68 @@
+// src/main/java/com/fasttracklogistics/dao/impl/JdbcStorageBackend.java
+
+package com.fasttracklogistics.dao;
+
+/**
+ * The shared MySQL database, accessed through the JDBC DAO implementations.
+ * The connection settings come from DatabaseConnection; with read replicas configured, the DAOs' find
+ * methods read from them (see ReplicaRouter).
+ */
+public class JdbcStorageBackend implements StorageBackend {
+
+    private final ShipmentDAO shipmentDAO = DatabaseConnection.routeReads(ShipmentDAO.class, new ShipmentDAOImpl());
+    private final DeliveryDAO deliveryDAO = DatabaseConnection.routeReads(DeliveryDAO.class, new DeliveryDAOImpl());
+    private final DeliveryPersonnelDAO personnelDAO = DatabaseConnection.routeReads(DeliveryPersonnelDAO.class, new DeliveryPersonnelDAOImpl());
+    private final NotificationDAO notificationDAO = DatabaseConnection.routeReads(NotificationDAO.class, new NotificationDAOImpl());
+    private final ReportDAO reportDAO = DatabaseConnection.routeReads(ReportDAO.class, new ReportDAOImpl());
+    private final ExportDAO exportDAO = DatabaseConnection.routeReads(ExportDAO.class, new ExportDAOImpl());
+
+    @Override
+    public String getName() {
+        return StorageBackends.MYSQL;
+    }
+
+    @Override
+    public void initialize() {
+        DatabaseConnection.initializeDatabase();
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    @Override
+    public ShipmentDAO getShipmentDAO() {
+        return shipmentDAO;
+    }
+
+    @Override
+    public DeliveryDAO getDeliveryDAO() {
+        return deliveryDAO;
+    }
+
+    @Override
+    public DeliveryPersonnelDAO getPersonnelDAO() {
+        return personnelDAO;
+    }
+
+    @Override
+    public NotificationDAO getNotificationDAO() {
+        return notificationDAO;
+    }
+
+    @Override
+    public ReportDAO getReportDAO() {
+        return reportDAO;
+    }
+
+    @Override
+    public ExportDAO getExportDAO() {
+        return exportDAO;
+    }
+
+    @Override
+    public void close() {
+        DatabaseConnection.shutdownPool();
+    }
+}
@@ -1,10 +1,15 @@
 // src/main/java/com/fasttracklogistics/dao/NotificationDAOImpl.java (UPDATED)
 package com.fasttracklogistics.dao;
 
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.NotificationCreated;
 import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.NotificationMessage;
+import com.fasttracklogistics.model.NotificationTemplate;
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID; // For generating unique IDs
 
@@ -14,6 +19,15 @@ import java.util.UUID; // For generating unique IDs
  */
 public class NotificationDAOImpl implements NotificationDAO {
 
+    private static final String INSERT_SQL = "INSERT INTO Notifications (notification_id, recipient_type, recipient_id, message, timestamp, status, is_urgent, is_read, template_id, template_params) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Compact storage: templated messages are stored as template_id + template_params with an empty message,
+    // and rendered again when read. Enable with -Dfasttrack.notifications.storeTemplates=true
+    public static final String STORE_TEMPLATES_PROPERTY = "fasttrack.notifications.storeTemplates";
+    private static final boolean STORE_TEMPLATES = Boolean.getBoolean(STORE_TEMPLATES_PROPERTY);
+    // Recipient and unread state of one notification, locked for the rest of the transaction
+    private static final String LOCK_STATE_SQL = "SELECT recipient_type, recipient_id, is_urgent, is_read FROM Notifications WHERE notification_id = ? FOR UPDATE";
+
     /**
      * Inserts a new notification record into the database.
      * A unique ID is generated for the new notification.
@@ -23,7 +37,70 @@ public class NotificationDAOImpl implements NotificationDAO {
      */
     @Override
     public boolean insertNotification(Notification notification) throws SQLException {
-        String sql = "INSERT INTO Notifications (notification_id, recipient_type, recipient_id, message, timestamp, status, is_urgent) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        applyInsertDefaults(notification);
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+            conn.setAutoCommit(false);
+            try {
+                bindInsertParameters(stmt, notification);
+                int rowsAffected = stmt.executeUpdate();
+                NotificationCounterMaintainer.addUnread(conn, Collections.singletonList(notification));
+                conn.commit();
+                DomainEventBus.getInstance().publish(new NotificationCreated(Collections.singletonList(notification)));
+                return rowsAffected > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Inserts several notification records with a single JDBC batch in one transaction.
+     * @param notifications The Notification objects to insert.
+     * @return The number of notifications inserted.
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    public int insertNotifications(List<Notification> notifications) throws SQLException {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL)) {
+            conn.setAutoCommit(false);
+            try {
+                for (Notification notification : notifications) {
+                    applyInsertDefaults(notification);
+                    bindInsertParameters(stmt, notification);
+                    stmt.addBatch();
+                }
+                int inserted = 0;
+                for (int count : stmt.executeBatch()) {
+                    if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+                        inserted++;
+                    }
+                }
+                NotificationCounterMaintainer.addUnread(conn, notifications);
+                conn.commit();
+                DomainEventBus.getInstance().publish(new NotificationCreated(new ArrayList<>(notifications)));
+                return inserted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Fills in the ID, timestamp and status of a notification that is about to be inserted.
+     */
+    private void applyInsertDefaults(Notification notification) {
         // Generate a unique ID for the notification if not already set
         if (notification.getNotificationId() == null || notification.getNotificationId().isEmpty()) {
             notification.setNotificationId("NOT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
@@ -36,20 +113,41 @@ public class NotificationDAOImpl implements NotificationDAO {
         if (notification.getStatus() == null || notification.getStatus().isEmpty()) {
             notification.setStatus("GENERATED");
         }
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, notification.getNotificationId());
-            stmt.setString(2, notification.getRecipientType());
-            stmt.setString(3, notification.getRecipientId());
-            stmt.setString(4, notification.getMessage());
-            stmt.setTimestamp(5, Timestamp.valueOf(notification.getTimestamp()));
-            stmt.setString(6, notification.getStatus());
-            stmt.setBoolean(7, notification.isUrgent()); // Set is_urgent
+    /**
+     * Binds a notification to the parameters of INSERT_SQL.
+     */
+    private void bindInsertParameters(PreparedStatement stmt, Notification notification) throws SQLException {
+        stmt.setString(1, notification.getNotificationId());
+        stmt.setString(2, notification.getRecipientType());
+        stmt.setString(3, notification.getRecipientId());
+        stmt.setString(4, storedMessage(notification));
+        stmt.setTimestamp(5, Timestamp.valueOf(notification.getTimestamp()));
+        stmt.setString(6, notification.getStatus());
+        stmt.setBoolean(7, notification.isUrgent()); // Set is_urgent
+        stmt.setBoolean(8, notification.isRead());
+        stmt.setString(9, notification.getTemplateId());
+        stmt.setString(10, storedTemplateParams(notification));
+    }
 
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
-        }
+    /**
+     * The value of the message column: empty for templated messages in compact storage mode.
+     */
+    private String storedMessage(Notification notification) {
+        return isStoredAsTemplate(notification) ? "" : notification.getMessage();
+    }
+
+    /**
+     * The value of the template_params column: only set in compact storage mode.
+     */
+    private String storedTemplateParams(Notification notification) {
+        return isStoredAsTemplate(notification) ? notification.getTemplateParams() : null;
+    }
+
+    private boolean isStoredAsTemplate(Notification notification) {
+        return STORE_TEMPLATES && notification.getTemplateParams() != null
+                && NotificationTemplate.fromId(notification.getTemplateId()) != null;
     }
 
     /**
@@ -81,19 +179,35 @@ public class NotificationDAOImpl implements NotificationDAO {
      */
     @Override
     public boolean updateNotification(Notification notification) throws SQLException {
-        String sql = "UPDATE Notifications SET recipient_type = ?, recipient_id = ?, message = ?, timestamp = ?, status = ?, is_urgent = ? WHERE notification_id = ?";
+        String sql = "UPDATE Notifications SET recipient_type = ?, recipient_id = ?, message = ?, timestamp = ?, status = ?, is_urgent = ?, is_read = ?, template_id = ?, template_params = ? WHERE notification_id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, notification.getRecipientType());
-            stmt.setString(2, notification.getRecipientId());
-            stmt.setString(3, notification.getMessage());
-            stmt.setTimestamp(4, Timestamp.valueOf(notification.getTimestamp()));
-            stmt.setString(5, notification.getStatus());
-            stmt.setBoolean(6, notification.isUrgent()); // Update is_urgent
-            stmt.setString(7, notification.getNotificationId());
+            conn.setAutoCommit(false);
+            try {
+                boolean existed = removeFromCounters(conn, notification.getNotificationId());
+                stmt.setString(1, notification.getRecipientType());
+                stmt.setString(2, notification.getRecipientId());
+                stmt.setString(3, storedMessage(notification));
+                stmt.setTimestamp(4, Timestamp.valueOf(notification.getTimestamp()));
+                stmt.setString(5, notification.getStatus());
+                stmt.setBoolean(6, notification.isUrgent()); // Update is_urgent
+                stmt.setBoolean(7, notification.isRead());
+                stmt.setString(8, notification.getTemplateId());
+                stmt.setString(9, storedTemplateParams(notification));
+                stmt.setString(10, notification.getNotificationId());
 
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+                int rowsAffected = stmt.executeUpdate();
+                if (existed) {
+                    NotificationCounterMaintainer.addUnread(conn, Collections.singletonList(notification));
+                }
+                conn.commit();
+                return rowsAffected > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
         }
     }
 
@@ -108,44 +222,240 @@ public class NotificationDAOImpl implements NotificationDAO {
         String sql = "DELETE FROM Notifications WHERE notification_id = ?";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            try {
+                removeFromCounters(conn, notificationId);
+                stmt.setString(1, notificationId);
+                int rowsAffected = stmt.executeUpdate();
+                if (rowsAffected > 0) {
+                    DeletedRecordLog.record(conn, DeletedRecordLog.NOTIFICATIONS, notificationId, null);
+                }
+                conn.commit();
+                return rowsAffected > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Locks a notification and, if it is unread, takes it out of its recipient's unread counters.
+     * @return true if the notification exists.
+     */
+    private boolean removeFromCounters(Connection conn, String notificationId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_STATE_SQL)) {
             stmt.setString(1, notificationId);
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                if (!rs.getBoolean("is_read")) {
+                    NotificationCounterMaintainer.removeUnread(conn, rs.getString("recipient_type"),
+                            rs.getString("recipient_id"), 1, rs.getBoolean("is_urgent") ? 1 : 0);
+                }
+                return true;
+            }
         }
     }
 
     /**
-     * Retrieves all notification records from the database.
-     * @return A list of all Notification objects.
+     * Retrieves one page of an inbox, newest first, starting after the given notification.
+     * The (timestamp, notification_id) keyset matches the order of the inbox indexes, so every
+     * page is a short index range scan instead of an OFFSET over all earlier rows.
+     * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @param recipientId The recipient, or null for all recipients of the type.
+     * @param urgentOnly true to return urgent notifications only.
+     * @param after The last notification of the previous page, or null for the first page.
+     * @param limit The maximum number of notifications to return.
+     * @return Up to limit Notification objects.
      * @throws SQLException If a database access error occurs.
      */
     @Override
-    public List<Notification> findAllNotifications() throws SQLException {
+    public List<Notification> findInboxPage(String recipientType, String recipientId, boolean urgentOnly,
+                                            Notification after, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT * FROM Notifications WHERE recipient_type = ?");
+        if (recipientId != null) {
+            sql.append(" AND recipient_id = ?");
+        }
+        if (urgentOnly) {
+            sql.append(" AND is_urgent = TRUE");
+        }
+        if (after != null) {
+            sql.append(" AND (timestamp < ? OR (timestamp = ? AND notification_id < ?))");
+        }
+        sql.append(" ORDER BY timestamp DESC, notification_id DESC LIMIT ?");
+
+        List<Notification> notifications = new ArrayList<>(limit);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setString(index++, recipientType);
+            if (recipientId != null) {
+                stmt.setString(index++, recipientId);
+            }
+            if (after != null) {
+                Timestamp afterTimestamp = Timestamp.valueOf(after.getTimestamp());
+                stmt.setTimestamp(index++, afterTimestamp);
+                stmt.setTimestamp(index++, afterTimestamp);
+                stmt.setString(index++, after.getNotificationId());
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapResultSetToNotification(rs));
+                }
+            }
+        }
+        return notifications;
+    }
+
+    /**
+     * Returns the unread counters of one recipient, or the totals of a recipient type.
+     * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @param recipientId The recipient, or null for the totals of the type.
+     * @return {unread count, urgent unread count}.
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    public int[] findUnreadCounts(String recipientType, String recipientId) throws SQLException {
+        String sql = "SELECT COALESCE(SUM(unread_count), 0), COALESCE(SUM(urgent_unread_count), 0) FROM NotificationCounters " +
+                "WHERE recipient_type = ?" + (recipientId != null ? " AND recipient_id = ?" : "");
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, recipientType);
+            if (recipientId != null) {
+                stmt.setString(2, recipientId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return new int[]{rs.getInt(1), rs.getInt(2)};
+            }
+        }
+    }
+
+    /**
+     * Marks one notification as read and updates its recipient's unread counters in the same transaction.
+     * @param notificationId The ID of the notification.
+     * @return true if the notification was unread.
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    public boolean markRead(String notificationId) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement lock = conn.prepareStatement(LOCK_STATE_SQL);
+             PreparedStatement update = conn.prepareStatement(
+                     "UPDATE Notifications SET is_read = TRUE WHERE notification_id = ?")) {
+            conn.setAutoCommit(false);
+            try {
+                lock.setString(1, notificationId);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || rs.getBoolean("is_read")) {
+                        conn.commit();
+                        return false;
+                    }
+                    update.setString(1, notificationId);
+                    update.executeUpdate();
+                    NotificationCounterMaintainer.removeUnread(conn, rs.getString("recipient_type"),
+                            rs.getString("recipient_id"), 1, rs.getBoolean("is_urgent") ? 1 : 0);
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Marks all unread notifications of one recipient (or of a whole recipient type) as read
+     * and updates the unread counters in the same transaction.
+     * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @param recipientId The recipient, or null for all recipients of the type.
+     * @return The number of notifications marked as read.
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    public int markAllRead(String recipientType, String recipientId) throws SQLException {
+        String filter = " WHERE recipient_type = ?" + (recipientId != null ? " AND recipient_id = ?" : "") + " AND is_read = FALSE";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement count = conn.prepareStatement(
+                     "SELECT COUNT(*), COALESCE(SUM(is_urgent), 0) FROM Notifications" + filter + " FOR UPDATE");
+             PreparedStatement update = conn.prepareStatement("UPDATE Notifications SET is_read = TRUE" + filter)) {
+            conn.setAutoCommit(false);
+            try {
+                int unread;
+                int urgentUnread;
+                count.setString(1, recipientType);
+                update.setString(1, recipientType);
+                if (recipientId != null) {
+                    count.setString(2, recipientId);
+                    update.setString(2, recipientId);
+                }
+                try (ResultSet rs = count.executeQuery()) {
+                    rs.next();
+                    unread = rs.getInt(1);
+                    urgentUnread = rs.getInt(2);
+                }
+                int updated = update.executeUpdate();
+                if (recipientId != null) {
+                    NotificationCounterMaintainer.removeUnread(conn, recipientType, recipientId, unread, urgentUnread);
+                } else {
+                    NotificationCounterMaintainer.clearRecipientType(conn, recipientType);
+                }
+                conn.commit();
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Retrieves all notification records created at or after the given time.
+     * @param since The earliest timestamp to include.
+     * @return A list of Notification objects, most recent first.
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    public List<Notification> findAllNotifications(LocalDateTime since) throws SQLException {
         List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM Notifications ORDER BY timestamp DESC"; // Order by most recent
+        String sql = "SELECT * FROM Notifications WHERE timestamp >= ? ORDER BY timestamp DESC"; // Order by most recent
         try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                notifications.add(mapResultSetToNotification(rs));
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapResultSetToNotification(rs));
+                }
             }
         }
         return notifications;
     }
 
     /**
-     * Retrieves notifications for a specific recipient type.
+     * Retrieves notifications for a specific recipient type created at or after the given time.
      * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @param since The earliest timestamp to include.
      * @return A list of Notification objects for the specified recipient type.
      * @throws SQLException If a database access error occurs.
      */
     @Override
-    public List<Notification> findNotificationsByRecipientType(String recipientType) throws SQLException {
+    public List<Notification> findNotificationsByRecipientType(String recipientType, LocalDateTime since) throws SQLException {
         List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM Notifications WHERE recipient_type = ? ORDER BY timestamp DESC";
+        String sql = "SELECT * FROM Notifications WHERE recipient_type = ? AND timestamp >= ? ORDER BY timestamp DESC";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, recipientType);
+            stmt.setTimestamp(2, Timestamp.valueOf(since));
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     notifications.add(mapResultSetToNotification(rs));
@@ -178,18 +488,42 @@ public class NotificationDAOImpl implements NotificationDAO {
     }
 
     /**
-     * Retrieves notifications based on whether they are urgent or not.
+     * Retrieves notifications based on whether they are urgent or not, created at or after the given time.
      * @param isUrgent true to get urgent notifications, false for non-urgent.
+     * @param since The earliest timestamp to include.
      * @return A list of Notification objects matching the urgency status.
      * @throws SQLException If a database access error occurs.
      */
     @Override
-    public List<Notification> findNotificationsByUrgency(boolean isUrgent) throws SQLException {
+    public List<Notification> findNotificationsByUrgency(boolean isUrgent, LocalDateTime since) throws SQLException {
         List<Notification> notifications = new ArrayList<>();
-        String sql = "SELECT * FROM Notifications WHERE is_urgent = ? ORDER BY timestamp DESC";
+        String sql = "SELECT * FROM Notifications WHERE is_urgent = ? AND timestamp >= ? ORDER BY timestamp DESC";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setBoolean(1, isUrgent);
+            stmt.setTimestamp(2, Timestamp.valueOf(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(mapResultSetToNotification(rs));
+                }
+            }
+        }
+        return notifications;
+    }
+
+    /**
+     * Retrieves notifications inserted or updated (e.g. marked as read) at or after the given time.
+     * @param since The lower bound (inclusive) for updated_at.
+     * @return A list of Notification objects, oldest change first.
+     * @throws SQLException If a database access error occurs.
+     */
+    @Override
+    public List<Notification> findNotificationsUpdatedSince(LocalDateTime since) throws SQLException {
+        List<Notification> notifications = new ArrayList<>();
+        String sql = "SELECT * FROM Notifications WHERE updated_at >= ? ORDER BY updated_at";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     notifications.add(mapResultSetToNotification(rs));
@@ -201,19 +535,32 @@ public class NotificationDAOImpl implements NotificationDAO {
 
     /**
      * Helper method to map a ResultSet row to a Notification object.
+     * Package-private so the mapping benchmarks can call it.
      * @param rs The ResultSet containing notification data.
      * @return A Notification object.
      * @throws SQLException If a database access error occurs.
      */
-    private Notification mapResultSetToNotification(ResultSet rs) throws SQLException {
+    Notification mapResultSetToNotification(ResultSet rs) throws SQLException {
         Notification notification = new Notification();
         notification.setNotificationId(rs.getString("notification_id"));
         notification.setRecipientType(rs.getString("recipient_type"));
         notification.setRecipientId(rs.getString("recipient_id"));
         notification.setMessage(rs.getString("message"));
+        notification.setTemplateId(rs.getString("template_id"));
+        notification.setTemplateParams(rs.getString("template_params"));
+        NotificationTemplate template = NotificationTemplate.fromId(notification.getTemplateId());
+        if (template != null && notification.getTemplateParams() != null && notification.getMessage().isEmpty()) {
+            // Stored in compact mode: render the text from the template
+            notification.setMessage(template.render(NotificationMessage.decodeParameters(notification.getTemplateParams())));
+        }
         notification.setTimestamp(rs.getTimestamp("timestamp").toLocalDateTime());
         notification.setStatus(rs.getString("status"));
         notification.setUrgent(rs.getBoolean("is_urgent")); // Get is_urgent
+        notification.setRead(rs.getBoolean("is_read"));
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        if (updatedAt != null) {
+            notification.setUpdatedAt(updatedAt.toLocalDateTime());
+        }
         return notification;
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+// src/main/java/com/fasttracklogistics/dao/impl/ReportDAOImpl.java
+
+package com.fasttracklogistics.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * JDBC implementation of the ReportDAO interface for MySQL.
+ * Delivery reports are summed from DailyDeliveryRollup (primary key leads with rollup_date,
+ * so each query range-scans a few rows per day). The urgent ratio is based on shipment
+ * creation dates and uses the (created_at, is_urgent) covering index instead.
+ */
+public class ReportDAOImpl implements ReportDAO {
+
+    // Reusable SQL fragments
+    private static final String ROLLUP_MONTH = "DATE_FORMAT(r.rollup_date, '%Y-%m')";
+    private static final String ROLLUP_RANGE = "r.rollup_date >= ? AND r.rollup_date < ?";
+    private static final String DELIVERED_COUNT = "CASE WHEN r.delivery_status = 'Delivered' THEN r.delivery_count ELSE 0 END";
+
+    @Override
+    public void streamMonthlyVolume(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        String sql = "SELECT " + ROLLUP_MONTH + " AS month, SUM(r.delivery_count) AS deliveries, " +
+                "SUM(" + DELIVERED_COUNT + ") AS delivered, " +
+                "SUM(CASE WHEN r.delivery_status = 'Cancelled' THEN r.delivery_count ELSE 0 END) AS cancelled " +
+                "FROM DailyDeliveryRollup r WHERE " + ROLLUP_RANGE + " " +
+                "GROUP BY month HAVING deliveries > 0 ORDER BY month";
+        streamQuery(sql, Date.valueOf(from), Date.valueOf(to), handler);
+    }
+
+    @Override
+    public void streamOnTimeRate(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        String sql = "SELECT " + ROLLUP_MONTH + " AS month, SUM(r.delivery_count) AS delivered, SUM(r.on_time_count) AS on_time, " +
+                "ROUND(100 * SUM(r.on_time_count) / SUM(r.delivery_count), 1) AS on_time_pct " +
+                "FROM DailyDeliveryRollup r WHERE " + ROLLUP_RANGE + " AND r.delivery_status = 'Delivered' " +
+                "GROUP BY month HAVING delivered > 0 ORDER BY month";
+        streamQuery(sql, Date.valueOf(from), Date.valueOf(to), handler);
+    }
+
+    @Override
+    public void streamAverageDelay(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        String sql = "SELECT " + ROLLUP_MONTH + " AS month, SUM(r.delivery_count) AS delivered, SUM(r.late_count) AS late, " +
+                "ROUND(SUM(r.delay_minutes_sum) / NULLIF(SUM(r.late_count), 0), 1) AS avg_delay, " +
+                "SUM(r.delay_minutes_sum) AS total_delay " +
+                "FROM DailyDeliveryRollup r WHERE " + ROLLUP_RANGE + " AND r.delivery_status = 'Delivered' " +
+                "GROUP BY month HAVING delivered > 0 ORDER BY month";
+        streamQuery(sql, Date.valueOf(from), Date.valueOf(to), handler);
+    }
+
+    @Override
+    public void streamRouteThroughput(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        String sql = "SELECT r.route, SUM(r.delivery_count) AS deliveries, SUM(" + DELIVERED_COUNT + ") AS delivered, " +
+                "SUM(r.on_time_count) AS on_time, SUM(r.weight_kg_sum) AS total_weight " +
+                "FROM DailyDeliveryRollup r WHERE " + ROLLUP_RANGE + " " +
+                "GROUP BY r.route HAVING deliveries > 0 ORDER BY deliveries DESC";
+        streamQuery(sql, Date.valueOf(from), Date.valueOf(to), handler);
+    }
+
+    @Override
+    public void streamDriverThroughput(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        // Aggregate the rollups first, then join the (few) resulting rows to personnel
+        String sql = "SELECT agg.personnel_id, p.name, agg.deliveries, agg.delivered, agg.on_time FROM (" +
+                "SELECT r.personnel_id, SUM(r.delivery_count) AS deliveries, SUM(" + DELIVERED_COUNT + ") AS delivered, " +
+                "SUM(r.on_time_count) AS on_time FROM DailyDeliveryRollup r " +
+                "WHERE " + ROLLUP_RANGE + " AND r.personnel_id <> '' " +
+                "GROUP BY r.personnel_id HAVING deliveries > 0) agg " +
+                "LEFT JOIN DeliveryPersonnel p ON p.personnel_id = agg.personnel_id " +
+                "ORDER BY agg.deliveries DESC";
+        streamQuery(sql, Date.valueOf(from), Date.valueOf(to), handler);
+    }
+
+    @Override
+    public void streamUrgentRatio(LocalDate from, LocalDate to, ReportRowHandler handler) throws SQLException {
+        String sql = "SELECT DATE_FORMAT(s.created_at, '%Y-%m') AS month, COUNT(*) AS shipments, SUM(s.is_urgent) AS urgent, " +
+                "ROUND(100 * SUM(s.is_urgent) / COUNT(*), 1) AS urgent_pct " +
+                "FROM Shipments s WHERE s.created_at >= ? AND s.created_at < ? " +
+                "GROUP BY month ORDER BY month";
+        streamQuery(sql, Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()), handler);
+    }
+
+    /**
+     * Runs a grouped query with a [from, to) range and passes each row to the handler as it is read.
+     */
+    private void streamQuery(String sql, Object from, Object to, ReportRowHandler handler) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setObject(1, from);
+            stmt.setObject(2, to);
+            try (ResultSet rs = stmt.executeQuery()) {
+                int columnCount = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    Object[] row = new Object[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        row[i] = rs.getObject(i + 1);
+                    }
+                    handler.handleRow(row);
+                }
+            }
+        }
+    }
+}
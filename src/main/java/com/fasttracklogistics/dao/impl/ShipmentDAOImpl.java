@@ -6,6 +6,11 @@
 
 package com.fasttracklogistics.dao;
 
+import com.fasttracklogistics.event.ChangeType;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.model.Delivery;
 import com.fasttracklogistics.model.Shipment;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -14,7 +19,10 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID; // For generating unique IDs
 
 /**
@@ -22,100 +30,348 @@ import java.util.UUID; // For generating unique IDs
  */
 public class ShipmentDAOImpl implements ShipmentDAO {
 
+    private static final String INSERT_COLUMNS = "INSERT INTO Shipments (shipment_id, tracking_number, sender_name, sender_address, sender_contact, " +
+            "receiver_name, receiver_address, receiver_contact, package_contents, package_type, weight_kg, dimensions_cm, " +
+            "current_location, route, current_status, is_urgent, created_at) VALUES ";
+    private static final String INSERT_ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int INSERT_PARAMETERS = 17;
+    // Rows per multi-row INSERT; keeps statements well below max_allowed_packet
+    private static final int MULTI_ROW_INSERT_SIZE = 500;
+
     @Override
     public boolean insertShipment(Shipment shipment) throws SQLException {
-        String sql = "INSERT INTO Shipments (shipment_id, tracking_number, sender_name, sender_address, sender_contact, " +
-                "receiver_name, receiver_address, receiver_contact, package_contents, package_type, weight_kg, dimensions_cm, " +
-                "current_location, route, current_status, is_urgent) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String sql = INSERT_COLUMNS + INSERT_ROW_PLACEHOLDERS;
         Connection conn = null;
         PreparedStatement pstmt = null;
         try {
             conn = DatabaseConnection.getConnection();
             pstmt = conn.prepareStatement(sql);
 
-            // Generate a unique ID if not already set (e.g., for new shipments)
-            if (shipment.getShipmentId() == null || shipment.getShipmentId().isEmpty()) {
-                shipment.setShipmentId(UUID.randomUUID().toString());
-            }
-            if (shipment.getTrackingNumber() == null || shipment.getTrackingNumber().isEmpty()) {
-                shipment.setTrackingNumber(UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-            }
-            if (shipment.getCurrentStatus() == null || shipment.getCurrentStatus().isEmpty()) {
-                shipment.setCurrentStatus("Pending");
-            }
-
-            // Set parameters for the prepared statement
-            pstmt.setString(1, shipment.getShipmentId());
-            pstmt.setString(2, shipment.getTrackingNumber());
-            pstmt.setString(3, shipment.getSenderName());
-            pstmt.setString(4, shipment.getSenderAddress());
-            pstmt.setString(5, shipment.getSenderContact());
-            pstmt.setString(6, shipment.getReceiverName());
-            pstmt.setString(7, shipment.getReceiverAddress());
-            pstmt.setString(8, shipment.getReceiverContact());
-            pstmt.setString(9, shipment.getPackageContents());
-            pstmt.setString(10, shipment.getPackageType());
-            pstmt.setDouble(11, shipment.getWeightKg());
-            pstmt.setString(12, shipment.getDimensionsCm());
-            pstmt.setString(13, shipment.getCurrentLocation());
-            pstmt.setString(14, shipment.getRoute());
-            pstmt.setString(15, shipment.getCurrentStatus());
-            pstmt.setBoolean(16, shipment.isUrgent());
+            applyInsertDefaults(shipment);
+            bindInsertParameters(pstmt, 0, shipment);
 
             int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected > 0) {
+                DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.CREATED, shipment));
+            }
             return rowsAffected > 0;
         } finally {
             DatabaseConnection.closeResources(conn, pstmt, null);
         }
     }
 
+    @Override
+    public int insertShipments(List<Shipment> shipments) throws SQLException {
+        if (shipments.isEmpty()) {
+            return 0;
+        }
+        Connection conn = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            int inserted = 0;
+            for (int start = 0; start < shipments.size(); start += MULTI_ROW_INSERT_SIZE) {
+                List<Shipment> chunk = shipments.subList(start, Math.min(start + MULTI_ROW_INSERT_SIZE, shipments.size()));
+                StringBuilder sql = new StringBuilder(INSERT_COLUMNS);
+                for (int i = 0; i < chunk.size(); i++) {
+                    sql.append(i == 0 ? "" : ", ").append(INSERT_ROW_PLACEHOLDERS);
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        applyInsertDefaults(chunk.get(i));
+                        bindInsertParameters(pstmt, i * INSERT_PARAMETERS, chunk.get(i));
+                    }
+                    inserted += pstmt.executeUpdate();
+                }
+            }
+            conn.commit();
+            for (Shipment shipment : shipments) {
+                DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.CREATED, shipment));
+            }
+            return inserted;
+        } catch (SQLException e) {
+            if (conn != null) {
+                conn.rollback();
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                conn.setAutoCommit(true);
+            }
+            DatabaseConnection.closeResources(conn, null, null);
+        }
+    }
+
+    @Override
+    public Set<String> findExistingTrackingNumbers(Collection<String> trackingNumbers) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        if (trackingNumbers.isEmpty()) {
+            return existing;
+        }
+        StringBuilder sql = new StringBuilder("SELECT tracking_number FROM Shipments WHERE tracking_number IN (");
+        for (int i = 0; i < trackingNumbers.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql.toString());
+            int index = 1;
+            for (String trackingNumber : trackingNumbers) {
+                pstmt.setString(index++, trackingNumber);
+            }
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                existing.add(rs.getString(1));
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return existing;
+    }
+
+    /**
+     * Generates the ID, tracking number and status of a new shipment if they are not set.
+     */
+    private void applyInsertDefaults(Shipment shipment) {
+        if (shipment.getShipmentId() == null || shipment.getShipmentId().isEmpty()) {
+            shipment.setShipmentId(UUID.randomUUID().toString());
+        }
+        if (shipment.getTrackingNumber() == null || shipment.getTrackingNumber().isEmpty()) {
+            shipment.setTrackingNumber(UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        }
+        if (shipment.getCurrentStatus() == null || shipment.getCurrentStatus().isEmpty()) {
+            shipment.setCurrentStatus("Pending");
+        }
+        // Written explicitly (not left to the column default) so the in-memory copy published to panels matches the row
+        if (shipment.getCreatedAt() == null) {
+            shipment.setCreatedAt(LocalDateTime.now().withNano(0));
+        }
+    }
+
+    /**
+     * Binds one row of INSERT_ROW_PLACEHOLDERS, starting after the given parameter offset.
+     */
+    private void bindInsertParameters(PreparedStatement pstmt, int offset, Shipment shipment) throws SQLException {
+        pstmt.setString(offset + 1, shipment.getShipmentId());
+        pstmt.setString(offset + 2, shipment.getTrackingNumber());
+        pstmt.setString(offset + 3, shipment.getSenderName());
+        pstmt.setString(offset + 4, shipment.getSenderAddress());
+        pstmt.setString(offset + 5, shipment.getSenderContact());
+        pstmt.setString(offset + 6, shipment.getReceiverName());
+        pstmt.setString(offset + 7, shipment.getReceiverAddress());
+        pstmt.setString(offset + 8, shipment.getReceiverContact());
+        pstmt.setString(offset + 9, shipment.getPackageContents());
+        pstmt.setString(offset + 10, shipment.getPackageType());
+        pstmt.setDouble(offset + 11, shipment.getWeightKg());
+        pstmt.setString(offset + 12, shipment.getDimensionsCm());
+        pstmt.setString(offset + 13, shipment.getCurrentLocation());
+        pstmt.setString(offset + 14, shipment.getRoute());
+        pstmt.setString(offset + 15, shipment.getCurrentStatus());
+        pstmt.setBoolean(offset + 16, shipment.isUrgent());
+        pstmt.setTimestamp(offset + 17, Timestamp.valueOf(shipment.getCreatedAt()));
+    }
+
     @Override
     public boolean updateShipment(Shipment shipment) throws SQLException {
-        String sql = "UPDATE Shipments SET tracking_number = ?, sender_name = ?, sender_address = ?, sender_contact = ?, " +
-                "receiver_name = ?, receiver_address = ?, receiver_contact = ?, package_contents = ?, package_type = ?, weight_kg = ?, " +
-                "dimensions_cm = ?, current_location = ?, route = ?, current_status = ?, is_urgent = ?, updated_at = CURRENT_TIMESTAMP WHERE shipment_id = ?";
+        Set<Shipment.Column> columns = shipment.getChangedColumns();
+        if (columns.isEmpty()) {
+            return true; // Unchanged since it was read
+        }
+        StringBuilder sql = new StringBuilder("UPDATE Shipments SET ");
+        for (Shipment.Column column : columns) {
+            sql.append(column.getColumnName()).append(" = ?, ");
+        }
+        sql.append("updated_at = CURRENT_TIMESTAMP WHERE shipment_id = ?");
+        // Route, weight and urgency feed the delivery rollups; other columns can be written on their own
+        boolean affectsRollups = columns.contains(Shipment.Column.ROUTE) || columns.contains(Shipment.Column.WEIGHT_KG)
+                || columns.contains(Shipment.Column.IS_URGENT);
         Connection conn = null;
         PreparedStatement pstmt = null;
         try {
             conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, shipment.getTrackingNumber());
-            pstmt.setString(2, shipment.getSenderName());
-            pstmt.setString(3, shipment.getSenderAddress());
-            pstmt.setString(4, shipment.getSenderContact());
-            pstmt.setString(5, shipment.getReceiverName());
-            pstmt.setString(6, shipment.getReceiverAddress());
-            pstmt.setString(7, shipment.getReceiverContact());
-            pstmt.setString(8, shipment.getPackageContents());
-            pstmt.setString(9, shipment.getPackageType());
-            pstmt.setDouble(10, shipment.getWeightKg());
-            pstmt.setString(11, shipment.getDimensionsCm());
-            pstmt.setString(12, shipment.getCurrentLocation());
-            pstmt.setString(13, shipment.getRoute());
-            pstmt.setString(14, shipment.getCurrentStatus());
-            pstmt.setBoolean(15, shipment.isUrgent());
-            pstmt.setString(16, shipment.getShipmentId());
+            DeliveryRollupMaintainer.Contribution before = null;
+            if (affectsRollups) {
+                conn.setAutoCommit(false);
+                before = DeliveryRollupMaintainer.readByShipmentId(conn, shipment.getShipmentId());
+            }
+            pstmt = conn.prepareStatement(sql.toString());
+            int index = 1;
+            for (Shipment.Column column : columns) {
+                bindColumn(pstmt, index++, shipment, column);
+            }
+            pstmt.setString(index, shipment.getShipmentId());
 
             int rowsAffected = pstmt.executeUpdate();
+            if (affectsRollups) {
+                if (before != null) {
+                    DeliveryRollupMaintainer.applyChange(conn, before,
+                            DeliveryRollupMaintainer.readByShipmentId(conn, shipment.getShipmentId()));
+                }
+                conn.commit();
+            }
+            if (rowsAffected > 0) {
+                shipment.markLoaded();
+                DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.UPDATED, shipment));
+            }
             return rowsAffected > 0;
+        } catch (SQLException e) {
+            if (conn != null && affectsRollups) {
+                conn.rollback();
+            }
+            throw e;
         } finally {
+            if (conn != null && affectsRollups) {
+                conn.setAutoCommit(true);
+            }
             DatabaseConnection.closeResources(conn, pstmt, null);
         }
     }
 
+    private static void bindColumn(PreparedStatement pstmt, int index, Shipment shipment, Shipment.Column column) throws SQLException {
+        switch (column) {
+            case TRACKING_NUMBER:
+                pstmt.setString(index, shipment.getTrackingNumber());
+                break;
+            case SENDER_NAME:
+                pstmt.setString(index, shipment.getSenderName());
+                break;
+            case SENDER_ADDRESS:
+                pstmt.setString(index, shipment.getSenderAddress());
+                break;
+            case SENDER_CONTACT:
+                pstmt.setString(index, shipment.getSenderContact());
+                break;
+            case RECEIVER_NAME:
+                pstmt.setString(index, shipment.getReceiverName());
+                break;
+            case RECEIVER_ADDRESS:
+                pstmt.setString(index, shipment.getReceiverAddress());
+                break;
+            case RECEIVER_CONTACT:
+                pstmt.setString(index, shipment.getReceiverContact());
+                break;
+            case PACKAGE_CONTENTS:
+                pstmt.setString(index, shipment.getPackageContents());
+                break;
+            case PACKAGE_TYPE:
+                pstmt.setString(index, shipment.getPackageType());
+                break;
+            case WEIGHT_KG:
+                pstmt.setDouble(index, shipment.getWeightKg());
+                break;
+            case DIMENSIONS_CM:
+                pstmt.setString(index, shipment.getDimensionsCm());
+                break;
+            case CURRENT_LOCATION:
+                pstmt.setString(index, shipment.getCurrentLocation());
+                break;
+            case ROUTE:
+                pstmt.setString(index, shipment.getRoute());
+                break;
+            case CURRENT_STATUS:
+                pstmt.setString(index, shipment.getCurrentStatus());
+                break;
+            case IS_URGENT:
+                pstmt.setBoolean(index, shipment.isUrgent());
+                break;
+        }
+    }
+
+    @Override
+    public boolean updateShipmentStatus(String shipmentId, String status) throws SQLException {
+        Connection conn = null;
+        boolean updated;
+        try {
+            conn = DatabaseConnection.getConnection();
+            updated = writeStatus(conn, shipmentId, status);
+        } finally {
+            DatabaseConnection.closeResources(conn, null, null);
+        }
+        if (updated) {
+            publishStatusChange(shipmentId);
+        }
+        return updated;
+    }
+
+    /**
+     * The UPDATE behind updateShipmentStatus, on the caller's connection (and transaction).
+     */
+    static boolean writeStatus(Connection conn, String shipmentId, String status) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "UPDATE Shipments SET current_status = ?, updated_at = CURRENT_TIMESTAMP WHERE shipment_id = ?")) {
+            pstmt.setString(1, status);
+            pstmt.setString(2, shipmentId);
+            return pstmt.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Reads a shipment row on the caller's connection, e.g. to publish it after the caller's transaction.
+     * @return The shipment, or null if it does not exist.
+     */
+    static Shipment readShipment(Connection conn, String shipmentId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM Shipments WHERE shipment_id = ?")) {
+            pstmt.setString(1, shipmentId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapResultSetToShipment(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Publishes ShipmentChanged after a status-only update; subscribers get the whole row, which only they need to read back.
+     */
+    void publishStatusChange(String shipmentId) throws SQLException {
+        if (DomainEventBus.getInstance().hasSubscribers(ShipmentChanged.class)) {
+            Shipment shipment = findShipmentById(shipmentId);
+            if (shipment != null) {
+                DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.UPDATED, shipment));
+            }
+        }
+    }
+
     @Override
     public boolean deleteShipment(String shipmentId) throws SQLException {
         String sql = "DELETE FROM Shipments WHERE shipment_id = ?";
+        // Panels showing the delivery that ON DELETE CASCADE removes need to hear about it too
+        Delivery cascadedDelivery = DomainEventBus.getInstance().hasSubscribers(DeliveryChanged.class)
+                ? new DeliveryDAOImpl().findDeliveryByShipmentId(shipmentId) : null;
         Connection conn = null;
         PreparedStatement pstmt = null;
         try {
             conn = DatabaseConnection.getConnection();
+            conn.setAutoCommit(false);
+            // The delivery is removed by ON DELETE CASCADE, so take its rollup contribution out here
+            DeliveryRollupMaintainer.Contribution before = DeliveryRollupMaintainer.readByShipmentId(conn, shipmentId);
+            DeletedRecordLog.recordDeliveryOfShipment(conn, shipmentId);
             pstmt = conn.prepareStatement(sql);
             pstmt.setString(1, shipmentId);
             int rowsAffected = pstmt.executeUpdate();
+            DeliveryRollupMaintainer.applyChange(conn, before, null);
+            if (rowsAffected > 0) {
+                DeletedRecordLog.record(conn, DeletedRecordLog.SHIPMENTS, shipmentId, null);
+            }
+            conn.commit();
+            if (rowsAffected > 0) {
+                if (cascadedDelivery != null) {
+                    DomainEventBus.getInstance().publish(new DeliveryChanged(ChangeType.DELETED, cascadedDelivery));
+                }
+                DomainEventBus.getInstance().publish(new ShipmentChanged(ChangeType.DELETED, shipmentId, null));
+            }
             return rowsAffected > 0;
+        } catch (SQLException e) {
+            if (conn != null) {
+                conn.rollback();
+            }
+            throw e;
         } finally {
+            if (conn != null) {
+                conn.setAutoCommit(true);
+            }
             DatabaseConnection.closeResources(conn, pstmt, null);
         }
     }
@@ -201,10 +457,94 @@ public class ShipmentDAOImpl implements ShipmentDAO {
         return shipments;
     }
 
+    @Override
+    public List<Object[]> findShipmentsWithDeliveryUpdatedSince(LocalDateTime since) throws SQLException {
+        List<Object[]> results = new ArrayList<>();
+        // One branch per updated_at index; UNION removes shipments that changed on both sides
+        String columns = "SELECT s.*, d.delivery_id, d.personnel_id, d.scheduled_date, d.scheduled_time_slot, " +
+                "d.actual_delivery_date, d.delivery_status, d.estimated_arrival_time, d.delay_reason, " +
+                "d.updated_at AS delivery_updated_at ";
+        String sql = columns + "FROM Shipments s LEFT JOIN Deliveries d ON d.shipment_id = s.shipment_id WHERE s.updated_at >= ? " +
+                "UNION " +
+                columns + "FROM Deliveries d JOIN Shipments s ON s.shipment_id = d.shipment_id WHERE d.updated_at >= ?";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setTimestamp(1, Timestamp.valueOf(since));
+            pstmt.setTimestamp(2, Timestamp.valueOf(since));
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                Shipment shipment = mapResultSetToShipment(rs);
+                Delivery delivery = null;
+                if (rs.getString("delivery_id") != null) {
+                    delivery = new Delivery();
+                    delivery.setDeliveryId(rs.getString("delivery_id"));
+                    delivery.setShipmentId(shipment.getShipmentId());
+                    delivery.setPersonnelId(rs.getString("personnel_id"));
+                    delivery.setScheduledDate(rs.getDate("scheduled_date").toLocalDate());
+                    delivery.setScheduledTimeSlot(rs.getString("scheduled_time_slot"));
+                    Timestamp actual = rs.getTimestamp("actual_delivery_date");
+                    delivery.setActualDeliveryDate(actual != null ? actual.toLocalDateTime() : null);
+                    delivery.setDeliveryStatus(rs.getString("delivery_status"));
+                    Timestamp eta = rs.getTimestamp("estimated_arrival_time");
+                    delivery.setEstimatedArrivalTime(eta != null ? eta.toLocalDateTime() : null);
+                    delivery.setDelayReason(rs.getString("delay_reason"));
+                    Timestamp deliveryUpdatedAt = rs.getTimestamp("delivery_updated_at");
+                    delivery.setUpdatedAt(deliveryUpdatedAt != null ? deliveryUpdatedAt.toLocalDateTime() : null);
+                }
+                results.add(new Object[]{shipment, delivery});
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return results;
+    }
+
+    @Override
+    public int countShipments() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM Shipments";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            rs = pstmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+    }
+
+    @Override
+    public List<Shipment> findShipmentsUpdatedSince(LocalDateTime since) throws SQLException {
+        List<Shipment> shipments = new ArrayList<>();
+        String sql = "SELECT * FROM Shipments WHERE updated_at >= ? ORDER BY updated_at";
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql);
+            pstmt.setTimestamp(1, Timestamp.valueOf(since));
+            rs = pstmt.executeQuery();
+            while (rs.next()) {
+                shipments.add(mapResultSetToShipment(rs));
+            }
+        } finally {
+            DatabaseConnection.closeResources(conn, pstmt, rs);
+        }
+        return shipments;
+    }
+
     /**
      * Helper method to map a ResultSet row to a Shipment object.
+     * Package-private so the mapping benchmarks can call it.
      */
-    private Shipment mapResultSetToShipment(ResultSet rs) throws SQLException {
+    static Shipment mapResultSetToShipment(ResultSet rs) throws SQLException {
         Shipment shipment = new Shipment();
         shipment.setShipmentId(rs.getString("shipment_id"));
         shipment.setTrackingNumber(rs.getString("tracking_number"));
@@ -231,6 +571,7 @@ public class ShipmentDAOImpl implements ShipmentDAO {
         if (updatedAtTs != null) {
             shipment.setUpdatedAt(updatedAtTs.toLocalDateTime());
         }
+        shipment.markLoaded();
         return shipment;
     }
 }
@@ -0,0 +1,12 @@
+// src/main/java/com/fasttracklogistics/event/ChangeType.java
+
+package com.fasttracklogistics.event;
+
+/**
+ * What happened to the entity of an {@link EntityChangedEvent}.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
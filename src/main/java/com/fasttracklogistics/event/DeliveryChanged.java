@@ -0,0 +1,19 @@
+// src/main/java/com/fasttracklogistics/event/DeliveryChanged.java
+
+package com.fasttracklogistics.event;
+
+import com.fasttracklogistics.model.Delivery;
+
+/**
+ * Published after a Delivery row was inserted, updated or deleted.
+ */
+public class DeliveryChanged extends EntityChangedEvent<Delivery> {
+
+    public DeliveryChanged(ChangeType changeType, String deliveryId, Delivery delivery) {
+        super(changeType, deliveryId, delivery != null ? new Delivery(delivery) : null);
+    }
+
+    public DeliveryChanged(ChangeType changeType, Delivery delivery) {
+        this(changeType, delivery.getDeliveryId(), delivery);
+    }
+}
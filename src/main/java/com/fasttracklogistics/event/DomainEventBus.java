@@ -0,0 +1,125 @@
+// src/main/java/com/fasttracklogistics/event/DomainEventBus.java
+
+package com.fasttracklogistics.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * In-process, typed and asynchronous event bus.
+ * <p>
+ * The DAO layer publishes {@link ShipmentChanged}, {@link DeliveryChanged}, {@link PersonnelChanged} and
+ * {@link NotificationCreated} after each committed write; controllers subscribe to keep their panels in
+ * step with changes made from other tabs or background jobs. Events are delivered in publication order
+ * on a single background thread, so publishers never wait for subscribers and subscribers may query the
+ * database before moving their view updates to the Event Dispatch Thread. The publication time of the event
+ * being delivered is available to the storage layer (see {@link #getPublishedNanosOfCurrentEvent()}), so that a
+ * subscriber's reads see the write that led to the event even when it was made on another thread.
+ */
+public final class DomainEventBus {
+
+    private static final DomainEventBus INSTANCE = new DomainEventBus();
+
+    // System.nanoTime() at publication of the event being delivered on this thread, null between events
+    private static final ThreadLocal<Long> PUBLISHED_NANOS = new ThreadLocal<>();
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "domain-event-bus");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DomainEventBus() {
+    }
+
+    public static DomainEventBus getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * A subscriber and the event type it receives (including subclasses).
+     */
+    private static class Subscription<E> {
+        private final Class<E> eventType;
+        private final Consumer<? super E> subscriber;
+
+        Subscription(Class<E> eventType, Consumer<? super E> subscriber) {
+            this.eventType = eventType;
+            this.subscriber = subscriber;
+        }
+
+        void deliver(Object event) {
+            if (eventType.isInstance(event)) {
+                subscriber.accept(eventType.cast(event));
+            }
+        }
+    }
+
+    /**
+     * Registers a subscriber. It is called on the bus thread, never on the Event Dispatch Thread.
+     * @param eventType The event class to receive; subclasses are delivered as well.
+     * @param subscriber The callback.
+     * @param <E> The event type.
+     */
+    public <E> void subscribe(Class<E> eventType, Consumer<? super E> subscriber) {
+        subscriptions.add(new Subscription<>(eventType, subscriber));
+    }
+
+    /**
+     * Lets publishers skip building events (and reading the data they carry) that nobody receives.
+     * @param eventType The event class about to be published.
+     * @return true if at least one subscriber receives events of that class.
+     */
+    public boolean hasSubscribers(Class<?> eventType) {
+        for (Subscription<?> subscription : subscriptions) {
+            if (subscription.eventType.isAssignableFrom(eventType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues an event for delivery and returns immediately.
+     * @param event The event; must not be modified afterwards. The bundled event classes copy the entities
+     *              they are given, so publishers may keep changing their own objects.
+     */
+    public void publish(Object event) {
+        if (!hasSubscribers(event.getClass())) {
+            return;
+        }
+        long publishedNanos = System.nanoTime(); // Publishers publish right after their commit
+        dispatcher.execute(() -> dispatch(event, publishedNanos));
+    }
+
+    /**
+     * Lets the storage layer give subscribers read-your-writes across threads; e.g. ReplicaRouter keeps their
+     * reads on the primary database while a replica might not have the change yet.
+     * @return System.nanoTime() when the event being delivered on the calling thread was published, or null if
+     * the calling thread is not delivering an event.
+     */
+    public static Long getPublishedNanosOfCurrentEvent() {
+        return PUBLISHED_NANOS.get();
+    }
+
+    private void dispatch(Object event, long publishedNanos) {
+        PUBLISHED_NANOS.set(publishedNanos);
+        try {
+            for (Subscription<?> subscription : subscriptions) {
+                try {
+                    subscription.deliver(event);
+                } catch (RuntimeException e) {
+                    // One failing subscriber must not keep the others from seeing the event
+                    System.err.println("Error delivering " + event + ": " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            PUBLISHED_NANOS.remove();
+        }
+    }
+}
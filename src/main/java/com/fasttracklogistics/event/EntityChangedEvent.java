@@ -0,0 +1,50 @@
+// src/main/java/com/fasttracklogistics/event/EntityChangedEvent.java
+
+package com.fasttracklogistics.event;
+
+/**
+ * Base class of the events published by the DAO layer after a committed write to one entity.
+ * @param <T> The model class of the entity.
+ */
+public abstract class EntityChangedEvent<T> {
+
+    private final ChangeType changeType;
+    private final String id;
+    private final T entity;
+
+    protected EntityChangedEvent(ChangeType changeType, String id, T entity) {
+        this.changeType = changeType;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /**
+     * @return The ID of the entity that changed.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns a copy of the entity as it was written, taken when the event was created, so that the
+     * publisher can keep using its own object. For deletions this is its last state, or null if the DAO
+     * did not read it. Subscribers must treat it as read-only; it is shared with all other subscribers.
+     * @return The entity, or null.
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    public boolean isDeleted() {
+        return changeType == ChangeType.DELETED;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" + changeType + ", id='" + id + "'}";
+    }
+}
@@ -0,0 +1,51 @@
+// src/main/java/com/fasttracklogistics/event/NotificationCreated.java
+
+package com.fasttracklogistics.event;
+
+import com.fasttracklogistics.model.Notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published after one or more notifications were stored, once per insert statement or batch.
+ */
+public class NotificationCreated {
+
+    private final List<Notification> notifications;
+
+    public NotificationCreated(List<Notification> notifications) {
+        // Snapshots, so the bus thread never sees later changes the publisher makes (e.g. marking them sent)
+        List<Notification> copies = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            copies.add(new Notification(notification));
+        }
+        this.notifications = Collections.unmodifiableList(copies);
+    }
+
+    /**
+     * @return The stored notifications, with their generated IDs.
+     */
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+
+    /**
+     * @param recipientType The type of recipient (e.g., "CUSTOMER", "PERSONNEL").
+     * @return true if any of the notifications is for that recipient type.
+     */
+    public boolean hasRecipientType(String recipientType) {
+        for (Notification notification : notifications) {
+            if (recipientType.equals(notification.getRecipientType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationCreated{" + notifications.size() + " notifications}";
+    }
+}
@@ -0,0 +1,19 @@
+// src/main/java/com/fasttracklogistics/event/PersonnelChanged.java
+
+package com.fasttracklogistics.event;
+
+import com.fasttracklogistics.model.DeliveryPersonnel;
+
+/**
+ * Published after a DeliveryPersonnel row was inserted, updated or deleted.
+ */
+public class PersonnelChanged extends EntityChangedEvent<DeliveryPersonnel> {
+
+    public PersonnelChanged(ChangeType changeType, String personnelId, DeliveryPersonnel personnel) {
+        super(changeType, personnelId, personnel != null ? new DeliveryPersonnel(personnel) : null);
+    }
+
+    public PersonnelChanged(ChangeType changeType, DeliveryPersonnel personnel) {
+        this(changeType, personnel.getPersonnelId(), personnel);
+    }
+}
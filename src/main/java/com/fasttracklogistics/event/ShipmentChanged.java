@@ -0,0 +1,19 @@
+// src/main/java/com/fasttracklogistics/event/ShipmentChanged.java
+
+package com.fasttracklogistics.event;
+
+import com.fasttracklogistics.model.Shipment;
+
+/**
+ * Published after a Shipment row was inserted, updated or deleted.
+ */
+public class ShipmentChanged extends EntityChangedEvent<Shipment> {
+
+    public ShipmentChanged(ChangeType changeType, String shipmentId, Shipment shipment) {
+        super(changeType, shipmentId, shipment != null ? new Shipment(shipment) : null);
+    }
+
+    public ShipmentChanged(ChangeType changeType, Shipment shipment) {
+        this(changeType, shipment.getShipmentId(), shipment);
+    }
+}
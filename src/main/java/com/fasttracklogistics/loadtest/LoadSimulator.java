@@ -0,0 +1,278 @@
+// src/main/java/com/fasttracklogistics/loadtest/LoadSimulator.java
+
+package com.fasttracklogistics.loadtest;
+
+import com.fasttracklogistics.api.TrackingApiServer;
+import com.fasttracklogistics.dao.CoalescingNotificationDAO;
+import com.fasttracklogistics.dao.DatabaseConnection;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.dao.StorageBackends;
+import com.fasttracklogistics.metrics.LatencyHistogram;
+import com.fasttracklogistics.metrics.MetricsRegistry;
+import com.fasttracklogistics.service.EtaPredictionService;
+
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless end-to-end load test: seeds a production-sized data set, then replays a mix of desk
+ * operations (see SimulatedFlows) at a fixed target rate and reports throughput and latency percentiles.
+ * <p>
+ * Operations are started on their own virtual threads at evenly spaced intended start times, whether or
+ * not earlier ones have finished (an open workload, like desks that do not wait for each other). Latency
+ * is measured from the intended start, so time spent queueing behind a saturated database or connection
+ * pool is counted instead of hidden. Operations started during the warm-up are not counted.
+ * <p>
+ * Configure with system properties (defaults in brackets):
+ * <ul>
+ *     <li>fasttrack.load.shipments [500000], .personnel [2000], .deliveries [50000], .notifications [2000000] - data set size</li>
+ *     <li>fasttrack.load.skipSeed [false] - replay against an already seeded database</li>
+ *     <li>fasttrack.load.seed [42] - seed of the data set and of the operation sequence</li>
+ *     <li>fasttrack.load.rate [200] - target operations per second</li>
+ *     <li>fasttrack.load.warmupSeconds [10] and fasttrack.load.durationSeconds [60]</li>
+ *     <li>fasttrack.load.mix [schedule=10,assign=10,update=30,track=50] - relative weight of each operation</li>
+ *     <li>fasttrack.load.maxInFlight [1000] - operations running at once; further starts wait</li>
+ *     <li>fasttrack.db.poolSize [32] - pooled connections (MySQL storage)</li>
+ * </ul>
+ * Run against a test database (-Dfasttrack.db.url=...) or -Dfasttrack.storage=memory, never production.
+ */
+public class LoadSimulator {
+
+    public static final String SHIPMENTS_PROPERTY = "fasttrack.load.shipments";
+    public static final String PERSONNEL_PROPERTY = "fasttrack.load.personnel";
+    public static final String DELIVERIES_PROPERTY = "fasttrack.load.deliveries";
+    public static final String NOTIFICATIONS_PROPERTY = "fasttrack.load.notifications";
+    public static final String SKIP_SEED_PROPERTY = "fasttrack.load.skipSeed";
+    public static final String SEED_PROPERTY = "fasttrack.load.seed";
+    public static final String RATE_PROPERTY = "fasttrack.load.rate";
+    public static final String WARMUP_PROPERTY = "fasttrack.load.warmupSeconds";
+    public static final String DURATION_PROPERTY = "fasttrack.load.durationSeconds";
+    public static final String MIX_PROPERTY = "fasttrack.load.mix";
+    public static final String MAX_IN_FLIGHT_PROPERTY = "fasttrack.load.maxInFlight";
+    private static final String DEFAULT_MIX = "schedule=10,assign=10,update=30,track=50";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    /**
+     * Results of one operation type.
+     */
+    private static class OperationStats {
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final AtomicBoolean errorLogged = new AtomicBoolean();
+    }
+
+    private final SimulatedFlows flows;
+    private final WorkloadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<WorkloadOperation, OperationStats> stats = new EnumMap<>(WorkloadOperation.class);
+    private final LongAdder delayedStarts = new LongAdder(); // Starts that waited for a free in-flight slot
+    private long measuredNanos;
+
+    public LoadSimulator(SimulatedFlows flows, Map<WorkloadOperation, Integer> mix) {
+        this.flows = flows;
+        this.operations = WorkloadOperation.values();
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.getOrDefault(operations[i], 0);
+            cumulativeWeights[i] = total;
+            stats.put(operations[i], new OperationStats());
+        }
+    }
+
+    /**
+     * Replays the operation mix and waits for the last operation to finish.
+     * @param rate Target operations per second.
+     * @param warmupSeconds Seconds of load that are not counted.
+     * @param durationSeconds Seconds of load that are counted.
+     * @param maxInFlight Maximum number of operations running at once.
+     * @param seed Seed of the operation sequence and of each operation's input.
+     */
+    public void run(double rate, int warmupSeconds, int durationSeconds, int maxInFlight, long seed) throws InterruptedException {
+        long intervalNanos = (long) (1_000_000_000L / rate);
+        Random sequence = new Random(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        long nextProgress = start + TimeUnit.SECONDS.toNanos(10);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (intended >= nextProgress) {
+                    System.out.println("Started " + i + " operations in " + TimeUnit.NANOSECONDS.toSeconds(intended - start) + " s...");
+                    nextProgress += TimeUnit.SECONDS.toNanos(10);
+                }
+                WorkloadOperation operation = pickOperation(sequence);
+                long operationSeed = sequence.nextLong();
+                boolean measured = intended >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) {
+                        delayedStarts.increment();
+                    }
+                    inFlight.acquire(); // Backpressure; the wait counts toward the latency of this operation
+                }
+                executor.execute(() -> {
+                    try {
+                        execute(operation, new Random(operationSeed), intended, measured);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } // close() waits for the running operations
+        measuredNanos = end - measureFrom;
+    }
+
+    private void execute(WorkloadOperation operation, Random random, long intendedStart, boolean measured) {
+        OperationStats operationStats = stats.get(operation);
+        try {
+            boolean performed = flows.run(operation, random);
+            if (!measured) {
+                return;
+            }
+            if (performed) {
+                operationStats.latencies.record(System.nanoTime() - intendedStart);
+            } else {
+                operationStats.skipped.increment();
+            }
+        } catch (SQLException | RuntimeException ex) {
+            if (measured) {
+                operationStats.errors.increment();
+            }
+            if (operationStats.errorLogged.compareAndSet(false, true)) { // Log the first error of each operation only
+                System.err.println("Error in " + operation + " operation: " + ex.getMessage());
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private WorkloadOperation pickOperation(Random random) {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < operations.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Prints throughput and latency percentiles per operation and in total.
+     * @param rate The target rate, for comparison.
+     */
+    public void printReport(double rate) {
+        double seconds = measuredNanos / 1e9;
+        long total = 0;
+        long errors = 0;
+        long skipped = 0;
+        System.out.println();
+        System.out.printf("%-10s %9s %7s %8s %9s %9s %9s %9s %9s %9s %9s%n",
+                "Operation", "Count", "Errors", "Skipped", "Ops/s", "Mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms");
+        for (WorkloadOperation operation : operations) {
+            OperationStats operationStats = stats.get(operation);
+            printRow(operation.name(), operationStats.latencies, operationStats.errors.sum(), operationStats.skipped.sum(), seconds);
+            total += operationStats.latencies.getCount();
+            errors += operationStats.errors.sum();
+            skipped += operationStats.skipped.sum();
+        }
+        System.out.printf("Total: %d operations in %.0f s, %.1f ops/s (target %.1f), %d errors, %d skipped.%n",
+                total, seconds, total / seconds, rate, errors, skipped);
+        if (delayedStarts.sum() > 0) {
+            System.out.println(delayedStarts.sum() + " operations waited for a free slot: the system did not keep up "
+                    + "with the target rate, so the latencies include queueing.");
+        }
+    }
+
+    private static void printRow(String name, LatencyHistogram latencies, long errors, long skipped, double seconds) {
+        StringBuilder row = new StringBuilder(String.format("%-10s %9d %7d %8d %9.1f %9.2f",
+                name, latencies.getCount(), errors, skipped, latencies.getCount() / seconds, latencies.getMeanNanos() / 1e6));
+        for (double percentile : PERCENTILES) {
+            row.append(String.format(" %9.2f", latencies.getPercentileNanos(percentile) / 1e6));
+        }
+        row.append(String.format(" %9.2f", latencies.getMaxNanos() / 1e6));
+        System.out.println(row);
+    }
+
+    /**
+     * Seeds the storage selected with -Dfasttrack.storage (unless skipped), runs the load and prints the report.
+     * Started with {@code --load-test} (see FastTrackLogisticsApp.main) or directly as a main class.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long seed = Long.getLong(SEED_PROPERTY, 42);
+        double rate = Double.parseDouble(System.getProperty(RATE_PROPERTY, "200"));
+        Map<WorkloadOperation, Integer> mix = WorkloadOperation.parseMix(System.getProperty(MIX_PROPERTY, DEFAULT_MIX));
+
+        StorageBackend storage = StorageBackends.create();
+        if (storage.isShared()) {
+            try {
+                DatabaseConnection.enablePooling(Integer.getInteger(TrackingApiServer.POOL_SIZE_PROPERTY, 32));
+            } catch (SQLException ex) {
+                System.err.println("Error enabling connection pooling: " + ex.getMessage());
+                ex.printStackTrace();
+                return;
+            }
+        }
+        storage.initialize();
+
+        WorkloadGenerator workload = new WorkloadGenerator(storage.getShipmentDAO(), storage.getDeliveryDAO(),
+                storage.getPersonnelDAO(), storage.getNotificationDAO(), seed);
+        try {
+            if (Boolean.getBoolean(SKIP_SEED_PROPERTY)) {
+                workload.loadExisting();
+            } else {
+                workload.seed(Integer.getInteger(SHIPMENTS_PROPERTY, 500_000), Integer.getInteger(PERSONNEL_PROPERTY, 2_000),
+                        Integer.getInteger(DELIVERIES_PROPERTY, 50_000), Integer.getInteger(NOTIFICATIONS_PROPERTY, 2_000_000));
+            }
+        } catch (SQLException ex) {
+            System.err.println("Error seeding the load test data: " + ex.getMessage());
+            ex.printStackTrace();
+            storage.close();
+            return;
+        }
+
+        MetricsRegistry.getInstance().reset(); // Keeps the seeding out of the per-call breakdown
+
+        // The services the desks run alongside the flows
+        EtaPredictionService etaPredictionService = new EtaPredictionService(storage.getDeliveryDAO());
+        etaPredictionService.start();
+        CoalescingNotificationDAO notificationDAO = new CoalescingNotificationDAO(storage.getNotificationDAO());
+        notificationDAO.start();
+
+        SimulatedFlows flows = new SimulatedFlows(storage.getShipmentDAO(), storage.getDeliveryDAO(), storage.getPersonnelDAO(),
+                notificationDAO, etaPredictionService, workload);
+        LoadSimulator simulator = new LoadSimulator(flows, mix);
+        int warmupSeconds = Integer.getInteger(WARMUP_PROPERTY, 10);
+        int durationSeconds = Integer.getInteger(DURATION_PROPERTY, 60);
+        System.out.printf("Running %s at %.1f ops/s for %d s (+%d s warm-up)...%n", mix, rate, durationSeconds, warmupSeconds);
+        try {
+            simulator.run(rate, warmupSeconds, durationSeconds, Integer.getInteger(MAX_IN_FLIGHT_PROPERTY, 1000), seed);
+        } finally {
+            notificationDAO.stop(); // Writes the notifications still being coalesced
+            etaPredictionService.stop();
+        }
+        simulator.printReport(rate);
+        System.out.println();
+        System.out.println("Per-call breakdown (seeding excluded, warm-up included):");
+        System.out.print(MetricsRegistry.getInstance().toText());
+        storage.close();
+    }
+}
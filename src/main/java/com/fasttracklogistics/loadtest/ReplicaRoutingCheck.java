@@ -0,0 +1,143 @@
+// src/main/java/com/fasttracklogistics/loadtest/ReplicaRoutingCheck.java
+
+package com.fasttracklogistics.loadtest;
+
+import com.fasttracklogistics.dao.DatabaseConnection;
+import com.fasttracklogistics.dao.JdbcStorageBackend;
+import com.fasttracklogistics.dao.ReplicaRouter;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.metrics.MetricsRegistry;
+import com.fasttracklogistics.model.Shipment;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks read/write routing against a primary and a read replica, e.g. the pair in docker/replication:
+ * <pre>
+ *   docker compose -f docker/replication/docker-compose.yml up -d
+ *   java -Dfasttrack.db.url=jdbc:mysql://localhost:3306/fasttrack_db?useSSL=false&amp;allowPublicKeyRetrieval=true
+ *        -Dfasttrack.db.replicaUrls=jdbc:mysql://localhost:3307/fasttrack_db?useSSL=false&amp;allowPublicKeyRetrieval=true
+ *        -Dfasttrack.db.password=... com.fasttracklogistics.loadtest.ReplicaRoutingCheck
+ * </pre>
+ * Inserts a shipment and reads it back on the writing thread and on another thread (both must come from the
+ * primary, see ReplicaRouter), then, once the read-your-writes window has passed, reads it on another thread
+ * until the replica has it (must come from the replica), and deletes it again. Exits with 0 if all checks pass,
+ * 1 otherwise.
+ */
+public class ReplicaRoutingCheck {
+
+    private static final long REPLICA_WAIT_SECONDS = 30;
+    private static final long POLL_MILLIS = 20;
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+    private static final LongAdder REPLICA_READS = REGISTRY.counter("db.reads.replica");
+    private static final LongAdder PRIMARY_READS_AFTER_WRITE = REGISTRY.counter("db.reads.primaryAfterWrite");
+
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        ReplicaRouter router = DatabaseConnection.getReplicaRouter();
+        if (router == null) {
+            System.err.println("No read replicas configured; set -D" + ReplicaRouter.REPLICA_URLS_PROPERTY + "=<jdbc url>,...");
+            System.exit(2);
+        }
+        DatabaseConnection.enablePooling(4);
+        JdbcStorageBackend backend = new JdbcStorageBackend();
+        backend.initialize();
+        ShipmentDAO shipmentDAO = backend.getShipmentDAO();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(REPLICA_WAIT_SECONDS);
+        while (router.getUsableCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        check(router.getUsableCount() > 0, "a replica is usable");
+
+        Shipment shipment = new Shipment();
+        shipment.setSenderName("Replica Check");
+        shipment.setSenderAddress("1 Primary Street");
+        shipment.setReceiverName("Replica Check");
+        shipment.setReceiverAddress("2 Replica Road");
+        String trackingNumber = null;
+        try {
+            check(shipmentDAO.insertShipment(shipment), "the shipment is inserted");
+            trackingNumber = shipment.getTrackingNumber();
+
+            // Read-your-writes: the writing thread reads from the primary
+            long replicaReadsBefore = REPLICA_READS.sum();
+            long stickyReadsBefore = PRIMARY_READS_AFTER_WRITE.sum();
+            check(shipmentDAO.findShipmentByTrackingNumber(trackingNumber) != null, "the writing thread sees its insert");
+            check(REPLICA_READS.sum() == replicaReadsBefore && PRIMARY_READS_AFTER_WRITE.sum() == stickyReadsBefore + 1,
+                    "the writing thread read from the primary");
+
+            // ... and so does any other thread, e.g. the EDT refreshing after a worker thread saved
+            String lookup = trackingNumber;
+            AtomicReference<Shipment> otherThreadRead = new AtomicReference<>();
+            Thread refresher = new Thread(() -> {
+                try {
+                    otherThreadRead.set(shipmentDAO.findShipmentByTrackingNumber(lookup));
+                } catch (SQLException e) {
+                    System.err.println("Reading on another thread failed: " + e.getMessage());
+                }
+            }, "refresher");
+            refresher.start();
+            refresher.join();
+            check(otherThreadRead.get() != null && REPLICA_READS.sum() == replicaReadsBefore
+                    && PRIMARY_READS_AFTER_WRITE.sum() == stickyReadsBefore + 2, "another thread sees the insert on the primary");
+
+            // Once no write is recent, reads go to the replica, which has the row once it has caught up
+            Thread.sleep(router.getMaxStalenessMillis());
+            AtomicReference<String> result = new AtomicReference<>();
+            Thread reader = new Thread(() -> result.set(pollReplica(shipmentDAO, lookup)), "replica-reader");
+            reader.start();
+            reader.join();
+            check(result.get() == null, result.get() != null ? result.get() : "reads go to the replica once the write is not recent");
+        } finally {
+            if (shipment.getShipmentId() != null) {
+                shipmentDAO.deleteShipment(shipment.getShipmentId());
+            }
+            backend.close();
+        }
+        System.out.println(failures == 0 ? "PASS" : "FAIL (" + failures + " checks failed)");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * @return null once the shipment was read from a replica, otherwise what went wrong.
+     */
+    private static String pollReplica(ShipmentDAO shipmentDAO, String trackingNumber) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(REPLICA_WAIT_SECONDS);
+        try {
+            while (System.nanoTime() < deadline) {
+                long replicaReadsBefore = REPLICA_READS.sum();
+                Shipment found = shipmentDAO.findShipmentByTrackingNumber(trackingNumber);
+                boolean fromReplica = REPLICA_READS.sum() > replicaReadsBefore;
+                if (!fromReplica) {
+                    return "another thread read from the primary although a replica was usable";
+                }
+                if (found != null) {
+                    System.out.printf("Shipment visible on the replica after %d ms%n",
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return null;
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            return "the replica did not get the shipment within " + REPLICA_WAIT_SECONDS + " s";
+        } catch (SQLException e) {
+            return "reading from the replica failed: " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    private static void check(boolean passed, String description) {
+        System.out.println((passed ? "ok      " : "FAILED  ") + description);
+        if (!passed) {
+            failures++;
+        }
+    }
+}
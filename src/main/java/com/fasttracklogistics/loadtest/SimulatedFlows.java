@@ -0,0 +1,284 @@
+// src/main/java/com/fasttracklogistics/loadtest/SimulatedFlows.java
+
+package com.fasttracklogistics.loadtest;
+
+import com.fasttracklogistics.dao.DeliveryDAO;
+import com.fasttracklogistics.dao.DeliveryPersonnelDAO;
+import com.fasttracklogistics.dao.NotificationDAO;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.NotificationMessage;
+import com.fasttracklogistics.model.NotificationTemplate;
+import com.fasttracklogistics.model.Shipment;
+import com.fasttracklogistics.service.EtaPredictionService;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * The controller flows without their Swing views: the same DAO calls in the same order, with the
+ * form input chosen at random instead of typed in. Kept in step with ScheduleDeliveryController,
+ * AssignDriversController and TrackShipmentsController by hand; if a flow there changes its reads
+ * or writes, change it here too. Safe to call from many threads at once.
+ */
+public class SimulatedFlows {
+
+    // Next status of an open delivery in the update flow
+    private static final List<String> STATUS_PROGRESSION = List.of("Scheduled", "Assigned", "Picked Up", "En Route", "Delivered");
+
+    private final ShipmentDAO shipmentDAO;
+    private final DeliveryDAO deliveryDAO;
+    private final DeliveryPersonnelDAO personnelDAO;
+    private final NotificationDAO notificationDAO;
+    private final EtaPredictionService etaPredictionService;
+    private final WorkloadGenerator workload;
+
+    /**
+     * @param notificationDAO Where notifications go; the desks store them through a CoalescingNotificationDAO.
+     */
+    public SimulatedFlows(ShipmentDAO shipmentDAO, DeliveryDAO deliveryDAO, DeliveryPersonnelDAO personnelDAO,
+                          NotificationDAO notificationDAO, EtaPredictionService etaPredictionService, WorkloadGenerator workload) {
+        this.shipmentDAO = shipmentDAO;
+        this.deliveryDAO = deliveryDAO;
+        this.personnelDAO = personnelDAO;
+        this.notificationDAO = notificationDAO;
+        this.etaPredictionService = etaPredictionService;
+        this.workload = workload;
+    }
+
+    /**
+     * Runs one operation.
+     * @param operation The flow to run.
+     * @param random Source of the simulated form input.
+     * @return false if there was nothing to work on (e.g. no unscheduled shipments left), true otherwise.
+     * @throws SQLException If a database access error occurs.
+     */
+    public boolean run(WorkloadOperation operation, Random random) throws SQLException {
+        switch (operation) {
+            case SCHEDULE:
+                return schedule(random);
+            case ASSIGN:
+                return assign(random);
+            case UPDATE:
+                return update(random);
+            case TRACK:
+                return track(random);
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    /**
+     * ScheduleDeliveryController.addDelivery with a blank ETA; a third of the deliveries are
+     * scheduled without a driver and left for the assign flow.
+     */
+    private boolean schedule(Random random) throws SQLException {
+        String shipmentId = workload.getUnscheduledShipmentIds().poll();
+        if (shipmentId == null) {
+            return false;
+        }
+        DeliveryPersonnel selectedPersonnel = random.nextInt(3) == 0 ? null : pickPersonnel(random);
+        LocalDate scheduledDate = LocalDate.now().plusDays(random.nextInt(3));
+        String timeSlot = WorkloadGenerator.TIME_SLOTS[random.nextInt(WorkloadGenerator.TIME_SLOTS.length)];
+
+        Shipment shipment = shipmentDAO.findShipmentById(shipmentId);
+        if (shipment == null) {
+            return false;
+        }
+        LocalDateTime estimatedArrivalTime = etaPredictionService.predictEta(shipment,
+                selectedPersonnel != null ? selectedPersonnel.getPersonnelId() : null, scheduledDate, timeSlot, LocalDateTime.now());
+
+        Delivery newDelivery = new Delivery();
+        newDelivery.setDeliveryId("DEL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        newDelivery.setShipmentId(shipmentId);
+        if (selectedPersonnel != null) {
+            newDelivery.setPersonnelId(selectedPersonnel.getPersonnelId());
+        }
+        newDelivery.setScheduledDate(scheduledDate);
+        newDelivery.setScheduledTimeSlot(timeSlot);
+        newDelivery.setEstimatedArrivalTime(estimatedArrivalTime);
+        newDelivery.setDeliveryStatus("Scheduled");
+
+        if (!deliveryDAO.insertDelivery(newDelivery)) {
+            return true;
+        }
+        workload.getDeliveryIds().add(newDelivery.getDeliveryId());
+
+        shipment = shipmentDAO.findShipmentById(shipmentId);
+        if (shipment != null) {
+            if (selectedPersonnel != null) {
+                shipment.setCurrentStatus("Assigned");
+                selectedPersonnel.setAvailabilityStatus("On Route");
+                personnelDAO.updatePersonnel(selectedPersonnel);
+            } else {
+                shipment.setCurrentStatus("Scheduled");
+                workload.getUnassignedShipmentIds().add(shipmentId);
+            }
+            shipmentDAO.updateShipment(shipment);
+
+            sendCustomerNotification(shipment.getShipmentId(), NotificationTemplate.DELIVERY_SCHEDULED_CUSTOMER.with(
+                    shipment.getReceiverName(), shipment.getTrackingNumber(), newDelivery.getScheduledDate(),
+                    newDelivery.getScheduledTimeSlot(), newDelivery.getEstimatedArrivalTime(), newDelivery.getDeliveryStatus()));
+            if (selectedPersonnel != null) {
+                sendPersonnelNotification(selectedPersonnel.getPersonnelId(), shipment.getShipmentId(),
+                        NotificationTemplate.DELIVERY_SCHEDULED_PERSONNEL.with(shipment.getTrackingNumber(),
+                                shipment.getReceiverAddress(), newDelivery.getScheduledDate(),
+                                newDelivery.getScheduledTimeSlot(), newDelivery.getEstimatedArrivalTime()),
+                        shipment.isUrgent());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * AssignDriversController.assignDriver, for a scheduled shipment without a driver or, when there
+     * is none, an unscheduled one (which gets a new delivery).
+     */
+    private boolean assign(Random random) throws SQLException {
+        Queue<String> source = workload.getUnassignedShipmentIds();
+        String shipmentId = source.poll();
+        if (shipmentId == null) {
+            source = workload.getUnscheduledShipmentIds();
+            shipmentId = source.poll();
+        }
+        if (shipmentId == null) {
+            return false;
+        }
+        Shipment shipmentToAssign = shipmentDAO.findShipmentById(shipmentId);
+        DeliveryPersonnel personnelToAssign = personnelDAO.findPersonnelById(pickPersonnelId(random));
+        if (shipmentToAssign == null || personnelToAssign == null) {
+            return false;
+        }
+
+        Delivery newDelivery = new Delivery();
+        newDelivery.setDeliveryId("DEL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        newDelivery.setShipmentId(shipmentToAssign.getShipmentId());
+        newDelivery.setPersonnelId(personnelToAssign.getPersonnelId());
+        newDelivery.setScheduledDate(LocalDate.now());
+        newDelivery.setScheduledTimeSlot("Any Time");
+        newDelivery.setDeliveryStatus("Assigned");
+        newDelivery.setEstimatedArrivalTime(etaPredictionService.predictEta(shipmentToAssign,
+                personnelToAssign.getPersonnelId(), newDelivery.getScheduledDate(),
+                newDelivery.getScheduledTimeSlot(), LocalDateTime.now()));
+        Delivery assignedDelivery = deliveryDAO.assignDelivery(newDelivery, "On Route", "Assigned");
+        if (assignedDelivery == null) {
+            source.add(shipmentId); // The picked driver is busy; the shipment stays up for assignment
+            return false;
+        }
+        if (assignedDelivery.getDeliveryId().equals(newDelivery.getDeliveryId())) {
+            workload.getDeliveryIds().add(newDelivery.getDeliveryId());
+        }
+        LocalDateTime estimatedArrival = assignedDelivery.getEstimatedArrivalTime();
+
+        shipmentToAssign.setCurrentStatus("Assigned"); // As stored by assignDelivery
+
+        sendCustomerNotification(shipmentToAssign.getShipmentId(), NotificationTemplate.DRIVER_ASSIGNED_CUSTOMER.with(
+                shipmentToAssign.getReceiverName(), shipmentToAssign.getTrackingNumber(), personnelToAssign.getName(),
+                shipmentToAssign.getCurrentStatus(), estimatedArrival));
+        sendPersonnelNotification(personnelToAssign.getPersonnelId(), shipmentToAssign.getShipmentId(),
+                NotificationTemplate.DRIVER_ASSIGNED_PERSONNEL.with(shipmentToAssign.getShipmentId(),
+                        shipmentToAssign.getTrackingNumber(), shipmentToAssign.getReceiverName(),
+                        shipmentToAssign.getReceiverAddress(), shipmentToAssign.getCurrentStatus()),
+                shipmentToAssign.isUrgent());
+        return true;
+    }
+
+    /**
+     * ScheduleDeliveryController.updateDelivery, moving a delivery to its next status and keeping
+     * its driver. Finished deliveries are re-saved unchanged, as when a desk saves without edits.
+     */
+    private boolean update(Random random) throws SQLException {
+        String deliveryId = workload.getDeliveryIds().pick(random);
+        if (deliveryId == null) {
+            return false;
+        }
+        Delivery existingDelivery = deliveryDAO.findDeliveryById(deliveryId);
+        if (existingDelivery == null) {
+            return false;
+        }
+        Shipment associatedShipment = shipmentDAO.findShipmentById(existingDelivery.getShipmentId());
+        if (existingDelivery.getPersonnelId() != null && !existingDelivery.getPersonnelId().isEmpty()) {
+            personnelDAO.findPersonnelById(existingDelivery.getPersonnelId());
+        }
+
+        String oldStatus = existingDelivery.getDeliveryStatus();
+        int position = STATUS_PROGRESSION.indexOf(oldStatus);
+        String newStatus = position >= 0 && position < STATUS_PROGRESSION.size() - 1
+                ? STATUS_PROGRESSION.get(position + 1) : oldStatus;
+        if ("Delivered".equals(newStatus) && existingDelivery.getActualDeliveryDate() == null) {
+            existingDelivery.setActualDeliveryDate(LocalDateTime.now());
+        }
+        existingDelivery.setDeliveryStatus(newStatus);
+
+        if (deliveryDAO.updateDelivery(existingDelivery) && associatedShipment != null && !oldStatus.equals(newStatus)) {
+            associatedShipment.setCurrentStatus(newStatus);
+            shipmentDAO.updateShipment(associatedShipment);
+            sendCustomerNotification(associatedShipment.getShipmentId(), NotificationTemplate.DELIVERY_STATUS_CHANGED.with(
+                    associatedShipment.getReceiverName(), associatedShipment.getTrackingNumber(), newStatus,
+                    associatedShipment.getCurrentLocation()));
+        }
+        return true;
+    }
+
+    /**
+     * TrackShipmentsController.trackShipment.
+     */
+    private boolean track(Random random) throws SQLException {
+        String trackingNumber = workload.getTrackingNumbers().pick(random);
+        if (trackingNumber == null) {
+            return false;
+        }
+        Shipment shipment = shipmentDAO.findShipmentByTrackingNumber(trackingNumber);
+        if (shipment != null) {
+            Delivery delivery = deliveryDAO.findDeliveryByShipmentId(shipment.getShipmentId());
+            if (delivery != null && delivery.getPersonnelId() != null && !delivery.getPersonnelId().isEmpty()) {
+                personnelDAO.findPersonnelById(delivery.getPersonnelId());
+            }
+        }
+        return true;
+    }
+
+    private String pickPersonnelId(Random random) {
+        List<String> personnelIds = workload.getPersonnelIds();
+        return personnelIds.get(random.nextInt(personnelIds.size()));
+    }
+
+    /**
+     * The schedule form picks from personnel loaded when the panel was refreshed; a fresh read stands in for that.
+     */
+    private DeliveryPersonnel pickPersonnel(Random random) throws SQLException {
+        return personnelDAO.findPersonnelById(pickPersonnelId(random));
+    }
+
+    // As NotificationController.createCustomerNotification / createPersonnelNotification
+    private void sendCustomerNotification(String shipmentId, NotificationMessage message) throws SQLException {
+        Notification notification = new Notification();
+        notification.setRecipientType("CUSTOMER");
+        notification.setRecipientId(shipmentId);
+        notification.setShipmentId(shipmentId);
+        notification.setMessage(message);
+        notification.setTimestamp(LocalDateTime.now());
+        notification.setStatus("SENT");
+        notificationDAO.insertNotification(notification);
+    }
+
+    private void sendPersonnelNotification(String personnelId, String shipmentId, NotificationMessage message,
+                                           boolean isUrgent) throws SQLException {
+        Notification notification = new Notification();
+        notification.setRecipientType("PERSONNEL");
+        notification.setRecipientId(personnelId);
+        notification.setShipmentId(shipmentId);
+        notification.setMessage(message);
+        notification.setTimestamp(LocalDateTime.now());
+        notification.setStatus("SENT");
+        notification.setUrgent(isUrgent);
+        notificationDAO.insertNotification(notification);
+    }
+}
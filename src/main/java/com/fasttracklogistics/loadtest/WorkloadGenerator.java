@@ -0,0 +1,326 @@
+// src/main/java/com/fasttracklogistics/loadtest/WorkloadGenerator.java
+
+package com.fasttracklogistics.loadtest;
+
+import com.fasttracklogistics.dao.DeliveryDAO;
+import com.fasttracklogistics.dao.DeliveryPersonnelDAO;
+import com.fasttracklogistics.dao.NotificationDAO;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.NotificationTemplate;
+import com.fasttracklogistics.model.Shipment;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Bulk-seeds realistic shipments, personnel, deliveries and notifications through the DAO interfaces,
+ * and keeps the IDs the simulated flows pick from.
+ * <p>
+ * All data is derived from one seed, so two runs with the same settings produce the same rows. Seeded
+ * IDs have an "LT" marker (e.g. SHP-LT0000001) that can never clash with the hex IDs the controllers
+ * generate, and the load test rows can be told apart from real ones.
+ */
+public class WorkloadGenerator {
+
+    static final String[] CITIES = {"Colombo", "Kandy", "Galle", "Jaffna", "Negombo", "Matara", "Kurunegala",
+            "Anuradhapura", "Trincomalee", "Batticaloa", "Ratnapura", "Badulla"};
+    private static final String[] FIRST_NAMES = {"Nimal", "Kamal", "Sunil", "Anura", "Chaminda", "Dilani", "Ishara",
+            "Malini", "Ruwan", "Saman", "Tharindu", "Upeksha", "Kasun", "Nadeesha", "Priyantha", "Sanduni"};
+    private static final String[] LAST_NAMES = {"Perera", "Fernando", "Silva", "Jayasinghe", "Bandara", "Wickramasinghe",
+            "Rathnayake", "Gunawardena", "Herath", "Kumara", "Dissanayake", "Senanayake"};
+    private static final String[] PACKAGE_TYPES = {"Document", "Small Parcel", "Medium Parcel", "Large Parcel", "Fragile"};
+    private static final String[] CONTENTS = {"Documents", "Clothing", "Electronics", "Books", "Spare parts", "Medicine", "Gifts"};
+    private static final String[] VEHICLE_TYPES = {"Motorbike", "Van", "Truck"};
+    static final String[] TIME_SLOTS = {"08:00-12:00", "12:00-16:00", "16:00-20:00", "Any Time"};
+
+    private static final int SHIPMENT_BATCH_SIZE = 1000;
+    private static final int NOTIFICATION_BATCH_SIZE = 1000;
+    private static final int HISTORY_DAYS = 90; // Shipments and notifications are spread over this period
+    private static final int DELIVERY_DAYS = 7;  // Deliveries are scheduled over the last week and today
+
+    private final ShipmentDAO shipmentDAO;
+    private final DeliveryDAO deliveryDAO;
+    private final DeliveryPersonnelDAO personnelDAO;
+    private final NotificationDAO notificationDAO;
+    private final Random random;
+
+    // Picked from by the simulated flows
+    private final List<String> personnelIds = new ArrayList<>();
+    private final IdPool trackingNumbers = new IdPool();
+    private final IdPool deliveryIds = new IdPool();
+    private final Queue<String> unscheduledShipmentIds = new ConcurrentLinkedQueue<>();
+    private final Queue<String> unassignedShipmentIds = new ConcurrentLinkedQueue<>();
+
+    public WorkloadGenerator(ShipmentDAO shipmentDAO, DeliveryDAO deliveryDAO, DeliveryPersonnelDAO personnelDAO,
+                             NotificationDAO notificationDAO, long seed) {
+        this.shipmentDAO = shipmentDAO;
+        this.deliveryDAO = deliveryDAO;
+        this.personnelDAO = personnelDAO;
+        this.notificationDAO = notificationDAO;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Seeds the data set. Deliveries go to the first shipments; the rest are left unscheduled for the
+     * schedule and assign flows.
+     * @param shipments Number of shipments.
+     * @param personnel Number of delivery personnel.
+     * @param deliveries Number of deliveries (at most one per shipment).
+     * @param notifications Number of notifications, split between customers and personnel.
+     * @throws SQLException If a database access error occurs.
+     */
+    public void seed(int shipments, int personnel, int deliveries, int notifications) throws SQLException {
+        if (personnel < 1 || deliveries > shipments) {
+            throw new IllegalArgumentException("Need at least one driver and no more deliveries than shipments.");
+        }
+        long start = System.nanoTime();
+        seedPersonnel(personnel);
+        seedShipmentsAndDeliveries(shipments, deliveries);
+        seedNotifications(notifications, shipments);
+        System.out.printf("Seeded %d shipments, %d personnel, %d deliveries and %d notifications in %d s.%n",
+                shipments, personnel, deliveries, notifications, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    private void seedPersonnel(int count) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            DeliveryPersonnel member = new DeliveryPersonnel();
+            member.setPersonnelId(String.format("PER-LT%06d", i));
+            member.setEmployeeId(String.format("LT%06d", i));
+            member.setName(pick(FIRST_NAMES) + " " + pick(LAST_NAMES));
+            member.setContactNumber(String.format("07%08d", random.nextInt(100_000_000)));
+            member.setEmail("driver" + i + "@fasttrack.example");
+            member.setVehicleType(pick(VEHICLE_TYPES));
+            member.setLicenseNumber(String.format("B%07d", i));
+            member.setAvailabilityStatus(random.nextInt(4) == 0 ? "On Route" : "Available");
+            personnelDAO.insertPersonnel(member);
+            personnelIds.add(member.getPersonnelId());
+        }
+        System.out.println("Seeded " + count + " personnel.");
+    }
+
+    private void seedShipmentsAndDeliveries(int shipmentCount, int deliveryCount) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Shipment> shipments = new ArrayList<>(SHIPMENT_BATCH_SIZE);
+        List<Delivery> deliveries = new ArrayList<>(SHIPMENT_BATCH_SIZE);
+        for (int i = 0; i < shipmentCount; i++) {
+            Shipment shipment = newShipment(i, now);
+            if (i < deliveryCount) {
+                Delivery delivery = newDelivery(i, shipment, now);
+                shipment.setCurrentStatus(delivery.getDeliveryStatus());
+                deliveries.add(delivery);
+            }
+            shipments.add(shipment);
+            trackingNumbers.add(shipment.getTrackingNumber());
+
+            if (shipments.size() == SHIPMENT_BATCH_SIZE || i == shipmentCount - 1) {
+                shipmentDAO.insertShipments(shipments);
+                for (Delivery delivery : deliveries) { // Deliveries reference their shipments, so they go second
+                    deliveryDAO.insertDelivery(delivery);
+                    deliveryIds.add(delivery.getDeliveryId());
+                    if (delivery.getPersonnelId() == null && "Scheduled".equals(delivery.getDeliveryStatus())) {
+                        unassignedShipmentIds.add(delivery.getShipmentId());
+                    }
+                }
+                for (Shipment s : shipments) {
+                    if ("Pending".equals(s.getCurrentStatus())) {
+                        unscheduledShipmentIds.add(s.getShipmentId());
+                    }
+                }
+                shipments.clear();
+                deliveries.clear();
+                if ((i + 1) % 50_000 == 0) {
+                    System.out.println("Seeded " + (i + 1) + " of " + shipmentCount + " shipments...");
+                }
+            }
+        }
+    }
+
+    private Shipment newShipment(int index, LocalDateTime now) {
+        String from = pick(CITIES);
+        String to = pick(CITIES);
+        Shipment shipment = new Shipment();
+        shipment.setShipmentId(shipmentId(index));
+        shipment.setTrackingNumber(trackingNumber(index));
+        shipment.setSenderName(pick(FIRST_NAMES) + " " + pick(LAST_NAMES));
+        shipment.setSenderAddress((1 + random.nextInt(300)) + " Main Street, " + from);
+        shipment.setSenderContact(String.format("07%08d", random.nextInt(100_000_000)));
+        shipment.setReceiverName(pick(FIRST_NAMES) + " " + pick(LAST_NAMES));
+        shipment.setReceiverAddress((1 + random.nextInt(300)) + " Temple Road, " + to);
+        shipment.setReceiverContact(String.format("07%08d", random.nextInt(100_000_000)));
+        shipment.setPackageContents(pick(CONTENTS));
+        shipment.setPackageType(pick(PACKAGE_TYPES));
+        shipment.setWeightKg(Math.round((0.1 + random.nextDouble() * 30) * 100) / 100.0);
+        shipment.setDimensionsCm((10 + random.nextInt(90)) + "x" + (10 + random.nextInt(60)) + "x" + (5 + random.nextInt(40)));
+        shipment.setCurrentLocation(from);
+        shipment.setRoute(from + " - " + to);
+        shipment.setCurrentStatus("Pending");
+        shipment.setUrgent(random.nextInt(20) == 0);
+        shipment.setCreatedAt(now.minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60)));
+        return shipment;
+    }
+
+    private Delivery newDelivery(int index, Shipment shipment, LocalDateTime now) {
+        LocalDate scheduledDate = now.toLocalDate().minusDays(random.nextInt(DELIVERY_DAYS + 1));
+        String timeSlot = pick(TIME_SLOTS);
+        LocalDateTime eta = scheduledDate.atTime(9 + random.nextInt(10), random.nextInt(60));
+
+        Delivery delivery = new Delivery();
+        delivery.setDeliveryId(String.format("DEL-LT%07d", index));
+        delivery.setShipmentId(shipment.getShipmentId());
+        delivery.setScheduledDate(scheduledDate);
+        delivery.setScheduledTimeSlot(timeSlot);
+        delivery.setEstimatedArrivalTime(eta);
+        if (scheduledDate.isBefore(now.toLocalDate())) {
+            // Past days are mostly done: 90% delivered (a third of them late), the rest cancelled
+            if (random.nextInt(10) < 9) {
+                int minutesLate = random.nextInt(3) == 0 ? 1 + random.nextInt(240) : -random.nextInt(60);
+                delivery.setDeliveryStatus("Delivered");
+                delivery.setActualDeliveryDate(eta.plusMinutes(minutesLate));
+                if (minutesLate > 0 && random.nextBoolean()) {
+                    delivery.setDelayReason("Traffic");
+                }
+            } else {
+                delivery.setDeliveryStatus("Cancelled");
+            }
+            delivery.setPersonnelId(pickPersonnelId());
+        } else {
+            // Today's deliveries are in progress; a fifth still wait for a driver
+            if (random.nextInt(5) == 0) {
+                delivery.setDeliveryStatus("Scheduled");
+            } else {
+                delivery.setDeliveryStatus(pick(new String[]{"Assigned", "Picked Up", "En Route"}));
+                delivery.setPersonnelId(pickPersonnelId());
+            }
+        }
+        return delivery;
+    }
+
+    private void seedNotifications(int count, int shipmentCount) throws SQLException {
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = new ArrayList<>(NOTIFICATION_BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            int shipmentIndex = random.nextInt(shipmentCount);
+            Notification notification = new Notification();
+            notification.setNotificationId(String.format("NOT-LT%09d", i));
+            notification.setShipmentId(shipmentId(shipmentIndex));
+            if (random.nextInt(10) < 7) {
+                notification.setRecipientType("CUSTOMER");
+                notification.setRecipientId(shipmentId(shipmentIndex));
+                notification.setMessage(NotificationTemplate.DELIVERY_STATUS_CHANGED.with(
+                        pick(FIRST_NAMES), trackingNumber(shipmentIndex), pick(new String[]{"Assigned", "Picked Up", "En Route", "Delivered"}),
+                        pick(CITIES)));
+                notification.setStatus("SENT");
+            } else {
+                notification.setRecipientType("PERSONNEL");
+                notification.setRecipientId(pickPersonnelId());
+                notification.setMessage(NotificationTemplate.DRIVER_ASSIGNED_PERSONNEL.with(
+                        shipmentId(shipmentIndex), trackingNumber(shipmentIndex), pick(FIRST_NAMES), pick(CITIES), "Assigned"));
+                notification.setStatus("SENT");
+                notification.setUrgent(random.nextInt(20) == 0);
+            }
+            notification.setTimestamp(now.minusSeconds(random.nextInt(HISTORY_DAYS * 24 * 60 * 60)));
+            notification.setRead(random.nextInt(10) < 8);
+            batch.add(notification);
+
+            if (batch.size() == NOTIFICATION_BATCH_SIZE || i == count - 1) {
+                notificationDAO.insertNotifications(batch);
+                batch.clear();
+                if ((i + 1) % 200_000 == 0) {
+                    System.out.println("Seeded " + (i + 1) + " of " + count + " notifications...");
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks the seeded shipments and deliveries out of an already seeded database, so a run can replay
+     * against it without seeding again.
+     * @throws SQLException If a database access error occurs.
+     */
+    public void loadExisting() throws SQLException {
+        for (DeliveryPersonnel member : personnelDAO.findAllPersonnel()) {
+            personnelIds.add(member.getPersonnelId());
+        }
+        for (Shipment shipment : shipmentDAO.findAllShipments()) {
+            trackingNumbers.add(shipment.getTrackingNumber());
+        }
+        for (Shipment shipment : shipmentDAO.findUnscheduledShipments()) {
+            unscheduledShipmentIds.add(shipment.getShipmentId());
+        }
+        for (Delivery delivery : deliveryDAO.findAllDeliveries()) {
+            deliveryIds.add(delivery.getDeliveryId());
+            if (delivery.getPersonnelId() == null && "Scheduled".equals(delivery.getDeliveryStatus())) {
+                unassignedShipmentIds.add(delivery.getShipmentId());
+            }
+        }
+        if (personnelIds.isEmpty() || trackingNumbers.size() == 0) {
+            throw new IllegalStateException("The database has no shipments or personnel; seed it first.");
+        }
+        System.out.println("Loaded " + trackingNumbers.size() + " shipments, " + personnelIds.size() + " personnel and "
+                + deliveryIds.size() + " deliveries.");
+    }
+
+    static String shipmentId(int index) {
+        return String.format("SHP-LT%07d", index);
+    }
+
+    static String trackingNumber(int index) {
+        return String.format("LT%09d", index);
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private String pickPersonnelId() {
+        return personnelIds.get(random.nextInt(personnelIds.size()));
+    }
+
+    List<String> getPersonnelIds() {
+        return personnelIds;
+    }
+
+    IdPool getTrackingNumbers() {
+        return trackingNumbers;
+    }
+
+    IdPool getDeliveryIds() {
+        return deliveryIds;
+    }
+
+    Queue<String> getUnscheduledShipmentIds() {
+        return unscheduledShipmentIds;
+    }
+
+    Queue<String> getUnassignedShipmentIds() {
+        return unassignedShipmentIds;
+    }
+
+    /**
+     * A growing list of IDs to pick from at random, shared by the flow threads.
+     */
+    static class IdPool {
+        private final List<String> ids = new ArrayList<>();
+
+        synchronized void add(String id) {
+            ids.add(id);
+        }
+
+        synchronized String pick(Random random) {
+            return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+        }
+
+        synchronized int size() {
+            return ids.size();
+        }
+    }
+}
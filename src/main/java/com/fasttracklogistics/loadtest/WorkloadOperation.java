@@ -0,0 +1,45 @@
+// src/main/java/com/fasttracklogistics/loadtest/WorkloadOperation.java
+
+package com.fasttracklogistics.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The desk operations replayed by the load simulator, one per controller flow.
+ */
+public enum WorkloadOperation {
+    SCHEDULE,   // ScheduleDeliveryController: schedule a delivery for an unscheduled shipment
+    ASSIGN,     // AssignDriversController: assign a driver to a shipment
+    UPDATE,     // ScheduleDeliveryController: move a delivery to its next status
+    TRACK;      // TrackShipmentsController: look up a shipment by tracking number
+
+    /**
+     * Parses an operation mix such as "schedule=10,assign=10,update=30,track=50".
+     * @param mix Comma-separated operation=weight pairs; operations left out get weight 0.
+     * @return The weight of each operation.
+     * @throws IllegalArgumentException If the mix is malformed or all weights are 0.
+     */
+    public static Map<WorkloadOperation, Integer> parseMix(String mix) {
+        Map<WorkloadOperation, Integer> weights = new EnumMap<>(WorkloadOperation.class);
+        int total = 0;
+        for (String part : mix.split(",")) {
+            String[] pair = part.split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got '" + part.trim() + "'.");
+            }
+            WorkloadOperation operation = valueOf(pair[0].trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + operation + ".");
+            }
+            weights.put(operation, weight);
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The operation mix has no weight: " + mix);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,61 @@
+// src/main/java/com/fasttracklogistics/metrics/ActionTrace.java
+
+package com.fasttracklogistics.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Marks the code a controller runs for one user action, so that it can be correlated with the SQL it executes.
+ * <p>
+ * Each action gets an ID, held in a thread-local while it runs, a timer "action.&lt;name&gt;" in the
+ * MetricsRegistry and a ControllerActionEvent when a flight recording is running. Work the action hands
+ * to other threads (SwingWorkers, the coalescing notification writer) is not attributed to it.
+ */
+public final class ActionTrace {
+
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+    // The ID of the action running on this thread, 0 if none; an array so that setting it does not allocate
+    private static final ThreadLocal<long[]> CURRENT_ACTION = ThreadLocal.withInitial(() -> new long[1]);
+
+    private ActionTrace() {
+        // Static helper
+    }
+
+    /**
+     * Runs a controller action.
+     * @param action The action's name, e.g. "ScheduleDeliveryController.scheduleDelivery".
+     * @param body The action.
+     */
+    public static void run(String action, Runnable body) {
+        long[] current = CURRENT_ACTION.get();
+        long parentId = current[0];
+        long actionId = NEXT_ID.incrementAndGet();
+        ControllerActionEvent event = new ControllerActionEvent();
+        boolean failed = true;
+        long start = System.nanoTime();
+        event.begin();
+        current[0] = actionId;
+        try {
+            body.run();
+            failed = false;
+        } finally {
+            current[0] = parentId;
+            event.end();
+            MetricsRegistry.getInstance().timer("action." + action).record(System.nanoTime() - start);
+            if (event.shouldCommit()) {
+                event.action = action;
+                event.actionId = actionId;
+                event.parentActionId = parentId;
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * @return The ID of the action running on the calling thread, or 0 if there is none.
+     */
+    public static long currentActionId() {
+        return CURRENT_ACTION.get()[0];
+    }
+}
@@ -0,0 +1,33 @@
+// src/main/java/com/fasttracklogistics/metrics/ControllerActionEvent.java
+
+package com.fasttracklogistics.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for one controller action, e.g. a button click (see ActionTrace).
+ * SQL executions carry the action's ID, and nested actions (e.g. a reload triggered by the action)
+ * carry it as their parent ID.
+ */
+@Name("com.fasttracklogistics.ControllerAction")
+@Label("Controller Action")
+@Category({"CargoPilot", "User Interface"})
+@Description("A user action handled by a controller")
+public final class ControllerActionEvent extends jdk.jfr.Event {
+
+    @Label("Action")
+    String action;
+
+    @Label("Action ID")
+    long actionId;
+
+    @Label("Parent Action ID")
+    @Description("ID of the action this one ran within, 0 if none")
+    long parentActionId;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,95 @@
+// src/main/java/com/fasttracklogistics/metrics/InstrumentedProxy.java
+
+package com.fasttracklogistics.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Wraps an interface implementation so that every call of an interface method is timed.
+ * <p>
+ * For a method m of interface I the registry gets a timer "prefix.I.m" (all calls, including failed ones),
+ * and counters "prefix.I.m.errors" (calls that threw) and "prefix.I.m.rows" (size of returned collections,
+ * or 1 for each non-null object returned, e.g. by a find-by-ID method).
+ */
+public final class InstrumentedProxy {
+
+    private InstrumentedProxy() {
+        // Static helper
+    }
+
+    /**
+     * Metrics of one method, looked up once.
+     */
+    private static class MethodMetrics {
+        final LatencyHistogram timer;
+        final LongAdder errors;
+        final LongAdder rows;
+        final boolean countsRows;
+
+        MethodMetrics(MetricsRegistry registry, String name, Class<?> returnType) {
+            timer = registry.timer(name);
+            errors = registry.counter(name + ".errors");
+            rows = registry.counter(name + ".rows");
+            // Booleans, numbers and arrays (e.g. counts) are results, not rows
+            countsRows = !returnType.isPrimitive() && !returnType.isArray() && !Number.class.isAssignableFrom(returnType)
+                    && returnType != Boolean.class && returnType != String.class;
+        }
+    }
+
+    /**
+     * @param type The interface to instrument.
+     * @param target The implementation to call.
+     * @param prefix The first part of the metric names (e.g. "dao").
+     * @return A proxy implementing the interface, or the target itself if it is already instrumented.
+     */
+    public static <T> T wrap(Class<T> type, T target, String prefix) {
+        if (Proxy.isProxyClass(target.getClass()) && Proxy.getInvocationHandler(target) instanceof Handler) {
+            return target;
+        }
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                new Handler(target, prefix + "." + type.getSimpleName() + ".")));
+    }
+
+    private static class Handler implements InvocationHandler {
+        private final Object target;
+        private final String namePrefix;
+        private final Map<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+        Handler(Object target, String namePrefix) {
+            this.target = target;
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args); // equals, hashCode and toString are not worth timing
+            }
+            MethodMetrics methodMetrics = metrics.get(method);
+            if (methodMetrics == null) {
+                methodMetrics = metrics.computeIfAbsent(method,
+                        m -> new MethodMetrics(MetricsRegistry.getInstance(), namePrefix + m.getName(), m.getReturnType()));
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = method.invoke(target, args);
+                if (methodMetrics.countsRows && result != null) {
+                    methodMetrics.rows.add(result instanceof Collection ? ((Collection<?>) result).size() : 1);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                methodMetrics.errors.increment();
+                throw e.getCause(); // The caller sees the original exception (e.g. SQLException)
+            } finally {
+                methodMetrics.timer.record(System.nanoTime() - start);
+            }
+        }
+    }
+}
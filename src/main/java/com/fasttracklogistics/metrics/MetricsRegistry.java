@@ -0,0 +1,166 @@
+// src/main/java/com/fasttracklogistics/metrics/MetricsRegistry.java
+
+package com.fasttracklogistics.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide registry of named metrics: counters, latency timers and gauges.
+ * <p>
+ * Metrics are created on first use and live as long as the process. Callers on hot paths should
+ * look a metric up once and keep the reference; updating it is lock-free. Names are dotted paths,
+ * e.g. "dao.ShipmentDAO.findShipmentById" for a timer and "dao.ShipmentDAO.findShipmentById.rows"
+ * for a counter that belongs to it.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public static MetricsRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return The counter with this name, created at 0 if it does not exist yet.
+     */
+    public LongAdder counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * @return The latency timer with this name (record nanoseconds), created empty if it does not exist yet.
+     */
+    public LatencyHistogram timer(String name) {
+        LatencyHistogram timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers a value that is read when the metrics are shown (e.g. connections in use).
+     * A gauge registered again under the same name replaces the earlier one.
+     */
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * @return The counters by name, in name order.
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    /**
+     * @return The timers by name, in name order. The histograms are live, not copies.
+     */
+    public Map<String, LatencyHistogram> getTimers() {
+        return new TreeMap<>(timers);
+    }
+
+    /**
+     * @return The current gauge values by name, in name order.
+     */
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+        return values;
+    }
+
+    /**
+     * Sets all counters to 0 and empties all timers, e.g. before measuring one user action.
+     */
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        timers.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+     * @return All metrics as aligned text, one per line; times in milliseconds.
+     */
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-60s %10s %9s %9s %9s %9s %9s%n", "Timer", "Count", "Mean ms", "p50 ms", "p90 ms", "p99 ms", "Max ms"));
+        for (Map.Entry<String, LatencyHistogram> entry : getTimers().entrySet()) {
+            LatencyHistogram timer = entry.getValue();
+            if (timer.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%-60s %10d %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), timer.getCount(),
+                    timer.getMeanNanos() / 1e6, timer.getPercentileNanos(50) / 1e6, timer.getPercentileNanos(90) / 1e6,
+                    timer.getPercentileNanos(99) / 1e6, timer.getMaxNanos() / 1e6));
+        }
+        for (Map.Entry<String, Long> entry : getCounters().entrySet()) {
+            if (entry.getValue() != 0) {
+                sb.append(String.format("%-60s %10d%n", entry.getKey(), entry.getValue()));
+            }
+        }
+        for (Map.Entry<String, Long> entry : getGauges().entrySet()) {
+            sb.append(String.format("%-60s %10d%n", entry.getKey(), entry.getValue()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return All metrics as one line of JSON: {"timestamp":..., "timers":{name:{...}}, "counters":{...}, "gauges":{...}};
+     * times in microseconds.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append("{\"timestamp\":").append(System.currentTimeMillis()).append(",\"timers\":{");
+        boolean first = true;
+        for (Map.Entry<String, LatencyHistogram> entry : getTimers().entrySet()) {
+            LatencyHistogram timer = entry.getValue();
+            if (timer.getCount() == 0) {
+                continue;
+            }
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendName(sb, entry.getKey());
+            sb.append("{\"count\":").append(timer.getCount())
+                    .append(",\"meanMicros\":").append(Math.round(timer.getMeanNanos() / 1000))
+                    .append(",\"p50Micros\":").append(timer.getPercentileNanos(50) / 1000)
+                    .append(",\"p90Micros\":").append(timer.getPercentileNanos(90) / 1000)
+                    .append(",\"p99Micros\":").append(timer.getPercentileNanos(99) / 1000)
+                    .append(",\"p999Micros\":").append(timer.getPercentileNanos(99.9) / 1000)
+                    .append(",\"maxMicros\":").append(timer.getMaxNanos() / 1000).append('}');
+        }
+        sb.append("},\"counters\":");
+        appendValues(sb, getCounters());
+        sb.append(",\"gauges\":");
+        appendValues(sb, getGauges());
+        return sb.append('}').toString();
+    }
+
+    private static void appendValues(StringBuilder sb, Map<String, Long> values) {
+        sb.append('{');
+        boolean first = true;
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            if (!first) {
+                sb.append(',');
+            }
+            first = false;
+            appendName(sb, entry.getKey());
+            sb.append(entry.getValue());
+        }
+        sb.append('}');
+    }
+
+    // Metric names are code identifiers, but quotes and backslashes are escaped anyway
+    private static void appendName(StringBuilder sb, String name) {
+        sb.append('"').append(name.replace("\\", "\\\\").replace("\"", "\\\"")).append("\":");
+    }
+}
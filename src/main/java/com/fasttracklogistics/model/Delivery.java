@@ -19,6 +19,7 @@ public class Delivery {
     private String deliveryStatus; // e.g., 'Scheduled', 'Assigned', 'Picked Up', 'En Route', 'Delivered', 'Delayed'
     private LocalDateTime estimatedArrivalTime;
     private String delayReason;
+    private LocalDateTime updatedAt; // Maintained by the database (ON UPDATE CURRENT_TIMESTAMP)
 
     // Constructors
     public Delivery() {
@@ -39,6 +40,16 @@ public class Delivery {
         this.delayReason = delayReason;
     }
 
+    /**
+     * Copies a delivery.
+     * @param source The delivery to copy.
+     */
+    public Delivery(Delivery source) {
+        this(source.deliveryId, source.shipmentId, source.personnelId, source.scheduledDate, source.scheduledTimeSlot,
+                source.actualDeliveryDate, source.deliveryStatus, source.estimatedArrivalTime, source.delayReason);
+        this.updatedAt = source.updatedAt;
+    }
+
     // Getters
     public String getDeliveryId() {
         return deliveryId;
@@ -76,6 +87,10 @@ public class Delivery {
         return delayReason;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     // Setters
     public void setDeliveryId(String deliveryId) {
         this.deliveryId = deliveryId;
@@ -113,6 +128,10 @@ public class Delivery {
         this.delayReason = delayReason;
     }
 
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public String toString() {
         return "Delivery{" +
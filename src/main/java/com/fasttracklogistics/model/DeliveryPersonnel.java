@@ -4,12 +4,43 @@
 
 package com.fasttracklogistics.model;
 
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Represents a Delivery Personnel (Driver/Courier) entity.
+ * <p>
+ * Personnel read by a DAO remember which columns their setters changed, so that
+ * DeliveryPersonnelDAO#updatePersonnel only writes those.
  */
 public class DeliveryPersonnel {
+
+    /**
+     * The columns of the DeliveryPersonnel table an update can write.
+     */
+    public enum Column {
+        EMPLOYEE_ID("employee_id"),
+        NAME("name"),
+        CONTACT_NUMBER("contact_number"),
+        EMAIL("email"),
+        VEHICLE_TYPE("vehicle_type"),
+        LICENSE_NUMBER("license_number"),
+        AVAILABILITY_STATUS("availability_status");
+
+        private final String columnName;
+
+        Column(String columnName) {
+            this.columnName = columnName;
+        }
+
+        public String getColumnName() {
+            return columnName;
+        }
+    }
+
     private String personnelId;
     private String employeeId;
     private String name;
@@ -18,6 +49,9 @@ public class DeliveryPersonnel {
     private String vehicleType;
     private String licenseNumber;
     private String availabilityStatus; // e.g., 'Available', 'On Route', 'Off Duty'
+    private LocalDateTime updatedAt; // Maintained by the database (ON UPDATE CURRENT_TIMESTAMP)
+    // Columns changed since markLoaded(); null for personnel not read from storage, who are written in full
+    private EnumSet<Column> changedColumns;
 
     // Constructors
     public DeliveryPersonnel() {
@@ -38,6 +72,17 @@ public class DeliveryPersonnel {
         this.availabilityStatus = availabilityStatus;
     }
 
+    /**
+     * Copies a personnel member, including which columns their setters changed.
+     * @param source The personnel member to copy.
+     */
+    public DeliveryPersonnel(DeliveryPersonnel source) {
+        this(source.personnelId, source.employeeId, source.name, source.contactNumber, source.email,
+                source.vehicleType, source.licenseNumber, source.availabilityStatus);
+        this.updatedAt = source.updatedAt;
+        this.changedColumns = source.changedColumns != null ? EnumSet.copyOf(source.changedColumns) : null;
+    }
+
     // Getters
     public String getPersonnelId() {
         return personnelId;
@@ -71,39 +116,80 @@ public class DeliveryPersonnel {
         return availabilityStatus;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     // Setters
     public void setPersonnelId(String personnelId) {
         this.personnelId = personnelId;
     }
 
     public void setEmployeeId(String employeeId) {
+        markChanged(Column.EMPLOYEE_ID, this.employeeId, employeeId);
         this.employeeId = employeeId;
     }
 
     public void setName(String name) {
+        markChanged(Column.NAME, this.name, name);
         this.name = name;
     }
 
     public void setContactNumber(String contactNumber) {
+        markChanged(Column.CONTACT_NUMBER, this.contactNumber, contactNumber);
         this.contactNumber = contactNumber;
     }
 
     public void setEmail(String email) {
+        markChanged(Column.EMAIL, this.email, email);
         this.email = email;
     }
 
     public void setVehicleType(String vehicleType) {
+        markChanged(Column.VEHICLE_TYPE, this.vehicleType, vehicleType);
         this.vehicleType = vehicleType;
     }
 
     public void setLicenseNumber(String licenseNumber) {
+        markChanged(Column.LICENSE_NUMBER, this.licenseNumber, licenseNumber);
         this.licenseNumber = licenseNumber;
     }
 
     public void setAvailabilityStatus(String availabilityStatus) {
+        markChanged(Column.AVAILABILITY_STATUS, this.availabilityStatus, availabilityStatus);
         this.availabilityStatus = availabilityStatus;
     }
 
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Called by the DAOs when the object matches its stored row: from now on its setters record
+     * which columns they change.
+     */
+    public void markLoaded() {
+        if (changedColumns == null) {
+            changedColumns = EnumSet.noneOf(Column.class);
+        } else {
+            changedColumns.clear();
+        }
+    }
+
+    /**
+     * @return The columns changed since the object was read or last written; all of them for personnel
+     * not read from storage.
+     */
+    public Set<Column> getChangedColumns() {
+        return changedColumns != null ? EnumSet.copyOf(changedColumns) : EnumSet.allOf(Column.class);
+    }
+
+    private void markChanged(Column column, Object oldValue, Object newValue) {
+        if (changedColumns != null && !Objects.equals(oldValue, newValue)) {
+            changedColumns.add(column);
+        }
+    }
+
     @Override
     public String toString() {
         // Updated toString to be more descriptive for display in UI components
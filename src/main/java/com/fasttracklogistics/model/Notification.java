@@ -1,235 +1,176 @@
+// src/main/java/com/fasttracklogistics/model/Notification.java
 
+package com.fasttracklogistics.model;
 
-// src/main/java/com/fasttracklogistics/dao/impl/ShipmentDAOImpl.java
-// Note: You would typically put DAO implementations in a subpackage like 'impl'
-// However, for simplicity and adherence to the exact diagram, I'll place it directly in 'dao'.
-
-package com.fasttracklogistics.dao;
-
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Timestamp;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID; // For generating unique IDs
+import java.time.LocalDateTime;
 
 /**
- * JDBC implementation of the ShipmentDAO interface for MySQL.
+ * Represents a notification sent to a customer (recipientId = shipment ID)
+ * or to delivery personnel (recipientId = personnel ID or related entity ID).
  */
-public class ShipmentDAOImpl implements ShipmentDAO {
+public class Notification {
+    private String notificationId;
+    private String recipientType; // e.g., 'CUSTOMER', 'PERSONNEL'
+    private String recipientId;
+    private String message;
+    private LocalDateTime timestamp;
+    private String status; // e.g., 'GENERATED', 'SENT'
+    private boolean isUrgent;
+    private boolean isRead;
+    private String templateId; // NotificationTemplate name, null for free-text messages
+    private String templateParams; // Encoded parameters (see NotificationMessage.encodeParameters)
+    private String shipmentId; // Related shipment, used to coalesce bursts; not stored
+    private LocalDateTime updatedAt; // Maintained by the database (ON UPDATE CURRENT_TIMESTAMP)
+
+    // Constructors
+    public Notification() {
+        // Default constructor
+    }
 
-    @Override
-    public boolean insertShipment(Shipment shipment) throws SQLException {
-        String sql = "INSERT INTO Shipments (shipment_id, tracking_number, sender_name, sender_address, sender_contact, " +
-                "receiver_name, receiver_address, receiver_contact, package_contents, package_type, weight_kg, dimensions_cm, " +
-                "current_location, route, current_status, is_urgent) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-
-            // Generate a unique ID if not already set (e.g., for new shipments)
-            if (shipment.getShipmentId() == null || shipment.getShipmentId().isEmpty()) {
-                shipment.setShipmentId(UUID.randomUUID().toString());
-            }
-            if (shipment.getTrackingNumber() == null || shipment.getTrackingNumber().isEmpty()) {
-                shipment.setTrackingNumber(UUID.randomUUID().toString().substring(0, 8).toUpperCase());
-            }
-            if (shipment.getCurrentStatus() == null || shipment.getCurrentStatus().isEmpty()) {
-                shipment.setCurrentStatus("Pending");
-            }
-
-            // Set parameters for the prepared statement
-            pstmt.setString(1, shipment.getShipmentId());
-            pstmt.setString(2, shipment.getTrackingNumber());
-            pstmt.setString(3, shipment.getSenderName());
-            pstmt.setString(4, shipment.getSenderAddress());
-            pstmt.setString(5, shipment.getSenderContact());
-            pstmt.setString(6, shipment.getReceiverName());
-            pstmt.setString(7, shipment.getReceiverAddress());
-            pstmt.setString(8, shipment.getReceiverContact());
-            pstmt.setString(9, shipment.getPackageContents());
-            pstmt.setString(10, shipment.getPackageType());
-            pstmt.setDouble(11, shipment.getWeightKg());
-            pstmt.setString(12, shipment.getDimensionsCm());
-            pstmt.setString(13, shipment.getCurrentLocation());
-            pstmt.setString(14, shipment.getRoute());
-            pstmt.setString(15, shipment.getCurrentStatus());
-            pstmt.setBoolean(16, shipment.isUrgent());
-
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, null);
-        }
+    public Notification(String notificationId, String recipientType, String recipientId, String message,
+                        LocalDateTime timestamp, String status, boolean isUrgent) {
+        this.notificationId = notificationId;
+        this.recipientType = recipientType;
+        this.recipientId = recipientId;
+        this.message = message;
+        this.timestamp = timestamp;
+        this.status = status;
+        this.isUrgent = isUrgent;
     }
 
-    @Override
-    public boolean updateShipment(Shipment shipment) throws SQLException {
-        String sql = "UPDATE Shipments SET tracking_number = ?, sender_name = ?, sender_address = ?, sender_contact = ?, " +
-                "receiver_name = ?, receiver_address = ?, receiver_contact = ?, package_contents = ?, package_type = ?, weight_kg = ?, " +
-                "dimensions_cm = ?, current_location = ?, route = ?, current_status = ?, is_urgent = ?, updated_at = CURRENT_TIMESTAMP WHERE shipment_id = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, shipment.getTrackingNumber());
-            pstmt.setString(2, shipment.getSenderName());
-            pstmt.setString(3, shipment.getSenderAddress());
-            pstmt.setString(4, shipment.getSenderContact());
-            pstmt.setString(5, shipment.getReceiverName());
-            pstmt.setString(6, shipment.getReceiverAddress());
-            pstmt.setString(7, shipment.getReceiverContact());
-            pstmt.setString(8, shipment.getPackageContents());
-            pstmt.setString(9, shipment.getPackageType());
-            pstmt.setDouble(10, shipment.getWeightKg());
-            pstmt.setString(11, shipment.getDimensionsCm());
-            pstmt.setString(12, shipment.getCurrentLocation());
-            pstmt.setString(13, shipment.getRoute());
-            pstmt.setString(14, shipment.getCurrentStatus());
-            pstmt.setBoolean(15, shipment.isUrgent());
-            pstmt.setString(16, shipment.getShipmentId());
-
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, null);
-        }
+    /**
+     * Copies a notification.
+     * @param source The notification to copy.
+     */
+    public Notification(Notification source) {
+        this(source.notificationId, source.recipientType, source.recipientId, source.message, source.timestamp,
+                source.status, source.isUrgent);
+        this.isRead = source.isRead;
+        this.templateId = source.templateId;
+        this.templateParams = source.templateParams;
+        this.shipmentId = source.shipmentId;
+        this.updatedAt = source.updatedAt;
     }
 
-    @Override
-    public boolean deleteShipment(String shipmentId) throws SQLException {
-        String sql = "DELETE FROM Shipments WHERE shipment_id = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, shipmentId);
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, null);
-        }
+    // Getters
+    public String getNotificationId() {
+        return notificationId;
     }
 
-    @Override
-    public Shipment findShipmentById(String shipmentId) throws SQLException {
-        String sql = "SELECT * FROM Shipments WHERE shipment_id = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, shipmentId);
-            rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return mapResultSetToShipment(rs);
-            }
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, rs);
-        }
-        return null;
+    public String getRecipientType() {
+        return recipientType;
     }
 
-    @Override
-    public Shipment findShipmentByTrackingNumber(String trackingNumber) throws SQLException {
-        String sql = "SELECT * FROM Shipments WHERE tracking_number = ?";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            pstmt.setString(1, trackingNumber);
-            rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return mapResultSetToShipment(rs);
-            }
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, rs);
-        }
-        return null;
+    public String getRecipientId() {
+        return recipientId;
     }
 
-    @Override
-    public List<Shipment> findAllShipments() throws SQLException {
-        List<Shipment> shipments = new ArrayList<>();
-        String sql = "SELECT * FROM Shipments ORDER BY created_at DESC";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            rs = pstmt.executeQuery();
-            while (rs.next()) {
-                shipments.add(mapResultSetToShipment(rs));
-            }
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, rs);
-        }
-        return shipments;
+    public String getMessage() {
+        return message;
     }
 
-    @Override
-    public List<Shipment> findUnscheduledShipments() throws SQLException {
-        List<Shipment> shipments = new ArrayList<>();
-        // Select shipments that do NOT have a corresponding entry in the Deliveries table
-        String sql = "SELECT s.* FROM Shipments s LEFT JOIN Deliveries d ON s.shipment_id = d.shipment_id WHERE d.shipment_id IS NULL ORDER BY s.created_at DESC";
-        Connection conn = null;
-        PreparedStatement pstmt = null;
-        ResultSet rs = null;
-        try {
-            conn = DatabaseConnection.getConnection();
-            pstmt = conn.prepareStatement(sql);
-            rs = pstmt.executeQuery();
-            while (rs.next()) {
-                shipments.add(mapResultSetToShipment(rs));
-            }
-        } finally {
-            DatabaseConnection.closeResources(conn, pstmt, rs);
-        }
-        return shipments;
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public boolean isUrgent() {
+        return isUrgent;
+    }
+
+    public boolean isRead() {
+        return isRead;
+    }
+
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    public String getTemplateParams() {
+        return templateParams;
+    }
+
+    public String getShipmentId() {
+        return shipmentId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    // Setters
+    public void setNotificationId(String notificationId) {
+        this.notificationId = notificationId;
+    }
+
+    public void setRecipientType(String recipientType) {
+        this.recipientType = recipientType;
+    }
+
+    public void setRecipientId(String recipientId) {
+        this.recipientId = recipientId;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public void setUrgent(boolean urgent) {
+        isUrgent = urgent;
+    }
+
+    public void setRead(boolean read) {
+        isRead = read;
+    }
+
+    public void setTemplateId(String templateId) {
+        this.templateId = templateId;
+    }
+
+    public void setTemplateParams(String templateParams) {
+        this.templateParams = templateParams;
+    }
+
+    public void setShipmentId(String shipmentId) {
+        this.shipmentId = shipmentId;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
     }
 
     /**
-     * Helper method to map a ResultSet row to a Shipment object.
+     * Sets the message from a template, keeping the template ID and parameters for compact storage.
+     * @param message The templated message.
      */
-    private Shipment mapResultSetToShipment(ResultSet rs) throws SQLException {
-        Shipment shipment = new Shipment();
-        shipment.setShipmentId(rs.getString("shipment_id"));
-        shipment.setTrackingNumber(rs.getString("tracking_number"));
-        shipment.setSenderName(rs.getString("sender_name"));
-        shipment.setSenderAddress(rs.getString("sender_address"));
-        shipment.setSenderContact(rs.getString("sender_contact"));
-        shipment.setReceiverName(rs.getString("receiver_name"));
-        shipment.setReceiverAddress(rs.getString("receiver_address"));
-        shipment.setReceiverContact(rs.getString("receiver_contact"));
-        shipment.setPackageContents(rs.getString("package_contents"));
-        shipment.setPackageType(rs.getString("package_type"));
-        shipment.setWeightKg(rs.getDouble("weight_kg"));
-        shipment.setDimensionsCm(rs.getString("dimensions_cm"));
-        shipment.setCurrentLocation(rs.getString("current_location"));
-        shipment.setRoute(rs.getString("route"));
-        shipment.setCurrentStatus(rs.getString("current_status"));
-        shipment.setUrgent(rs.getBoolean("is_urgent"));
-
-        Timestamp createdAtTs = rs.getTimestamp("created_at");
-        if (createdAtTs != null) {
-            shipment.setCreatedAt(createdAtTs.toLocalDateTime());
-        }
-        Timestamp updatedAtTs = rs.getTimestamp("updated_at");
-        if (updatedAtTs != null) {
-            shipment.setUpdatedAt(updatedAtTs.toLocalDateTime());
-        }
-        return shipment;
+    public void setMessage(NotificationMessage message) {
+        this.message = message.getText();
+        this.templateId = message.getTemplate().name();
+        this.templateParams = message.encodeParameters();
     }
-}
 
+    @Override
+    public String toString() {
+        return "Notification{" +
+                "notificationId='" + notificationId + '\'' +
+                ", recipientType='" + recipientType + '\'' +
+                ", recipientId='" + recipientId + '\'' +
+                ", timestamp=" + timestamp +
+                ", status='" + status + '\'' +
+                ", isUrgent=" + isUrgent +
+                ", isRead=" + isRead +
+                ", templateId='" + templateId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+// src/main/java/com/fasttracklogistics/model/NotificationMessage.java
+
+package com.fasttracklogistics.model;
+
+/**
+ * A notification message: a template plus its formatted parameters.
+ * The text is rendered on first use and cached.
+ */
+public class NotificationMessage {
+
+    // Separates the parameters in the template_params column (ASCII unit separator, never typed by users)
+    private static final char PARAMETER_SEPARATOR = '\u001F';
+
+    private final NotificationTemplate template;
+    private final String[] parameters;
+    private String text;
+
+    NotificationMessage(NotificationTemplate template, String[] parameters) {
+        this.template = template;
+        this.parameters = parameters;
+    }
+
+    public NotificationTemplate getTemplate() {
+        return template;
+    }
+
+    public String[] getParameters() {
+        return parameters.clone();
+    }
+
+    /**
+     * @return The rendered message text.
+     */
+    public String getText() {
+        if (text == null) {
+            text = template.render(parameters);
+        }
+        return text;
+    }
+
+    /**
+     * Encodes the parameters for the template_params column.
+     * @return The parameters joined by the unit separator.
+     */
+    public String encodeParameters() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                sb.append(PARAMETER_SEPARATOR);
+            }
+            sb.append(parameters[i].replace(PARAMETER_SEPARATOR, ' '));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Decodes the template_params column written by {@link #encodeParameters()}.
+     * @param encoded The stored parameters.
+     * @return One string per placeholder index.
+     */
+    public static String[] decodeParameters(String encoded) {
+        return encoded.split(String.valueOf(PARAMETER_SEPARATOR), -1);
+    }
+
+    @Override
+    public String toString() {
+        return getText();
+    }
+}
@@ -0,0 +1,146 @@
+// src/main/java/com/fasttracklogistics/model/NotificationTemplate.java
+
+package com.fasttracklogistics.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of all notification message templates.
+ * <p>
+ * Each template is compiled once, when the enum is loaded, into its literal text segments and
+ * the argument index (and date formatter, for {n,date} / {n,datetime} placeholders) of each gap.
+ * Rendering a message is then a single StringBuilder pass with no format-string parsing and no
+ * per-call formatter creation. The enum name is the stable template_id stored with each notification.
+ */
+public enum NotificationTemplate {
+
+    SHIPMENT_CREATED("Your shipment '{0}' has been successfully created and is now {1}. Current Location: {2}"),
+    SHIPMENT_STATUS_CHANGED("Your shipment '{0}' status has changed to: {1}. Current Location: {2}"),
+    URGENT_SHIPMENT_ADDED("URGENT: New shipment '{0}' ({1}) added on route '{2}'."),
+    SHIPMENT_MARKED_URGENT("URGENT: Shipment '{0}' ({1}) is now marked urgent. Route: '{2}'."),
+    DELIVERY_SCHEDULED_CUSTOMER("Dear {0}, your shipment '{1}' is now scheduled for delivery on {2,date} between {3}. " +
+            "Est. Arrival: {4,datetime}. Status: {5}."),
+    DELIVERY_SCHEDULED_PERSONNEL("New Delivery Scheduled for you: Shipment '{0}' to {1}. Date: {2,date}, Time: {3}. " +
+            "Est. Arrival: {4,datetime}."),
+    DELIVERY_STATUS_CHANGED("Dear {0}, your shipment '{1}' delivery status has changed to: {2}. Current Location: {3}."),
+    DELIVERY_CANCELLED_CUSTOMER("Dear {0}, the scheduled delivery for your shipment '{1}' (Tracking No: {2}) has been " +
+            "cancelled. It is now Pending for new scheduling."),
+    DELIVERY_CANCELLED_PERSONNEL("Your assigned delivery for Shipment ID: {0} (Tracking No: {1}) has been cancelled. " +
+            "You are now Available."),
+    DELIVERY_OVERDUE("URGENT: Delivery {0} for shipment '{1}' (receiver {2}) is overdue. ETA was {3,datetime}."),
+    DRIVER_ASSIGNED_CUSTOMER("Dear {0}, your shipment '{1}' is now assigned to our personnel {2} for delivery. " +
+            "Status: {3}. Est. Delivery: {4,datetime}."),
+    DRIVER_ASSIGNED_PERSONNEL("You have been assigned Shipment ID: {0} (Tracking No: {1}). Receiver: {2} at {3}. " +
+            "Status: {4}. Please check your schedule."),
+    ASSIGNMENT_CANCELLED("Your assignment for Shipment ID: {0} (Tracking No: {1}) has been cancelled. You are now Available."),
+    ASSIGNMENT_REASSIGNED("Your assignment for Shipment ID: {0} (Tracking No: {1}) has been reassigned. You are now Available.");
+
+    private static final String MISSING_VALUE = "N/A";
+
+    private final String[] literals; // literals[i] precedes gap i; the last one follows the last gap
+    private final int[] gapArguments; // Argument index rendered into each gap
+    private final DateTimeFormatter[] argumentFormatters; // Per argument; null means String.valueOf
+    private final int literalLength;
+
+    NotificationTemplate(String pattern) {
+        List<String> literalList = new ArrayList<>();
+        List<Integer> gapList = new ArrayList<>();
+        Map<Integer, DateTimeFormatter> formatters = new HashMap<>();
+        int argumentCount = 0;
+        int start = 0;
+        int open;
+        while ((open = pattern.indexOf('{', start)) >= 0) {
+            int close = pattern.indexOf('}', open);
+            String[] placeholder = pattern.substring(open + 1, close).split(",");
+            int argument = Integer.parseInt(placeholder[0].trim());
+            if (placeholder.length > 1) {
+                formatters.put(argument, "date".equals(placeholder[1].trim()) ? Formatters.DATE : Formatters.DATE_TIME);
+            }
+            literalList.add(pattern.substring(start, open));
+            gapList.add(argument);
+            argumentCount = Math.max(argumentCount, argument + 1);
+            start = close + 1;
+        }
+        literalList.add(pattern.substring(start));
+
+        this.literals = literalList.toArray(new String[0]);
+        this.gapArguments = gapList.stream().mapToInt(Integer::intValue).toArray();
+        this.argumentFormatters = new DateTimeFormatter[argumentCount];
+        formatters.forEach((argument, formatter) -> argumentFormatters[argument] = formatter);
+        this.literalLength = literalList.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Binds the arguments of a message. Dates are formatted here, once, so the stored parameters
+     * are plain strings; null arguments become "N/A".
+     * @param arguments One value per placeholder index.
+     * @return The message, rendered on first use of its text.
+     */
+    public NotificationMessage with(Object... arguments) {
+        if (arguments.length != argumentFormatters.length) {
+            throw new IllegalArgumentException("Template " + name() + " expects " + argumentFormatters.length
+                    + " arguments but got " + arguments.length + ".");
+        }
+        String[] parameters = new String[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            parameters[i] = toParameter(arguments[i], argumentFormatters[i]);
+        }
+        return new NotificationMessage(this, parameters);
+    }
+
+    /**
+     * Renders the template with already formatted parameters (e.g. ones read back from the database).
+     * @param parameters One string per placeholder index.
+     * @return The message text.
+     */
+    public String render(String[] parameters) {
+        StringBuilder sb = new StringBuilder(literalLength + 24 * gapArguments.length);
+        for (int i = 0; i < gapArguments.length; i++) {
+            sb.append(literals[i]);
+            int argument = gapArguments[i];
+            sb.append(argument < parameters.length ? parameters[argument] : MISSING_VALUE);
+        }
+        return sb.append(literals[literals.length - 1]).toString();
+    }
+
+    /**
+     * Looks up a template by its stored ID.
+     * @param templateId The template_id of a notification.
+     * @return The template, or null if there is no template with that ID (any more).
+     */
+    public static NotificationTemplate fromId(String templateId) {
+        if (templateId == null) {
+            return null;
+        }
+        try {
+            return valueOf(templateId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Enum constructors cannot read the enum's own static fields, so the shared formatters live here
+    private static final class Formatters {
+        static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    }
+
+    private static String toParameter(Object value, DateTimeFormatter formatter) {
+        if (value == null) {
+            return MISSING_VALUE;
+        }
+        if (formatter != null && value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).format(formatter);
+        }
+        if (formatter != null && value instanceof LocalDate) {
+            return ((LocalDate) value).format(formatter);
+        }
+        return String.valueOf(value);
+    }
+}
@@ -4,11 +4,49 @@
 package com.fasttracklogistics.model;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Represents a Shipment entity in the FastTrack Logistics system.
+ * <p>
+ * Shipments read by a DAO remember which columns their setters changed, so that
+ * ShipmentDAO#updateShipment only writes those.
  */
 public class Shipment {
+
+    /**
+     * The columns of the Shipments table an update can write.
+     */
+    public enum Column {
+        TRACKING_NUMBER("tracking_number"),
+        SENDER_NAME("sender_name"),
+        SENDER_ADDRESS("sender_address"),
+        SENDER_CONTACT("sender_contact"),
+        RECEIVER_NAME("receiver_name"),
+        RECEIVER_ADDRESS("receiver_address"),
+        RECEIVER_CONTACT("receiver_contact"),
+        PACKAGE_CONTENTS("package_contents"),
+        PACKAGE_TYPE("package_type"),
+        WEIGHT_KG("weight_kg"),
+        DIMENSIONS_CM("dimensions_cm"),
+        CURRENT_LOCATION("current_location"),
+        ROUTE("route"),
+        CURRENT_STATUS("current_status"),
+        IS_URGENT("is_urgent");
+
+        private final String columnName;
+
+        Column(String columnName) {
+            this.columnName = columnName;
+        }
+
+        public String getColumnName() {
+            return columnName;
+        }
+    }
+
     private String shipmentId;
     private String trackingNumber;
     private String senderName;
@@ -27,6 +65,8 @@ public class Shipment {
     private boolean isUrgent;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // Columns changed since markLoaded(); null for shipments not read from storage, which are written in full
+    private EnumSet<Column> changedColumns;
 
     // Constructors
     public Shipment() {
@@ -60,6 +100,18 @@ public class Shipment {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Copies a shipment, including which columns its setters changed.
+     * @param source The shipment to copy.
+     */
+    public Shipment(Shipment source) {
+        this(source.shipmentId, source.trackingNumber, source.senderName, source.senderAddress, source.senderContact,
+                source.receiverName, source.receiverAddress, source.receiverContact, source.packageContents,
+                source.packageType, source.weightKg, source.dimensionsCm, source.currentLocation, source.route,
+                source.currentStatus, source.isUrgent, source.createdAt, source.updatedAt);
+        this.changedColumns = source.changedColumns != null ? EnumSet.copyOf(source.changedColumns) : null;
+    }
+
     // Getters
     public String getShipmentId() {
         return shipmentId;
@@ -139,62 +191,77 @@ public class Shipment {
     }
 
     public void setTrackingNumber(String trackingNumber) {
+        markChanged(Column.TRACKING_NUMBER, this.trackingNumber, trackingNumber);
         this.trackingNumber = trackingNumber;
     }
 
     public void setSenderName(String senderName) {
+        markChanged(Column.SENDER_NAME, this.senderName, senderName);
         this.senderName = senderName;
     }
 
     public void setSenderAddress(String senderAddress) {
+        markChanged(Column.SENDER_ADDRESS, this.senderAddress, senderAddress);
         this.senderAddress = senderAddress;
     }
 
     public void setSenderContact(String senderContact) {
+        markChanged(Column.SENDER_CONTACT, this.senderContact, senderContact);
         this.senderContact = senderContact;
     }
 
     public void setReceiverName(String receiverName) {
+        markChanged(Column.RECEIVER_NAME, this.receiverName, receiverName);
         this.receiverName = receiverName;
     }
 
     public void setReceiverAddress(String receiverAddress) {
+        markChanged(Column.RECEIVER_ADDRESS, this.receiverAddress, receiverAddress);
         this.receiverAddress = receiverAddress;
     }
 
     public void setReceiverContact(String receiverContact) {
+        markChanged(Column.RECEIVER_CONTACT, this.receiverContact, receiverContact);
         this.receiverContact = receiverContact;
     }
 
     public void setPackageContents(String packageContents) {
+        markChanged(Column.PACKAGE_CONTENTS, this.packageContents, packageContents);
         this.packageContents = packageContents;
     }
 
     public void setPackageType(String packageType) {
+        markChanged(Column.PACKAGE_TYPE, this.packageType, packageType);
         this.packageType = packageType;
     }
 
     public void setWeightKg(double weightKg) {
+        markChanged(Column.WEIGHT_KG, this.weightKg, weightKg);
         this.weightKg = weightKg;
     }
 
     public void setDimensionsCm(String dimensionsCm) {
+        markChanged(Column.DIMENSIONS_CM, this.dimensionsCm, dimensionsCm);
         this.dimensionsCm = dimensionsCm;
     }
 
     public void setCurrentLocation(String currentLocation) {
+        markChanged(Column.CURRENT_LOCATION, this.currentLocation, currentLocation);
         this.currentLocation = currentLocation;
     }
 
     public void setRoute(String route) {
+        markChanged(Column.ROUTE, this.route, route);
         this.route = route;
     }
 
     public void setCurrentStatus(String currentStatus) {
+        markChanged(Column.CURRENT_STATUS, this.currentStatus, currentStatus);
         this.currentStatus = currentStatus;
     }
 
     public void setUrgent(boolean urgent) {
+        markChanged(Column.IS_URGENT, isUrgent, urgent);
         isUrgent = urgent;
     }
 
@@ -206,6 +273,32 @@ public class Shipment {
         this.updatedAt = updatedAt;
     }
 
+    /**
+     * Called by the DAOs when the shipment matches its stored row: from now on its setters record
+     * which columns they change.
+     */
+    public void markLoaded() {
+        if (changedColumns == null) {
+            changedColumns = EnumSet.noneOf(Column.class);
+        } else {
+            changedColumns.clear();
+        }
+    }
+
+    /**
+     * @return The columns changed since the shipment was read or last written; all of them for a shipment
+     * that was not read from storage.
+     */
+    public Set<Column> getChangedColumns() {
+        return changedColumns != null ? EnumSet.copyOf(changedColumns) : EnumSet.allOf(Column.class);
+    }
+
+    private void markChanged(Column column, Object oldValue, Object newValue) {
+        if (changedColumns != null && !Objects.equals(oldValue, newValue)) {
+            changedColumns.add(column);
+        }
+    }
+
     @Override
     public String toString() {
         return "Shipment{" +
@@ -0,0 +1,158 @@
+// src/main/java/com/fasttracklogistics/service/AnalyticsSnapshotService.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.dao.ShipmentDAOImpl;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an in-memory columnar snapshot of Shipments + Deliveries for the interactive pivots
+ * in the Reports tab, so slicing by route, month, package type and urgency never goes to MySQL.
+ * <p>
+ * The snapshot is loaded once on a background thread and then refreshed every minute with the
+ * rows whose updated_at is at or after the newest change already applied. Deletions leave no
+ * updated_at trace; when the shipment count no longer matches, a fresh snapshot is loaded and swapped in.
+ */
+public class AnalyticsSnapshotService {
+
+    private static final long REFRESH_INTERVAL_SECONDS = 60;
+
+    private final ShipmentDAO shipmentDAO;
+    private volatile ShipmentSnapshot snapshot; // null until the first load completed
+    private volatile LocalDateTime lastRefresh;
+    private ScheduledExecutorService scheduler;
+
+    public AnalyticsSnapshotService() {
+        this(new ShipmentDAOImpl());
+    }
+
+    public AnalyticsSnapshotService(ShipmentDAO shipmentDAO) {
+        this.shipmentDAO = shipmentDAO;
+    }
+
+    /**
+     * Starts loading the snapshot and the periodic incremental refresh.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "analytics-snapshot-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic refresh.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Requests an immediate refresh, e.g. before a pivot the user expects to include a recent change.
+     */
+    public synchronized void requestRefresh() {
+        if (scheduler != null) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    public LocalDateTime getLastRefresh() {
+        return lastRefresh;
+    }
+
+    public int getRowCount() {
+        ShipmentSnapshot current = snapshot;
+        return current != null ? current.size() : 0;
+    }
+
+    /**
+     * Returns the column headers of a pivot over the given dimensions.
+     * @param dimensions The dimensions to group by.
+     * @return The dimension names followed by the measure names.
+     */
+    public String[] getPivotColumns(List<PivotDimension> dimensions) {
+        List<String> columns = new ArrayList<>();
+        for (PivotDimension dimension : dimensions) {
+            columns.add(dimension.toString());
+        }
+        columns.add("Shipments");
+        columns.add("Urgent");
+        columns.add("Total Weight (kg)");
+        columns.add("Delivered");
+        columns.add("On Time");
+        columns.add("On-Time %");
+        columns.add("Avg Delay (min)");
+        return columns.toArray(new String[0]);
+    }
+
+    /**
+     * Aggregates the snapshot by the given dimensions for shipments created in from..to (both inclusive).
+     * @param dimensions The dimensions to group by, in column order.
+     * @param from The first creation month.
+     * @param to The last creation month.
+     * @param urgentOnly Whether to include urgent shipments only.
+     * @return The pivot rows, in the order of {@link #getPivotColumns(List)}.
+     * @throws IllegalStateException If the snapshot has not been loaded yet.
+     */
+    public List<Object[]> pivot(List<PivotDimension> dimensions, YearMonth from, YearMonth to, boolean urgentOnly) {
+        ShipmentSnapshot current = snapshot;
+        if (current == null) {
+            throw new IllegalStateException("The analytics snapshot is still loading. Please try again in a moment.");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The end month must not be before the start month.");
+        }
+        return current.pivot(dimensions, from, to, urgentOnly);
+    }
+
+    /**
+     * Applies all changes since the last refresh, or loads a new snapshot on first use or after deletions.
+     */
+    private void refresh() {
+        try {
+            ShipmentSnapshot current = snapshot;
+            if (current == null) {
+                snapshot = load();
+            } else {
+                current.apply(shipmentDAO.findShipmentsWithDeliveryUpdatedSince(current.getWatermark()));
+                if (current.size() != shipmentDAO.countShipments()) {
+                    snapshot = load(); // Some shipments were deleted
+                }
+            }
+            lastRefresh = LocalDateTime.now();
+        } catch (SQLException ex) {
+            System.err.println("Error refreshing analytics snapshot: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    private ShipmentSnapshot load() throws SQLException {
+        long startNanos = System.nanoTime();
+        ShipmentSnapshot fresh = new ShipmentSnapshot();
+        fresh.apply(shipmentDAO.findShipmentsWithDeliveryUpdatedSince(fresh.getWatermark()));
+        System.out.println("Analytics snapshot loaded: " + fresh.size() + " shipments in "
+                + (System.nanoTime() - startNanos) / 1_000_000 + " ms.");
+        return fresh;
+    }
+}
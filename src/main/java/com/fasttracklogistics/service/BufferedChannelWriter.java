@@ -0,0 +1,66 @@
+// src/main/java/com/fasttracklogistics/service/BufferedChannelWriter.java
+
+package com.fasttracklogistics.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes text as UTF-8 into a fixed direct buffer and writes the buffer to a channel
+ * whenever it fills up. Memory use is the buffer size, whatever the amount of text written.
+ */
+class BufferedChannelWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    BufferedChannelWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Appends text, draining the buffer to the channel as often as needed.
+     */
+    BufferedChannelWriter write(CharSequence text) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, false);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                return this;
+            } else {
+                result.throwException();
+            }
+        }
+    }
+
+    /**
+     * Writes everything buffered so far to the channel.
+     */
+    void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
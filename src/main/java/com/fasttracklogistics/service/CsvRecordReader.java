@@ -0,0 +1,142 @@
+// src/main/java/com/fasttracklogistics/service/CsvRecordReader.java
+
+package com.fasttracklogistics.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV parser: quoted fields may contain commas, doubled quotes and line
+ * breaks. Only the current record is held in memory, so files of any size can be read.
+ */
+class CsvRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private int lineNumber = 1;    // Line the reader is currently on
+    private int recordLineNumber;  // Line on which the last returned record started
+    private boolean firstChar = true;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next non-blank record.
+     * @return The fields of the record, or null at the end of the input.
+     * @throws IOException If reading fails or a quoted field is not closed.
+     */
+    List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '\r' || c == '\n') {
+                consumeLineBreak(c);
+                continue; // Skip blank lines
+            }
+            recordLineNumber = lineNumber;
+            return readRecord(c);
+        }
+    }
+
+    /**
+     * @return The line on which the record last returned by {@link #next()} started (1-based).
+     */
+    int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    private List<String> readRecord(int c) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Line " + recordLineNumber + ": unterminated quoted field.");
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n' || (c == '\r' && peek() != '\n')) {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                fields.add(field.toString());
+                if (c != -1) {
+                    consumeLineBreak(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private void consumeLineBreak(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        lineNumber++;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (firstChar) {
+            firstChar = false;
+            if (c == '\uFEFF') {
+                return read(); // Skip the byte order mark written by spreadsheet exports
+            }
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,245 @@
+// src/main/java/com/fasttracklogistics/service/DeltaSyncPoller.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.dao.DatabaseConnection;
+import com.fasttracklogistics.dao.DeletedRecordLog;
+import com.fasttracklogistics.dao.DeliveryDAO;
+import com.fasttracklogistics.dao.DeliveryPersonnelDAO;
+import com.fasttracklogistics.dao.NotificationDAO;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.event.ChangeType;
+import com.fasttracklogistics.event.DeliveryChanged;
+import com.fasttracklogistics.event.DomainEventBus;
+import com.fasttracklogistics.event.NotificationCreated;
+import com.fasttracklogistics.event.PersonnelChanged;
+import com.fasttracklogistics.event.ShipmentChanged;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.Shipment;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background delta sync that keeps this desk current with changes other dispatch desks make
+ * to the shared database.
+ * <p>
+ * Each pass reads only the rows whose updated_at is at or after the watermark (one range scan
+ * per updated_at index) plus the tombstones in DeletedRecords, and publishes them on the
+ * {@link DomainEventBus} as if the change had been made locally, so the panels apply them with
+ * the same targeted row updates. The watermark comes from the database clock and each pass looks
+ * back {@link #OVERLAP_SECONDS} more, because a row is stamped when it is written but only becomes
+ * visible when its transaction commits; rows already seen with the same updated_at are skipped.
+ * Rows written by this desk are seen once more and republished; subscribers upsert, so that only
+ * costs one extra lookup. Notifications are only published when they are new, not when another
+ * desk marks them as read.
+ * <p>
+ * Only useful on a shared storage backend (see {@link StorageBackend#isShared()}); the watermark and
+ * tombstones are read from the MySQL database. Configure the interval with
+ * -Dfasttrack.sync.intervalSeconds (0 disables the sync).
+ */
+public class DeltaSyncPoller {
+
+    public static final String INTERVAL_PROPERTY = "fasttrack.sync.intervalSeconds";
+    private static final long DEFAULT_INTERVAL_SECONDS = 5;
+    private static final long OVERLAP_SECONDS = 5;
+    // Notifications are stamped with the sending desk's clock and may be held back by its coalescer
+    private static final long NEW_NOTIFICATION_SLACK_SECONDS = 60;
+    // Tombstones older than this are purged at start-up; a desk that was offline longer should reload
+    private static final long TOMBSTONE_RETENTION_DAYS = 7;
+
+    private final ShipmentDAO shipmentDAO;
+    private final DeliveryDAO deliveryDAO;
+    private final DeliveryPersonnelDAO personnelDAO;
+    private final NotificationDAO notificationDAO;
+    private final long intervalSeconds;
+    private final DomainEventBus bus = DomainEventBus.getInstance();
+    // "table|id" -> updated_at (or deleted_at) already published; only touched by poll()
+    private final Map<String, LocalDateTime> seen = new HashMap<>();
+    // Notifications stored by this desk (already published when inserted), until the sync reads them back
+    private final Map<String, Boolean> localNotificationIds = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private LocalDateTime watermark; // Only touched by poll()
+
+    public DeltaSyncPoller(StorageBackend storage) {
+        this(storage.getShipmentDAO(), storage.getDeliveryDAO(), storage.getPersonnelDAO(), storage.getNotificationDAO(),
+                Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS));
+    }
+
+    public DeltaSyncPoller(ShipmentDAO shipmentDAO, DeliveryDAO deliveryDAO, DeliveryPersonnelDAO personnelDAO,
+                           NotificationDAO notificationDAO, long intervalSeconds) {
+        this.shipmentDAO = shipmentDAO;
+        this.deliveryDAO = deliveryDAO;
+        this.personnelDAO = personnelDAO;
+        this.notificationDAO = notificationDAO;
+        this.intervalSeconds = intervalSeconds;
+        bus.subscribe(NotificationCreated.class, event -> {
+            for (Notification notification : event.getNotifications()) {
+                localNotificationIds.put(notification.getNotificationId(), Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Starts the periodic background sync. The panels are expected to have loaded their data already;
+     * only changes from now on are applied.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalSeconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "delta-sync-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::initialize);
+        scheduler.scheduleWithFixedDelay(this::poll, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic background sync.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Sets the initial watermark and purges tombstones no desk needs any more.
+     */
+    private void initialize() {
+        try {
+            watermark = DatabaseConnection.currentTimestamp();
+            int purged = DeletedRecordLog.purgeOlderThan(watermark.minusDays(TOMBSTONE_RETENTION_DAYS));
+            if (purged > 0) {
+                System.out.println("Delta sync purged " + purged + " old tombstones.");
+            }
+        } catch (SQLException ex) {
+            // poll() retries reading the watermark
+            System.err.println("Error initializing delta sync: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * One sync pass: publishes everything that changed since the watermark, then advances it.
+     */
+    private void poll() {
+        try {
+            LocalDateTime now = DatabaseConnection.currentTimestamp();
+            if (watermark == null) {
+                watermark = now;
+                return;
+            }
+            LocalDateTime since = watermark.minusSeconds(OVERLAP_SECONDS);
+            int applied = 0;
+
+            // Referenced rows first, so a new delivery finds its shipment and personnel already applied
+            for (DeliveryPersonnel personnel : personnelDAO.findPersonnelUpdatedSince(since)) {
+                if (markSeen(DeletedRecordLog.PERSONNEL, personnel.getPersonnelId(), personnel.getUpdatedAt())) {
+                    bus.publish(new PersonnelChanged(ChangeType.UPDATED, personnel));
+                    applied++;
+                }
+            }
+            for (Shipment shipment : shipmentDAO.findShipmentsUpdatedSince(since)) {
+                if (markSeen(DeletedRecordLog.SHIPMENTS, shipment.getShipmentId(), shipment.getUpdatedAt())) {
+                    bus.publish(new ShipmentChanged(ChangeType.UPDATED, shipment));
+                    applied++;
+                }
+            }
+            for (Delivery delivery : deliveryDAO.findDeliveriesUpdatedSince(since)) {
+                if (markSeen(DeletedRecordLog.DELIVERIES, delivery.getDeliveryId(), delivery.getUpdatedAt())) {
+                    bus.publish(new DeliveryChanged(ChangeType.UPDATED, delivery));
+                    applied++;
+                }
+            }
+
+            List<Notification> newNotifications = new ArrayList<>();
+            LocalDateTime createdAfter = since.minusSeconds(NEW_NOTIFICATION_SLACK_SECONDS);
+            for (Notification notification : notificationDAO.findNotificationsUpdatedSince(since)) {
+                String id = notification.getNotificationId();
+                String key = DeletedRecordLog.NOTIFICATIONS + '|' + id;
+                boolean local = localNotificationIds.remove(id) != null;
+                boolean known = local || seen.containsKey(key);
+                seen.put(key, notification.getUpdatedAt());
+                // An older notification that was marked as read is not new, even once its ID was forgotten
+                if (!known && !notification.getTimestamp().isBefore(createdAfter)) {
+                    newNotifications.add(notification);
+                }
+            }
+            if (!newNotifications.isEmpty()) {
+                bus.publish(new NotificationCreated(newNotifications));
+                applied += newNotifications.size();
+            }
+
+            for (Object[] tombstone : DeletedRecordLog.findDeletedSince(since)) {
+                String table = (String) tombstone[0];
+                String id = (String) tombstone[1];
+                if (markSeen(table, id, (LocalDateTime) tombstone[3])) {
+                    publishDeleted(table, id, (String) tombstone[2]);
+                    applied++;
+                }
+            }
+
+            watermark = now;
+            forgetOlderThan(since);
+            if (applied > 0) {
+                System.out.println("Delta sync applied " + applied + " changes.");
+            }
+        } catch (SQLException ex) {
+            // The watermark is not advanced on failure, so the next pass retries the same window
+            System.err.println("Error polling for changes: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Remembers the version of a row that is about to be published.
+     * @return true if this version of the row was not published before.
+     */
+    private boolean markSeen(String table, String id, LocalDateTime version) {
+        return !Objects.equals(seen.put(table + '|' + id, version), version);
+    }
+
+    /**
+     * Drops versions older than the next pass can return; they cannot be seen again unless they change.
+     */
+    private void forgetOlderThan(LocalDateTime since) {
+        seen.values().removeIf(version -> version == null || version.isBefore(since));
+    }
+
+    private void publishDeleted(String table, String id, String relatedId) {
+        switch (table) {
+            case DeletedRecordLog.SHIPMENTS:
+                bus.publish(new ShipmentChanged(ChangeType.DELETED, id, null));
+                break;
+            case DeletedRecordLog.DELIVERIES:
+                // Subscribers need the shipment of a deleted delivery to put it back among the unscheduled ones
+                Delivery delivery = new Delivery();
+                delivery.setDeliveryId(id);
+                delivery.setShipmentId(relatedId);
+                bus.publish(new DeliveryChanged(ChangeType.DELETED, id, delivery));
+                break;
+            case DeletedRecordLog.PERSONNEL:
+                bus.publish(new PersonnelChanged(ChangeType.DELETED, id, null));
+                break;
+            default:
+                break; // Deleted notifications only disappear on the next inbox reload
+        }
+    }
+}
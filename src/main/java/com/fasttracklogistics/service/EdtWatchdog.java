@@ -0,0 +1,206 @@
+// src/main/java/com/fasttracklogistics/service/EdtWatchdog.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.metrics.LatencyHistogram;
+import com.fasttracklogistics.metrics.MetricsRegistry;
+
+import java.awt.EventQueue;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects stalls of the Event Dispatch Thread, i.e. periods in which the UI cannot repaint or react to input.
+ * <p>
+ * A daemon thread posts a heartbeat to the EDT every few milliseconds and waits for it to run. When a heartbeat
+ * is late by more than the threshold (-Dfasttrack.edt.stallThresholdMillis, default 200, 0 disables the watchdog)
+ * the EDT's stack is captured; when the EDT catches up the stall is logged with the frame it was blocked in
+ * (e.g. DeliveryDAOImpl.findDeliveryByShipmentId) and recorded in the MetricsRegistry as timer
+ * "edt.stall.&lt;controller action&gt;". The action is the outermost controller method on the captured stack.
+ * Stalls that go on for much longer are logged with their full stack while they last.
+ */
+public class EdtWatchdog {
+
+    public static final String THRESHOLD_PROPERTY = "fasttrack.edt.stallThresholdMillis";
+    public static final String SAMPLE_INTERVAL_PROPERTY = "fasttrack.edt.sampleIntervalMillis";
+
+    private static final String TIMER_PREFIX = "edt.stall.";
+    private static final String CONTROLLER_PACKAGE = "com.fasttracklogistics.controller.";
+    private static final String APPLICATION_PACKAGE = "com.fasttracklogistics.";
+    private static final String NO_CONTROLLER = "(outside controllers)";
+    private static final String NOT_SAMPLED = "(not sampled)";
+    // A stall this many times the threshold is logged with its stack before it ends (it may never end)
+    private static final int ONGOING_STALL_FACTOR = 25;
+    private static final int MAX_LOGGED_FRAMES = 40;
+
+    private final long thresholdNanos;
+    private final long sampleIntervalMillis;
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+    private final LongAdder stallCount = registry.counter("edt.stalls");
+    private ScheduledExecutorService scheduler;
+
+    // Written by the heartbeat on the EDT, read by the watchdog thread
+    private volatile Thread edt;
+    private volatile long heartbeatPostedAt; // 0 once the heartbeat has run
+    private volatile long heartbeatDelayNanos;
+
+    // Only touched by the watchdog thread
+    private StackTraceElement[] stallStack;
+    private boolean ongoingStallLogged;
+
+    public EdtWatchdog() {
+        this(Long.getLong(THRESHOLD_PROPERTY, 200), Long.getLong(SAMPLE_INTERVAL_PROPERTY, 50));
+    }
+
+    /**
+     * @param thresholdMillis Shortest stall that is recorded; 0 disables the watchdog.
+     * @param sampleIntervalMillis Time between heartbeats.
+     */
+    public EdtWatchdog(long thresholdMillis, long sampleIntervalMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleIntervalMillis = Math.max(1, Math.min(sampleIntervalMillis, Math.max(1, thresholdMillis / 2)));
+    }
+
+    /**
+     * Starts watching the EDT, if a threshold is configured.
+     */
+    public synchronized void start() {
+        if (scheduler != null || thresholdNanos <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "edt-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sample, sampleIntervalMillis, sampleIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops watching and logs the stall statistics per controller action.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            if (stallCount.sum() > 0) {
+                System.out.print(getSummary());
+            }
+        }
+    }
+
+    /**
+     * Runs on the watchdog thread: posts a heartbeat, or checks how late the pending one is.
+     */
+    private void sample() {
+        try {
+            long postedAt = heartbeatPostedAt;
+            long now = System.nanoTime();
+            if (postedAt == 0) {
+                long delay = heartbeatDelayNanos;
+                if (delay >= thresholdNanos) {
+                    recordStall(delay, stallStack);
+                }
+                stallStack = null;
+                ongoingStallLogged = false;
+                heartbeatPostedAt = now;
+                EventQueue.invokeLater(() -> heartbeat(now));
+                return;
+            }
+            long waited = now - postedAt;
+            Thread dispatchThread = edt;
+            if (waited >= thresholdNanos && stallStack == null && dispatchThread != null) {
+                stallStack = dispatchThread.getStackTrace(); // Where the EDT is stuck, while it is stuck
+            }
+            if (waited >= thresholdNanos * ONGOING_STALL_FACTOR && !ongoingStallLogged && stallStack != null) {
+                ongoingStallLogged = true;
+                System.err.printf(Locale.ROOT, "EDT blocked for %d ms so far in %s:%n", TimeUnit.NANOSECONDS.toMillis(waited),
+                        actionOf(stallStack));
+                printStack(dispatchThread != null ? dispatchThread.getStackTrace() : stallStack, Integer.MAX_VALUE);
+            }
+        } catch (RuntimeException e) {
+            // Keep watching; an exception would cancel the scheduled task
+            System.err.println("Error in EDT watchdog: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void heartbeat(long postedAt) {
+        edt = Thread.currentThread();
+        heartbeatDelayNanos = System.nanoTime() - postedAt;
+        heartbeatPostedAt = 0;
+    }
+
+    private void recordStall(long nanos, StackTraceElement[] stack) {
+        String action = stack != null ? actionOf(stack) : NOT_SAMPLED;
+        stallCount.increment();
+        registry.timer(TIMER_PREFIX + action).record(nanos);
+        String blockedIn = stack != null ? blockingFrameOf(stack) : null;
+        System.err.printf(Locale.ROOT, "EDT stalled for %d ms in %s%s%n", TimeUnit.NANOSECONDS.toMillis(nanos), action,
+                blockedIn != null ? " (blocked in " + blockedIn + ")" : "");
+        if (stack != null && !ongoingStallLogged) {
+            printStack(stack, MAX_LOGGED_FRAMES);
+        }
+    }
+
+    /**
+     * @return The outermost controller method on the stack (lambdas skipped), e.g. "ScheduleDeliveryController.scheduleDelivery".
+     */
+    static String actionOf(StackTraceElement[] stack) {
+        for (int i = stack.length - 1; i >= 0; i--) {
+            StackTraceElement frame = stack[i];
+            if (frame.getClassName().startsWith(CONTROLLER_PACKAGE) && !frame.getMethodName().startsWith("lambda$")) {
+                return frame.getClassName().substring(CONTROLLER_PACKAGE.length()) + "." + frame.getMethodName();
+            }
+        }
+        return NO_CONTROLLER;
+    }
+
+    /**
+     * @return The innermost application method on the stack, skipping proxy handlers and metrics,
+     * e.g. "dao.DeliveryDAOImpl.findDeliveryByShipmentId", or null if the EDT was not in application code.
+     */
+    static String blockingFrameOf(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (className.startsWith(APPLICATION_PACKAGE) && !className.startsWith(APPLICATION_PACKAGE + "metrics.")
+                    && !frame.getMethodName().equals("invoke")) {
+                return className.substring(APPLICATION_PACKAGE.length()) + "." + frame.getMethodName();
+            }
+        }
+        return null;
+    }
+
+    private static void printStack(StackTraceElement[] stack, int maxFrames) {
+        int frames = Math.min(stack.length, maxFrames);
+        for (int i = 0; i < frames; i++) {
+            System.err.println("\tat " + stack[i]);
+        }
+        if (frames < stack.length) {
+            System.err.println("\t... " + (stack.length - frames) + " more");
+        }
+    }
+
+    /**
+     * @return The stalls recorded so far per controller action: count, total, mean, p99 and longest, in ms.
+     */
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("EDT stalls over %d ms (%d total):%n", TimeUnit.NANOSECONDS.toMillis(thresholdNanos), stallCount.sum()));
+        sb.append(String.format("%-60s %7s %10s %9s %9s %9s%n", "Controller action", "Stalls", "Total ms", "Mean ms", "p99 ms", "Max ms"));
+        for (Map.Entry<String, LatencyHistogram> entry : registry.getTimers().entrySet()) {
+            LatencyHistogram timer = entry.getValue();
+            if (!entry.getKey().startsWith(TIMER_PREFIX) || timer.getCount() == 0) {
+                continue;
+            }
+            sb.append(String.format(Locale.ROOT, "%-60s %7d %10d %9.0f %9d %9d%n", entry.getKey().substring(TIMER_PREFIX.length()),
+                    timer.getCount(), TimeUnit.NANOSECONDS.toMillis(timer.getTotalNanos()), timer.getMeanNanos() / 1e6,
+                    TimeUnit.NANOSECONDS.toMillis(timer.getPercentileNanos(99)), TimeUnit.NANOSECONDS.toMillis(timer.getMaxNanos())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,207 @@
+// src/main/java/com/fasttracklogistics/service/EtaPredictionService.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.dao.DeliveryDAO;
+import com.fasttracklogistics.dao.DeliveryDAOImpl;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.Shipment;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Predicts estimated arrival times from the history of completed deliveries.
+ * <p>
+ * The model is a set of {@link EtaStatistics} keyed by route, package type, personnel and
+ * scheduled time slot, with coarser fallback keys for combinations that have too few samples.
+ * It is trained incrementally: a background thread reads only delivered rows whose updated_at is
+ * at or after the last watermark, so the Deliveries table is never rescanned. The cursor is
+ * updated_at rather than actual_delivery_date because the completion time is entered by hand and
+ * may lie before rows already read; actual_delivery_date is only the sample value. Predictions are
+ * in-memory map lookups and can be called directly from controllers on the EDT.
+ */
+public class EtaPredictionService {
+
+    private static final int MIN_SAMPLES = 5; // Samples needed before a key is trusted
+    private static final long REFRESH_INTERVAL_MINUTES = 5;
+    private static final int INITIAL_LOOKBACK_DAYS = 180; // History read on first start-up
+    // Rows are stamped when written but visible only once committed, so each pass looks back this much more
+    private static final long OVERLAP_SECONDS = 60;
+    private static final long MAX_OBSERVATION_MINUTES = Duration.ofDays(30).toMinutes(); // Ignore obvious data errors
+    private static final Duration DEFAULT_LEAD_TIME = Duration.ofHours(24); // Used when there is no history at all
+    private static final String GLOBAL_KEY = "*";
+
+    private final DeliveryDAO deliveryDAO;
+    private final Map<String, EtaStatistics> statistics = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    // Watermark state, only touched by refresh() (which is synchronized)
+    private LocalDateTime watermark = LocalDateTime.now().minusDays(INITIAL_LOOKBACK_DAYS);
+    // deliveryId -> actual delivery date already in the model, for deliveries completed within the lookback;
+    // a delivered row is read again when it is edited or falls in the overlap, and must only count once
+    private final Map<String, LocalDateTime> recorded = new HashMap<>();
+
+    public EtaPredictionService() {
+        this(new DeliveryDAOImpl());
+    }
+
+    public EtaPredictionService(DeliveryDAO deliveryDAO) {
+        this.deliveryDAO = deliveryDAO;
+    }
+
+    /**
+     * Starts the background refresh thread. The first pass loads the initial history.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "eta-model-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, REFRESH_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the background refresh thread.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Asks the background thread to pick up newly completed deliveries right away,
+     * e.g. after a delivery was marked 'Delivered'.
+     */
+    public synchronized void requestRefresh() {
+        if (scheduler != null) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    /**
+     * Predicts the arrival time of a delivery.
+     * @param shipment The shipment being delivered (route and package type are used).
+     * @param personnelId The assigned personnel ID (can be null).
+     * @param scheduledDate The scheduled delivery date.
+     * @param timeSlot The scheduled time slot (can be null).
+     * @param notBefore The earliest acceptable ETA (usually now).
+     * @return The predicted arrival time, never before notBefore.
+     */
+    public LocalDateTime predictEta(Shipment shipment, String personnelId, LocalDate scheduledDate,
+                                    String timeSlot, LocalDateTime notBefore) {
+        EtaStatistics stats = lookup(shipment.getRoute(), shipment.getPackageType(), personnelId, timeSlot);
+        if (stats == null) {
+            LocalDateTime anchor = scheduledDate.atStartOfDay();
+            return (anchor.isAfter(notBefore) ? anchor : notBefore).plus(DEFAULT_LEAD_TIME);
+        }
+        LocalDateTime eta = scheduledDate.atStartOfDay().plusMinutes(Math.round(stats.getMedian()));
+        // Deliveries cluster at a time of day, so roll forward by whole days if that time has passed
+        while (eta.isBefore(notBefore)) {
+            eta = eta.plusDays(1);
+        }
+        return eta;
+    }
+
+    /**
+     * Returns the most specific statistics with enough samples for the given attributes,
+     * falling back from the full key to route-only and finally global statistics.
+     */
+    private EtaStatistics lookup(String route, String packageType, String personnelId, String timeSlot) {
+        for (String key : keysFor(route, packageType, personnelId, timeSlot)) {
+            EtaStatistics stats = statistics.get(key);
+            if (stats != null && stats.getCount() >= MIN_SAMPLES) {
+                return stats;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the model keys for one delivery, most specific first.
+     */
+    private static String[] keysFor(String route, String packageType, String personnelId, String timeSlot) {
+        String r = normalize(route);
+        String p = normalize(packageType);
+        String d = normalize(personnelId);
+        String s = normalize(timeSlot);
+        return new String[]{
+                r + '|' + p + '|' + d + '|' + s,
+                r + '|' + p + '|' + s,
+                r + '|' + s,
+                r,
+                GLOBAL_KEY
+        };
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Reads delivered rows changed since the watermark and adds the new ones to the model.
+     */
+    private synchronized void refresh() {
+        try {
+            List<Object[]> completed = deliveryDAO.findDeliveredSince(watermark.minusSeconds(OVERLAP_SECONDS));
+            LocalDateTime horizon = LocalDateTime.now().minusDays(INITIAL_LOOKBACK_DAYS);
+            int added = 0;
+            for (Object[] row : completed) {
+                Delivery delivery = (Delivery) row[0];
+                Shipment shipment = (Shipment) row[1];
+                if (delivery.getUpdatedAt() != null && delivery.getUpdatedAt().isAfter(watermark)) {
+                    watermark = delivery.getUpdatedAt(); // Database clock, like the rows it is compared with
+                }
+                LocalDateTime actual = delivery.getActualDeliveryDate();
+                if (actual == null || delivery.getScheduledDate() == null || actual.isBefore(horizon)) {
+                    continue;
+                }
+                if (recorded.putIfAbsent(delivery.getDeliveryId(), actual) != null) {
+                    continue; // Already counted; the model cannot take a sample back
+                }
+                if (record(delivery, shipment)) {
+                    added++;
+                }
+            }
+            recorded.values().removeIf(actual -> actual.isBefore(horizon));
+            if (added > 0) {
+                System.out.println("ETA model updated with " + added + " completed deliveries (" + statistics.size() + " keys).");
+            }
+        } catch (SQLException ex) {
+            System.err.println("Error refreshing ETA model: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Adds one completed delivery to every key it belongs to.
+     * @return true if the observation was used, false if it was discarded as an outlier.
+     */
+    private boolean record(Delivery delivery, Shipment shipment) {
+        long minutes = Duration.between(delivery.getScheduledDate().atStartOfDay(), delivery.getActualDeliveryDate()).toMinutes();
+        if (minutes < 0 || minutes > MAX_OBSERVATION_MINUTES) {
+            return false;
+        }
+        for (String key : keysFor(shipment.getRoute(), shipment.getPackageType(),
+                delivery.getPersonnelId(), delivery.getScheduledTimeSlot())) {
+            statistics.computeIfAbsent(key, k -> new EtaStatistics()).add(minutes);
+        }
+        return true;
+    }
+}
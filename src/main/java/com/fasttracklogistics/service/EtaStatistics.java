@@ -0,0 +1,51 @@
+// src/main/java/com/fasttracklogistics/service/EtaStatistics.java
+
+package com.fasttracklogistics.service;
+
+/**
+ * Running delivery-time statistics for one ETA model key (e.g. route + package type + slot).
+ * Observations are minutes from the start of the scheduled day to the actual delivery.
+ * The mean is maintained with Welford's algorithm and the median / 90th percentile with
+ * P-square sketches, so each key costs a few hundred bytes regardless of history size.
+ */
+public class EtaStatistics {
+
+    private long count;
+    private double mean;
+    private double m2; // Sum of squared differences from the mean (for variance)
+    private final QuantileSketch median = new QuantileSketch(0.5);
+    private final QuantileSketch p90 = new QuantileSketch(0.9);
+
+    /**
+     * Adds one observed delivery time.
+     * @param minutes Minutes from the start of the scheduled day to the actual delivery.
+     */
+    public synchronized void add(double minutes) {
+        count++;
+        double delta = minutes - mean;
+        mean += delta / count;
+        m2 += delta * (minutes - mean);
+        median.add(minutes);
+        p90.add(minutes);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getMean() {
+        return mean;
+    }
+
+    public synchronized double getStandardDeviation() {
+        return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0;
+    }
+
+    public synchronized double getMedian() {
+        return median.estimate();
+    }
+
+    public synchronized double getP90() {
+        return p90.estimate();
+    }
+}
@@ -0,0 +1,28 @@
+// src/main/java/com/fasttracklogistics/service/ExportFormat.java
+
+package com.fasttracklogistics.service;
+
+/**
+ * The supported export file formats.
+ */
+public enum ExportFormat {
+    CSV("CSV", "csv"),
+    JSON("JSON", "json");
+
+    private final String displayName;
+    private final String fileExtension;
+
+    ExportFormat(String displayName, String fileExtension) {
+        this.displayName = displayName;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    @Override
+    public String toString() {
+        return displayName; // Shown in the export combo box
+    }
+}
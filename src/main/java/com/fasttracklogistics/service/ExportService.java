@@ -0,0 +1,235 @@
+// src/main/java/com/fasttracklogistics/service/ExportService.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.dao.ExportDAO;
+import com.fasttracklogistics.dao.ExportDAOImpl;
+import com.fasttracklogistics.dao.ExportRowHandler;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service that exports shipments, deliveries or notifications to CSV or JSON files.
+ * <p>
+ * Rows flow from a streaming ResultSet through a formatter into a fixed-size NIO buffer
+ * (optionally gzip-compressed) without ever being collected, so heap use stays constant
+ * whatever the size of the table.
+ */
+public class ExportService {
+
+    /**
+     * Receives the number of rows written so far. Called on the exporting thread.
+     */
+    @FunctionalInterface
+    public interface ExportProgressListener {
+        void exportProgress(long rowsWritten);
+    }
+
+    private static final int PROGRESS_INTERVAL = 1000; // Rows between progress callbacks
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ExportDAO exportDAO;
+
+    public ExportService() {
+        this(new ExportDAOImpl());
+    }
+
+    public ExportService(ExportDAO exportDAO) {
+        this.exportDAO = exportDAO;
+    }
+
+    /**
+     * Exports one table to a file. A partially written file is deleted if the export fails.
+     * @param table The table to export.
+     * @param format The output format.
+     * @param gzip Whether to gzip-compress the output.
+     * @param from First date included (creation, scheduled or notification date depending on the table).
+     * @param to First date excluded.
+     * @param status Only export rows with this status (null or empty for all).
+     * @param target The file to write; it is created or overwritten.
+     * @param listener Receives progress updates (may be null).
+     * @return The number of rows exported.
+     * @throws SQLException If a database access error occurs.
+     * @throws IOException If the file cannot be written, or the exporting thread was interrupted.
+     */
+    public long export(ExportTable table, ExportFormat format, boolean gzip, LocalDate from, LocalDate to, String status,
+                       Path target, ExportProgressListener listener) throws SQLException, IOException {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The end date must not be before the start date.");
+        }
+        FormattingHandler handler;
+        boolean completed = false;
+        try (BufferedChannelWriter writer = new BufferedChannelWriter(openChannel(target, gzip))) {
+            handler = new FormattingHandler(writer, format, listener);
+            switch (table) {
+                case SHIPMENTS:
+                    exportDAO.streamShipments(from, to, status, handler);
+                    break;
+                case DELIVERIES:
+                    exportDAO.streamDeliveries(from, to, status, handler);
+                    break;
+                case NOTIFICATIONS:
+                    exportDAO.streamNotifications(from, to, status, handler);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown export table: " + table);
+            }
+            handler.finish();
+            completed = true;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(target);
+            }
+        }
+        return handler.rowsWritten;
+    }
+
+    private WritableByteChannel openChannel(Path target, boolean gzip) throws IOException {
+        FileChannel fileChannel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        if (!gzip) {
+            return fileChannel;
+        }
+        // Closing the returned channel finishes the gzip stream and closes the file
+        return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(fileChannel), GZIP_BUFFER_SIZE));
+    }
+
+    /**
+     * Writes each streamed row in the chosen format as soon as it arrives.
+     */
+    private static class FormattingHandler implements ExportRowHandler {
+        private final BufferedChannelWriter writer;
+        private final ExportFormat format;
+        private final ExportProgressListener listener;
+        private String[] jsonKeys; // Column names pre-quoted for JSON
+        private long rowsWritten;
+
+        FormattingHandler(BufferedChannelWriter writer, ExportFormat format, ExportProgressListener listener) {
+            this.writer = writer;
+            this.format = format;
+            this.listener = listener;
+        }
+
+        @Override
+        public void handleColumns(String[] columns) throws IOException {
+            if (format == ExportFormat.CSV) {
+                for (int i = 0; i < columns.length; i++) {
+                    writer.write(i == 0 ? "" : ",").write(csvValue(columns[i]));
+                }
+                writer.write("\n");
+            } else {
+                jsonKeys = new String[columns.length];
+                for (int i = 0; i < columns.length; i++) {
+                    jsonKeys[i] = jsonString(columns[i]) + ":";
+                }
+                writer.write("[");
+            }
+        }
+
+        @Override
+        public void handleRow(Object[] row) throws IOException {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Export cancelled.");
+            }
+            if (format == ExportFormat.CSV) {
+                for (int i = 0; i < row.length; i++) {
+                    writer.write(i == 0 ? "" : ",").write(csvValue(row[i]));
+                }
+                writer.write("\n");
+            } else {
+                writer.write(rowsWritten == 0 ? "\n{" : ",\n{");
+                for (int i = 0; i < row.length; i++) {
+                    writer.write(i == 0 ? "" : ",").write(jsonKeys[i]).write(jsonValue(row[i]));
+                }
+                writer.write("}");
+            }
+            rowsWritten++;
+            if (listener != null && rowsWritten % PROGRESS_INTERVAL == 0) {
+                listener.exportProgress(rowsWritten);
+            }
+        }
+
+        void finish() throws IOException {
+            if (format == ExportFormat.JSON) {
+                writer.write(rowsWritten == 0 ? "]\n" : "\n]\n");
+            }
+            if (listener != null) {
+                listener.exportProgress(rowsWritten);
+            }
+        }
+
+        private static String text(Object value) {
+            if (value instanceof Timestamp) {
+                return ((Timestamp) value).toLocalDateTime().toString();
+            }
+            if (value instanceof BigDecimal) {
+                return ((BigDecimal) value).toPlainString();
+            }
+            return value.toString();
+        }
+
+        private static String csvValue(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = text(value);
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+
+        private static String jsonValue(Object value) {
+            if (value == null) {
+                return "null";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return text(value);
+            }
+            return jsonString(text(value));
+        }
+
+        private static String jsonString(String text) {
+            StringBuilder sb = new StringBuilder(text.length() + 2).append('"');
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '"':
+                        sb.append("\\\"");
+                        break;
+                    case '\\':
+                        sb.append("\\\\");
+                        break;
+                    case '\n':
+                        sb.append("\\n");
+                        break;
+                    case '\r':
+                        sb.append("\\r");
+                        break;
+                    case '\t':
+                        sb.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                }
+            }
+            return sb.append('"').toString();
+        }
+    }
+}
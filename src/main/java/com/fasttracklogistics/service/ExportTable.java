@@ -0,0 +1,29 @@
+// src/main/java/com/fasttracklogistics/service/ExportTable.java
+
+package com.fasttracklogistics.service;
+
+/**
+ * The tables that can be exported, with their display names and file name prefixes.
+ */
+public enum ExportTable {
+    SHIPMENTS("Shipments", "shipments"),
+    DELIVERIES("Deliveries", "deliveries"),
+    NOTIFICATIONS("Notifications", "notifications");
+
+    private final String displayName;
+    private final String fileNamePrefix;
+
+    ExportTable(String displayName, String fileNamePrefix) {
+        this.displayName = displayName;
+        this.fileNamePrefix = fileNamePrefix;
+    }
+
+    public String getFileNamePrefix() {
+        return fileNamePrefix;
+    }
+
+    @Override
+    public String toString() {
+        return displayName; // Shown in the export combo box
+    }
+}
@@ -0,0 +1,86 @@
+// src/main/java/com/fasttracklogistics/service/FlightRecordingService.java
+
+package com.fasttracklogistics.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Records a Java Flight Recording of the running application to a .jfr file for offline analysis
+ * (e.g. with JDK Mission Control or "jfr print"). The recording uses the JDK's "profile" settings plus the
+ * application's SQL execution and controller action events. Files go to -Dfasttrack.jfr.directory
+ * (default: the working directory).
+ */
+public class FlightRecordingService {
+
+    public static final String DIRECTORY_PROPERTY = "fasttrack.jfr.directory";
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private boolean recording;
+
+    public FlightRecordingService() {
+        this(Paths.get(System.getProperty(DIRECTORY_PROPERTY, ".")));
+    }
+
+    public FlightRecordingService(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Records for the given time and writes the recording to a new file. Blocks until the file is written,
+     * so call it off the EDT. Only one recording runs at a time.
+     *
+     * @param duration How long to record.
+     * @return The .jfr file written.
+     * @throws IOException If the recording cannot be started or written.
+     * @throws InterruptedException If interrupted while recording; the recording is discarded.
+     */
+    public Path record(Duration duration) throws IOException, InterruptedException {
+        synchronized (this) {
+            if (recording) {
+                throw new IllegalStateException("A flight recording is already running");
+            }
+            recording = true;
+        }
+        try {
+            Configuration settings;
+            try {
+                settings = Configuration.getConfiguration("profile");
+            } catch (ParseException e) {
+                throw new IOException("Cannot read the JFR profile settings", e);
+            }
+            Files.createDirectories(directory);
+            Path file = directory.resolve("cargopilot-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr").toAbsolutePath();
+            try (Recording jfr = new Recording(settings)) {
+                jfr.setName("CargoPilot diagnostics");
+                jfr.setDestination(file); // Written by stop()
+                jfr.start();
+                Thread.sleep(duration.toMillis());
+                jfr.stop();
+            }
+            return file;
+        } finally {
+            synchronized (this) {
+                recording = false;
+            }
+        }
+    }
+
+    /**
+     * @return true while record() is running.
+     */
+    public synchronized boolean isRecording() {
+        return recording;
+    }
+}
@@ -0,0 +1,95 @@
+// src/main/java/com/fasttracklogistics/service/MetricsReporter.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the MetricsRegistry out periodically, as text or as one JSON object per line, to the
+ * console or appended to a file. Off unless -Dfasttrack.metrics.dumpIntervalSeconds is set;
+ * -Dfasttrack.metrics.dumpFormat is "text" (default) or "json" and -Dfasttrack.metrics.dumpFile
+ * names the file (default: standard output). The metrics are cumulative since start-up.
+ */
+public class MetricsReporter {
+
+    public static final String INTERVAL_PROPERTY = "fasttrack.metrics.dumpIntervalSeconds";
+    public static final String FORMAT_PROPERTY = "fasttrack.metrics.dumpFormat";
+    public static final String FILE_PROPERTY = "fasttrack.metrics.dumpFile";
+
+    private final long intervalSeconds;
+    private final boolean json;
+    private final Path file;
+    private ScheduledExecutorService scheduler;
+
+    public MetricsReporter() {
+        this(Long.getLong(INTERVAL_PROPERTY, 0), "json".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY, "text")),
+                System.getProperty(FILE_PROPERTY) != null ? Paths.get(System.getProperty(FILE_PROPERTY)) : null);
+    }
+
+    /**
+     * @param intervalSeconds Seconds between dumps; 0 disables the reporter.
+     * @param json true for JSON lines, false for text.
+     * @param file The file to append to, or null for standard output.
+     */
+    public MetricsReporter(long intervalSeconds, boolean json, Path file) {
+        this.intervalSeconds = intervalSeconds;
+        this.json = json;
+        this.file = file;
+    }
+
+    /**
+     * Starts the periodic dump, if an interval is configured.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalSeconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::dump, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic dump after writing the metrics one last time.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+            dump();
+        }
+    }
+
+    /**
+     * Writes the current metrics once.
+     */
+    public void dump() {
+        MetricsRegistry registry = MetricsRegistry.getInstance();
+        String output = json ? registry.toJson() + System.lineSeparator()
+                : "--- Metrics at " + LocalDateTime.now().withNano(0) + " ---" + System.lineSeparator() + registry.toText();
+        if (file == null) {
+            System.out.print(output);
+            return;
+        }
+        try {
+            Files.write(file, output.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            System.err.println("Error writing metrics to " + file + ": " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+}
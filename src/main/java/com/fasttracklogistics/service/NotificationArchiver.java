@@ -0,0 +1,166 @@
+// src/main/java/com/fasttracklogistics/service/NotificationArchiver.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.dao.DatabaseConnection;
+import com.fasttracklogistics.dao.NotificationCounterMaintainer;
+import com.fasttracklogistics.dao.NotificationPartitionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job that applies the notification retention policy.
+ * <p>
+ * Once at start-up and then every night it adds the Notifications partitions for the coming months,
+ * and moves every month older than the retention period to a gzip-compressed CSV file in the
+ * archive directory before dropping its partition. A partition is only dropped when the archive
+ * holds exactly as many rows as the partition. The unread counters are rebuilt after archiving
+ * (and at start-up if they are empty), since dropped partitions bypass the DAO.
+ * <p>
+ * The policy is configured with system properties:
+ * {@code fasttrack.notifications.retentionMonths} (full months kept besides the current one,
+ * default 12; 0 or less disables archiving) and {@code fasttrack.notifications.archiveDir}
+ * (default {@code archive/notifications}).
+ */
+public class NotificationArchiver {
+
+    public static final String RETENTION_MONTHS_PROPERTY = "fasttrack.notifications.retentionMonths";
+    public static final String ARCHIVE_DIR_PROPERTY = "fasttrack.notifications.archiveDir";
+
+    private static final int DEFAULT_RETENTION_MONTHS = 12;
+    private static final String DEFAULT_ARCHIVE_DIR = "archive/notifications";
+    private static final LocalTime RUN_AT = LocalTime.of(3, 0); // Local time of the nightly pass
+    private static final LocalDate EPOCH = LocalDate.of(1970, 1, 1); // The oldest partition holds anything older
+
+    private final int retentionMonths;
+    private final Path archiveDir;
+    private final ExportService exportService;
+    private ScheduledExecutorService scheduler;
+
+    public NotificationArchiver() {
+        this(Integer.getInteger(RETENTION_MONTHS_PROPERTY, DEFAULT_RETENTION_MONTHS),
+                Paths.get(System.getProperty(ARCHIVE_DIR_PROPERTY, DEFAULT_ARCHIVE_DIR)), new ExportService());
+    }
+
+    public NotificationArchiver(int retentionMonths, Path archiveDir, ExportService exportService) {
+        this.retentionMonths = retentionMonths;
+        this.archiveDir = archiveDir;
+        this.exportService = exportService;
+    }
+
+    /**
+     * Starts the job: one pass right away, then one pass every night.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::runPass);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextRun = now.toLocalDate().atTime(RUN_AT);
+        if (!nextRun.isAfter(now)) {
+            nextRun = nextRun.plusDays(1);
+        }
+        scheduler.scheduleAtFixedRate(this::runPass, Duration.between(now, nextRun).toMinutes(),
+                TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the nightly job.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Extends the partitions into the future, then archives and drops the expired months.
+     */
+    private void runPass() {
+        try {
+            int added = NotificationPartitionManager.addPartitionsUpTo(
+                    YearMonth.now().plusMonths(DatabaseConnection.NOTIFICATION_PARTITIONS_AHEAD));
+            if (added > 0) {
+                System.out.println("Added " + added + " monthly partition(s) to Notifications.");
+            }
+            boolean dropped = retentionMonths > 0 && archiveExpiredMonths();
+            if (dropped || !NotificationCounterMaintainer.hasCounters()) {
+                int recipients = NotificationCounterMaintainer.rebuild();
+                System.out.println("Notification counters rebuilt for " + recipients + " recipients.");
+            }
+        } catch (SQLException ex) {
+            System.err.println("Error maintaining notification partitions: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Archives and drops every partition older than the retention period, oldest first.
+     * @return true if at least one partition was dropped.
+     */
+    private boolean archiveExpiredMonths() throws SQLException {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        List<YearMonth> months = NotificationPartitionManager.findPartitionMonths();
+        boolean dropped = false;
+        // Never drop the last remaining partition; RANGE partitioning needs at least one besides pmax
+        for (int i = 0; i < months.size() - 1 && months.get(i).isBefore(oldestKept); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            LocalDate from = i == 0 ? EPOCH : months.get(i).atDay(1);
+            if (!archive(months.get(i), from)) {
+                break; // Keep the order: retry this month on the next pass before touching newer ones
+            }
+            dropped = true;
+        }
+        return dropped;
+    }
+
+    /**
+     * Writes one month to its archive file and drops its partition if every row made it into the file.
+     * @return true if the partition was dropped.
+     */
+    private boolean archive(YearMonth month, LocalDate from) throws SQLException {
+        Path target = archiveDir.resolve("notifications-" + month + ".csv.gz");
+        try {
+            Files.createDirectories(archiveDir);
+            long startNanos = System.nanoTime();
+            long archived = exportService.export(ExportTable.NOTIFICATIONS, ExportFormat.CSV, true,
+                    from, month.plusMonths(1).atDay(1), null, target, null);
+            long stored = NotificationPartitionManager.countRows(month);
+            if (archived != stored) {
+                System.err.println("Notification archive " + target + " has " + archived + " rows but the partition has "
+                        + stored + "; the partition was kept and will be archived again on the next pass.");
+                return false;
+            }
+            NotificationPartitionManager.dropPartition(month);
+            System.out.println("Archived " + archived + " notifications of " + month + " to " + target + " in "
+                    + (System.nanoTime() - startNanos) / 1_000_000 + " ms.");
+            return true;
+        } catch (IOException ex) {
+            System.err.println("Error writing notification archive " + target + ": " + ex.getMessage());
+            ex.printStackTrace();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+// src/main/java/com/fasttracklogistics/service/OverdueDeliveryWatcher.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.controller.NotificationController;
+import com.fasttracklogistics.dao.DeliveryDAO;
+import com.fasttracklogistics.dao.DeliveryDAOImpl;
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.NotificationMessage;
+import com.fasttracklogistics.model.NotificationTemplate;
+import com.fasttracklogistics.model.Shipment;
+
+import javax.swing.SwingUtilities;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background SLA watcher that flags deliveries whose estimated arrival time has passed
+ * without them being delivered.
+ * <p>
+ * Each pass reads the deliveries that are still in an open status with an ETA at or before
+ * now (a range scan over the (delivery_status, estimated_arrival_time) index), marks them
+ * 'Delayed' with an automatic delay reason, and sends one batch of urgent personnel
+ * notifications. Flagged deliveries leave the open statuses, so a pass only reads the ones
+ * that became overdue since the previous pass, whether because their ETA passed or because
+ * their ETA or status was changed; there is no cursor that an earlier ETA could fall behind.
+ * The overdue set is kept in memory and pushed to listeners on the Event Dispatch Thread, so
+ * the UI never has to poll the Deliveries table. The first pass fills it with the deliveries
+ * that were already 'Delayed' (e.g. before a restart), without notifying personnel again.
+ */
+public class OverdueDeliveryWatcher {
+
+    /**
+     * Receives newly detected overdue deliveries. Always called on the Event Dispatch Thread.
+     */
+    public interface OverdueListener {
+        /**
+         * @param newlyOverdue Object arrays containing {Delivery, Shipment} flagged in the last pass
+         *                     (on the first pass, also those that were already flagged).
+         * @param overdueCount The total number of deliveries currently known to be overdue.
+         */
+        void overdueDeliveriesDetected(List<Object[]> newlyOverdue, int overdueCount);
+    }
+
+    private static final long SCAN_INTERVAL_SECONDS = 60;
+
+    private final DeliveryDAO deliveryDAO;
+    private final NotificationController notificationController;
+    private final Map<String, Object[]> overdueDeliveries = new ConcurrentHashMap<>(); // deliveryId -> {Delivery, Shipment}
+    private final List<OverdueListener> listeners = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private boolean restored; // Whether the already flagged deliveries were loaded; guarded by this
+
+    public OverdueDeliveryWatcher(NotificationController notificationController) {
+        this(new DeliveryDAOImpl(), notificationController);
+    }
+
+    public OverdueDeliveryWatcher(DeliveryDAO deliveryDAO, NotificationController notificationController) {
+        this.deliveryDAO = deliveryDAO;
+        this.notificationController = notificationController;
+    }
+
+    /**
+     * Starts the periodic background scan.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "overdue-delivery-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scan, 0, SCAN_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic background scan.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    public void addOverdueListener(OverdueListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a delivery from the overdue set, e.g. once it was delivered, cancelled or deleted.
+     * @param deliveryId The ID of the delivery that is no longer overdue.
+     */
+    public void resolve(String deliveryId) {
+        overdueDeliveries.remove(deliveryId);
+    }
+
+    /**
+     * Returns the deliveries flagged as overdue that have not been resolved yet.
+     * @return Object arrays containing {Delivery, Shipment}.
+     */
+    public List<Object[]> getOverdueDeliveries() {
+        return Collections.unmodifiableList(new ArrayList<>(overdueDeliveries.values()));
+    }
+
+    public int getOverdueCount() {
+        return overdueDeliveries.size();
+    }
+
+    /**
+     * One watcher pass: reads open deliveries whose ETA has passed, flags them and notifies
+     * personnel and listeners. The first pass also loads the deliveries flagged before it.
+     */
+    private synchronized void scan() {
+        List<Object[]> newlyOverdue = new ArrayList<>();
+        try {
+            if (!restored) {
+                // Flagged before this process started; their notifications were sent back then
+                for (Object[] row : deliveryDAO.findDelayedDeliveries()) {
+                    overdueDeliveries.put(((Delivery) row[0]).getDeliveryId(), row);
+                    newlyOverdue.add(row);
+                }
+                restored = true;
+            }
+            flagOverdue(newlyOverdue);
+        } catch (SQLException ex) {
+            // The flags were rolled back, so the next pass reads the same deliveries again
+            System.err.println("Error scanning for overdue deliveries: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+        if (newlyOverdue.isEmpty()) {
+            return;
+        }
+
+        int overdueCount = overdueDeliveries.size();
+        SwingUtilities.invokeLater(() -> {
+            for (OverdueListener listener : listeners) {
+                listener.overdueDeliveriesDetected(newlyOverdue, overdueCount);
+            }
+        });
+    }
+
+    /**
+     * Flags the open deliveries whose ETA has passed and notifies personnel about them.
+     * @param newlyOverdue Receives the flagged {Delivery, Shipment} rows.
+     */
+    private void flagOverdue(List<Object[]> newlyOverdue) throws SQLException {
+        List<Object[]> candidates = deliveryDAO.findOverdueDeliveries(LocalDateTime.now());
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> deliveryIds = new ArrayList<>(candidates.size());
+        for (Object[] row : candidates) {
+            deliveryIds.add(((Delivery) row[0]).getDeliveryId());
+        }
+        // Deliveries completed, cancelled or flagged elsewhere since the read are skipped by the update
+        Set<String> flagged = new HashSet<>(deliveryDAO.markDeliveriesDelayed(deliveryIds,
+                "Auto-flagged: estimated arrival time passed without delivery."));
+        if (flagged.isEmpty()) {
+            return;
+        }
+
+        List<Notification> notifications = new ArrayList<>(flagged.size());
+        for (Object[] row : candidates) {
+            Delivery delivery = (Delivery) row[0];
+            Shipment shipment = (Shipment) row[1];
+            if (!flagged.contains(delivery.getDeliveryId())) {
+                continue;
+            }
+            delivery.setDeliveryStatus("Delayed");
+            overdueDeliveries.put(delivery.getDeliveryId(), row);
+            newlyOverdue.add(row);
+
+            NotificationMessage message = NotificationTemplate.DELIVERY_OVERDUE.with(
+                    delivery.getDeliveryId(),
+                    shipment.getTrackingNumber(),
+                    shipment.getReceiverName(),
+                    delivery.getEstimatedArrivalTime());
+            notifications.add(notificationController.createPersonnelNotification(
+                    delivery.getPersonnelId(), shipment.getShipmentId(), message, true));
+        }
+        notificationController.sendPersonnelNotifications(notifications);
+        System.out.println("Overdue watcher flagged " + flagged.size() + " deliveries as Delayed.");
+    }
+}
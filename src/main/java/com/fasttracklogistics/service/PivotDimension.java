@@ -0,0 +1,24 @@
+// src/main/java/com/fasttracklogistics/service/PivotDimension.java
+
+package com.fasttracklogistics.service;
+
+/**
+ * The dimensions the in-memory analytics snapshot can group by.
+ */
+public enum PivotDimension {
+    ROUTE("Route"),
+    MONTH("Month"),
+    PACKAGE_TYPE("Package Type"),
+    URGENCY("Urgency");
+
+    private final String displayName;
+
+    PivotDimension(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName; // Used as checkbox label and column header
+    }
+}
@@ -0,0 +1,133 @@
+// src/main/java/com/fasttracklogistics/service/QuantileSketch.java
+
+package com.fasttracklogistics.service;
+
+import java.util.Arrays;
+
+/**
+ * Streaming quantile estimator based on the P-square algorithm (Jain &amp; Chlamtac).
+ * Tracks a single quantile with five markers, so memory and update cost stay constant
+ * no matter how many observations are added. Not thread-safe; callers synchronize.
+ */
+public class QuantileSketch {
+
+    private final double quantile;
+    private final double[] heights = new double[5];     // Marker heights (q)
+    private final double[] positions = new double[5];   // Actual marker positions (n)
+    private final double[] desired = new double[5];     // Desired marker positions (n')
+    private final double[] increments = new double[5];  // Desired position increments (dn)
+    private int count;
+
+    /**
+     * @param quantile The quantile to track, between 0 and 1 (e.g. 0.5 for the median).
+     */
+    public QuantileSketch(double quantile) {
+        if (quantile <= 0 || quantile >= 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        this.quantile = quantile;
+        desired[0] = 1;
+        desired[1] = 1 + 2 * quantile;
+        desired[2] = 1 + 4 * quantile;
+        desired[3] = 3 + 2 * quantile;
+        desired[4] = 5;
+        increments[0] = 0;
+        increments[1] = quantile / 2;
+        increments[2] = quantile;
+        increments[3] = (1 + quantile) / 2;
+        increments[4] = 1;
+    }
+
+    /**
+     * Adds one observation to the sketch.
+     * @param x The observed value.
+     */
+    public void add(double x) {
+        if (count < 5) {
+            heights[count++] = x;
+            if (count == 5) {
+                Arrays.sort(heights);
+                for (int i = 0; i < 5; i++) {
+                    positions[i] = i + 1;
+                }
+            }
+            return;
+        }
+        count++;
+
+        // Find the cell k containing x, extending the extreme markers if needed
+        int k;
+        if (x < heights[0]) {
+            heights[0] = x;
+            k = 0;
+        } else if (x < heights[1]) {
+            k = 0;
+        } else if (x < heights[2]) {
+            k = 1;
+        } else if (x < heights[3]) {
+            k = 2;
+        } else if (x <= heights[4]) {
+            k = 3;
+        } else {
+            heights[4] = x;
+            k = 3;
+        }
+
+        for (int i = k + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desired[i] += increments[i];
+        }
+
+        // Adjust the three middle markers if they drifted from their desired positions
+        for (int i = 1; i <= 3; i++) {
+            double d = desired[i] - positions[i];
+            if ((d >= 1 && positions[i + 1] - positions[i] > 1) || (d <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int sign = d > 0 ? 1 : -1;
+                double candidate = parabolic(i, sign);
+                if (heights[i - 1] < candidate && candidate < heights[i + 1]) {
+                    heights[i] = candidate;
+                } else {
+                    heights[i] = linear(i, sign);
+                }
+                positions[i] += sign;
+            }
+        }
+    }
+
+    /**
+     * Returns the current estimate of the tracked quantile.
+     * @return The estimate, or NaN if no observations were added yet.
+     */
+    public double estimate() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] sorted = Arrays.copyOf(heights, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.round(quantile * (count - 1));
+            return sorted[index];
+        }
+        return heights[2];
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getQuantile() {
+        return quantile;
+    }
+
+    private double parabolic(int i, int d) {
+        return heights[i] + d / (positions[i + 1] - positions[i - 1]) *
+                ((positions[i] - positions[i - 1] + d) * (heights[i + 1] - heights[i]) / (positions[i + 1] - positions[i]) +
+                        (positions[i + 1] - positions[i] - d) * (heights[i] - heights[i - 1]) / (positions[i] - positions[i - 1]));
+    }
+
+    private double linear(int i, int d) {
+        return heights[i] + d * (heights[i + d] - heights[i]) / (positions[i + d] - positions[i]);
+    }
+}
@@ -0,0 +1,69 @@
+// src/main/java/com/fasttracklogistics/service/ReportService.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.dao.ReportDAO;
+import com.fasttracklogistics.dao.ReportDAOImpl;
+import com.fasttracklogistics.dao.ReportRowHandler;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Service that produces the monthly reports shown in the Reports tab.
+ * All aggregation is delegated to grouped SQL queries in the ReportDAO, so the amount of
+ * data read by the client depends on the number of months/routes/drivers in the report,
+ * not on the number of shipments or deliveries in the database.
+ */
+public class ReportService {
+
+    private final ReportDAO reportDAO;
+
+    public ReportService() {
+        this(new ReportDAOImpl());
+    }
+
+    public ReportService(ReportDAO reportDAO) {
+        this.reportDAO = reportDAO;
+    }
+
+    /**
+     * Generates a report for the months from..to (both inclusive), passing each row to the
+     * handler as soon as it is read from the database.
+     * @param type The report to generate.
+     * @param from The first month of the report.
+     * @param to The last month of the report.
+     * @param handler Receives the report rows, in the order of {@link ReportType#getColumns()}.
+     * @throws SQLException If a database access error occurs.
+     */
+    public void generateReport(ReportType type, YearMonth from, YearMonth to, ReportRowHandler handler) throws SQLException {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The end month must not be before the start month.");
+        }
+        LocalDate start = from.atDay(1);
+        LocalDate end = to.plusMonths(1).atDay(1); // Exclusive upper bound
+        switch (type) {
+            case MONTHLY_VOLUME:
+                reportDAO.streamMonthlyVolume(start, end, handler);
+                break;
+            case ON_TIME_RATE:
+                reportDAO.streamOnTimeRate(start, end, handler);
+                break;
+            case AVERAGE_DELAY:
+                reportDAO.streamAverageDelay(start, end, handler);
+                break;
+            case ROUTE_THROUGHPUT:
+                reportDAO.streamRouteThroughput(start, end, handler);
+                break;
+            case DRIVER_THROUGHPUT:
+                reportDAO.streamDriverThroughput(start, end, handler);
+                break;
+            case URGENT_RATIO:
+                reportDAO.streamUrgentRatio(start, end, handler);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown report type: " + type);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+// src/main/java/com/fasttracklogistics/service/ReportType.java
+
+package com.fasttracklogistics.service;
+
+/**
+ * The reports available in the Reports tab, with their display names and column headers.
+ */
+public enum ReportType {
+    MONTHLY_VOLUME("Monthly Delivery Volume", "Month", "Deliveries", "Delivered", "Cancelled"),
+    ON_TIME_RATE("On-Time Rate", "Month", "Delivered", "On Time", "On-Time %"),
+    AVERAGE_DELAY("Average Delay", "Month", "Delivered", "Late", "Avg Delay (min)", "Total Delay (min)"),
+    ROUTE_THROUGHPUT("Throughput per Route", "Route", "Deliveries", "Delivered", "On Time", "Total Weight (kg)"),
+    DRIVER_THROUGHPUT("Throughput per Driver", "Personnel ID", "Name", "Deliveries", "Delivered", "On Time"),
+    URGENT_RATIO("Urgent Shipment Ratio", "Month", "Shipments", "Urgent", "Urgent %");
+
+    private final String displayName;
+    private final String[] columns;
+
+    ReportType(String displayName, String... columns) {
+        this.displayName = displayName;
+        this.columns = columns;
+    }
+
+    public String[] getColumns() {
+        return columns.clone();
+    }
+
+    @Override
+    public String toString() {
+        return displayName; // Shown in the report combo box
+    }
+}
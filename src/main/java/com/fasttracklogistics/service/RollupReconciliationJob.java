@@ -0,0 +1,148 @@
+// src/main/java/com/fasttracklogistics/service/RollupReconciliationJob.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.dao.DatabaseConnection;
+import com.fasttracklogistics.dao.DeliveryRollupMaintainer;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nightly job that rebuilds the daily delivery rollups from the raw Deliveries/Shipments tables.
+ * <p>
+ * The DAOs keep the rollups up to date incrementally; this job only fixes drift from writes
+ * made outside the application (or from deliveries unassigned by foreign keys). Each pass only
+ * rebuilds the current month and the months with deliveries or shipments changed (per updated_at)
+ * since the previous pass, one month per transaction so that no single pass holds locks for long.
+ * The first pass after start-up looks back {@link #LOOKBACK_PROPERTY} days. On start-up an empty
+ * rollup table (e.g. right after upgrading) is filled completely, immediately.
+ */
+public class RollupReconciliationJob {
+
+    public static final String LOOKBACK_PROPERTY = "fasttrack.rollups.reconcileLookbackDays";
+    private static final LocalTime RUN_AT = LocalTime.of(2, 0); // Local time of the nightly pass
+    private static final long DEFAULT_LOOKBACK_DAYS = 2;
+    // Rows are stamped when written but only visible at commit, so each pass looks back this much further
+    private static final long OVERLAP_SECONDS = 60;
+
+    private ScheduledExecutorService scheduler;
+    private LocalDateTime watermark; // Database time of the last complete pass; only touched by the scheduler thread
+
+    /**
+     * Starts the job: an immediate rebuild if the rollups are empty, then one pass every night.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rollup-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(() -> {
+            try {
+                if (!DeliveryRollupMaintainer.hasRollups()) {
+                    reconcileAll();
+                }
+            } catch (SQLException ex) {
+                System.err.println("Error checking delivery rollups: " + ex.getMessage());
+                ex.printStackTrace();
+            }
+        });
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextRun = now.toLocalDate().atTime(RUN_AT);
+        if (!nextRun.isAfter(now)) {
+            nextRun = nextRun.plusDays(1);
+        }
+        scheduler.scheduleAtFixedRate(this::reconcileChanged, Duration.between(now, nextRun).toMinutes(),
+                TimeUnit.DAYS.toMinutes(1), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the nightly job.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Rebuilds the rollups for every month that has deliveries, one month per transaction.
+     */
+    private void reconcileAll() {
+        try {
+            LocalDateTime passStart = DatabaseConnection.currentTimestamp();
+            LocalDate[] range = DeliveryRollupMaintainer.findScheduledDateRange();
+            if (range == null) {
+                watermark = passStart;
+                return;
+            }
+            List<LocalDate> months = new ArrayList<>();
+            YearMonth last = YearMonth.from(range[1]);
+            for (YearMonth month = YearMonth.from(range[0]); !month.isAfter(last); month = month.plusMonths(1)) {
+                months.add(month.atDay(1));
+            }
+            if (reconcileMonths(months)) {
+                watermark = passStart;
+            }
+        } catch (SQLException ex) {
+            System.err.println("Error reconciling delivery rollups: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Rebuilds the rollups for the current month and the months changed since the previous pass.
+     */
+    private void reconcileChanged() {
+        try {
+            LocalDateTime passStart = DatabaseConnection.currentTimestamp();
+            LocalDateTime since = watermark != null ? watermark.minusSeconds(OVERLAP_SECONDS)
+                    : passStart.minusDays(Long.getLong(LOOKBACK_PROPERTY, DEFAULT_LOOKBACK_DAYS));
+            // Deletions leave no updated_at trace, so the current month is always rebuilt
+            Set<LocalDate> months = new TreeSet<>(DeliveryRollupMaintainer.findChangedMonths(since));
+            months.add(passStart.toLocalDate().withDayOfMonth(1));
+            if (reconcileMonths(months)) {
+                watermark = passStart;
+            }
+        } catch (SQLException ex) {
+            System.err.println("Error reconciling delivery rollups: " + ex.getMessage());
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Rebuilds the given months, one transaction each.
+     * @param months The first day of each month.
+     * @return true if every month was rebuilt, false if the pass was interrupted.
+     */
+    private boolean reconcileMonths(Collection<LocalDate> months) throws SQLException {
+        long startNanos = System.nanoTime();
+        int rows = 0;
+        for (LocalDate month : months) {
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            rows += DeliveryRollupMaintainer.reconcile(month, month.plusMonths(1));
+        }
+        System.out.println("Delivery rollups reconciled: " + months.size() + " months, " + rows + " rows in "
+                + (System.nanoTime() - startNanos) / 1_000_000 + " ms.");
+        return true;
+    }
+}
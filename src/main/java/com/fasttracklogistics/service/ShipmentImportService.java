@@ -0,0 +1,321 @@
+// src/main/java/com/fasttracklogistics/service/ShipmentImportService.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.controller.NotificationController;
+import com.fasttracklogistics.dao.ShipmentDAO;
+import com.fasttracklogistics.dao.ShipmentDAOImpl;
+import com.fasttracklogistics.model.Notification;
+import com.fasttracklogistics.model.NotificationTemplate;
+import com.fasttracklogistics.model.Shipment;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of new shipments from partner CSV manifests.
+ * <p>
+ * The file is parsed as a stream in chunks. Each chunk's lines are validated in parallel with the
+ * same rules as the Manage Shipments form, de-duplicated against the tracking numbers seen so far
+ * and those already in the database, and inserted with multi-row INSERTs in one transaction.
+ * If that transaction fails on a row's data (e.g. a tracking number inserted by someone else in
+ * the meantime), the chunk is retried in halves down to single lines, so only the offending lines
+ * are rejected. Customer and urgent personnel notifications for all imported shipments are sent in one batch
+ * at the end. Every rejected line is reported with its line number.
+ */
+public class ShipmentImportService {
+
+    /**
+     * Receives import progress. Called on the importing thread.
+     */
+    @FunctionalInterface
+    public interface ImportProgressListener {
+        void importProgress(int linesProcessed, int shipmentsImported);
+    }
+
+    /**
+     * The outcome of an import.
+     */
+    public static class ImportResult {
+        private int linesProcessed;
+        private int shipmentsImported;
+        private final List<String> errors = new ArrayList<>();
+
+        public int getLinesProcessed() {
+            return linesProcessed;
+        }
+
+        public int getShipmentsImported() {
+            return shipmentsImported;
+        }
+
+        /**
+         * @return One message per rejected line, prefixed with its line number.
+         */
+        public List<String> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+    }
+
+    // The expected header; column order in the file does not matter
+    public static final String[] COLUMNS = {"tracking_number", "sender_name", "sender_address", "sender_contact",
+            "receiver_name", "receiver_address", "receiver_contact", "package_contents", "package_type", "weight_kg",
+            "dimensions_cm", "current_location", "route", "current_status", "is_urgent"};
+
+    private static final int CHUNK_LINES = 1000; // Lines validated and inserted together
+
+    private final ShipmentDAO shipmentDAO;
+    private final NotificationController notificationController;
+
+    public ShipmentImportService(NotificationController notificationController) {
+        this(new ShipmentDAOImpl(), notificationController);
+    }
+
+    public ShipmentImportService(ShipmentDAO shipmentDAO, NotificationController notificationController) {
+        this.shipmentDAO = shipmentDAO;
+        this.notificationController = notificationController;
+    }
+
+    /**
+     * Imports all valid lines of a CSV file with a header row (see {@link #COLUMNS}).
+     * @param file The CSV file (UTF-8).
+     * @param listener Receives progress after each chunk (may be null).
+     * @return The numbers of processed lines and imported shipments, and the per-line errors.
+     * @throws IOException If the file cannot be read or is malformed, or the importing thread was interrupted.
+     */
+    public ImportResult importCsv(Path file, ImportProgressListener listener) throws IOException {
+        ImportResult result = new ImportResult();
+        List<Notification> customerNotifications = new ArrayList<>();
+        List<Notification> personnelNotifications = new ArrayList<>();
+        try (CsvRecordReader reader = new CsvRecordReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                result.errors.add("Line 1: The file is empty.");
+                return result;
+            }
+            Map<String, Integer> columnIndex = mapHeader(header, result);
+            if (columnIndex == null) {
+                return result;
+            }
+
+            Set<String> seenTrackingNumbers = new HashSet<>();
+            List<ImportLine> chunk = new ArrayList<>(CHUNK_LINES);
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                chunk.add(new ImportLine(reader.getRecordLineNumber(), fields));
+                if (chunk.size() == CHUNK_LINES) {
+                    importChunk(chunk, columnIndex, seenTrackingNumbers, result, customerNotifications, personnelNotifications);
+                    chunk.clear();
+                    reportProgress(listener, result);
+                }
+            }
+            importChunk(chunk, columnIndex, seenTrackingNumbers, result, customerNotifications, personnelNotifications);
+            reportProgress(listener, result);
+        } finally {
+            // One fan-out for everything that was committed, even if a later chunk failed
+            notificationController.sendCustomerNotifications(customerNotifications);
+            notificationController.sendPersonnelNotifications(personnelNotifications);
+        }
+        return result;
+    }
+
+    private Map<String, Integer> mapHeader(List<String> header, ImportResult result) {
+        Map<String, Integer> columnIndex = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columnIndex.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String column : COLUMNS) {
+            if (!columnIndex.containsKey(column)) {
+                missing.add(column);
+            }
+        }
+        if (!missing.isEmpty()) {
+            result.errors.add("Line 1: Missing column(s): " + String.join(", ", missing));
+            return null;
+        }
+        return columnIndex;
+    }
+
+    private void importChunk(List<ImportLine> chunk, Map<String, Integer> columnIndex, Set<String> seenTrackingNumbers,
+                             ImportResult result, List<Notification> customerNotifications,
+                             List<Notification> personnelNotifications) throws IOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Import cancelled.");
+        }
+        result.linesProcessed += chunk.size();
+
+        // Validation is CPU-only and independent per line
+        List<ImportLine> validated = chunk.parallelStream()
+                .map(line -> line.validate(columnIndex))
+                .collect(Collectors.toList());
+
+        // Dedupe against this file first, then against the database (one IN query per chunk)
+        List<ImportLine> candidates = new ArrayList<>();
+        for (ImportLine line : validated) {
+            if (line.error != null) {
+                result.errors.add("Line " + line.lineNumber + ": " + line.error);
+            } else if (!seenTrackingNumbers.add(line.shipment.getTrackingNumber())) {
+                result.errors.add("Line " + line.lineNumber + ": Tracking number '" + line.shipment.getTrackingNumber()
+                        + "' appears more than once in this file.");
+            } else {
+                candidates.add(line);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<ImportLine> toInsert = new ArrayList<>(candidates.size());
+        try {
+            Set<String> existing = shipmentDAO.findExistingTrackingNumbers(
+                    candidates.stream().map(line -> line.shipment.getTrackingNumber()).collect(Collectors.toList()));
+            for (ImportLine line : candidates) {
+                if (existing.contains(line.shipment.getTrackingNumber())) {
+                    result.errors.add("Line " + line.lineNumber + ": Tracking number '" + line.shipment.getTrackingNumber()
+                            + "' already exists.");
+                } else {
+                    line.shipment.setShipmentId("SHP-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+                    toInsert.add(line);
+                }
+            }
+        } catch (SQLException ex) {
+            System.err.println("Database error importing shipments: " + ex.getMessage());
+            ex.printStackTrace();
+            for (ImportLine line : candidates) {
+                result.errors.add("Line " + line.lineNumber + ": Database error: " + ex.getMessage());
+            }
+            return;
+        }
+
+        List<ImportLine> imported = new ArrayList<>(toInsert.size());
+        insertLines(toInsert, result, imported);
+        for (ImportLine line : imported) {
+            Shipment shipment = line.shipment;
+            customerNotifications.add(notificationController.createCustomerNotification(shipment.getShipmentId(),
+                    NotificationTemplate.SHIPMENT_CREATED.with(
+                            shipment.getTrackingNumber(), shipment.getCurrentStatus(), shipment.getCurrentLocation()), false));
+            if (shipment.isUrgent()) {
+                personnelNotifications.add(notificationController.createPersonnelNotification(null, shipment.getShipmentId(),
+                        NotificationTemplate.URGENT_SHIPMENT_ADDED.with(
+                                shipment.getTrackingNumber(), shipment.getPackageType(), shipment.getRoute()), true));
+            }
+        }
+    }
+
+    /**
+     * Inserts the lines in one transaction. If a row's data makes it fail, the lines are split in halves
+     * and retried, down to single lines, so that only the lines that fail on their own are rejected.
+     * Other failures (e.g. a lost connection) reject all the lines at once.
+     * @param imported Receives the lines that were inserted.
+     */
+    private void insertLines(List<ImportLine> lines, ImportResult result, List<ImportLine> imported) {
+        if (lines.isEmpty()) {
+            return;
+        }
+        List<Shipment> shipments = new ArrayList<>(lines.size());
+        for (ImportLine line : lines) {
+            shipments.add(line.shipment);
+        }
+        try {
+            result.shipmentsImported += shipmentDAO.insertShipments(shipments);
+            imported.addAll(lines);
+            return;
+        } catch (SQLException ex) {
+            if (lines.size() == 1 || !isRowError(ex)) {
+                System.err.println("Database error importing " + lines.size() + " shipment(s): " + ex.getMessage());
+                ex.printStackTrace();
+                for (ImportLine line : lines) {
+                    result.errors.add("Line " + line.lineNumber + ": Database error: " + ex.getMessage());
+                }
+                return;
+            }
+        }
+        int middle = lines.size() / 2;
+        insertLines(lines.subList(0, middle), result, imported);
+        insertLines(lines.subList(middle, lines.size()), result, imported);
+    }
+
+    // Constraint violations (SQLState 23xxx) and bad values (22xxx) are caused by a row, not by the database
+    private static boolean isRowError(SQLException ex) {
+        String state = ex.getSQLState();
+        return ex instanceof SQLIntegrityConstraintViolationException || ex instanceof SQLDataException
+                || (state != null && (state.startsWith("22") || state.startsWith("23")));
+    }
+
+    private void reportProgress(ImportProgressListener listener, ImportResult result) {
+        if (listener != null) {
+            listener.importProgress(result.linesProcessed, result.shipmentsImported);
+        }
+    }
+
+    /**
+     * One data line of the file and, once validated, its Shipment or error.
+     */
+    private static class ImportLine {
+        final int lineNumber;
+        final List<String> fields;
+        Shipment shipment;
+        String error;
+
+        ImportLine(int lineNumber, List<String> fields) {
+            this.lineNumber = lineNumber;
+            this.fields = fields;
+        }
+
+        ImportLine validate(Map<String, Integer> columnIndex) {
+            try {
+                shipment = ShipmentValidator.validateNewShipment(field(columnIndex, "tracking_number"),
+                        field(columnIndex, "sender_name"), field(columnIndex, "sender_address"),
+                        field(columnIndex, "sender_contact"), field(columnIndex, "receiver_name"),
+                        field(columnIndex, "receiver_address"), field(columnIndex, "receiver_contact"),
+                        field(columnIndex, "package_contents"), field(columnIndex, "package_type"),
+                        field(columnIndex, "weight_kg"), field(columnIndex, "dimensions_cm"),
+                        field(columnIndex, "current_location"), field(columnIndex, "route"),
+                        field(columnIndex, "current_status"), parseUrgent(field(columnIndex, "is_urgent")));
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            }
+            return this;
+        }
+
+        private String field(Map<String, Integer> columnIndex, String column) {
+            int index = columnIndex.get(column);
+            return index < fields.size() ? fields.get(index).trim() : "";
+        }
+
+        private static boolean parseUrgent(String value) {
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "":
+                case "false":
+                case "no":
+                case "n":
+                case "0":
+                    return false;
+                case "true":
+                case "yes":
+                case "y":
+                case "1":
+                    return true;
+                default:
+                    throw new IllegalArgumentException("Invalid is_urgent value '" + value + "'. Use true/false.");
+            }
+        }
+    }
+}
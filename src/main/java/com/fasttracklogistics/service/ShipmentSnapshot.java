@@ -0,0 +1,329 @@
+// src/main/java/com/fasttracklogistics/service/ShipmentSnapshot.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.Shipment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar in-memory copy of Shipments joined with their Deliveries, one row per shipment.
+ * <p>
+ * Every attribute is stored in its own primitive array (strings dictionary-encoded into int
+ * codes), and boolean attributes are BitSets, so filters are bitmap ANDs and group-by runs
+ * over a few int arrays. Rows are upserted by shipment ID; deleted shipments are only dropped
+ * by loading a new snapshot.
+ */
+class ShipmentSnapshot {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int CHUNK_SIZE = 1 << 16; // Rows per parallel aggregation task
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> rowIndex = new HashMap<>(); // shipmentId -> row
+    private final StringDictionary routes = new StringDictionary();
+    private final StringDictionary packageTypes = new StringDictionary();
+
+    private int size;
+    private int[] routeCodes = new int[INITIAL_CAPACITY];
+    private int[] packageTypeCodes = new int[INITIAL_CAPACITY];
+    private int[] months = new int[INITIAL_CAPACITY]; // Creation month as year * 12 + (month - 1)
+    private double[] weights = new double[INITIAL_CAPACITY];
+    private int[] delayMinutes = new int[INITIAL_CAPACITY];
+    private final BitSet urgent = new BitSet();
+    private final BitSet delivered = new BitSet();
+    private final BitSet onTime = new BitSet();
+    private final BitSet late = new BitSet();
+
+    private LocalDateTime watermark = LocalDateTime.of(1970, 1, 1, 0, 0); // Latest updated_at applied
+
+    /**
+     * Inserts or replaces the rows of the given shipments.
+     * @param rows Object arrays containing {Shipment, Delivery (may be null)}.
+     */
+    void apply(List<Object[]> rows) {
+        lock.writeLock().lock();
+        try {
+            for (Object[] row : rows) {
+                upsert((Shipment) row[0], (Delivery) row[1]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsert(Shipment shipment, Delivery delivery) {
+        Integer existing = rowIndex.get(shipment.getShipmentId());
+        int row;
+        if (existing != null) {
+            row = existing;
+        } else {
+            row = size++;
+            ensureCapacity(size);
+            rowIndex.put(shipment.getShipmentId(), row);
+        }
+
+        LocalDateTime createdAt = shipment.getCreatedAt() != null ? shipment.getCreatedAt() : LocalDateTime.now();
+        routeCodes[row] = routes.encode(shipment.getRoute());
+        packageTypeCodes[row] = packageTypes.encode(shipment.getPackageType());
+        months[row] = createdAt.getYear() * 12 + createdAt.getMonthValue() - 1;
+        weights[row] = shipment.getWeightKg();
+        urgent.set(row, shipment.isUrgent());
+
+        boolean isDelivered = delivery != null && "Delivered".equals(delivery.getDeliveryStatus())
+                && delivery.getActualDeliveryDate() != null && delivery.getEstimatedArrivalTime() != null;
+        boolean isLate = isDelivered && delivery.getActualDeliveryDate().isAfter(delivery.getEstimatedArrivalTime());
+        delivered.set(row, isDelivered);
+        onTime.set(row, isDelivered && !isLate);
+        late.set(row, isLate);
+        delayMinutes[row] = isLate
+                ? (int) Duration.between(delivery.getEstimatedArrivalTime(), delivery.getActualDeliveryDate()).toMinutes()
+                : 0;
+
+        advanceWatermark(shipment.getUpdatedAt());
+        if (delivery != null) {
+            advanceWatermark(delivery.getUpdatedAt());
+        }
+    }
+
+    private void advanceWatermark(LocalDateTime updatedAt) {
+        if (updatedAt != null && updatedAt.isAfter(watermark)) {
+            watermark = updatedAt;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= routeCodes.length) {
+            return;
+        }
+        int capacity = Math.max(required, routeCodes.length * 2);
+        routeCodes = Arrays.copyOf(routeCodes, capacity);
+        packageTypeCodes = Arrays.copyOf(packageTypeCodes, capacity);
+        months = Arrays.copyOf(months, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        delayMinutes = Arrays.copyOf(delayMinutes, capacity);
+    }
+
+    LocalDateTime getWatermark() {
+        lock.readLock().lock();
+        try {
+            return watermark;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups the shipments created in [from, to] by the given dimensions and aggregates each group.
+     * Row ranges are aggregated in parallel and the partial results merged.
+     * @param dimensions The dimensions to group by, in column order (may be empty for a grand total).
+     * @param from First creation month included.
+     * @param to Last creation month included.
+     * @param urgentOnly Whether to restrict the pivot to urgent shipments.
+     * @return One row per group: the dimension values followed by Shipments, Urgent, Total Weight (kg),
+     *         Delivered, On Time, On-Time %, Avg Delay (min).
+     */
+    List<Object[]> pivot(List<PivotDimension> dimensions, YearMonth from, YearMonth to, boolean urgentOnly) {
+        lock.readLock().lock();
+        try {
+            int fromMonth = from.getYear() * 12 + from.getMonthValue() - 1;
+            int toMonth = to.getYear() * 12 + to.getMonthValue() - 1;
+            BitSet filter = monthFilter(fromMonth, toMonth);
+            if (urgentOnly) {
+                filter.and(urgent);
+            }
+
+            // Mixed-radix group key: each dimension's code times the product of the previous radices
+            int dimensionCount = dimensions.size();
+            long[] multipliers = new long[dimensionCount];
+            long multiplier = 1;
+            for (int i = 0; i < dimensionCount; i++) {
+                multipliers[i] = multiplier;
+                multiplier *= radix(dimensions.get(i), fromMonth, toMonth);
+            }
+
+            int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            Map<Long, GroupTotals> totals = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> aggregateChunk(chunk, filter, dimensions, multipliers, fromMonth))
+                    .reduce(new HashMap<>(), ShipmentSnapshot::merge);
+
+            List<Object[]> rows = new ArrayList<>(totals.size());
+            for (Map.Entry<Long, GroupTotals> entry : totals.entrySet()) {
+                Object[] row = new Object[dimensionCount + 7];
+                long key = entry.getKey();
+                for (int i = dimensionCount - 1; i >= 0; i--) {
+                    int code = (int) (key / multipliers[i]);
+                    key %= multipliers[i];
+                    row[i] = decode(dimensions.get(i), code, fromMonth);
+                }
+                entry.getValue().fill(row, dimensionCount);
+                rows.add(row);
+            }
+            rows.sort(ShipmentSnapshot::compareDimensions);
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet monthFilter(int fromMonth, int toMonth) {
+        BitSet filter = new BitSet(size);
+        for (int row = 0; row < size; row++) {
+            if (months[row] >= fromMonth && months[row] <= toMonth) {
+                filter.set(row);
+            }
+        }
+        return filter;
+    }
+
+    private long radix(PivotDimension dimension, int fromMonth, int toMonth) {
+        switch (dimension) {
+            case ROUTE:
+                return Math.max(1, routes.size());
+            case PACKAGE_TYPE:
+                return Math.max(1, packageTypes.size());
+            case MONTH:
+                return toMonth - fromMonth + 1;
+            case URGENCY:
+                return 2;
+            default:
+                throw new IllegalArgumentException("Unknown pivot dimension: " + dimension);
+        }
+    }
+
+    private int code(PivotDimension dimension, int row, int fromMonth) {
+        switch (dimension) {
+            case ROUTE:
+                return routeCodes[row];
+            case PACKAGE_TYPE:
+                return packageTypeCodes[row];
+            case MONTH:
+                return months[row] - fromMonth;
+            case URGENCY:
+                return urgent.get(row) ? 1 : 0;
+            default:
+                throw new IllegalArgumentException("Unknown pivot dimension: " + dimension);
+        }
+    }
+
+    private Object decode(PivotDimension dimension, int code, int fromMonth) {
+        switch (dimension) {
+            case ROUTE:
+                return routes.decode(code);
+            case PACKAGE_TYPE:
+                return packageTypes.decode(code);
+            case MONTH:
+                int month = fromMonth + code;
+                return YearMonth.of(month / 12, month % 12 + 1).toString();
+            case URGENCY:
+                return code == 1 ? "Urgent" : "Standard";
+            default:
+                throw new IllegalArgumentException("Unknown pivot dimension: " + dimension);
+        }
+    }
+
+    private Map<Long, GroupTotals> aggregateChunk(int chunk, BitSet filter, List<PivotDimension> dimensions,
+                                                  long[] multipliers, int fromMonth) {
+        Map<Long, GroupTotals> totals = new HashMap<>();
+        int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+        for (int row = filter.nextSetBit(chunk * CHUNK_SIZE); row >= 0 && row < end; row = filter.nextSetBit(row + 1)) {
+            long key = 0;
+            for (int i = 0; i < multipliers.length; i++) {
+                key += code(dimensions.get(i), row, fromMonth) * multipliers[i];
+            }
+            totals.computeIfAbsent(key, k -> new GroupTotals()).add(this, row);
+        }
+        return totals;
+    }
+
+    private static Map<Long, GroupTotals> merge(Map<Long, GroupTotals> a, Map<Long, GroupTotals> b) {
+        Map<Long, GroupTotals> merged = new HashMap<>(a);
+        b.forEach((key, totals) -> merged.merge(key, totals, GroupTotals::combine));
+        return merged;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compareDimensions(Object[] a, Object[] b) {
+        for (int i = 0; i < a.length - 7; i++) {
+            int cmp = ((Comparable) a[i]).compareTo(b[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Running aggregates of one pivot group.
+     */
+    private static class GroupTotals {
+        long shipments;
+        long urgentCount;
+        double weight;
+        long deliveredCount;
+        long onTimeCount;
+        long lateCount;
+        long delayMinutesSum;
+
+        void add(ShipmentSnapshot snapshot, int row) {
+            shipments++;
+            weight += snapshot.weights[row];
+            if (snapshot.urgent.get(row)) {
+                urgentCount++;
+            }
+            if (snapshot.delivered.get(row)) {
+                deliveredCount++;
+                if (snapshot.onTime.get(row)) {
+                    onTimeCount++;
+                }
+                if (snapshot.late.get(row)) {
+                    lateCount++;
+                    delayMinutesSum += snapshot.delayMinutes[row];
+                }
+            }
+        }
+
+        GroupTotals combine(GroupTotals other) {
+            GroupTotals sum = new GroupTotals();
+            sum.shipments = shipments + other.shipments;
+            sum.urgentCount = urgentCount + other.urgentCount;
+            sum.weight = weight + other.weight;
+            sum.deliveredCount = deliveredCount + other.deliveredCount;
+            sum.onTimeCount = onTimeCount + other.onTimeCount;
+            sum.lateCount = lateCount + other.lateCount;
+            sum.delayMinutesSum = delayMinutesSum + other.delayMinutesSum;
+            return sum;
+        }
+
+        void fill(Object[] row, int offset) {
+            row[offset] = shipments;
+            row[offset + 1] = urgentCount;
+            row[offset + 2] = Math.round(weight * 100) / 100.0;
+            row[offset + 3] = deliveredCount;
+            row[offset + 4] = onTimeCount;
+            row[offset + 5] = deliveredCount > 0 ? Math.round(1000.0 * onTimeCount / deliveredCount) / 10.0 : null;
+            row[offset + 6] = lateCount > 0 ? Math.round(10.0 * delayMinutesSum / lateCount) / 10.0 : null;
+        }
+    }
+}
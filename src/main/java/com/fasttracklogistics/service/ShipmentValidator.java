@@ -0,0 +1,66 @@
+// src/main/java/com/fasttracklogistics/service/ShipmentValidator.java
+
+package com.fasttracklogistics.service;
+
+import com.fasttracklogistics.model.Shipment;
+
+/**
+ * The validation rules for new shipments, shared by the Manage Shipments form and the CSV import.
+ * Stateless and thread-safe, so import lines can be validated in parallel.
+ */
+public class ShipmentValidator {
+
+    private ShipmentValidator() {
+        // Static helper
+    }
+
+    /**
+     * Validates the raw field values of a new shipment and builds the (unsaved) Shipment.
+     * All fields except the status are required; a blank status becomes 'Pending'.
+     * @return The new Shipment, without ID.
+     * @throws IllegalArgumentException With a user-facing message if a rule is violated.
+     */
+    public static Shipment validateNewShipment(String trackingNumber, String senderName, String senderAddress, String senderContact,
+                                               String receiverName, String receiverAddress, String receiverContact,
+                                               String packageContents, String packageType, String weightKgStr, String dimensionsCm,
+                                               String currentLocation, String route, String currentStatus, boolean isUrgent) {
+        if (isBlank(trackingNumber) || isBlank(senderName) || isBlank(senderAddress) ||
+                isBlank(receiverName) || isBlank(receiverAddress) || isBlank(weightKgStr) ||
+                isBlank(packageType) || isBlank(route) || isBlank(senderContact) || isBlank(receiverContact) ||
+                isBlank(packageContents) || isBlank(dimensionsCm) || isBlank(currentLocation)) {
+            throw new IllegalArgumentException("Please fill in all required fields.");
+        }
+
+        double weightKg;
+        try {
+            weightKg = Double.parseDouble(weightKgStr.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid weight format. Please enter a number.");
+        }
+        if (weightKg <= 0) {
+            throw new IllegalArgumentException("Weight must be a positive number.");
+        }
+
+        Shipment shipment = new Shipment();
+        shipment.setTrackingNumber(trackingNumber);
+        shipment.setSenderName(senderName);
+        shipment.setSenderAddress(senderAddress);
+        shipment.setSenderContact(senderContact);
+        shipment.setReceiverName(receiverName);
+        shipment.setReceiverAddress(receiverAddress);
+        shipment.setReceiverContact(receiverContact);
+        shipment.setPackageContents(packageContents);
+        shipment.setPackageType(packageType);
+        shipment.setWeightKg(weightKg);
+        shipment.setDimensionsCm(dimensionsCm);
+        shipment.setCurrentLocation(currentLocation);
+        shipment.setRoute(route);
+        shipment.setCurrentStatus(isBlank(currentStatus) ? "Pending" : currentStatus);
+        shipment.setUrgent(isUrgent);
+        return shipment;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,43 @@
+// src/main/java/com/fasttracklogistics/service/StringDictionary.java
+
+package com.fasttracklogistics.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary encoding for a string column of the analytics snapshot.
+ * Each distinct value gets a dense int code, so the column itself is an int[] and
+ * grouping compares ints instead of strings. Codes are never reused or removed.
+ */
+class StringDictionary {
+
+    static final String NONE = "(none)"; // Stored for null or blank values
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the code of a value, adding the value to the dictionary if it is new.
+     */
+    int encode(String value) {
+        String key = value == null || value.trim().isEmpty() ? NONE : value;
+        Integer code = codes.get(key);
+        if (code == null) {
+            code = values.size();
+            codes.put(key, code);
+            values.add(key);
+        }
+        return code;
+    }
+
+    String decode(int code) {
+        return values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
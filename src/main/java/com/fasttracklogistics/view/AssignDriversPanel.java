@@ -4,6 +4,7 @@ package com.fasttracklogistics.view;
 
 import com.fasttracklogistics.model.Delivery;
 import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Shipment;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -27,6 +28,8 @@ public class AssignDriversPanel extends JPanel {
     private JTable assignedDeliveriesTable;
     private DefaultTableModel assignedDeliveriesTableModel;
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private JButton assignButton;
     private JButton refreshUnassignedButton;
     private JButton refreshPersonnelButton;
@@ -139,16 +142,36 @@ public class AssignDriversPanel extends JPanel {
     public void displayUnassignedShipments(List<Shipment> shipments) {
         unassignedShipmentsTableModel.setRowCount(0); // Clear existing data
         for (Shipment shipment : shipments) {
-            Vector<Object> row = new Vector<>();
-            row.add(shipment.getShipmentId());
-            row.add(shipment.getTrackingNumber());
-            row.add(shipment.getReceiverAddress());
-            row.add(shipment.getPackageType());
-            row.add(shipment.isUrgent()); // Display urgent status
-            unassignedShipmentsTableModel.addRow(row);
+            unassignedShipmentsTableModel.addRow(toUnassignedShipmentRow(shipment));
         }
     }
 
+    /**
+     * Adds or updates a shipment in the 'Unassigned Shipments' table.
+     * @param shipment A shipment that has no personnel assigned.
+     */
+    public void upsertUnassignedShipment(Shipment shipment) {
+        TableRows.upsert(unassignedShipmentsTableModel, toUnassignedShipmentRow(shipment));
+    }
+
+    /**
+     * Removes a shipment from the 'Unassigned Shipments' table, e.g. once it was assigned or deleted.
+     * @param shipmentId The ID of the shipment.
+     */
+    public void removeUnassignedShipment(String shipmentId) {
+        TableRows.remove(unassignedShipmentsTableModel, shipmentId);
+    }
+
+    private Vector<Object> toUnassignedShipmentRow(Shipment shipment) {
+        Vector<Object> row = new Vector<>();
+        row.add(shipment.getShipmentId());
+        row.add(shipment.getTrackingNumber());
+        row.add(shipment.getReceiverAddress());
+        row.add(shipment.getPackageType());
+        row.add(shipment.isUrgent()); // Display urgent status
+        return row;
+    }
+
     /**
      * Displays a list of available personnel in the 'Available Personnel' table.
      * @param personnelList A list of DeliveryPersonnel objects that are available.
@@ -156,16 +179,36 @@ public class AssignDriversPanel extends JPanel {
     public void displayAvailablePersonnel(List<DeliveryPersonnel> personnelList) {
         availablePersonnelTableModel.setRowCount(0); // Clear existing data
         for (DeliveryPersonnel personnel : personnelList) {
-            Vector<Object> row = new Vector<>();
-            row.add(personnel.getPersonnelId());
-            row.add(personnel.getEmployeeId());
-            row.add(personnel.getName());
-            row.add(personnel.getVehicleType());
-            row.add(personnel.getAvailabilityStatus());
-            availablePersonnelTableModel.addRow(row);
+            availablePersonnelTableModel.addRow(toAvailablePersonnelRow(personnel));
         }
     }
 
+    /**
+     * Adds or updates personnel in the 'Available Personnel' table.
+     * @param personnel Personnel whose availability status is 'Available'.
+     */
+    public void upsertAvailablePersonnel(DeliveryPersonnel personnel) {
+        TableRows.upsert(availablePersonnelTableModel, toAvailablePersonnelRow(personnel));
+    }
+
+    /**
+     * Removes personnel from the 'Available Personnel' table, e.g. once they are busy or deleted.
+     * @param personnelId The ID of the personnel.
+     */
+    public void removeAvailablePersonnel(String personnelId) {
+        TableRows.remove(availablePersonnelTableModel, personnelId);
+    }
+
+    private Vector<Object> toAvailablePersonnelRow(DeliveryPersonnel personnel) {
+        Vector<Object> row = new Vector<>();
+        row.add(personnel.getPersonnelId());
+        row.add(personnel.getEmployeeId());
+        row.add(personnel.getName());
+        row.add(personnel.getVehicleType());
+        row.add(personnel.getAvailabilityStatus());
+        return row;
+    }
+
     /**
      * Displays a list of assigned deliveries in the 'Assigned Deliveries' table.
      * @param deliveryDetails A list of Object arrays, where each array contains Delivery, Shipment, and DeliveryPersonnel.
@@ -173,23 +216,42 @@ public class AssignDriversPanel extends JPanel {
      */
     public void displayAssignedDeliveries(List<Object[]> deliveryDetails) {
         assignedDeliveriesTableModel.setRowCount(0); // Clear existing data
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-
         for (Object[] rowData : deliveryDetails) {
             Delivery delivery = (Delivery) rowData[0];
             Shipment shipment = (Shipment) rowData[1]; // Will not be null here
             DeliveryPersonnel personnel = (DeliveryPersonnel) rowData[2]; // Can be null
-
-            Vector<Object> row = new Vector<>();
-            row.add(delivery.getDeliveryId());
-            row.add(shipment != null ? shipment.getTrackingNumber() : "N/A"); // Should not be N/A for assigned
-            row.add(personnel != null ? personnel.getName() + " (" + personnel.getEmployeeId() + ")" : "Unassigned");
-            row.add(delivery.getScheduledDate() != null ? delivery.getScheduledDate().format(dateFormatter) : "N/A");
-            row.add(delivery.getDeliveryStatus());
-            assignedDeliveriesTableModel.addRow(row);
+            assignedDeliveriesTableModel.addRow(toAssignedDeliveryRow(delivery, shipment, personnel));
         }
     }
 
+    /**
+     * Adds or updates a delivery in the 'Assigned Deliveries' table.
+     * @param delivery A delivery with personnel assigned.
+     * @param shipment Its shipment.
+     * @param personnel Its personnel.
+     */
+    public void upsertAssignedDelivery(Delivery delivery, Shipment shipment, DeliveryPersonnel personnel) {
+        TableRows.upsert(assignedDeliveriesTableModel, toAssignedDeliveryRow(delivery, shipment, personnel));
+    }
+
+    /**
+     * Removes a delivery from the 'Assigned Deliveries' table, e.g. once it was unassigned or deleted.
+     * @param deliveryId The ID of the delivery.
+     */
+    public void removeAssignedDelivery(String deliveryId) {
+        TableRows.remove(assignedDeliveriesTableModel, deliveryId);
+    }
+
+    private Vector<Object> toAssignedDeliveryRow(Delivery delivery, Shipment shipment, DeliveryPersonnel personnel) {
+        Vector<Object> row = new Vector<>();
+        row.add(delivery.getDeliveryId());
+        row.add(shipment != null ? shipment.getTrackingNumber() : "N/A"); // Should not be N/A for assigned
+        row.add(personnel != null ? personnel.getName() + " (" + personnel.getEmployeeId() + ")" : "Unassigned");
+        row.add(delivery.getScheduledDate() != null ? delivery.getScheduledDate().format(DATE_FORMATTER) : "N/A");
+        row.add(delivery.getDeliveryStatus());
+        return row;
+    }
+
     // --- Getters for selected items ---
 
     /**
@@ -0,0 +1,204 @@
+// src/main/java/com/fasttracklogistics/view/CustomerNotificationPanel.java
+package com.fasttracklogistics.view;
+
+import com.fasttracklogistics.model.Notification;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * JPanel for displaying customer notification logs.
+ * This class represents a 'View' component for customer notifications,
+ * displaying them in a JTable page by page and allowing filtering by shipment.
+ */
+public class CustomerNotificationPanel extends JPanel implements NotificationInboxView {
+
+    private JTable notificationTable;
+    private DefaultTableModel tableModel;
+    private JScrollPane tableScrollPane;
+    private JButton refreshButton;
+    private JButton markReadButton;
+    private JButton markAllReadButton;
+    private JTextField recipientFilterField;
+    private JLabel unreadCountLabel;
+
+    private static final int LOAD_MORE_MARGIN_ROWS = 20; // Fetch the next page this many rows before the end
+
+    // Formatter for displaying notification timestamps
+    private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    public CustomerNotificationPanel() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        JLabel titleLabel = new JLabel("Customer Notification Log", SwingConstants.CENTER);
+        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 18));
+
+        // --- Filter Panel ---
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        filterPanel.add(new JLabel("Shipment ID:"));
+        recipientFilterField = new JTextField(15);
+        recipientFilterField.setToolTipText("Leave empty to show all customer notifications; press Enter to apply");
+        filterPanel.add(recipientFilterField);
+        unreadCountLabel = new JLabel();
+        filterPanel.add(unreadCountLabel);
+
+        // Title and filters share the top area
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(titleLabel, BorderLayout.NORTH);
+        topPanel.add(filterPanel, BorderLayout.SOUTH);
+        add(topPanel, BorderLayout.NORTH);
+
+        // --- Notification Table ---
+        // For customer notifications the recipient ID is the shipment ID
+        String[] columnNames = {"Notification ID", "Shipment ID", "Message", "Timestamp", "Status", "Urgent", "Read"};
+        tableModel = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+            @Override
+            public Class<?> getColumnClass(int columnIndex) {
+                if (columnIndex >= getColumnCount() - 2) { // Last columns are "Urgent" and "Read"
+                    return Boolean.class; // This will render as a checkbox
+                }
+                return super.getColumnClass(columnIndex);
+            }
+        };
+        notificationTable = new JTable(tableModel);
+        notificationTable.setFillsViewportHeight(true);
+        notificationTable.setAutoCreateRowSorter(true);
+
+        tableScrollPane = new JScrollPane(notificationTable);
+        add(tableScrollPane, BorderLayout.CENTER);
+
+        // --- Buttons for customer notifications ---
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        refreshButton = new JButton("Refresh Customer Notifications");
+        buttonPanel.add(refreshButton);
+        markReadButton = new JButton("Mark Selected as Read");
+        buttonPanel.add(markReadButton);
+        markAllReadButton = new JButton("Mark All as Read");
+        buttonPanel.add(markAllReadButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Displays the first page of customer notifications in the table.
+     * Clears existing content and populates the table with new data.
+     * @param notifications The list of Notification objects (recipientType="CUSTOMER") to display.
+     */
+    @Override
+    public void displayNotifications(List<Notification> notifications) {
+        tableModel.setRowCount(0); // Clear existing data
+        appendNotifications(notifications);
+    }
+
+    /**
+     * Adds the next page of customer notifications below the rows already shown.
+     * @param notifications The list of Notification objects (recipientType="CUSTOMER") to append.
+     */
+    @Override
+    public void appendNotifications(List<Notification> notifications) {
+        for (Notification notification : notifications) {
+            Vector<Object> row = new Vector<>();
+            row.add(notification.getNotificationId());
+            row.add(notification.getRecipientId()); // The shipment ID
+            row.add(notification.getMessage());
+            row.add(notification.getTimestamp() != null ? notification.getTimestamp().format(DISPLAY_FORMATTER) : "");
+            row.add(notification.getStatus());
+            row.add(notification.isUrgent());
+            row.add(notification.isRead());
+            tableModel.addRow(row);
+        }
+    }
+
+    @Override
+    public void displayUnreadCounts(int unread, int urgentUnread) {
+        unreadCountLabel.setText("  Unread: " + unread + " (" + urgentUnread + " urgent)");
+    }
+
+    @Override
+    public void addLoadMoreListener(Runnable listener) {
+        JScrollBar scrollBar = tableScrollPane.getVerticalScrollBar();
+        scrollBar.addAdjustmentListener(e -> {
+            int margin = LOAD_MORE_MARGIN_ROWS * notificationTable.getRowHeight();
+            if (scrollBar.getValue() + scrollBar.getVisibleAmount() >= scrollBar.getMaximum() - margin) {
+                listener.run();
+            }
+        });
+    }
+
+    @Override
+    public String getSelectedNotificationId() {
+        int selectedRow = notificationTable.getSelectedRow();
+        if (selectedRow < 0) {
+            return null;
+        }
+        return (String) tableModel.getValueAt(notificationTable.convertRowIndexToModel(selectedRow), 0);
+    }
+
+    @Override
+    public void markAsRead(String notificationId) {
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            if (notificationId.equals(tableModel.getValueAt(row, 0))) {
+                tableModel.setValueAt(true, row, tableModel.getColumnCount() - 1); // "Read" column
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String getRecipientFilter() {
+        String shipmentId = recipientFilterField.getText().trim();
+        return shipmentId.isEmpty() ? null : shipmentId;
+    }
+
+    @Override
+    public boolean isUrgentOnly() {
+        return false; // Customers see all of their notifications
+    }
+
+    /**
+     * Shows an informational message dialog.
+     * @param message The message to display.
+     */
+    public void showMessage(String message) {
+        JOptionPane.showMessageDialog(this, message);
+    }
+
+    /**
+     * Shows an error message dialog.
+     * @param message The error message to display.
+     */
+    @Override
+    public void showErrorMessage(String message) {
+        JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    // Getter for the refresh button
+    @Override
+    public JButton getRefreshButton() {
+        return refreshButton;
+    }
+
+    @Override
+    public JButton getMarkReadButton() {
+        return markReadButton;
+    }
+
+    @Override
+    public JButton getMarkAllReadButton() {
+        return markAllReadButton;
+    }
+
+    @Override
+    public JTextField getRecipientFilterField() {
+        return recipientFilterField;
+    }
+}
@@ -0,0 +1,116 @@
+// src/main/java/com/fasttracklogistics/view/DiagnosticsPanel.java
+
+package com.fasttracklogistics.view;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * JPanel showing the application's metrics: call counts and latency percentiles of every DAO
+ * method and timed operation, plus counters and gauges such as connection pool usage.
+ */
+public class DiagnosticsPanel extends JPanel {
+
+    private static final String[] TIMER_COLUMNS = {"Operation", "Calls", "Errors", "Rows", "Mean ms", "p50 ms", "p90 ms", "p99 ms", "Max ms"};
+    private static final Class<?>[] TIMER_CLASSES = {String.class, Long.class, Long.class, Long.class,
+            Double.class, Double.class, Double.class, Double.class, Double.class};
+    private static final String[] VALUE_COLUMNS = {"Metric", "Value"};
+    private static final Class<?>[] VALUE_CLASSES = {String.class, Long.class};
+
+    private JButton refreshButton;
+    private JButton resetButton;
+    private JCheckBox autoRefreshCheckBox;
+    private DefaultTableModel timerTableModel;
+    private DefaultTableModel valueTableModel;
+    private JLabel statusLabel;
+
+    public DiagnosticsPanel() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        refreshButton = new JButton("Refresh");
+        resetButton = new JButton("Reset");
+        autoRefreshCheckBox = new JCheckBox("Auto-refresh", true);
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(resetButton);
+        buttonPanel.add(autoRefreshCheckBox);
+        add(buttonPanel, BorderLayout.NORTH);
+
+        timerTableModel = new ReadOnlyTableModel(TIMER_COLUMNS, TIMER_CLASSES);
+        JTable timerTable = new JTable(timerTableModel);
+        timerTable.setFillsViewportHeight(true);
+        timerTable.setAutoCreateRowSorter(true);
+        JScrollPane timerScrollPane = new JScrollPane(timerTable);
+        timerScrollPane.setBorder(BorderFactory.createTitledBorder("Timed operations (since start-up or reset)"));
+
+        valueTableModel = new ReadOnlyTableModel(VALUE_COLUMNS, VALUE_CLASSES);
+        JTable valueTable = new JTable(valueTableModel);
+        valueTable.setFillsViewportHeight(true);
+        valueTable.setAutoCreateRowSorter(true);
+        JScrollPane valueScrollPane = new JScrollPane(valueTable);
+        valueScrollPane.setBorder(BorderFactory.createTitledBorder("Counters and gauges"));
+
+        JSplitPane splitPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT, timerScrollPane, valueScrollPane);
+        splitPane.setResizeWeight(0.75);
+        add(splitPane, BorderLayout.CENTER);
+
+        statusLabel = new JLabel(" ");
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Table model whose cells cannot be edited; numeric columns sort as numbers.
+     */
+    private static class ReadOnlyTableModel extends DefaultTableModel {
+        private final Class<?>[] columnClasses;
+
+        ReadOnlyTableModel(String[] columns, Class<?>[] columnClasses) {
+            super(columns, 0);
+            this.columnClasses = columnClasses;
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+
+        @Override
+        public Class<?> getColumnClass(int columnIndex) {
+            return columnClasses[columnIndex];
+        }
+    }
+
+    public JButton getRefreshButton() {
+        return refreshButton;
+    }
+
+    public JButton getResetButton() {
+        return resetButton;
+    }
+
+    public boolean isAutoRefresh() {
+        return autoRefreshCheckBox.isSelected();
+    }
+
+    /**
+     * Replaces the rows of both tables.
+     * @param timerRows One row per timed operation, in TIMER_COLUMNS order.
+     * @param valueRows One {name, value} row per counter or gauge.
+     * @param status The status text to show (e.g. when the metrics were read).
+     */
+    public void displayMetrics(List<Object[]> timerRows, List<Object[]> valueRows, String status) {
+        timerTableModel.setRowCount(0);
+        for (Object[] row : timerRows) {
+            timerTableModel.addRow(row);
+        }
+        valueTableModel.setRowCount(0);
+        for (Object[] row : valueRows) {
+            valueTableModel.addRow(row);
+        }
+        statusLabel.setText(status);
+    }
+}
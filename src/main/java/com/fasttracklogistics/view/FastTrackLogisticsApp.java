@@ -7,13 +7,35 @@ import com.fasttracklogistics.controller.NotificationController;
 import com.fasttracklogistics.controller.TrackShipmentsController;
 import com.fasttracklogistics.controller.AssignDriversController;
 import com.fasttracklogistics.controller.ReportController; // NEW: Import ReportController
+import com.fasttracklogistics.controller.DiagnosticsController;
+import com.fasttracklogistics.controller.ShipmentController;
 import com.fasttracklogistics.service.ReportService; // NEW: Import ReportService
+import com.fasttracklogistics.service.EtaPredictionService;
+import com.fasttracklogistics.service.OverdueDeliveryWatcher;
+import com.fasttracklogistics.service.RollupReconciliationJob;
+import com.fasttracklogistics.service.AnalyticsSnapshotService;
+import com.fasttracklogistics.service.ExportService;
+import com.fasttracklogistics.service.NotificationArchiver;
+import com.fasttracklogistics.service.DeltaSyncPoller;
+import com.fasttracklogistics.service.MetricsReporter;
+import com.fasttracklogistics.service.FlightRecordingService;
+import com.fasttracklogistics.service.EdtWatchdog;
 import com.fasttracklogistics.dao.DatabaseConnection;
+import com.fasttracklogistics.dao.StorageBackend;
+import com.fasttracklogistics.dao.StorageBackends;
+import com.fasttracklogistics.api.TrackingApiServer;
+import com.fasttracklogistics.loadtest.LoadSimulator;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
 import com.formdev.flatlaf.FlatLightLaf;
 
 /**
@@ -24,6 +46,16 @@ import com.formdev.flatlaf.FlatLightLaf;
 public class FastTrackLogisticsApp extends JFrame {
 
     private JTabbedPane tabbedPane;
+    private EtaPredictionService etaPredictionService;
+    private OverdueDeliveryWatcher overdueWatcher;
+    private RollupReconciliationJob rollupReconciliationJob;
+    private AnalyticsSnapshotService analyticsSnapshotService;
+    private NotificationArchiver notificationArchiver;
+    private DeltaSyncPoller deltaSyncPoller;
+    private MetricsReporter metricsReporter;
+    private FlightRecordingService flightRecordingService = new FlightRecordingService();
+    private EdtWatchdog edtWatchdog;
+    private StorageBackend storage;
 
     public FastTrackLogisticsApp() {
         setTitle("FastTrack Logistics Management System");
@@ -31,8 +63,18 @@ public class FastTrackLogisticsApp extends JFrame {
         setSize(1200, 800);
         setLocationRelativeTo(null);
 
-        // Initialize the database connection and create tables on startup
-        DatabaseConnection.initializeDatabase();
+        // Open the configured storage (-Dfasttrack.storage, MySQL by default) and create tables on startup
+        storage = StorageBackends.create();
+        if (storage.isShared()) {
+            // Pooled connections keep their prepared statements, so a click's DAO calls skip the connect and the parse
+            try {
+                DatabaseConnection.enablePooling(Integer.getInteger(TrackingApiServer.POOL_SIZE_PROPERTY, 16));
+            } catch (SQLException ex) {
+                System.err.println("Error enabling connection pooling: " + ex.getMessage());
+                ex.printStackTrace();
+            }
+        }
+        storage.initialize();
 
         // Set FlatLaf Look and Feel
         try {
@@ -50,48 +92,68 @@ public class FastTrackLogisticsApp extends JFrame {
         // Create a tabbed pane to hold different functional panels
         tabbedPane = new JTabbedPane();
         add(tabbedPane, BorderLayout.CENTER);
+        add(createDiagnosticsToolBar(), BorderLayout.NORTH);
 
         // --- Instantiate Notification Panels and Controller FIRST ---
         CustomerNotificationPanel customerNotificationPanel = new CustomerNotificationPanel();
         PersonnelNotificationPanel personnelNotificationPanel = new PersonnelNotificationPanel();
-        NotificationController notificationController = new NotificationController(customerNotificationPanel, personnelNotificationPanel);
+        NotificationController notificationController = new NotificationController(customerNotificationPanel, personnelNotificationPanel, storage);
+        notificationArchiver = new NotificationArchiver(); // Monthly partitions and retention of old notifications
+        if (storage.isShared()) {
+            notificationArchiver.start();
+        }
+
+        // --- ETA model shared by scheduling and assignment (trained in the background) ---
+        etaPredictionService = new EtaPredictionService(storage.getDeliveryDAO());
+        etaPredictionService.start();
+
+        // --- SLA watcher flagging deliveries that are past their ETA ---
+        overdueWatcher = new OverdueDeliveryWatcher(storage.getDeliveryDAO(), notificationController);
 
 
         // --- Add Shipment Management Panel ---
         ManageShipmentsPanel manageShipmentsPanel = new ManageShipmentsPanel();
-        new ShipmentController(manageShipmentsPanel, notificationController);
+        new ShipmentController(manageShipmentsPanel, notificationController, storage);
         tabbedPane.addTab("Manage Shipments", manageShipmentsPanel);
         tabbedPane.setMnemonicAt(0, java.awt.event.KeyEvent.VK_S);
 
         // --- Add Delivery Personnel Management Panel ---
         ManageDeliveryPersonnelPanel managePersonnelPanel = new ManageDeliveryPersonnelPanel();
-        new DeliveryPersonnelController(managePersonnelPanel);
+        new DeliveryPersonnelController(managePersonnelPanel, storage);
         tabbedPane.addTab("Manage Personnel", managePersonnelPanel);
         tabbedPane.setMnemonicAt(1, java.awt.event.KeyEvent.VK_P);
 
         // --- Add Schedule Deliveries Panel ---
         ScheduleDeliveriesPanel scheduleDeliveriesPanel = new ScheduleDeliveriesPanel();
-        new ScheduleDeliveryController(scheduleDeliveriesPanel, notificationController);
+        new ScheduleDeliveryController(scheduleDeliveriesPanel, notificationController, etaPredictionService, overdueWatcher, storage);
         tabbedPane.addTab("Schedule Deliveries", scheduleDeliveriesPanel);
         tabbedPane.setMnemonicAt(2, java.awt.event.KeyEvent.VK_D);
+        overdueWatcher.start(); // Started after its listener is registered
 
 
         // --- Add Track Shipment Progress Panel ---
         TrackShipmentsPanel trackShipmentsPanel = new TrackShipmentsPanel();
-        new TrackShipmentsController(trackShipmentsPanel);
+        new TrackShipmentsController(trackShipmentsPanel, storage);
         tabbedPane.addTab("Track Shipments", trackShipmentsPanel);
         tabbedPane.setMnemonicAt(3, java.awt.event.KeyEvent.VK_T);
 
         // --- Add Assign Drivers Panel ---
         AssignDriversPanel assignDriversPanel = new AssignDriversPanel();
-        new AssignDriversController(assignDriversPanel, notificationController);
+        new AssignDriversController(assignDriversPanel, notificationController, etaPredictionService, storage);
         tabbedPane.addTab("Assign Drivers", assignDriversPanel);
         tabbedPane.setMnemonicAt(4, java.awt.event.KeyEvent.VK_A);
 
         // --- Add Monthly Reports Panel (Implemented) ---
         ReportsPanel reportsPanel = new ReportsPanel();
-        ReportService reportService = new ReportService(); // Instantiate the service
-        new ReportController(reportsPanel, reportService); // Pass view and service
+        ReportService reportService = new ReportService(storage.getReportDAO()); // Instantiate the service
+        rollupReconciliationJob = new RollupReconciliationJob(); // Nightly repair of the report rollups
+        if (storage.isShared()) {
+            rollupReconciliationJob.start();
+        }
+        analyticsSnapshotService = new AnalyticsSnapshotService(storage.getShipmentDAO()); // In-memory snapshot for the pivots
+        analyticsSnapshotService.start();
+        new ReportController(reportsPanel, reportService, analyticsSnapshotService,
+                new ExportService(storage.getExportDAO())); // Pass view and services
         tabbedPane.addTab("Reports", reportsPanel);
         tabbedPane.setMnemonicAt(5, java.awt.event.KeyEvent.VK_R);
 
@@ -103,6 +165,23 @@ public class FastTrackLogisticsApp extends JFrame {
         tabbedPane.addTab("Personnel Notifications", personnelNotificationPanel);
         tabbedPane.setMnemonicAt(7, java.awt.event.KeyEvent.VK_N);
 
+        // --- Add Diagnostics Panel (DAO call latencies, connection pool usage) ---
+        DiagnosticsPanel diagnosticsPanel = new DiagnosticsPanel();
+        DiagnosticsController diagnosticsController = new DiagnosticsController(diagnosticsPanel);
+        tabbedPane.addTab("Diagnostics", diagnosticsPanel);
+        tabbedPane.setMnemonicAt(8, java.awt.event.KeyEvent.VK_G);
+        metricsReporter = new MetricsReporter(); // Periodic dump if -Dfasttrack.metrics.dumpIntervalSeconds is set
+        metricsReporter.start();
+        // Logs and counts UI freezes (EDT stalls) per controller action
+        edtWatchdog = new EdtWatchdog();
+        edtWatchdog.start();
+
+        // Applies changes made by other dispatch desks; started once every panel has loaded its data
+        deltaSyncPoller = new DeltaSyncPoller(storage);
+        if (storage.isShared()) {
+            deltaSyncPoller.start();
+        }
+
         // Add a window listener to ensure resources are closed on application exit
         addWindowListener(new WindowAdapter() {
             @Override
@@ -110,12 +189,76 @@ public class FastTrackLogisticsApp extends JFrame {
                 // Perform any cleanup if necessary before exiting
                 // For this app, closing resources is handled within DAOs after each operation.
                 // However, if you had global resources (e.g., connection pools), you'd close them here.
+                etaPredictionService.stop();
+                overdueWatcher.stop();
+                rollupReconciliationJob.stop();
+                analyticsSnapshotService.stop();
+                notificationArchiver.stop();
+                deltaSyncPoller.stop();
+                diagnosticsController.stop();
+                edtWatchdog.stop(); // Logs the stall statistics
+                metricsReporter.stop();
+                notificationController.stop(); // Writes notifications that are still being coalesced
+                storage.close();
                 System.out.println("Application closing. Goodbye!");
             }
         });
     }
 
-    public static void main(String[] args) {
+    /**
+     * Creates the tool bar with the "Record 60s" button, which writes a flight recording (SQL executions,
+     * controller actions, GC, threads) to a .jfr file, e.g. while reproducing a freeze a dispatcher reported.
+     */
+    private JToolBar createDiagnosticsToolBar() {
+        JToolBar toolBar = new JToolBar();
+        toolBar.setFloatable(false);
+        JButton recordButton = new JButton("Record 60s");
+        recordButton.setToolTipText("Record a 60 second Java Flight Recording for offline analysis");
+        JLabel recordingStatus = new JLabel(" ");
+        recordButton.addActionListener(e -> {
+            recordButton.setEnabled(false);
+            recordingStatus.setText("Recording...");
+            new SwingWorker<Path, Void>() {
+                @Override
+                protected Path doInBackground() throws Exception {
+                    return flightRecordingService.record(Duration.ofSeconds(60));
+                }
+
+                @Override
+                protected void done() {
+                    recordButton.setEnabled(true);
+                    try {
+                        Path file = get();
+                        recordingStatus.setText("Saved " + file.getFileName());
+                        JOptionPane.showMessageDialog(FastTrackLogisticsApp.this, "Flight recording saved to:\n" + file,
+                                "Flight Recording", JOptionPane.INFORMATION_MESSAGE);
+                    } catch (InterruptedException | ExecutionException ex) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        recordingStatus.setText("Recording failed");
+                        JOptionPane.showMessageDialog(FastTrackLogisticsApp.this, "Error recording: " + cause.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                        cause.printStackTrace();
+                    }
+                }
+            }.execute();
+        });
+        toolBar.add(recordButton);
+        toolBar.addSeparator();
+        toolBar.add(recordingStatus);
+        return toolBar;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (Arrays.asList(args).contains("--headless")) {
+            // Tracking API only, no Swing (e.g. on a server without a display)
+            TrackingApiServer.main(args);
+            return;
+        }
+        if (Arrays.asList(args).contains("--load-test")) {
+            // Seeds a test database and replays desk operations against it, no Swing
+            LoadSimulator.main(args);
+            return;
+        }
         // Ensure Swing UI updates are done on the Event Dispatch Thread (EDT)
         SwingUtilities.invokeLater(() -> {
             FastTrackLogisticsApp app = new FastTrackLogisticsApp();
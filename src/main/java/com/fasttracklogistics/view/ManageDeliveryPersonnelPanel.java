@@ -213,19 +213,39 @@ public class ManageDeliveryPersonnelPanel extends JPanel {
     public void displayPersonnel(List<DeliveryPersonnel> personnelList) {
         tableModel.setRowCount(0); // Clear existing data
         for (DeliveryPersonnel personnel : personnelList) {
-            Vector<Object> row = new Vector<>();
-            row.add(personnel.getPersonnelId());
-            row.add(personnel.getEmployeeId());
-            row.add(personnel.getName());
-            row.add(personnel.getContactNumber());
-            row.add(personnel.getEmail());
-            row.add(personnel.getVehicleType());
-            row.add(personnel.getLicenseNumber()); // NEW
-            row.add(personnel.getAvailabilityStatus());
-            tableModel.addRow(row);
+            tableModel.addRow(toRow(personnel));
         }
     }
 
+    /**
+     * Adds the row of new delivery personnel at the top of the table, or updates an existing row.
+     * @param personnel The personnel as written to the database.
+     */
+    public void upsertPersonnel(DeliveryPersonnel personnel) {
+        TableRows.upsert(tableModel, toRow(personnel));
+    }
+
+    /**
+     * Removes the row of deleted delivery personnel.
+     * @param personnelId The ID of the deleted personnel.
+     */
+    public void removePersonnel(String personnelId) {
+        TableRows.remove(tableModel, personnelId);
+    }
+
+    private Vector<Object> toRow(DeliveryPersonnel personnel) {
+        Vector<Object> row = new Vector<>();
+        row.add(personnel.getPersonnelId());
+        row.add(personnel.getEmployeeId());
+        row.add(personnel.getName());
+        row.add(personnel.getContactNumber());
+        row.add(personnel.getEmail());
+        row.add(personnel.getVehicleType());
+        row.add(personnel.getLicenseNumber());
+        row.add(personnel.getAvailabilityStatus());
+        return row;
+    }
+
     /**
      * Shows an informational message dialog.
      * @param message The message to display.
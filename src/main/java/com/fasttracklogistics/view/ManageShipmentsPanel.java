@@ -6,8 +6,11 @@ import com.fasttracklogistics.model.Delivery;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Vector;
@@ -41,10 +44,16 @@ public class ManageShipmentsPanel extends JPanel {
     private JButton deleteButton;
     private JButton clearButton;
     private JButton refreshButton;
+    private JButton importButton;
 
     private JTable shipmentTable;
     private DefaultTableModel tableModel;
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter ETA_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int ETA_COLUMN = 13; // "Est. Delivery Time", taken from the delivery
+    private static final int CREATED_COLUMN = 14; // "Date Created"
+
     // Fixed lists for Package Types and Routes
     private final String[] PACKAGE_TYPES = {
             "Documents/Letters", "Parcels", "Cash on Delivery (COD)",
@@ -161,12 +170,14 @@ public class ManageShipmentsPanel extends JPanel {
         deleteButton = new JButton("Delete Shipment");
         clearButton = new JButton("Clear Form");
         refreshButton = new JButton("Refresh Shipments");
+        importButton = new JButton("Import CSV...");
 
         buttonPanel.add(addButton);
         buttonPanel.add(updateButton);
         buttonPanel.add(deleteButton);
         buttonPanel.add(clearButton);
         buttonPanel.add(refreshButton);
+        buttonPanel.add(importButton);
         mainContentPanel.add(buttonPanel, BorderLayout.NORTH);
 
         // --- Shipment Table ---
@@ -346,33 +357,111 @@ public class ManageShipmentsPanel extends JPanel {
      */
     public void displayShipments(List<Object[]> shipmentDetails) {
         tableModel.setRowCount(0); // Clear existing data
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        DateTimeFormatter etaFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
         for (Object[] rowData : shipmentDetails) {
             Shipment shipment = (Shipment) rowData[0];
             Delivery delivery = (Delivery) rowData[1]; // Can be null
+            tableModel.addRow(toRow(shipment, delivery));
+        }
+    }
 
-            Vector<Object> row = new Vector<>();
-            row.add(shipment.getShipmentId());
-            row.add(shipment.getTrackingNumber());
-            row.add(shipment.getSenderName());
-            row.add(shipment.getSenderContact());
-            row.add(shipment.getReceiverName());
-            row.add(shipment.getReceiverContact());
-            row.add(shipment.getPackageType());
-            row.add(shipment.getWeightKg());
-            row.add(shipment.getDimensionsCm());
-            row.add(shipment.getCurrentLocation());
-            row.add(shipment.getRoute());
-            row.add(shipment.isUrgent());
-            row.add(shipment.getCurrentStatus());
-            row.add(delivery != null && delivery.getEstimatedArrivalTime() != null ?
-                    delivery.getEstimatedArrivalTime().format(etaFormatter) : "N/A");
-            row.add(shipment.getCreatedAt() != null ? shipment.getCreatedAt().toLocalDate().format(dateFormatter) : "");
-
-            tableModel.addRow(row);
+    /**
+     * Adds the row of a new shipment at the top of the table, or updates the row of an existing one.
+     * The estimated delivery time of an existing row is kept; it follows the delivery (see updateEstimatedDelivery).
+     * @param shipment The shipment as written to the database.
+     */
+    public void upsertShipment(Shipment shipment) {
+        Vector<Object> row = toRow(shipment, null);
+        if (TableRows.find(tableModel, 0, shipment.getShipmentId()) >= 0) {
+            row.set(ETA_COLUMN, null); // null cells keep their current value
+            if (shipment.getCreatedAt() == null) {
+                row.set(CREATED_COLUMN, null);
+            }
         }
+        TableRows.upsert(tableModel, row);
+    }
+
+    /**
+     * Removes the row of a deleted shipment.
+     * @param shipmentId The ID of the deleted shipment.
+     */
+    public void removeShipment(String shipmentId) {
+        TableRows.remove(tableModel, shipmentId);
+    }
+
+    /**
+     * Shows the estimated arrival time of a shipment's delivery.
+     * @param shipmentId The ID of the shipment.
+     * @param estimatedArrivalTime The ETA of its delivery, or null if it has none (any more).
+     */
+    public void updateEstimatedDelivery(String shipmentId, LocalDateTime estimatedArrivalTime) {
+        TableRows.setCell(tableModel, shipmentId, ETA_COLUMN,
+                estimatedArrivalTime != null ? estimatedArrivalTime.format(ETA_FORMATTER) : "N/A");
+    }
+
+    /**
+     * Builds the table row of a shipment.
+     * @param delivery The shipment's delivery, or null.
+     */
+    private Vector<Object> toRow(Shipment shipment, Delivery delivery) {
+        Vector<Object> row = new Vector<>();
+        row.add(shipment.getShipmentId());
+        row.add(shipment.getTrackingNumber());
+        row.add(shipment.getSenderName());
+        row.add(shipment.getSenderContact());
+        row.add(shipment.getReceiverName());
+        row.add(shipment.getReceiverContact());
+        row.add(shipment.getPackageType());
+        row.add(shipment.getWeightKg());
+        row.add(shipment.getDimensionsCm());
+        row.add(shipment.getCurrentLocation());
+        row.add(shipment.getRoute());
+        row.add(shipment.isUrgent());
+        row.add(shipment.getCurrentStatus());
+        row.add(delivery != null && delivery.getEstimatedArrivalTime() != null ?
+                delivery.getEstimatedArrivalTime().format(ETA_FORMATTER) : "N/A");
+        row.add(shipment.getCreatedAt() != null ? shipment.getCreatedAt().toLocalDate().format(DATE_FORMATTER) : "");
+        return row;
+    }
+
+    /**
+     * Asks the user for a CSV manifest to import.
+     * @return The chosen file, or null if the dialog was cancelled.
+     */
+    public Path chooseImportFile() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileFilter(new FileNameExtensionFilter("CSV files", "csv"));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return fileChooser.getSelectedFile().toPath();
+    }
+
+    /**
+     * Enables or disables the import button and shows the import progress on it.
+     * @param running Whether an import is running.
+     * @param progressText The text to show on the button while running.
+     */
+    public void setImportRunning(boolean running, String progressText) {
+        importButton.setEnabled(!running);
+        importButton.setText(running ? progressText : "Import CSV...");
+    }
+
+    /**
+     * Shows the outcome of a CSV import, listing the rejected lines.
+     * @param summary The summary line (lines processed, shipments imported).
+     * @param errors One message per rejected line.
+     */
+    public void showImportResult(String summary, List<String> errors) {
+        if (errors.isEmpty()) {
+            JOptionPane.showMessageDialog(this, summary);
+            return;
+        }
+        JTextArea errorArea = new JTextArea(String.join("\n", errors), 15, 60);
+        errorArea.setEditable(false);
+        JPanel resultPanel = new JPanel(new BorderLayout(5, 5));
+        resultPanel.add(new JLabel(summary + " " + errors.size() + " line(s) were rejected:"), BorderLayout.NORTH);
+        resultPanel.add(new JScrollPane(errorArea), BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, resultPanel, "Import Result", JOptionPane.WARNING_MESSAGE);
     }
 
     /**
@@ -411,4 +500,8 @@ public class ManageShipmentsPanel extends JPanel {
     public JButton getRefreshButton() {
         return refreshButton;
     }
-}
\ No newline at end of file
+
+    public JButton getImportButton() {
+        return importButton;
+    }
+}
@@ -0,0 +1,73 @@
+// src/main/java/com/fasttracklogistics/view/NotificationInboxView.java
+
+package com.fasttracklogistics.view;
+
+import com.fasttracklogistics.model.Notification;
+
+import javax.swing.JButton;
+import javax.swing.JTextField;
+import java.util.List;
+
+/**
+ * A notification panel that shows one inbox page by page, with its unread counters.
+ * Implemented by the customer and personnel notification panels so NotificationController
+ * can drive both with the same pagination logic.
+ */
+public interface NotificationInboxView {
+
+    /**
+     * Replaces the table content with the first page of the inbox.
+     * @param notifications The notifications to display, newest first.
+     */
+    void displayNotifications(List<Notification> notifications);
+
+    /**
+     * Adds the next page of the inbox below the rows already shown.
+     * @param notifications The notifications to append, newest first.
+     */
+    void appendNotifications(List<Notification> notifications);
+
+    /**
+     * Shows the unread counters of the inbox.
+     * @param unread The number of unread notifications.
+     * @param urgentUnread The number of unread urgent notifications.
+     */
+    void displayUnreadCounts(int unread, int urgentUnread);
+
+    /**
+     * Registers a callback that runs when the user scrolls close to the last loaded row.
+     * @param listener The callback, run on the Event Dispatch Thread.
+     */
+    void addLoadMoreListener(Runnable listener);
+
+    /**
+     * @return The ID of the selected notification, or null if no row is selected.
+     */
+    String getSelectedNotificationId();
+
+    /**
+     * Shows a notification as read without reloading the inbox.
+     * @param notificationId The ID of the notification that was marked as read.
+     */
+    void markAsRead(String notificationId);
+
+    /**
+     * @return The recipient ID entered in the filter field, or null to show all recipients.
+     */
+    String getRecipientFilter();
+
+    /**
+     * @return true if only urgent notifications should be shown.
+     */
+    boolean isUrgentOnly();
+
+    void showErrorMessage(String message);
+
+    JButton getRefreshButton();
+
+    JButton getMarkReadButton();
+
+    JButton getMarkAllReadButton();
+
+    JTextField getRecipientFilterField();
+}
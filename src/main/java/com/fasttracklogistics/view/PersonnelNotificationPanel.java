@@ -14,14 +14,21 @@ import java.util.Vector;
 /**
  * JPanel for displaying delivery personnel notification logs.
  * This class represents a 'View' component for personnel notifications,
- * displaying them in a JTable and allowing filtering by urgent status.
+ * displaying them in a JTable page by page and allowing filtering by urgent status and recipient.
  */
-public class PersonnelNotificationPanel extends JPanel {
+public class PersonnelNotificationPanel extends JPanel implements NotificationInboxView {
 
     private JTable notificationTable;
     private DefaultTableModel tableModel;
+    private JScrollPane tableScrollPane;
     private JButton refreshButton;
+    private JButton markReadButton;
+    private JButton markAllReadButton;
     private JCheckBox urgentFilterCheckBox; // NEW: Checkbox for filtering urgent notifications
+    private JTextField recipientFilterField;
+    private JLabel unreadCountLabel;
+
+    private static final int LOAD_MORE_MARGIN_ROWS = 20; // Fetch the next page this many rows before the end
 
     // Formatter for displaying notification timestamps
     private static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
@@ -32,18 +39,28 @@ public class PersonnelNotificationPanel extends JPanel {
 
         JLabel titleLabel = new JLabel("Delivery Personnel Notification Log", SwingConstants.CENTER);
         titleLabel.setFont(new Font("SansSerif", Font.BOLD, 18));
-        add(titleLabel, BorderLayout.NORTH);
 
         // --- Filter Panel (NEW) ---
         JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         urgentFilterCheckBox = new JCheckBox("Show Only Urgent"); // NEW: Checkbox for urgent filter
         filterPanel.add(urgentFilterCheckBox);
-        add(filterPanel, BorderLayout.PAGE_START); // Add filter panel at the very top (Page Start == North)
+        filterPanel.add(new JLabel("  Personnel/Related ID:"));
+        recipientFilterField = new JTextField(15);
+        recipientFilterField.setToolTipText("Leave empty to show all personnel notifications; press Enter to apply");
+        filterPanel.add(recipientFilterField);
+        unreadCountLabel = new JLabel();
+        filterPanel.add(unreadCountLabel);
+
+        // Title and filters share the top area
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(titleLabel, BorderLayout.NORTH);
+        topPanel.add(filterPanel, BorderLayout.SOUTH);
+        add(topPanel, BorderLayout.NORTH);
 
 
         // --- Notification Table ---
         // Changed column header for clarity: recipientId here can be Personnel ID or related entity ID
-        String[] columnNames = {"Notification ID", "Recipient ID (Personnel/Related ID)", "Message", "Timestamp", "Status", "Urgent"}; // ADDED "Urgent" column
+        String[] columnNames = {"Notification ID", "Recipient ID (Personnel/Related ID)", "Message", "Timestamp", "Status", "Urgent", "Read"}; // ADDED "Urgent" column
         tableModel = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -51,7 +68,7 @@ public class PersonnelNotificationPanel extends JPanel {
             }
             @Override
             public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == getColumnCount() - 1) { // Last column is "Urgent"
+                if (columnIndex >= getColumnCount() - 2) { // Last columns are "Urgent" and "Read"
                     return Boolean.class; // This will render as a checkbox
                 }
                 return super.getColumnClass(columnIndex);
@@ -61,24 +78,37 @@ public class PersonnelNotificationPanel extends JPanel {
         notificationTable.setFillsViewportHeight(true);
         notificationTable.setAutoCreateRowSorter(true);
 
-        JScrollPane tableScrollPane = new JScrollPane(notificationTable);
+        tableScrollPane = new JScrollPane(notificationTable);
         add(tableScrollPane, BorderLayout.CENTER);
 
         // --- Refresh button for personnel notifications ---
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         refreshButton = new JButton("Refresh Personnel Notifications");
         buttonPanel.add(refreshButton);
+        markReadButton = new JButton("Mark Selected as Read");
+        buttonPanel.add(markReadButton);
+        markAllReadButton = new JButton("Mark All as Read");
+        buttonPanel.add(markAllReadButton);
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
     /**
-     * Displays a list of personnel notifications in the table.
+     * Displays the first page of personnel notifications in the table.
      * Clears existing content and populates the table with new data.
      * @param notifications The list of Notification objects (recipientType="PERSONNEL") to display.
      */
+    @Override
     public void displayNotifications(List<Notification> notifications) {
         tableModel.setRowCount(0); // Clear existing data
+        appendNotifications(notifications);
+    }
 
+    /**
+     * Adds the next page of personnel notifications below the rows already shown.
+     * @param notifications The list of Notification objects (recipientType="PERSONNEL") to append.
+     */
+    @Override
+    public void appendNotifications(List<Notification> notifications) {
         for (Notification notification : notifications) {
             Vector<Object> row = new Vector<>();
             row.add(notification.getNotificationId());
@@ -87,10 +117,57 @@ public class PersonnelNotificationPanel extends JPanel {
             row.add(notification.getTimestamp() != null ? notification.getTimestamp().format(DISPLAY_FORMATTER) : "");
             row.add(notification.getStatus());
             row.add(notification.isUrgent()); // NEW: Add urgent status
+            row.add(notification.isRead());
             tableModel.addRow(row);
         }
     }
 
+    @Override
+    public void displayUnreadCounts(int unread, int urgentUnread) {
+        unreadCountLabel.setText("  Unread: " + unread + " (" + urgentUnread + " urgent)");
+    }
+
+    @Override
+    public void addLoadMoreListener(Runnable listener) {
+        JScrollBar scrollBar = tableScrollPane.getVerticalScrollBar();
+        scrollBar.addAdjustmentListener(e -> {
+            int margin = LOAD_MORE_MARGIN_ROWS * notificationTable.getRowHeight();
+            if (scrollBar.getValue() + scrollBar.getVisibleAmount() >= scrollBar.getMaximum() - margin) {
+                listener.run();
+            }
+        });
+    }
+
+    @Override
+    public String getSelectedNotificationId() {
+        int selectedRow = notificationTable.getSelectedRow();
+        if (selectedRow < 0) {
+            return null;
+        }
+        return (String) tableModel.getValueAt(notificationTable.convertRowIndexToModel(selectedRow), 0);
+    }
+
+    @Override
+    public void markAsRead(String notificationId) {
+        for (int row = 0; row < tableModel.getRowCount(); row++) {
+            if (notificationId.equals(tableModel.getValueAt(row, 0))) {
+                tableModel.setValueAt(true, row, tableModel.getColumnCount() - 1); // "Read" column
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String getRecipientFilter() {
+        String recipientId = recipientFilterField.getText().trim();
+        return recipientId.isEmpty() ? null : recipientId;
+    }
+
+    @Override
+    public boolean isUrgentOnly() {
+        return urgentFilterCheckBox.isSelected();
+    }
+
     /**
      * Shows an informational message dialog.
      * @param message The message to display.
@@ -103,15 +180,32 @@ public class PersonnelNotificationPanel extends JPanel {
      * Shows an error message dialog.
      * @param message The error message to display.
      */
+    @Override
     public void showErrorMessage(String message) {
         JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
 
     // Getter for the refresh button
+    @Override
     public JButton getRefreshButton() {
         return refreshButton;
     }
 
+    @Override
+    public JButton getMarkReadButton() {
+        return markReadButton;
+    }
+
+    @Override
+    public JButton getMarkAllReadButton() {
+        return markAllReadButton;
+    }
+
+    @Override
+    public JTextField getRecipientFilterField() {
+        return recipientFilterField;
+    }
+
     // NEW: Getter for the urgent filter checkbox
     public JCheckBox getUrgentFilterCheckBox() {
         return urgentFilterCheckBox;
@@ -0,0 +1,287 @@
+// src/main/java/com/fasttracklogistics/view/ReportsPanel.java
+
+package com.fasttracklogistics.view;
+
+import com.fasttracklogistics.service.ExportFormat;
+import com.fasttracklogistics.service.ExportTable;
+import com.fasttracklogistics.service.PivotDimension;
+import com.fasttracklogistics.service.ReportType;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.io.File;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JPanel for the monthly reports.
+ * The user picks a report and a month range; rows are appended to the table
+ * while the report is still being read from the database. The pivot row groups the
+ * in-memory analytics snapshot by any combination of dimensions over the same month range,
+ * and the export row streams a whole table for that range to a CSV or JSON file.
+ */
+public class ReportsPanel extends JPanel {
+
+    private JComboBox<ReportType> reportTypeComboBox;
+    private JTextField fromMonthField;
+    private JTextField toMonthField;
+    private JButton generateButton;
+    private Map<PivotDimension, JCheckBox> pivotDimensionCheckBoxes;
+    private JCheckBox urgentOnlyCheckBox;
+    private JButton pivotButton;
+    private JComboBox<ExportTable> exportTableComboBox;
+    private JComboBox<ExportFormat> exportFormatComboBox;
+    private JTextField exportStatusField;
+    private JCheckBox gzipCheckBox;
+    private JButton exportButton;
+    private JTable reportTable;
+    private DefaultTableModel tableModel;
+    private JLabel statusLabel;
+
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    public ReportsPanel() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(new EmptyBorder(10, 10, 10, 10));
+
+        // --- Report selection ---
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        filterPanel.setBorder(BorderFactory.createTitledBorder("Report"));
+        reportTypeComboBox = new JComboBox<>(ReportType.values());
+        YearMonth currentMonth = YearMonth.now();
+        fromMonthField = new JTextField(currentMonth.minusMonths(11).format(MONTH_FORMATTER), 8);
+        toMonthField = new JTextField(currentMonth.format(MONTH_FORMATTER), 8);
+        generateButton = new JButton("Generate Report");
+        filterPanel.add(new JLabel("Report:"));
+        filterPanel.add(reportTypeComboBox);
+        filterPanel.add(new JLabel("From (YYYY-MM):"));
+        filterPanel.add(fromMonthField);
+        filterPanel.add(new JLabel("To (YYYY-MM):"));
+        filterPanel.add(toMonthField);
+        filterPanel.add(generateButton);
+
+        // --- Pivot over the in-memory snapshot ---
+        JPanel pivotPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        pivotPanel.setBorder(BorderFactory.createTitledBorder("Pivot (shipments created in the month range)"));
+        pivotPanel.add(new JLabel("Group by:"));
+        pivotDimensionCheckBoxes = new EnumMap<>(PivotDimension.class);
+        for (PivotDimension dimension : PivotDimension.values()) {
+            JCheckBox checkBox = new JCheckBox(dimension.toString(),
+                    dimension == PivotDimension.ROUTE || dimension == PivotDimension.MONTH);
+            pivotDimensionCheckBoxes.put(dimension, checkBox);
+            pivotPanel.add(checkBox);
+        }
+        urgentOnlyCheckBox = new JCheckBox("Urgent only");
+        pivotButton = new JButton("Run Pivot");
+        pivotPanel.add(urgentOnlyCheckBox);
+        pivotPanel.add(pivotButton);
+
+        // --- Export ---
+        JPanel exportPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        exportPanel.setBorder(BorderFactory.createTitledBorder("Export (rows in the month range)"));
+        exportTableComboBox = new JComboBox<>(ExportTable.values());
+        exportFormatComboBox = new JComboBox<>(ExportFormat.values());
+        exportStatusField = new JTextField(10);
+        gzipCheckBox = new JCheckBox("Gzip");
+        exportButton = new JButton("Export...");
+        exportPanel.add(new JLabel("Table:"));
+        exportPanel.add(exportTableComboBox);
+        exportPanel.add(new JLabel("Format:"));
+        exportPanel.add(exportFormatComboBox);
+        exportPanel.add(new JLabel("Status (blank = all):"));
+        exportPanel.add(exportStatusField);
+        exportPanel.add(gzipCheckBox);
+        exportPanel.add(exportButton);
+
+        JPanel northPanel = new JPanel(new GridLayout(3, 1));
+        northPanel.add(filterPanel);
+        northPanel.add(pivotPanel);
+        northPanel.add(exportPanel);
+        add(northPanel, BorderLayout.NORTH);
+
+        // --- Report Table ---
+        tableModel = new DefaultTableModel(0, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        reportTable = new JTable(tableModel);
+        reportTable.setFillsViewportHeight(true);
+        reportTable.setAutoCreateRowSorter(true);
+        add(new JScrollPane(reportTable), BorderLayout.CENTER);
+
+        // --- Status line ---
+        statusLabel = new JLabel(" ");
+        add(statusLabel, BorderLayout.SOUTH);
+    }
+
+    // --- Getters for Form Fields ---
+    public ReportType getSelectedReportType() {
+        return (ReportType) reportTypeComboBox.getSelectedItem();
+    }
+
+    public YearMonth getFromMonth() {
+        return parseMonth(fromMonthField.getText().trim(), "From");
+    }
+
+    public YearMonth getToMonth() {
+        return parseMonth(toMonthField.getText().trim(), "To");
+    }
+
+    /**
+     * Returns the checked pivot dimensions in their display order.
+     */
+    public List<PivotDimension> getSelectedPivotDimensions() {
+        List<PivotDimension> dimensions = new ArrayList<>();
+        for (Map.Entry<PivotDimension, JCheckBox> entry : pivotDimensionCheckBoxes.entrySet()) {
+            if (entry.getValue().isSelected()) {
+                dimensions.add(entry.getKey());
+            }
+        }
+        return dimensions;
+    }
+
+    public boolean isUrgentOnly() {
+        return urgentOnlyCheckBox.isSelected();
+    }
+
+    public ExportTable getSelectedExportTable() {
+        return (ExportTable) exportTableComboBox.getSelectedItem();
+    }
+
+    public ExportFormat getSelectedExportFormat() {
+        return (ExportFormat) exportFormatComboBox.getSelectedItem();
+    }
+
+    public String getExportStatus() {
+        return exportStatusField.getText().trim();
+    }
+
+    public boolean isGzipSelected() {
+        return gzipCheckBox.isSelected();
+    }
+
+    private YearMonth parseMonth(String text, String fieldName) {
+        try {
+            return YearMonth.parse(text, MONTH_FORMATTER);
+        } catch (DateTimeParseException e) {
+            showErrorMessage("Invalid '" + fieldName + "' month. Please use `YYYY-MM`.");
+            return null;
+        }
+    }
+
+    // --- Methods to interact with the View from Controller ---
+
+    /**
+     * Clears the table and sets up the columns for a new report.
+     * @param columns The column headers of the report.
+     */
+    public void startReport(String[] columns) {
+        tableModel.setDataVector(new Object[0][], columns);
+        generateButton.setEnabled(false);
+        pivotButton.setEnabled(false);
+        statusLabel.setText("Generating report...");
+    }
+
+    /**
+     * Appends rows to the report table while the report is being generated.
+     * @param rows The rows to append.
+     */
+    public void appendRows(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            tableModel.addRow(row);
+        }
+        statusLabel.setText("Generating report... " + tableModel.getRowCount() + " rows");
+    }
+
+    /**
+     * Marks the report as finished.
+     * @param status The status text to show (e.g. row count and duration).
+     */
+    public void finishReport(String status) {
+        generateButton.setEnabled(true);
+        pivotButton.setEnabled(true);
+        statusLabel.setText(status);
+    }
+
+    /**
+     * Asks the user where to save an export.
+     * @param defaultFileName The file name suggested in the dialog.
+     * @return The chosen file, or null if the dialog was cancelled.
+     */
+    public Path chooseExportFile(String defaultFileName) {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setSelectedFile(new File(defaultFileName));
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return fileChooser.getSelectedFile().toPath();
+    }
+
+    /**
+     * Disables the export button while an export is running.
+     */
+    public void startExport() {
+        exportButton.setEnabled(false);
+        statusLabel.setText("Exporting...");
+    }
+
+    /**
+     * Shows the progress of the running export.
+     * @param rowsWritten The number of rows written so far.
+     */
+    public void showExportProgress(long rowsWritten) {
+        statusLabel.setText("Exporting... " + rowsWritten + " rows written");
+    }
+
+    /**
+     * Marks the export as finished.
+     * @param status The status text to show.
+     */
+    public void finishExport(String status) {
+        exportButton.setEnabled(true);
+        statusLabel.setText(status);
+    }
+
+    /**
+     * Shows an informational message dialog.
+     * @param message The message to display.
+     */
+    public void showMessage(String message) {
+        JOptionPane.showMessageDialog(this, message);
+    }
+
+    /**
+     * Shows an error message dialog.
+     * @param message The error message to display.
+     */
+    public void showErrorMessage(String message) {
+        JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    // --- Getters for Buttons (to attach listeners in Controller) ---
+    public JButton getGenerateButton() {
+        return generateButton;
+    }
+
+    public JButton getPivotButton() {
+        return pivotButton;
+    }
+
+    public JButton getExportButton() {
+        return exportButton;
+    }
+
+    public JTable getReportTable() {
+        return reportTable;
+    }
+}
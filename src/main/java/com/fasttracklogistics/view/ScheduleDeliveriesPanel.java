@@ -4,6 +4,7 @@ package com.fasttracklogistics.view;
 
 import com.fasttracklogistics.model.Delivery;
 import com.fasttracklogistics.model.DeliveryPersonnel;
+import com.fasttracklogistics.model.Shipment;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -41,6 +42,7 @@ public class ScheduleDeliveriesPanel extends JPanel {
     private JButton clearButton;
     private JButton refreshShipmentsButton; // Refresh for unscheduled shipments
     private JButton refreshDeliveriesButton; // Refresh for scheduled deliveries
+    private JLabel overdueCountLabel; // Number of deliveries flagged by the overdue watcher
 
     private JTable unscheduledShipmentsTable;
     private DefaultTableModel unscheduledShipmentsTableModel;
@@ -127,7 +129,7 @@ public class ScheduleDeliveriesPanel extends JPanel {
         gbc.gridx = 3; scheduledTimeSlotField = new JTextField(15); formPanel.add(scheduledTimeSlotField, gbc);
 
         // Estimated Arrival Time
-        gbc.gridx = 4; gbc.gridy = row++; formPanel.add(new JLabel("Estimated Arrival Time (YYYY-MM-DD HH:MM):"), gbc);
+        gbc.gridx = 4; gbc.gridy = row++; formPanel.add(new JLabel("Estimated Arrival Time (YYYY-MM-DD HH:MM, blank = predicted):"), gbc);
         gbc.gridx = 5; estimatedArrivalTimeField = new JTextField(15); formPanel.add(estimatedArrivalTimeField, gbc);
 
         // Actual Delivery Date
@@ -184,7 +186,9 @@ public class ScheduleDeliveriesPanel extends JPanel {
         });
         bottomPanel.add(new JScrollPane(deliveriesTable), BorderLayout.CENTER);
         refreshDeliveriesButton = new JButton("Refresh Scheduled Deliveries");
+        overdueCountLabel = new JLabel("Overdue deliveries: 0");
         JPanel refreshDeliveriesButtonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        refreshDeliveriesButtonPanel.add(overdueCountLabel);
         refreshDeliveriesButtonPanel.add(refreshDeliveriesButton);
         bottomPanel.add(refreshDeliveriesButtonPanel, BorderLayout.SOUTH);
 
@@ -277,6 +281,23 @@ public class ScheduleDeliveriesPanel extends JPanel {
         }
     }
 
+    /**
+     * Checks whether the user typed anything into the ETA field.
+     * A blank field means the controller should predict the ETA.
+     * @return true if the ETA field contains text.
+     */
+    public boolean hasEstimatedArrivalTimeInput() {
+        return !estimatedArrivalTimeField.getText().trim().isEmpty();
+    }
+
+    /**
+     * Shows an ETA (e.g. a predicted one) in the ETA field.
+     * @param estimatedArrivalTime The ETA to display.
+     */
+    public void setEstimatedArrivalTime(LocalDateTime estimatedArrivalTime) {
+        estimatedArrivalTimeField.setText(estimatedArrivalTime != null ? estimatedArrivalTime.format(DATETIME_FORMATTER) : "");
+    }
+
     public String getDeliveryStatus() {
         return (String) deliveryStatusComboBox.getSelectedItem();
     }
@@ -365,48 +386,107 @@ public class ScheduleDeliveriesPanel extends JPanel {
     public void displayUnscheduledShipments(List<Shipment> shipments) {
         unscheduledShipmentsTableModel.setRowCount(0); // Clear existing data
         for (Shipment shipment : shipments) {
-            Vector<Object> row = new Vector<>();
-            row.add(shipment.getShipmentId());
-            row.add(shipment.getTrackingNumber());
-            row.add(shipment.getSenderName());
-            row.add(shipment.getReceiverName());
-            row.add(shipment.getReceiverAddress());
-            row.add(shipment.getPackageType());
-            row.add(shipment.isUrgent());
-            unscheduledShipmentsTableModel.addRow(row);
+            unscheduledShipmentsTableModel.addRow(toUnscheduledShipmentRow(shipment));
         }
     }
 
+    /**
+     * Adds or updates a shipment in the unscheduled shipments table.
+     * @param shipment A shipment without a delivery.
+     */
+    public void upsertUnscheduledShipment(Shipment shipment) {
+        TableRows.upsert(unscheduledShipmentsTableModel, toUnscheduledShipmentRow(shipment));
+    }
+
+    /**
+     * Removes a shipment from the unscheduled shipments table, e.g. once it was scheduled or deleted.
+     * @param shipmentId The ID of the shipment.
+     */
+    public void removeUnscheduledShipment(String shipmentId) {
+        TableRows.remove(unscheduledShipmentsTableModel, shipmentId);
+    }
+
+    private Vector<Object> toUnscheduledShipmentRow(Shipment shipment) {
+        Vector<Object> row = new Vector<>();
+        row.add(shipment.getShipmentId());
+        row.add(shipment.getTrackingNumber());
+        row.add(shipment.getSenderName());
+        row.add(shipment.getReceiverName());
+        row.add(shipment.getReceiverAddress());
+        row.add(shipment.getPackageType());
+        row.add(shipment.isUrgent());
+        return row;
+    }
+
     /**
      * Displays a list of scheduled deliveries in the bottom table.
      * @param deliveryDetails A list of Object arrays, each containing {Delivery, Shipment, DeliveryPersonnel}.
      */
     public void displayDeliveries(List<Object[]> deliveryDetails) {
         deliveriesTableModel.setRowCount(0); // Clear existing data
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        // DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm"); // Not used directly in display
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-
-
         for (Object[] rowData : deliveryDetails) {
             Delivery delivery = (Delivery) rowData[0];
             Shipment shipment = (Shipment) rowData[1];
             DeliveryPersonnel personnel = (DeliveryPersonnel) rowData[2];
+            deliveriesTableModel.addRow(toDeliveryRow(delivery, shipment, personnel));
+        }
+    }
 
-            Vector<Object> row = new Vector<>();
-            row.add(delivery.getDeliveryId());
-            row.add(shipment != null ? shipment.getTrackingNumber() : "N/A");
-            row.add(personnel != null ? personnel.getName() : "Unassigned");
-            row.add(delivery.getScheduledDate() != null ? delivery.getScheduledDate().format(dateFormatter) : "N/A");
-            row.add(delivery.getScheduledTimeSlot());
-            row.add(delivery.getEstimatedArrivalTime() != null ? delivery.getEstimatedArrivalTime().format(dateTimeFormatter) : "N/A");
-            row.add(delivery.getActualDeliveryDate() != null ? delivery.getActualDeliveryDate().format(dateTimeFormatter) : "N/A");
-            row.add(delivery.getDeliveryStatus());
-            row.add(delivery.getDelayReason());
-            deliveriesTableModel.addRow(row);
+    /**
+     * Adds or updates a delivery in the scheduled deliveries table.
+     * @param delivery The delivery.
+     * @param shipment Its shipment.
+     * @param personnel Its personnel, or null if unassigned.
+     */
+    public void upsertDelivery(Delivery delivery, Shipment shipment, DeliveryPersonnel personnel) {
+        TableRows.upsert(deliveriesTableModel, toDeliveryRow(delivery, shipment, personnel));
+    }
+
+    /**
+     * Removes a deleted delivery from the scheduled deliveries table.
+     * @param deliveryId The ID of the delivery.
+     */
+    public void removeDelivery(String deliveryId) {
+        TableRows.remove(deliveriesTableModel, deliveryId);
+    }
+
+    private Vector<Object> toDeliveryRow(Delivery delivery, Shipment shipment, DeliveryPersonnel personnel) {
+        Vector<Object> row = new Vector<>();
+        row.add(delivery.getDeliveryId());
+        row.add(shipment != null ? shipment.getTrackingNumber() : "N/A");
+        row.add(personnel != null ? personnel.getName() : "Unassigned");
+        row.add(delivery.getScheduledDate() != null ? delivery.getScheduledDate().format(DATE_FORMATTER) : "N/A");
+        row.add(delivery.getScheduledTimeSlot());
+        row.add(delivery.getEstimatedArrivalTime() != null ? delivery.getEstimatedArrivalTime().format(DATETIME_FORMATTER) : "N/A");
+        row.add(delivery.getActualDeliveryDate() != null ? delivery.getActualDeliveryDate().format(DATETIME_FORMATTER) : "N/A");
+        row.add(delivery.getDeliveryStatus());
+        row.add(delivery.getDelayReason() != null ? delivery.getDelayReason() : "");
+        return row;
+    }
+
+    /**
+     * Sets the status of the given deliveries to 'Delayed' in the deliveries table,
+     * without reloading the table.
+     * @param deliveryIds The IDs of the deliveries flagged as overdue.
+     */
+    public void markDeliveriesOverdue(List<String> deliveryIds) {
+        int statusColumn = deliveriesTableModel.findColumn("Status");
+        for (int i = 0; i < deliveriesTableModel.getRowCount(); i++) {
+            if (deliveryIds.contains((String) deliveriesTableModel.getValueAt(i, 0))) {
+                deliveriesTableModel.setValueAt("Delayed", i, statusColumn);
+            }
         }
     }
 
+    /**
+     * Shows the number of deliveries currently flagged as overdue.
+     * @param overdueCount The number of overdue deliveries.
+     */
+    public void showOverdueCount(int overdueCount) {
+        overdueCountLabel.setText("Overdue deliveries: " + overdueCount);
+        overdueCountLabel.setForeground(overdueCount > 0 ? Color.RED : UIManager.getColor("Label.foreground"));
+    }
+
     /**
      * Populates the assigned personnel combo box with a list of DeliveryPersonnel objects.
      * @param personnelList The list of DeliveryPersonnel objects to populate the combo box with.
@@ -434,6 +514,46 @@ public class ScheduleDeliveriesPanel extends JPanel {
         assignedPersonnelComboBox.setSelectedIndex(0); // Select the "-- Select Personnel --" by default
     }
 
+    /**
+     * Adds personnel to the personnel combo box, or replaces the entry of the same personnel.
+     * The current selection is kept.
+     * @param personnel The new or updated personnel.
+     */
+    public void upsertPersonnelOption(DeliveryPersonnel personnel) {
+        int index = findPersonnelOption(personnel.getPersonnelId());
+        if (index < 0) {
+            assignedPersonnelComboBox.addItem(personnel);
+            return;
+        }
+        boolean selected = assignedPersonnelComboBox.getSelectedIndex() == index;
+        assignedPersonnelComboBox.removeItemAt(index);
+        assignedPersonnelComboBox.insertItemAt(personnel, index);
+        if (selected) {
+            assignedPersonnelComboBox.setSelectedIndex(index);
+        }
+    }
+
+    /**
+     * Removes deleted personnel from the personnel combo box.
+     * @param personnelId The ID of the personnel.
+     */
+    public void removePersonnelOption(String personnelId) {
+        int index = findPersonnelOption(personnelId);
+        if (index >= 0) {
+            assignedPersonnelComboBox.removeItemAt(index);
+        }
+    }
+
+    private int findPersonnelOption(String personnelId) {
+        for (int i = 0; i < assignedPersonnelComboBox.getItemCount(); i++) {
+            DeliveryPersonnel option = assignedPersonnelComboBox.getItemAt(i);
+            if (option != null && option.getPersonnelId().equals(personnelId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Shows an informational message dialog.
      * @param message The message to display.
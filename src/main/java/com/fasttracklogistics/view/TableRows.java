@@ -0,0 +1,66 @@
+// src/main/java/com/fasttracklogistics/view/TableRows.java
+
+package com.fasttracklogistics.view;
+
+import javax.swing.table.DefaultTableModel;
+import java.util.Objects;
+import java.util.Vector;
+
+/**
+ * Targeted row updates for the panels' table models, used to apply domain events
+ * without reloading the whole table. Rows are identified by the value of one column.
+ */
+final class TableRows {
+
+    private TableRows() {
+    }
+
+    /**
+     * @return The model index of the first row whose column holds the value, or -1.
+     */
+    static int find(DefaultTableModel model, int column, Object value) {
+        for (int row = 0; row < model.getRowCount(); row++) {
+            if (Objects.equals(model.getValueAt(row, column), value)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the row with the same ID in column 0, or inserts it as the first row.
+     * Cells that are null in the new row keep their current value.
+     */
+    static void upsert(DefaultTableModel model, Vector<Object> row) {
+        int index = find(model, 0, row.get(0));
+        if (index < 0) {
+            model.insertRow(0, row);
+            return;
+        }
+        for (int column = 0; column < row.size(); column++) {
+            if (row.get(column) != null) {
+                model.setValueAt(row.get(column), index, column);
+            }
+        }
+    }
+
+    /**
+     * Removes the row with the given ID in column 0, if present.
+     */
+    static void remove(DefaultTableModel model, Object id) {
+        int index = find(model, 0, id);
+        if (index >= 0) {
+            model.removeRow(index);
+        }
+    }
+
+    /**
+     * Sets one cell of the row with the given ID in column 0, if present.
+     */
+    static void setCell(DefaultTableModel model, Object id, int column, Object value) {
+        int index = find(model, 0, id);
+        if (index >= 0) {
+            model.setValueAt(value, index, column);
+        }
+    }
+}
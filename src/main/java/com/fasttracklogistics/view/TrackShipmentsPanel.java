@@ -4,6 +4,7 @@
 package com.fasttracklogistics.view;
 
 import com.fasttracklogistics.model.Delivery;
+import com.fasttracklogistics.model.Shipment;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;